@@ -5,6 +5,7 @@ import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
 
 /**
  * An abstract implementation of the
@@ -65,4 +66,13 @@ public abstract class AbstractInstanceRuns extends AbstractElementSet
   public ArrayListView<? extends IRun> getData() {
     return ((ArraySetView) (ArraySetView.EMPTY_SET_VIEW));
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    for (final IRun run : this.getData()) {
+      run.aggregateColumn(column, aggregate);
+    }
+  }
 }
@@ -5,6 +5,7 @@ import java.util.Iterator;
 import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
 import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
@@ -129,7 +130,19 @@ public abstract class AbstractRun extends AbstractElementSet
   @Override
   public void aggregateColumn(final int column,
       final IAggregate aggregate) {
-    AbstractMatrix.copy(this).aggregateColumn(column, aggregate);
+    final int m;
+    int row;
+
+    m = this.m();
+    if (this.isIntegerMatrix()) {
+      for (row = 0; row < m; row++) {
+        aggregate.append(this.getLong(row, column));
+      }
+    } else {
+      for (row = 0; row < m; row++) {
+        aggregate.append(this.getDouble(row, column));
+      }
+    }
   }
 
   /** {@inheritDoc} */
@@ -145,4 +158,76 @@ public abstract class AbstractRun extends AbstractElementSet
   /** {@inheritDoc} */
   @Override
   public abstract IDataPoint find(int column, long value);
+
+  /**
+   * Get the row of a data point, searching forward from the row of the
+   * previously found point first, since the rows for sorted values do not
+   * decrease.
+   *
+   * @param data
+   *          the data points
+   * @param point
+   *          the point, or {@code null}
+   * @param hint
+   *          the row to start searching at
+   * @return the row, or {@code -1} if {@code point} is {@code null}
+   */
+  private static final int __row(
+      final ArrayListView<? extends IDataPoint> data,
+      final IDataPoint point, final int hint) {
+    final int size;
+    int row;
+
+    if (point == null) {
+      return (-1);
+    }
+    size = data.size();
+    for (row = Math.max(0, hint); row < size; row++) {
+      if (data.get(row) == point) {
+        return row;
+      }
+    }
+    for (row = Math.min(hint, size); (--row) >= 0;) {
+      if (data.get(row) == point) {
+        return row;
+      }
+    }
+    return data.indexOf(point);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void findRows(final int column, final double[] values,
+      final int[] rows) {
+    final ArrayListView<? extends IDataPoint> data;
+    int index, row;
+
+    data = this.getData();
+    row = 0;
+    for (index = 0; index < values.length; index++) {
+      rows[index] = row = AbstractRun.__row(data,
+          this.find(column, values[index]), row);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void findRows(final int column, final long[] values,
+      final int[] rows) {
+    final ArrayListView<? extends IDataPoint> data;
+    int index, row;
+
+    data = this.getData();
+    row = 0;
+    for (index = 0; index < values.length; index++) {
+      rows[index] = row = AbstractRun.__row(data,
+          this.find(column, values[index]), row);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IRunCursor cursor() {
+    return new _RunCursor(this);
+  }
 }
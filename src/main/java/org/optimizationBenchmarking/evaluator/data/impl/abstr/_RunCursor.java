@@ -0,0 +1,72 @@
+package org.optimizationBenchmarking.evaluator.data.impl.abstr;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
+
+/**
+ * A generic cursor over a run, which reads the values via
+ * {@link IRun#getLong(int, int)} and {@link IRun#getDouble(int, int)}.
+ */
+final class _RunCursor implements IRunCursor {
+
+  /** the run */
+  private final IRun m_run;
+
+  /** the number of rows */
+  private final int m_m;
+
+  /** the current row */
+  private int m_row;
+
+  /**
+   * create
+   *
+   * @param run
+   *          the run
+   */
+  _RunCursor(final IRun run) {
+    super();
+    this.m_run = run;
+    this.m_m = run.m();
+    this.m_row = (-1);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean next() {
+    if (this.m_row < this.m_m) {
+      return ((++this.m_row) < this.m_m);
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getRow() {
+    return this.m_row;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setRow(final int row) {
+    if ((row < (-1)) || (row > this.m_m)) {
+      throw new IndexOutOfBoundsException(//
+          "Invalid row index " + row + //$NON-NLS-1$
+              ", the run has " + this.m_m + //$NON-NLS-1$
+              " rows.");//$NON-NLS-1$
+    }
+    this.m_row = row;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int column) {
+    return this.m_run.getLong(this.m_row, column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int column) {
+    return this.m_run.getDouble(this.m_row, column);
+  }
+}
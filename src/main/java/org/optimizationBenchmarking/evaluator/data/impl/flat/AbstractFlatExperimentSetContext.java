@@ -640,6 +640,20 @@ public abstract class AbstractFlatExperimentSetContext {
     // this method does nothing, yet - implement it in a sub-class
   }
 
+  /**
+   * Add {@code count} data points given column-wise, one primitive number
+   * array per dimension, to the current run. If we currently are not in a
+   * run context, try to create one.
+   *
+   * @param count
+   *          the number of data points to add
+   * @param columns
+   *          the columns
+   */
+  public void runAddDataPoints(final int count, final Object... columns) {
+    // this method does nothing, yet - implement it in a sub-class
+  }
+
   /**
    * Get the experiment set created with this builder.
    *
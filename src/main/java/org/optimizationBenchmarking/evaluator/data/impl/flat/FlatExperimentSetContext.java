@@ -1796,6 +1796,24 @@ public class FlatExperimentSetContext
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("resource")
+  public synchronized final void runAddDataPoints(final int count,
+      final Object... columns) {
+    final IRunContext context;
+
+    context = this.__runEnsure(false);
+    try {
+      context.addDataPoints(count, columns);
+    } catch (final Throwable error) {
+      throw new IllegalStateException(this.__errorLocation(//
+          ((("Error while adding ") //$NON-NLS-1$
+              + count) + " data points to run."), //$NON-NLS-1$
+          true), error);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public synchronized final IExperimentSet getExperimentSet() {
@@ -0,0 +1,194 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.BufferedWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.optimizationBenchmarking.evaluator.data.spec.builders.IExperimentSetContext;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+/**
+ * A build-time tool which generates the source code of the data point and
+ * factory classes for standard dimension sets. The dimension sets are
+ * defined by static methods taking an {@link IExperimentSetContext} as
+ * only parameter, such as
+ * {@code org.optimizationBenchmarking.evaluator.io.impl.bbob.BBOBInput#makeBBOBDimensionSet}
+ * . The sources are placed into the package
+ * {@link DimensionSet#PREGENERATED_PACKAGE} and compiled together with
+ * the library, and an index mapping their signatures to the factory
+ * classes is written to the resource
+ * {@link DimensionSet#PREGENERATED_INDEX}. {@link DimensionSet} then uses
+ * these classes instead of generating new ones at runtime. The methods
+ * must only define dimensions: Each experiment set context is then
+ * completed with a placeholder instance and a run with a single data point,
+ * so that its experiment set can be created and the context be closed.
+ */
+public final class DataClassPregenerator {
+
+  /** the forbidden constructor */
+  private DataClassPregenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Generate the classes.
+   *
+   * @param args
+   *          the arguments: the source folder to generate the classes
+   *          into, the folder to write the index resource into (usually
+   *          the class output folder), and then one or multiple methods
+   *          defining dimension sets, each written as
+   *          {@code className#methodName}
+   * @throws Throwable
+   *           if something goes wrong
+   */
+  public static final void main(final String[] args) throws Throwable {
+    final Path sources, resources, index, packageFolder;
+    final LinkedHashMap<String, String> registry;
+    DimensionSet dims;
+    _ClassBuilder builder;
+    Method method;
+    String signature, spec, suffix;
+    String[] names;
+    CharSequence[] code;
+    Path dest;
+    int i, j;
+
+    if ((args == null) || (args.length < 3)) {
+      throw new IllegalArgumentException(//
+          "Expected a source folder, a resource folder, and at least one dimension set method."); //$NON-NLS-1$
+    }
+
+    sources = Paths.get(args[0]).toAbsolutePath().normalize();
+    resources = Paths.get(args[1]).toAbsolutePath().normalize();
+    registry = new LinkedHashMap<>();
+
+    packageFolder = DataClassPregenerator.__resolve(sources,
+        DimensionSet.PREGENERATED_PACKAGE);
+    Files.createDirectories(packageFolder);
+
+    for (i = 2; i < args.length; i++) {
+      spec = args[i];
+      j = spec.lastIndexOf('#');
+      if (j <= 0) {
+        throw new IllegalArgumentException(//
+            "Invalid dimension set method '" + spec + //$NON-NLS-1$
+                "', it must be written as className#methodName."); //$NON-NLS-1$
+      }
+
+      method = Class.forName(spec.substring(0, j))
+          .getMethod(spec.substring(j + 1), IExperimentSetContext.class);
+      try (final ExperimentSetContext context = new ExperimentSetContext()) {
+        method.invoke(null, context);
+        dims = context.getDimensionSet();
+        DataClassPregenerator.__complete(context, dims);
+      }
+
+      signature = _DataFactoryCache._signature(dims.getData());
+      if (registry.containsKey(signature)) {
+        continue;
+      }
+
+      suffix = Integer.toString(registry.size());
+      builder = new _ClassBuilder(dims, null,
+          DimensionSet.PREGENERATED_PACKAGE, suffix);
+      names = builder._getClassNames();
+      code = builder._getSources();
+      for (j = 0; j < names.length; j++) {
+        dest = packageFolder.resolve(
+            names[j].substring(names[j].lastIndexOf('.') + 1) + ".java"); //$NON-NLS-1$
+        Files.write(dest,
+            code[j].toString().getBytes(StandardCharsets.UTF_8));
+      }
+      registry.put(signature, builder._getFactoryClassName());
+    }
+
+    index = DataClassPregenerator.__resolve(resources,
+        DimensionSet.class.getPackage().getName())
+        .resolve(DimensionSet.PREGENERATED_INDEX);
+    Files.createDirectories(index.getParent());
+    try (final BufferedWriter writer = Files.newBufferedWriter(index,
+        StandardCharsets.UTF_8)) {
+      for (final Map.Entry<String, String> entry : registry.entrySet()) {
+        writer.write(entry.getKey());
+        writer.write('\t');
+        writer.write(entry.getValue());
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Complete an experiment set context in which only the dimensions have
+   * been defined with a placeholder instance and a run with a single data
+   * point, and create its experiment set.
+   *
+   * @param context
+   *          the context
+   * @param dims
+   *          the dimensions defined in the context
+   */
+  private static final void __complete(final ExperimentSetContext context,
+      final DimensionSet dims) {
+    final StringBuilder point;
+    NumberParser<Number> parser;
+
+    point = new StringBuilder();
+    for (final Dimension dim : dims.getData()) {
+      if (point.length() > 0) {
+        point.append(' ');
+      }
+      // the value closest to 1 which is allowed by the dimension
+      parser = dim.getParser();
+      if (parser.areBoundsInteger()) {
+        point.append(Math.max(parser.getLowerBoundLong(),
+            Math.min(parser.getUpperBoundLong(), 1L)));
+      } else {
+        point.append(Math.max(parser.getLowerBoundDouble(),
+            Math.min(parser.getUpperBoundDouble(), 1d)));
+      }
+    }
+
+    context.declareFeature("placeholder", //$NON-NLS-1$
+        "A placeholder feature."); //$NON-NLS-1$
+    try (final InstanceContext ic = context.createInstance()) {
+      ic.setName("placeholder"); //$NON-NLS-1$
+      ic.setFeatureValue("placeholder", Integer.valueOf(1)); //$NON-NLS-1$
+    }
+    try (final ExperimentContext ec = context.createExperiment()) {
+      ec.setName("placeholder"); //$NON-NLS-1$
+      try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+        irc.setInstance("placeholder"); //$NON-NLS-1$
+        try (final RunContext rc = irc.createRun()) {
+          rc.addDataPoint(point.toString());
+        }
+      }
+    }
+    context.create();
+  }
+
+  /**
+   * Resolve the folder of a package
+   *
+   * @param root
+   *          the root folder
+   * @param packageName
+   *          the package name
+   * @return the folder
+   */
+  private static final Path __resolve(final Path root,
+      final String packageName) {
+    Path folder;
+
+    folder = root;
+    for (final String part : packageName.split("\\.")) { //$NON-NLS-1$
+      folder = folder.resolve(part);
+    }
+    return folder;
+  }
+}
@@ -1,7 +1,9 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 import org.optimizationBenchmarking.utils.parsers.Parser;
 
 /**
@@ -11,9 +13,18 @@ public abstract class DataFactory extends Parser<DataPoint> {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
-  /** create */
-  protected DataFactory() {
+  /** the dimensions */
+  final ArraySetView<Dimension> m_dims;
+
+  /**
+   * create
+   *
+   * @param dims
+   *          the dimensions
+   */
+  protected DataFactory(final ArraySetView<Dimension> dims) {
     super();
+    this.m_dims = dims;
   }
 
   /** {@inheritDoc} */
@@ -34,14 +45,177 @@ public abstract class DataFactory extends Parser<DataPoint> {
   public abstract DataPoint parseNumbers(final Number... numbers);
 
   /**
-   * Create a run from a set of data points
+   * Create a re-usable buffer into which rows can be parsed via
+   * {@link #parse(CharSequence, int, int, RunBuilder)} and its siblings
+   * and from which runs can be created.
+   *
+   * @return the run builder
+   */
+  public final RunBuilder createRunBuilder() {
+    return new RunBuilder(this.m_dims);
+  }
+
+  /**
+   * Make sure that a run builder belongs to this factory's dimensions
+   *
+   * @param dest
+   *          the run builder
+   */
+  private final void __checkBuilder(final RunBuilder dest) {
+    if (dest == null) {
+      throw new IllegalArgumentException(//
+          "Run builder must not be null."); //$NON-NLS-1$
+    }
+    if (dest.m_dims != this.m_dims) {
+      throw new IllegalArgumentException(//
+          "Run builder belongs to a different dimension set."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Parse one data point from a range of a character sequence and append
+   * its values as new row to a run builder. The text format is the same
+   * as for {@link #parseString(String)}. Different from that method,
+   * neither strings nor boxed numbers nor a data point object are created
+   * for plain decimal values, but the bounds of each dimension are still
+   * checked.
+   *
+   * @param chars
+   *          the characters
+   * @param start
+   *          the index of the first character
+   * @param end
+   *          the exclusive end index
+   * @param dest
+   *          the run builder to append the row to, which must have been
+   *          created by this factory's {@link #createRunBuilder()}
+   */
+  public final void parse(final CharSequence chars, final int start,
+      final int end, final RunBuilder dest) {
+    final int offset;
+
+    this.__checkBuilder(dest);
+    offset = dest._next();
+    try {
+      _RowParser._parse(this.m_dims, chars, start, end, dest._data(),
+          offset);
+    } catch (final Throwable t) {
+      throw new IllegalArgumentException("The text '" //$NON-NLS-1$
+          + chars.subSequence(start, end)
+          + "' does not represent a valid data point.", t);//$NON-NLS-1$
+    }
+    dest._commit();
+  }
+
+  /**
+   * Parse one data point from a range of a character array and append its
+   * values as new row to a run builder.
+   *
+   * @param chars
+   *          the characters
+   * @param start
+   *          the index of the first character
+   * @param end
+   *          the exclusive end index
+   * @param dest
+   *          the run builder to append the row to, which must have been
+   *          created by this factory's {@link #createRunBuilder()}
+   * @see #parse(CharSequence, int, int, RunBuilder)
+   */
+  public final void parse(final char[] chars, final int start,
+      final int end, final RunBuilder dest) {
+    this.__checkBuilder(dest);
+    this.parse(dest._wrap(chars), start, end, dest);
+  }
+
+  /**
+   * Parse one data point from a range of a byte buffer holding ASCII (or
+   * ISO-8859-1) text and append its values as new row to a run builder.
+   * The indexes are absolute and the position of the buffer is not
+   * changed.
+   *
+   * @param bytes
+   *          the bytes
+   * @param start
+   *          the index of the first byte
+   * @param end
+   *          the exclusive end index
+   * @param dest
+   *          the run builder to append the row to, which must have been
+   *          created by this factory's {@link #createRunBuilder()}
+   * @see #parse(CharSequence, int, int, RunBuilder)
+   */
+  public final void parse(final ByteBuffer bytes, final int start,
+      final int end, final RunBuilder dest) {
+    this.__checkBuilder(dest);
+    this.parse(dest._wrap(bytes), start, end, dest);
+  }
+
+  /**
+   * Create a run from a set of data points. The values of the points are
+   * copied into one primitive array per dimension, i.e., the run does not
+   * hold on to the data point objects.
    *
    * @param instance
-   *          the benchmark instance to which the run should belong
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the points should not be validated against
+   *          the instance's bounds
    * @param points
    *          the points
    * @return the run
    */
-  public abstract Run createRun(final Instance instance,
-      final Collection<DataPoint> points);
+  public final Run createRun(final Instance instance,
+      final Collection<DataPoint> points) {
+    return this.createRun(instance, points, EElementSetValidation.FULL);
+  }
+
+  /**
+   * Create a run from a set of data points. The values of the points are
+   * copied into one primitive array per dimension, i.e., the run does not
+   * hold on to the data point objects.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the points should not be validated against
+   *          the instance's bounds
+   * @param points
+   *          the points
+   * @param validation
+   *          the strategy for checking whether each data point can
+   *          follow its predecessor
+   * @return the run
+   */
+  public Run createRun(final Instance instance,
+      final Collection<DataPoint> points,
+      final EElementSetValidation validation) {
+    final _Column[] columns;
+    final _MutableColumn[] writable;
+    int row, index;
+
+    index = this.m_dims.size();
+    columns = new _Column[index];
+    writable = new _MutableColumn[index];
+    row = points.size();
+    for (; (--index) >= 0;) {
+      columns[index] = writable[index] = _MutableColumn
+          ._create(this.m_dims.get(index), row);
+    }
+
+    row = 0;
+    for (final DataPoint point : points) {
+      if (point == null) {
+        throw new IllegalArgumentException(//
+            "No data point in a run can be null."); //$NON-NLS-1$
+      }
+      if (instance != null) {
+        instance.validateDataPoint(point);
+      }
+      for (final _MutableColumn column : writable) {
+        column.set(row, point);
+      }
+      row++;
+    }
+
+    return new _ColumnarRun(this.m_dims, columns, row, validation);
+  }
 }
@@ -1,11 +1,16 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.evaluator.data.spec.IDimensionSet;
-import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
 import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
 
 /** a set of dimensions */
@@ -17,6 +22,19 @@ public final class DimensionSet extends _IDObjectSet<Dimension>
   /** an atomic id counter */
   private static final AtomicInteger ID_COUNTER = new AtomicInteger();
 
+  /**
+   * the package into which the data classes for the standard dimension
+   * sets are generated at build time
+   */
+  static final String PREGENERATED_PACKAGE = (DimensionSet.class
+      .getPackage().getName() + ".pregenerated"); //$NON-NLS-1$
+
+  /**
+   * the resource listing the signatures and factory classes of the data
+   * classes generated at build time
+   */
+  static final String PREGENERATED_INDEX = "pregenerated.txt"; //$NON-NLS-1$
+
   /** the parsers */
   private final DataFactory m_parser;
 
@@ -32,20 +50,78 @@ public final class DimensionSet extends _IDObjectSet<Dimension>
     super(data, false, false, true);
     this.m_id = DimensionSet.ID_COUNTER.getAndIncrement();
 
-    if (JavaCompilerTool.getInstance().canUse()) {
-      this.m_parser = new _ClassBuilder(this, logger).call();
-    } else {
+    DataFactory parser;
+    try {
+      parser = _DataFactoryCache._getDataFactory(this, logger);
+    } catch (final Throwable error) {
       if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
-        logger.warning(//
-            "You are not using this software with a JDK (Java Development Kit).\nThis means we have to use fallback data structures, which are _much_ slower and require _much_ more memory.\nIf you use a JDK, we use the compiler to automatically build data structures fitting perfectly to the dimensions you have specified.\nYou are probably using a JRE (Java Runtime Environment) to execute this program, so we cannot do that.\nYour Java version is: " //$NON-NLS-1$
+        logger.log(Level.WARNING, //
+            "Could neither compile nor emit data structures fitting to the dimensions you have specified.\nThis means we have to use fallback data structures, which are slower and require more memory.\nYour Java version is: " //$NON-NLS-1$
                 + System.getProperty("java.version") + ' ' + //$NON-NLS-1$
                 System.getProperty("java.vm.version") + ' ' + //$NON-NLS-1$
                 System.getProperty("java.vm.name") + //$NON-NLS-1$
                 " installed in " + //$NON-NLS-1$
-                System.getProperty("java.home") + '.');//$NON-NLS-1$
+                System.getProperty("java.home") + '.', //$NON-NLS-1$
+            error);
       }
+      parser = new _LongEncodedDataFactory(this.m_data);
+    }
+    this.m_parser = parser;
+  }
+
+  /**
+   * Set a directory in which the data point classes generated for
+   * dimension sets should be stored. If such a directory is set, classes
+   * stored there by earlier runs of the JVM will be loaded instead of
+   * compiling them again. Within one JVM, the generated classes are
+   * always shared between dimension sets with the same types, parsers,
+   * and directions.
+   *
+   * @param directory
+   *          the directory, or {@code null} to disable the on-disk class
+   *          cache
+   */
+  public static final void setClassCacheDirectory(final Path directory) {
+    _DataFactoryCache._setDirectory(directory);
+  }
+
+  /**
+   * Get the directory in which the data point classes generated for
+   * dimension sets are stored.
+   *
+   * @return the directory, or {@code null} if no on-disk class cache is
+   *         used
+   * @see #setClassCacheDirectory(Path)
+   */
+  public static final Path getClassCacheDirectory() {
+    return _DataFactoryCache._getDirectory();
+  }
+
+  /**
+   * Get the factory class generated at build time for a given signature
+   * (see {@link _DataFactoryCache}), if any. The data classes for the dimension sets of the
+   * standard benchmark formats, such as BBOB and TSP Suite, are generated
+   * when this library is built and registered in the resource
+   * {@link #PREGENERATED_INDEX}, so loading such data does not require
+   * generating classes at runtime.
+   *
+   * @param signature
+   *          the signature
+   * @return the factory class, or {@code null} if none was generated for
+   *         the signature
+   */
+  static final Class<?> _getPregeneratedFactoryClass(
+      final String signature) {
+    final String name;
 
-      this.m_parser = new _LongEncodedDataFactory(this.m_data);
+    name = __PregeneratedRegistry.REGISTRY.get(signature);
+    if (name == null) {
+      return null;
+    }
+    try {
+      return Class.forName(name, true, DimensionSet.class.getClassLoader());
+    } catch (final Throwable error) {
+      return null;
     }
   }
 
@@ -81,4 +157,45 @@ public final class DimensionSet extends _IDObjectSet<Dimension>
   public final ExperimentSet getOwner() {
     return ((ExperimentSet) (this.m_owner));
   }
+
+  /** the registry of the factory classes generated at build time */
+  private static final class __PregeneratedRegistry {
+
+    /** maps signatures to the names of factory classes */
+    static final HashMap<String, String> REGISTRY = __PregeneratedRegistry
+        .__load();
+
+    /**
+     * Load the registry: Each line of the
+     * {@link DimensionSet#PREGENERATED_INDEX index resource} holds a
+     * signature and a class name, separated by a tab.
+     *
+     * @return the registry
+     */
+    private static final HashMap<String, String> __load() {
+      final HashMap<String, String> registry;
+      String line;
+      int index;
+
+      registry = new HashMap<>();
+      try (final InputStream input = DimensionSet.class
+          .getResourceAsStream(DimensionSet.PREGENERATED_INDEX)) {
+        if (input != null) {
+          try (final BufferedReader reader = new BufferedReader(
+              new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            while ((line = reader.readLine()) != null) {
+              index = line.indexOf('\t');
+              if (index > 0) {
+                registry.put(line.substring(0, index),
+                    line.substring(index + 1).trim());
+              }
+            }
+          }
+        }
+      } catch (final Throwable error) {
+        // no pregenerated classes available
+      }
+      return registry;
+    }
+  }
 }
@@ -0,0 +1,80 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * The strategy used to check the elements of an {@link ElementSet} (and
+ * the data points of a {@link Run}) against each other when the set is
+ * created. Single elements are always validated, this strategy only
+ * concerns the checks between pairs of elements, which can be quite
+ * costly for big sets.
+ */
+public enum EElementSetValidation {
+
+  /**
+   * Check every element against every element before it. This is the
+   * most thorough, but also the slowest method: It needs a quadratic
+   * number of comparisons.
+   */
+  FULL {
+
+    /** {@inheritDoc} */
+    @Override
+    final <DT extends Comparable<?>> void _validatePairs(
+        final ElementSet<DT> set, final DT[] data, final int index) {
+      final DT element;
+      int before;
+
+      element = data[index];
+      for (before = index; (--before) >= 0;) {
+        set._validateElementPair(data[before], element);
+      }
+    }
+  },
+
+  /**
+   * Check every element only against its direct predecessor, which needs
+   * only a linear number of comparisons. This finds all violations only
+   * if any two elements which conflict are sorted next to each other. This
+   * holds for the data points of a {@link Run}, whose order is transitive,
+   * and for the {@link InstanceRuns} of an {@link Experiment}, which are
+   * sorted by their instance. It does not hold for the experiments of an
+   * {@link ExperimentSet}: They are sorted by their parameter settings, so
+   * two experiments with the same name may be far apart. Experiment sets
+   * therefore always check their experiments as in {@link #FULL}.
+   */
+  ADJACENT {
+
+    /** {@inheritDoc} */
+    @Override
+    final <DT extends Comparable<?>> void _validatePairs(
+        final ElementSet<DT> set, final DT[] data, final int index) {
+      if (index > 0) {
+        set._validateElementPair(data[index - 1], data[index]);
+      }
+    }
+  },
+
+  /**
+   * Do not check pairs of elements at all. This should only be used for
+   * trusted input data which is known to be correct, e.g., data that has
+   * been loaded and validated before.
+   */
+  NONE;
+
+  /**
+   * Validate the element at index {@code index} against the elements
+   * before it.
+   *
+   * @param set
+   *          the set to which the elements belong
+   * @param data
+   *          the data array
+   * @param index
+   *          the index of the element to validate
+   * @param <DT>
+   *          the element type
+   */
+  <DT extends Comparable<?>> void _validatePairs(final ElementSet<DT> set,
+      final DT[] data, final int index) {
+    // nothing
+  }
+}
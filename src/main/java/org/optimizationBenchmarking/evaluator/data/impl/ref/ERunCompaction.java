@@ -0,0 +1,43 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * The strategy used to compact the data points of a {@link Run} when it
+ * is created from the rows logged by an experiment. Logs often contain
+ * long stretches of points in which the solution quality does not change,
+ * which cost memory and slow down every later scan of the run without
+ * adding any information.
+ */
+public enum ERunCompaction {
+
+  /** Keep all data points. */
+  NONE,
+
+  /**
+   * Keep only the first and the last data point and those which improve
+   * at least one
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionType#isSolutionQualityMeasure()
+   * solution quality} dimension over all points before them, according to
+   * the {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection
+   * direction} of the dimension. Runs without quality dimension are not
+   * changed.
+   */
+  IMPROVEMENTS {
+
+    /** {@inheritDoc} */
+    @Override
+    final int _compact(final RunBuilder rows) {
+      return rows.compact();
+    }
+  };
+
+  /**
+   * Compact the rows collected in a run builder.
+   *
+   * @param rows
+   *          the run builder
+   * @return the number of removed rows
+   */
+  int _compact(final RunBuilder rows) {
+    return 0;
+  }
+}
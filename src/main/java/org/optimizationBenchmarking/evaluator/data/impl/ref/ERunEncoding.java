@@ -0,0 +1,54 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * The encoding of the columns of a {@link Run} in memory. Different from
+ * the {@link EStoragePrecision storage precision}, the encoding never
+ * changes any value, it only trades memory for the time needed to access
+ * the values.
+ */
+public enum ERunEncoding {
+
+  /** Store every column as a plain primitive array. */
+  PLAIN,
+
+  /**
+   * <p>
+   * Store the columns of integer dimensions, such as
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionType#ITERATION_FE
+   * function evaluations} or
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionType#RUNTIME_CPU
+   * runtimes}, as blocks of zig-zag encoded differences between
+   * consecutive values written as variable-length integers. As these
+   * dimensions usually grow in small steps, this often needs only a
+   * quarter or less of the memory of a plain array.
+   * </p>
+   * <p>
+   * Each block of rows can be decoded on its own, so reading a row or
+   * searching for a value decodes only a single block, and iterating over
+   * the rows of a run via a
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.IRunCursor
+   * cursor} decodes each value once. Columns of floating point dimensions
+   * and columns which would not become smaller are stored plainly.
+   * </p>
+   */
+  DELTA {
+
+    /** {@inheritDoc} */
+    @Override
+    final _Column _encode(final _Column column) {
+      return _DeltaColumn._encode(column);
+    }
+  };
+
+  /**
+   * Get the column to store for a column holding the values as plain
+   * array.
+   *
+   * @param column
+   *          the plain column
+   * @return the column to store, which may be {@code column} itself
+   */
+  _Column _encode(final _Column column) {
+    return column;
+  }
+}
@@ -0,0 +1,57 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.nio.file.Path;
+
+/**
+ * Where the values of the data points of the {@link Run}s of an
+ * {@link ExperimentSet} are kept. Large experiment sets can keep their run
+ * data outside of the Java heap, so that it neither requires a huge heap
+ * nor has to be scanned by the garbage collector. The heap then only
+ * holds the metadata, such as instances, experiments, and parameters. Run
+ * data outside of the heap is freed by {@link ExperimentSet#release()}.
+ */
+public enum ERunStorage {
+
+  /** Keep the run data in primitive arrays on the Java heap. */
+  HEAP,
+
+  /**
+   * Keep the run data in direct buffers outside of the Java heap. Their
+   * total size is limited by the {@code -XX:MaxDirectMemorySize} option
+   * of the virtual machine.
+   */
+  DIRECT {
+
+    /** {@inheritDoc} */
+    @Override
+    final _OffHeapStore _createStore(final Path directory) {
+      return new _OffHeapStore(false, null);
+    }
+  },
+
+  /**
+   * Keep the run data in a scratch file which is mapped into memory. This
+   * allows the operating system to page out data which is not used, so
+   * the run data may even exceed the physical memory.
+   */
+  MAPPED {
+
+    /** {@inheritDoc} */
+    @Override
+    final _OffHeapStore _createStore(final Path directory) {
+      return new _OffHeapStore(true, directory);
+    }
+  };
+
+  /**
+   * Create the store for the run data of an experiment set
+   *
+   * @param directory
+   *          the directory for scratch files, or {@code null} to use the
+   *          default directory for temporary files
+   * @return the store, or {@code null} if the data is kept on the heap
+   */
+  _OffHeapStore _createStore(final Path directory) {
+    return null;
+  }
+}
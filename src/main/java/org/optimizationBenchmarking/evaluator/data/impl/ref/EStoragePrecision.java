@@ -0,0 +1,63 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * The precision with which the values of the floating point dimensions of
+ * a {@link Run} are stored. Different from the
+ * {@link Dimension#getDataType() data type} of a dimension, which defines
+ * how values are parsed and checked, this only concerns the memory used
+ * for the columns of runs.
+ */
+public enum EStoragePrecision {
+
+  /** Store every value with the data type of its dimension. */
+  EXACT,
+
+  /**
+   * <p>
+   * Store the values of {@code double}
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionType#isSolutionQualityMeasure()
+   * solution quality} dimensions as {@code float}, which halves the memory
+   * needed for these columns. Each value is rounded to the nearest
+   * {@code float}, as done by a {@code (float)} cast. The values of a run
+   * are checked against the bounds of its instance before rounding.
+   * </p>
+   * <p>
+   * Rounding to the nearest value never reverses the order of two values,
+   * so runs which are valid before rounding stay valid afterwards, unless
+   * two different values become equal. Dimensions with a
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection#isStrict()
+   * strict} direction are therefore always stored exactly. A column is
+   * also stored exactly if rounding would turn a finite value into an
+   * infinite one or a non-zero value into zero.
+   * </p>
+   */
+  SINGLE {
+
+    /** {@inheritDoc} */
+    @Override
+    final _Column _store(final _Column column) {
+      final _FloatColumn rounded;
+
+      if ((column instanceof _DoubleColumn)
+          && column.m_dim.m_dimensionType.isSolutionQualityMeasure()
+          && (!(column.m_dim.m_direction.isStrict()))) {
+        rounded = ((_DoubleColumn) column)._toFloat();
+        if (rounded != null) {
+          return rounded;
+        }
+      }
+      return column;
+    }
+  };
+
+  /**
+   * Get the column to store for a column holding the exact values.
+   *
+   * @param column
+   *          the column with the exact values
+   * @return the column to store, which may be {@code column} itself
+   */
+  _Column _store(final _Column column) {
+    return column;
+  }
+}
@@ -23,6 +23,16 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
   /** the data elements */
   final ArraySetView<DT> m_data;
 
+  /**
+   * Create an element set which does not store its elements in
+   * {@link #m_data}, but instead provides them on demand via an
+   * overridden {@link #getData()} method.
+   */
+  ElementSet() {
+    super();
+    this.m_data = null;
+  }
+
   /**
    * Create a data set with the given data
    *
@@ -50,10 +60,29 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
    */
   ElementSet(final DT[] data, final boolean clone, final boolean sort,
       final boolean own) {
+    this(data, clone, sort, own, EElementSetValidation.FULL);
+  }
+
+  /**
+   * instantiate
+   *
+   * @param data
+   *          the data of the set
+   * @param clone
+   *          should we clone the data?
+   * @param sort
+   *          should we sort the data?
+   * @param own
+   *          should we own the elements?
+   * @param validation
+   *          the strategy for validating pairs of elements
+   */
+  ElementSet(final DT[] data, final boolean clone, final boolean sort,
+      final boolean own, final EElementSetValidation validation) {
     super();
 
     final DT[] mdata;
-    int index1, index2;
+    int index;
 
     if (data == null) {
       throw new IllegalArgumentException("Data must not be null."); //$NON-NLS-1$
@@ -65,22 +94,25 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
               + " must contain at least one element."); //$NON-NLS-1$
     }
 
+    if (validation == null) {
+      throw new IllegalArgumentException(//
+          "Validation strategy must not be null."); //$NON-NLS-1$
+    }
+
     mdata = (clone ? data.clone() : data);
 
     if (sort) {
       Arrays.sort(mdata);
     }
 
-    index1 = 0;
-    for (final DT element1 : mdata) {
+    index = 0;
+    for (final DT element : mdata) {
       if (own) {
-        this._setOwnerOfElement(element1, index1);
-      }
-      this._validateSingleElement(element1, index1, own);
-      for (index2 = index1; (--index2) >= 0;) {
-        this._validateElementPair(mdata[index2], element1);
+        this._setOwnerOfElement(element, index);
       }
-      index1++;
+      this._validateSingleElement(element, index, own);
+      validation._validatePairs(this, mdata, index);
+      index++;
     }
 
     this.m_data = new ArraySetView<>(mdata, false);
@@ -91,7 +123,7 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
    *
    * @return the data array
    */
-  public final ArraySetView<DT> getData() {
+  public ArraySetView<DT> getData() {
     return this.m_data;
   }
 
@@ -215,8 +247,8 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
     int i, r;
 
     if (o instanceof ElementSet) {
-      a = this.m_data;
-      b = ((ElementSet) o).m_data;
+      a = this.getData();
+      b = ((ElementSet) o).getData();
 
       if (a == b) {
         return 0;
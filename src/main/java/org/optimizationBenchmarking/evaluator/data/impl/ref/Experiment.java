@@ -38,11 +38,14 @@ public final class Experiment extends _IDObjectSet<InstanceRuns>
    *          should we sort the data?
    * @param own
    *          should mark the elements as owned by this object?
+   * @param validation
+   *          the strategy for validating pairs of elements
    */
   Experiment(final String name, final String desc,
       final ParameterSetting params, final InstanceRuns[] data,
-      final boolean clone, final boolean sort, final boolean own) {
-    super(data, clone, sort, own);
+      final boolean clone, final boolean sort, final boolean own,
+      final EElementSetValidation validation) {
+    super(data, clone, sort, own, validation);
     String n;
 
     if (params == null) {
@@ -92,6 +92,15 @@ public final class ExperimentContext extends
     return this.getOwner()._getInstanceSet();
   }
 
+  /**
+   * get the validation strategy
+   *
+   * @return the validation strategy
+   */
+  final EElementSetValidation _getValidation() {
+    return this.getOwner()._getValidation();
+  }
+
   /** {@inheritDoc} */
   @Override
   public synchronized final void setName(final String name) {
@@ -150,26 +159,53 @@ public final class ExperimentContext extends
   /** {@inheritDoc} */
   @Override
   final Experiment _doCompile(final ArrayList<InstanceRuns> data) {
-    final String a, b, c, d;
+    final String b, d;
     final _PropertyFSMSettingBuilder<ParameterSetting> f;
 
-    a = this.m_name;
+    b = this.m_name;
     this.m_name = null;
-    c = this.m_description;
+    d = this.m_description;
     this.m_description = null;
     f = this.m_props;
     this.m_props = null;
 
     this.fsmFlagsAssertTrue(ExperimentContext.FLAG_HAS_NAME);
 
-    b = this.normalize(a);
-    if (b == null) {
-      throw new IllegalArgumentException(//
-          "A name must not normalize to null, buth the name '" //$NON-NLS-1$
-              + a + "' of " + this + //$NON-NLS-1$
-              " does."); //$NON-NLS-1$
+    return new Experiment(b, //
+        d, //
+        f._finalize(), //
+        data.toArray(new InstanceRuns[data.size()]), //
+        false, true, true, this._getValidation());
+
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean _isChildCompilationParallel() {
+    return true;
+  }
+
+  /**
+   * Normalize the name and description via the experiment set context.
+   * This is done when closing, because the experiment is compiled while
+   * the experiment set context is locked, possibly in another thread.
+   */
+  private final void __normalizeNameAndDescription() {
+    final String a, b, c, d;
+
+    a = this.m_name;
+    if (a != null) {
+      b = this.normalize(a);
+      if (b == null) {
+        throw new IllegalArgumentException(//
+            "A name must not normalize to null, buth the name '" //$NON-NLS-1$
+                + a + "' of " + this + //$NON-NLS-1$
+                " does."); //$NON-NLS-1$
+      }
+      this.m_name = b;
     }
 
+    c = this.m_description;
     if (c != null) {
       d = this.normalize(c);
 
@@ -179,21 +215,14 @@ public final class ExperimentContext extends
                 + c + "' of " + this + //$NON-NLS-1$
                 " does."); //$NON-NLS-1$
       }
-    } else {
-      d = null;
+      this.m_description = d;
     }
-
-    return new Experiment(b, //
-        d, //
-        f._finalize(), //
-        data.toArray(new InstanceRuns[data.size()]), //
-        false, true, true);
-
   }
 
   /** {@inheritDoc} */
   @Override
   protected final synchronized void onClose() {
+    this.__normalizeNameAndDescription();
     super.onClose();
     this.m_props._compile();
   }
@@ -1,6 +1,5 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
-import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
 import org.optimizationBenchmarking.utils.tools.impl.abstr.Tool;
 
 /** The entry point for the tooling API to experiment data generation */
@@ -21,13 +20,13 @@ public final class ExperimentDataTool extends Tool {
   /** {@inheritDoc} */
   @Override
   public void checkCanUse() {
-    JavaCompilerTool.getInstance().checkCanUse();
+    // without a Java compiler, data point classes are emitted as byte code
   }
 
   /** {@inheritDoc} */
   @Override
   public final boolean canUse() {
-    return JavaCompilerTool.getInstance().canUse();
+    return true;
   }
 
   /**
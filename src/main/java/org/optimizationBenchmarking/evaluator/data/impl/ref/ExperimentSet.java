@@ -30,6 +30,12 @@ public final class ExperimentSet extends _IDObjectSet<Experiment>
   /** the instances */
   private final InstanceSet m_instances;
 
+  /**
+   * the store outside of the heap holding the data of the runs, or
+   * {@code null} if it is kept on the heap
+   */
+  transient volatile _OffHeapStore m_store;
+
   /**
    * instantiate
    *
@@ -49,12 +55,20 @@ public final class ExperimentSet extends _IDObjectSet<Experiment>
    *          should we sort the data?
    * @param own
    *          should mark the elements as owned by this object?
+   * @param validation
+   *          the strategy for validating pairs of elements, where
+   *          {@link EElementSetValidation#ADJACENT} is treated as
+   *          {@link EElementSetValidation#FULL}
    */
   ExperimentSet(final DimensionSet dimensions, final InstanceSet instances,
       final FeatureSet features, final ParameterSet parameters,
       final Experiment[] data, final boolean clone, final boolean sort,
-      final boolean own) {
-    super(data, clone, sort, own);
+      final boolean own, final EElementSetValidation validation) {
+    // experiments are sorted by their parameters, but their names must be
+    // unique as well: conflicting experiments need not be adjacent
+    super(data, clone, sort, own,
+        ((validation == EElementSetValidation.ADJACENT)
+            ? EElementSetValidation.FULL : validation));
 
     if ((dimensions == null) || (dimensions.getData().isEmpty())) {
       throw new IllegalArgumentException((//
@@ -198,4 +212,24 @@ public final class ExperimentSet extends _IDObjectSet<Experiment>
   public final Experiment find(final String name) {
     return super.find(name);
   }
+
+  /**
+   * Release the memory outside of the Java heap which holds the data of
+   * the runs of this set if it was created with the
+   * {@link ERunStorage#DIRECT direct} or {@link ERunStorage#MAPPED
+   * mapped} {@link ExperimentSetContext#setRunStorage(ERunStorage) run
+   * storage}, and delete the scratch file, if any. This method should be
+   * called when the experiment set is discarded. Afterwards, the data
+   * points of its runs can no longer be accessed. For run data on the
+   * heap, this method does nothing.
+   */
+  public final void release() {
+    final _OffHeapStore store;
+
+    store = this.m_store;
+    if (store != null) {
+      this.m_store = null;
+      store._release();
+    }
+  }
 }
@@ -1,6 +1,10 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.evaluator.data.spec.builders.IExperimentSetContext;
@@ -14,6 +18,34 @@ import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 public final class ExperimentSetContext extends _FSM
     implements IExperimentSetContext {
 
+  /**
+   * the system property defining the default
+   * {@link #setCompaction(ERunCompaction) run compaction}, i.e., the name
+   * of an {@link ERunCompaction} constant
+   */
+  public static final String COMPACTION_PROPERTY = "org.optimizationBenchmarking.evaluator.runCompaction"; //$NON-NLS-1$
+
+  /**
+   * the system property defining the default
+   * {@link #setStoragePrecision(EStoragePrecision) storage precision},
+   * i.e., the name of an {@link EStoragePrecision} constant
+   */
+  public static final String PRECISION_PROPERTY = "org.optimizationBenchmarking.evaluator.storagePrecision"; //$NON-NLS-1$
+
+  /**
+   * the system property defining the default
+   * {@link #setRunEncoding(ERunEncoding) run encoding}, i.e., the name of
+   * an {@link ERunEncoding} constant
+   */
+  public static final String ENCODING_PROPERTY = "org.optimizationBenchmarking.evaluator.runEncoding"; //$NON-NLS-1$
+
+  /**
+   * the system property defining the default
+   * {@link #setRunStorage(ERunStorage) run storage}, i.e., the name of an
+   * {@link ERunStorage} constant
+   */
+  public static final String STORAGE_PROPERTY = "org.optimizationBenchmarking.evaluator.runStorage"; //$NON-NLS-1$
+
   /** a dimension set context was created */
   private static final int STATE_DIMENSION_SET_CONTEXT_CREATED = (_FSM.STATE_OPEN
       + 1);
@@ -123,6 +155,30 @@ public final class ExperimentSetContext extends _FSM
   /** the logger */
   private final Logger m_logger;
 
+  /** the strategy for validating the elements of the created sets */
+  private volatile EElementSetValidation m_validation;
+
+  /** the strategy for compacting the created runs */
+  private volatile ERunCompaction m_compaction;
+
+  /** the number of data points removed by compaction */
+  private final AtomicLong m_compacted;
+
+  /** the precision with which the values of runs are stored */
+  private volatile EStoragePrecision m_precision;
+
+  /** the encoding of the columns of runs */
+  private volatile ERunEncoding m_encoding;
+
+  /** where the data of the runs is kept */
+  private volatile ERunStorage m_storage;
+
+  /** the directory for scratch files, or {@code null} for the default */
+  private volatile Path m_scratch;
+
+  /** the store outside of the heap for the data of the runs */
+  private final AtomicReference<_OffHeapStore> m_store;
+
   /** create */
   public ExperimentSetContext() {
     this(null);
@@ -138,6 +194,21 @@ public final class ExperimentSetContext extends _FSM
     super(null);
 
     this.m_logger = logger;
+    this.m_validation = EElementSetValidation.FULL;
+    this.m_compaction = ExperimentSetContext.__fromProperty(
+        ExperimentSetContext.COMPACTION_PROPERTY, ERunCompaction.values(),
+        ERunCompaction.NONE);
+    this.m_precision = ExperimentSetContext.__fromProperty(
+        ExperimentSetContext.PRECISION_PROPERTY,
+        EStoragePrecision.values(), EStoragePrecision.EXACT);
+    this.m_encoding = ExperimentSetContext.__fromProperty(
+        ExperimentSetContext.ENCODING_PROPERTY, ERunEncoding.values(),
+        ERunEncoding.PLAIN);
+    this.m_storage = ExperimentSetContext.__fromProperty(
+        ExperimentSetContext.STORAGE_PROPERTY, ERunStorage.values(),
+        ERunStorage.HEAP);
+    this.m_store = new AtomicReference<>();
+    this.m_compacted = new AtomicLong();
     this.m_normal = new HashMap<>();
 
     this.m_normal.put(Parameter.PARAMETER_ALGORITHM,
@@ -173,6 +244,259 @@ public final class ExperimentSetContext extends _FSM
     return this.m_logger;
   }
 
+  /**
+   * Set the strategy for validating the elements of the runs, instance
+   * runs, experiments, and the experiment set created by this context
+   * against each other. The default is
+   * {@link EElementSetValidation#FULL}. For big, trusted data sets,
+   * {@link EElementSetValidation#ADJACENT} or even
+   * {@link EElementSetValidation#NONE} may be much faster. The experiments
+   * of the experiment set are always checked against each other in full
+   * unless the strategy is {@link EElementSetValidation#NONE}. The
+   * strategy is applied whenever one of these elements is compiled, so it
+   * should be set before any data is added.
+   *
+   * @param validation
+   *          the validation strategy
+   */
+  public final void setValidation(final EElementSetValidation validation) {
+    if (validation == null) {
+      throw new IllegalArgumentException(//
+          "Validation strategy must not be null."); //$NON-NLS-1$
+    }
+    this.m_validation = validation;
+  }
+
+  /**
+   * Get the strategy for validating the elements of the created sets
+   * against each other.
+   *
+   * @return the validation strategy
+   * @see #setValidation(EElementSetValidation)
+   */
+  public final EElementSetValidation getValidation() {
+    return this.m_validation;
+  }
+
+  /**
+   * Get the enum constant named by a system property
+   *
+   * @param property
+   *          the system property
+   * @param values
+   *          the enum constants
+   * @param fallback
+   *          the constant to use if the property is not set or does not
+   *          name one of the constants
+   * @return the constant
+   * @param <E>
+   *          the enum type
+   */
+  private static final <E extends Enum<E>> E __fromProperty(
+      final String property, final E[] values, final E fallback) {
+    String name;
+
+    try {
+      name = System.getProperty(property);
+      if ((name != null) && (!((name = name.trim()).isEmpty()))) {
+        for (final E value : values) {
+          if (value.name().equalsIgnoreCase(name)) {
+            return value;
+          }
+        }
+      }
+    } catch (final SecurityException ignore) {
+      // use the default
+    }
+    return fallback;
+  }
+
+  /**
+   * Set the strategy for compacting the runs created by this context. The
+   * default is {@link ERunCompaction#NONE}, unless another strategy is
+   * defined by the system property {@link #COMPACTION_PROPERTY}. With
+   * {@link ERunCompaction#IMPROVEMENTS}, only the data points which
+   * improve the solution quality are kept, which can reduce the memory
+   * needed for long logs by orders of magnitude. The strategy is applied
+   * whenever a run is compiled, so it should be set before any data is
+   * added.
+   *
+   * @param compaction
+   *          the compaction strategy
+   */
+  public final void setCompaction(final ERunCompaction compaction) {
+    if (compaction == null) {
+      throw new IllegalArgumentException(//
+          "Compaction strategy must not be null."); //$NON-NLS-1$
+    }
+    this.m_compaction = compaction;
+  }
+
+  /**
+   * Get the strategy for compacting the created runs.
+   *
+   * @return the compaction strategy
+   * @see #setCompaction(ERunCompaction)
+   */
+  public final ERunCompaction getCompaction() {
+    return this.m_compaction;
+  }
+
+  /**
+   * Set the precision with which the values of the runs created by this
+   * context are stored. The default is {@link EStoragePrecision#EXACT},
+   * unless another precision is defined by the system property
+   * {@link #PRECISION_PROPERTY}. With {@link EStoragePrecision#SINGLE},
+   * {@code double} solution quality values are rounded to {@code float},
+   * which halves the memory they need. The precision is applied whenever a
+   * run is compiled, so it should be set before any data is added.
+   *
+   * @param precision
+   *          the storage precision
+   */
+  public final void setStoragePrecision(final EStoragePrecision precision) {
+    if (precision == null) {
+      throw new IllegalArgumentException(//
+          "Storage precision must not be null."); //$NON-NLS-1$
+    }
+    this.m_precision = precision;
+  }
+
+  /**
+   * Get the precision with which the values of the created runs are
+   * stored.
+   *
+   * @return the storage precision
+   * @see #setStoragePrecision(EStoragePrecision)
+   */
+  public final EStoragePrecision getStoragePrecision() {
+    return this.m_precision;
+  }
+
+  /**
+   * Set the encoding of the columns of the runs created by this context.
+   * The default is {@link ERunEncoding#PLAIN}, unless another encoding is
+   * defined by the system property {@link #ENCODING_PROPERTY}. With
+   * {@link ERunEncoding#DELTA}, the columns of integer dimensions are
+   * compressed, which saves much memory if many runs are kept at once.
+   * Like the {@link #setStoragePrecision(EStoragePrecision) precision},
+   * the encoding is applied whenever a run is compiled, so it should be
+   * set together with the dimensions, before any data is added.
+   *
+   * @param encoding
+   *          the run encoding
+   */
+  public final void setRunEncoding(final ERunEncoding encoding) {
+    if (encoding == null) {
+      throw new IllegalArgumentException(//
+          "Run encoding must not be null."); //$NON-NLS-1$
+    }
+    this.m_encoding = encoding;
+  }
+
+  /**
+   * Get the encoding of the columns of the created runs.
+   *
+   * @return the run encoding
+   * @see #setRunEncoding(ERunEncoding)
+   */
+  public final ERunEncoding getRunEncoding() {
+    return this.m_encoding;
+  }
+
+  /**
+   * Set where the data of the runs created by this context is kept. The
+   * default is {@link ERunStorage#HEAP}, unless another storage is defined
+   * by the system property {@link #STORAGE_PROPERTY}. With
+   * {@link ERunStorage#DIRECT} or {@link ERunStorage#MAPPED}, the values
+   * of the data points are kept outside of the Java heap until the created
+   * experiment set is {@link ExperimentSet#release() released}. The
+   * storage must be set before any data is added.
+   *
+   * @param storage
+   *          the run storage
+   */
+  public final void setRunStorage(final ERunStorage storage) {
+    if (storage == null) {
+      throw new IllegalArgumentException(//
+          "Run storage must not be null."); //$NON-NLS-1$
+    }
+    this.m_storage = storage;
+  }
+
+  /**
+   * Get where the data of the created runs is kept.
+   *
+   * @return the run storage
+   * @see #setRunStorage(ERunStorage)
+   */
+  public final ERunStorage getRunStorage() {
+    return this.m_storage;
+  }
+
+  /**
+   * Set the directory in which the scratch file for the
+   * {@link ERunStorage#MAPPED mapped} run storage is created. By default,
+   * the directory for temporary files is used.
+   *
+   * @param directory
+   *          the directory, or {@code null} to use the default directory
+   *          for temporary files
+   */
+  public final void setScratchDirectory(final Path directory) {
+    this.m_scratch = directory;
+  }
+
+  /**
+   * Get the directory in which the scratch file for the
+   * {@link ERunStorage#MAPPED mapped} run storage is created.
+   *
+   * @return the directory, or {@code null} if the default directory for
+   *         temporary files is used
+   * @see #setScratchDirectory(Path)
+   */
+  public final Path getScratchDirectory() {
+    return this.m_scratch;
+  }
+
+  /**
+   * Get the store for the data of the runs, creating it if necessary
+   *
+   * @return the store, or {@code null} if the data is kept on the heap
+   */
+  final _OffHeapStore _getStore() {
+    _OffHeapStore store;
+
+    store = this.m_store.get();
+    if (store == null) {
+      store = this.m_storage._createStore(this.m_scratch);
+      if ((store != null) && (!(this.m_store.compareAndSet(null, store)))) {
+        store = this.m_store.get();
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Get the total number of data points removed from the created runs by
+   * the {@link #setCompaction(ERunCompaction) compaction} so far.
+   *
+   * @return the number of removed data points
+   */
+  public final long getCompactedPointCount() {
+    return this.m_compacted.get();
+  }
+
+  /**
+   * Count data points removed by compaction
+   *
+   * @param count
+   *          the number of removed data points
+   */
+  final void _addCompactedPoints(final int count) {
+    this.m_compacted.addAndGet(count);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected void fsmStateAppendName(final int state,
@@ -446,6 +770,7 @@ public final class ExperimentSetContext extends _FSM
               ExperimentSetContext.STATE_EXPERIMENT_SET_CONTEXT_CLOSED);
 
           this.m_result = ((_ExperimentSetContext) child)._compile();
+          this.m_result.m_store = this.m_store.getAndSet(null);
           this.m_dims = null;
           this.m_features = null;
           this.m_instances = null;
@@ -490,6 +815,14 @@ public final class ExperimentSetContext extends _FSM
 
   /** free all allocated data structures */
   private final void __free() {
+    final _OffHeapStore store;
+
+    store = this.m_store.getAndSet(null);
+    if (store != null) {
+      // the run data did not become part of an experiment set
+      store._release();
+    }
+
     this.m_dsc = null;
     this.m_isc = null;
     this.m_esc = null;
@@ -512,6 +845,12 @@ public final class ExperimentSetContext extends _FSM
     try {
       this.__free();
 
+      if ((this.m_logger != null) && (this.m_compacted.get() > 0L)
+          && (this.m_logger.isLoggable(Level.FINE))) {
+        this.m_logger.fine("Run compaction removed " + //$NON-NLS-1$
+            this.m_compacted.get() + " data points."); //$NON-NLS-1$
+      }
+
       this.fsmStateAssert(EComparison.GREATER_OR_EQUAL,
           ExperimentSetContext.STATE_EXPERIMENT_SET_OBTAINED);
 
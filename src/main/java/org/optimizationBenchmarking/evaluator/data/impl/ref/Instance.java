@@ -168,6 +168,55 @@ public final class Instance extends _NamedIDObject implements IInstance {
     }
   }
 
+  /**
+   * Check whether all values of a run, given as its columns, are within
+   * the bounds of this instance. This performs the same checks as
+   * {@link #validateDataPoint(DataPoint)}, but without creating any data
+   * point objects.
+   *
+   * @param columns
+   *          the columns
+   * @param m
+   *          the number of rows
+   */
+  final void _validateColumns(final _Column[] columns, final int m) {
+    Number l, u;
+    _Column current;
+    boolean lowerFloat, upperFloat;
+    int i, row;
+
+    i = columns.length;
+    if (i != this.m_lower.length) {
+      throw new IllegalArgumentException(//
+          "Invalid dimension of data points: must have " //$NON-NLS-1$
+              + this.m_lower.length + " dimensions, but have " + i); //$NON-NLS-1$
+    }
+
+    for (; (--i) >= 0;) {
+      l = this.m_lower[i];
+      u = this.m_upper[i];
+      lowerFloat = ((l instanceof Double) || (l instanceof Float));
+      upperFloat = ((u instanceof Double) || (u instanceof Float));
+      current = columns[i];
+
+      for (row = 0; row < m; row++) {
+        if ((lowerFloat ? //
+            (l.doubleValue() > current.getDouble(row))//
+            : (l.longValue() > current.getLong(row))) || //
+            (upperFloat ? //
+                (u.doubleValue() < current.getDouble(row))//
+                : (u.longValue() < current.getLong(row)))) {
+          throw new IllegalArgumentException(((((((((((//
+          "Dimension " + i) + //$NON-NLS-1$
+              " of the data point in row ") + row) + //$NON-NLS-1$
+              " has value ") + current.getDouble(row)) + //$NON-NLS-1$
+              ", which is outside of the valid range [") + l) + //$NON-NLS-1$
+              ',') + u) + ']') + '.');
+        }
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   final int _compareTo(final _IDObject o) {
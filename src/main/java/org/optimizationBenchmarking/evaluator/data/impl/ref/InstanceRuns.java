@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
 import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
 
 /**
  * <p>
@@ -29,10 +30,13 @@ public final class InstanceRuns extends _IDObjectSet<Run>
    *          should we sort the data?
    * @param own
    *          should mark the elements as owned by this object?
+   * @param validation
+   *          the strategy for validating pairs of elements
    */
   InstanceRuns(final Instance inst, final Run[] data, final boolean clone,
-      final boolean sort, final boolean own) {
-    super(data, clone, sort, own);
+      final boolean sort, final boolean own,
+      final EElementSetValidation validation) {
+    super(data, clone, sort, own, validation);
 
     if (inst == null) {
       throw new IllegalArgumentException("Instance must not be null."); //$NON-NLS-1$
@@ -46,6 +50,15 @@ public final class InstanceRuns extends _IDObjectSet<Run>
     return this.m_inst;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    for (final Run run : this.getData()) {
+      run.aggregateColumn(column, aggregate);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   final int _compareTo(final _IDObject o) {
@@ -52,6 +52,12 @@ public final class InstanceRunsContext
     return RunContext.class;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final boolean _isChildCompilationParallel() {
+    return true;
+  }
+
   /**
    * Get the instance belonging to this run context.
    *
@@ -120,6 +126,15 @@ public final class InstanceRunsContext
     return this.getOwner()._getInstanceSet();
   }
 
+  /**
+   * get the validation strategy
+   *
+   * @return the validation strategy
+   */
+  final EElementSetValidation _getValidation() {
+    return this.getOwner()._getValidation();
+  }
+
   /** {@inheritDoc} */
   @Override
   public final RunContext createRun() {
@@ -141,7 +156,7 @@ public final class InstanceRunsContext
           "Instance must not be null."); //$NON-NLS-1$
     }
     return new InstanceRuns(inst, data.toArray(new Run[data.size()]),
-        false, false, true);
+        false, false, true, this._getValidation());
   }
 
   /** {@inheritDoc} */
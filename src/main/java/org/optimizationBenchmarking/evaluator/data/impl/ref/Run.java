@@ -9,16 +9,27 @@ import org.optimizationBenchmarking.utils.math.matrix.MatrixColumnIterator;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixRows;
 
-/** a run. */
+/**
+ * a run. Runs created by the {@link DataFactory} store their data
+ * column-wise and only provide {@link DataPoint} views on demand. Other
+ * subclasses can still be built from an array of data points via
+ * {@link #Run(DataPoint[])}, but must implement the search, view, and
+ * cursor methods of {@link IRun} themselves.
+ */
 public abstract class Run extends ElementSet<DataPoint> implements IRun {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /** instantiate a run which provides its data points on demand */
+  Run() {
+    super();
+  }
+
   /**
-   * instantiate
+   * instantiate a run from the given data points
    *
    * @param data
-   *          the data points
+   *          the data points, in the order in which they were logged
    */
   protected Run(final DataPoint[] data) {
     super(data, false, false, false);
@@ -27,25 +38,25 @@ public abstract class Run extends ElementSet<DataPoint> implements IRun {
   /** {@inheritDoc} */
   @Override
   public int m() {
-    return this.m_data.size();
+    return this.getData().size();
   }
 
   /** {@inheritDoc} */
   @Override
   public int n() {
-    return this.m_data.get(0).size();
+    return this.getData().get(0).size();
   }
 
   /** {@inheritDoc} */
   @Override
   public double getDouble(final int row, final int column) {
-    return this.m_data.get(row).getDouble(column);
+    return this.getData().get(row).getDouble(column);
   }
 
   /** {@inheritDoc} */
   @Override
   public long getLong(final int row, final int column) {
-    return this.m_data.get(row).getLong(column);
+    return this.getData().get(row).getLong(column);
   }
 
   /** {@inheritDoc} */
@@ -125,7 +136,7 @@ public abstract class Run extends ElementSet<DataPoint> implements IRun {
   @Override
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public final Iterator<IMatrix> iterateRows() {
-    return ((Iterator) (this.m_data.iterator()));
+    return ((Iterator) (this.getData().iterator()));
   }
 
   /** {@inheritDoc} */
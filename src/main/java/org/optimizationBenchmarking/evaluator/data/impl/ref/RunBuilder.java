@@ -0,0 +1,793 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+
+/**
+ * A reusable buffer collecting the rows of a {@link Run}. Rows are stored
+ * as primitive values in one growing array, so adding rows via the
+ * {@code parse} methods of {@link DataFactory} does not create any
+ * objects apart from the occasional growth of that array. A run is then
+ * created directly from the buffered rows via
+ * {@link #createRun(Instance, EElementSetValidation)}, after which the
+ * buffer can be {@link #clear() cleared} and re-used for the next run.
+ * <p>
+ * Instances of this class are not thread-safe: Each thread should use its
+ * own buffer, which can be obtained from
+ * {@link DataFactory#createRunBuilder()}.
+ * </p>
+ */
+public final class RunBuilder {
+
+  /** the initial number of rows */
+  private static final int INITIAL_ROWS = 64;
+
+  /** the dimensions */
+  final ArraySetView<Dimension> m_dims;
+
+  /** the number of dimensions */
+  private final int m_n;
+
+  /** the rows, encoded as in {@link _LongEncodedDataPoint} */
+  private long[] m_data;
+
+  /** the number of rows */
+  private int m_m;
+
+  /** the re-usable view of character arrays, created on demand */
+  private __CharArraySequence m_chars;
+
+  /** the re-usable view of byte buffers, created on demand */
+  private __ByteBufferSequence m_bytes;
+
+  /**
+   * create the run builder
+   *
+   * @param dims
+   *          the dimensions
+   */
+  RunBuilder(final ArraySetView<Dimension> dims) {
+    super();
+    this.m_dims = dims;
+    this.m_n = this.m_dims.size();
+    this.m_data = new long[RunBuilder.INITIAL_ROWS * this.m_n];
+  }
+
+  /**
+   * Get the number of rows collected so far
+   *
+   * @return the number of rows collected so far
+   */
+  public final int size() {
+    return this.m_m;
+  }
+
+  /** Remove all rows, so that this buffer can be used for a new run. */
+  public final void clear() {
+    this.m_m = 0;
+  }
+
+  /**
+   * Get the offset of the next row in the data array, growing the array
+   * if necessary. The row is only counted after {@link #_commit()} has
+   * been called.
+   *
+   * @return the offset of the next row
+   */
+  final int _next() {
+    return this.__reserve(1);
+  }
+
+  /**
+   * Get the offset of the next row in the data array, growing the array
+   * so that it can hold {@code count} more rows.
+   *
+   * @param count
+   *          the number of rows to reserve
+   * @return the offset of the next row
+   */
+  private final int __reserve(final int count) {
+    final int offset;
+    final long need;
+
+    offset = (this.m_m * this.m_n);
+    need = (offset + (((long) count) * this.m_n));
+    if (need > this.m_data.length) {
+      if (need > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(//
+            "Too many rows: " + (((long) this.m_m) + count)); //$NON-NLS-1$
+      }
+      this.m_data = Arrays.copyOf(this.m_data,
+          ((int) (Math.min(Integer.MAX_VALUE,
+              Math.max(need, (((long) this.m_data.length) << 1))))));
+    }
+    return offset;
+  }
+
+  /**
+   * Check the number of rows to be added in bulk
+   *
+   * @param count
+   *          the number of rows
+   * @param available
+   *          the number of values available
+   * @param perRow
+   *          the number of values per row
+   */
+  private static final void __checkCount(final int count,
+      final int available, final int perRow) {
+    if ((count < 0) || ((((long) count) * perRow) > available)) {
+      throw new IllegalArgumentException(//
+          "Cannot add " + count + //$NON-NLS-1$
+              " rows from " + available + //$NON-NLS-1$
+              " values with " + perRow + //$NON-NLS-1$
+              " values per row."); //$NON-NLS-1$
+    }
+  }
+
+  /** count the row prepared via {@link #_next()} */
+  final void _commit() {
+    this.m_m++;
+  }
+
+  /**
+   * Get the data array
+   *
+   * @return the data array
+   */
+  final long[] _data() {
+    return this.m_data;
+  }
+
+  /**
+   * Get a re-usable character sequence view of a character array
+   *
+   * @param chars
+   *          the character array
+   * @return the view
+   */
+  final CharSequence _wrap(final char[] chars) {
+    if (this.m_chars == null) {
+      this.m_chars = new __CharArraySequence();
+    }
+    this.m_chars.m_chars = chars;
+    return this.m_chars;
+  }
+
+  /**
+   * Get a re-usable character sequence view of a byte buffer
+   *
+   * @param bytes
+   *          the byte buffer
+   * @return the view
+   */
+  final CharSequence _wrap(final ByteBuffer bytes) {
+    if (this.m_bytes == null) {
+      this.m_bytes = new __ByteBufferSequence();
+    }
+    this.m_bytes.m_bytes = bytes;
+    return this.m_bytes;
+  }
+
+  /**
+   * Add a data point: its values are copied into the buffer.
+   *
+   * @param point
+   *          the data point
+   */
+  public final void addDataPoint(final DataPoint point) {
+    final long[] data;
+    final int offset;
+    int index;
+
+    if (point == null) {
+      throw new IllegalArgumentException(//
+          "No data point in a run can be null."); //$NON-NLS-1$
+    }
+
+    offset = this._next();
+    data = this.m_data;
+    loop: for (index = 0; index < this.m_n; index++) {
+      switch (this.m_dims.get(index).m_primitiveType) {
+        case BYTE:
+        case SHORT:
+        case INT: {
+          data[offset + index] = point.getInt(index);
+          continue loop;
+        }
+        case LONG: {
+          data[offset + index] = point.getLong(index);
+          continue loop;
+        }
+        case FLOAT: {
+          data[offset + index] = Float.floatToIntBits(point.getFloat(index));
+          continue loop;
+        }
+        default: {
+          data[offset + index] = Double
+              .doubleToLongBits(point.getDouble(index));
+          continue loop;
+        }
+      }
+    }
+    this._commit();
+  }
+
+  /**
+   * Add {@code count} rows given as columns: {@code columns[i]} holds the
+   * values of dimension {@code i} and must be a {@code byte[]},
+   * {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]}, or
+   * {@code double[]} with at least {@code count} elements. The values are
+   * checked against the bounds of their dimensions and copied directly
+   * into the buffer, no data point objects are created. If any value is
+   * invalid, no row is added.
+   *
+   * @param count
+   *          the number of rows to add
+   * @param columns
+   *          the columns, one primitive array per dimension
+   */
+  public final void addColumns(final int count, final Object... columns) {
+    final long[] data;
+    final int n, offset;
+    Dimension dim;
+    Object column;
+    int index, row, pos;
+
+    n = this.m_n;
+    if ((columns == null) || (columns.length != n)) {
+      throw new IllegalArgumentException(//
+          "Exactly " + n + //$NON-NLS-1$
+              " columns must be provided, but got " + //$NON-NLS-1$
+              ((columns == null) ? 0 : columns.length));
+    }
+
+    for (index = n; (--index) >= 0;) {
+      column = columns[index];
+      if (column == null) {
+        throw new IllegalArgumentException(//
+            "Column " + index + " must not be null."); //$NON-NLS-1$//$NON-NLS-2$
+      }
+      RunBuilder.__checkCount(count, RunBuilder.__length(column), 1);
+    }
+
+    offset = this.__reserve(count);
+    data = this.m_data;
+
+    for (index = 0; index < n; index++) {
+      dim = this.m_dims.get(index);
+      column = columns[index];
+      pos = (offset + index);
+      if (column instanceof double[]) {
+        final double[] values = ((double[]) column);
+        for (row = 0; row < count; row++, pos += n) {
+          data[pos] = _RowParser._encode(dim, values[row]);
+        }
+      } else {
+        if (column instanceof float[]) {
+          final float[] values = ((float[]) column);
+          for (row = 0; row < count; row++, pos += n) {
+            data[pos] = _RowParser._encode(dim, values[row]);
+          }
+        } else {
+          if (column instanceof long[]) {
+            final long[] values = ((long[]) column);
+            for (row = 0; row < count; row++, pos += n) {
+              data[pos] = _RowParser._encode(dim, values[row]);
+            }
+          } else {
+            if (column instanceof int[]) {
+              final int[] values = ((int[]) column);
+              for (row = 0; row < count; row++, pos += n) {
+                data[pos] = _RowParser._encode(dim, values[row]);
+              }
+            } else {
+              if (column instanceof short[]) {
+                final short[] values = ((short[]) column);
+                for (row = 0; row < count; row++, pos += n) {
+                  data[pos] = _RowParser._encode(dim, values[row]);
+                }
+              } else {
+                final byte[] values = ((byte[]) column);
+                for (row = 0; row < count; row++, pos += n) {
+                  data[pos] = _RowParser._encode(dim, values[row]);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+
+    this.m_m += count;
+  }
+
+  /**
+   * Get the length of a primitive array used as column
+   *
+   * @param column
+   *          the column
+   * @return the length
+   */
+  private static final int __length(final Object column) {
+    if (column instanceof double[]) {
+      return ((double[]) column).length;
+    }
+    if (column instanceof float[]) {
+      return ((float[]) column).length;
+    }
+    if (column instanceof long[]) {
+      return ((long[]) column).length;
+    }
+    if (column instanceof int[]) {
+      return ((int[]) column).length;
+    }
+    if (column instanceof short[]) {
+      return ((short[]) column).length;
+    }
+    if (column instanceof byte[]) {
+      return ((byte[]) column).length;
+    }
+    throw new IllegalArgumentException(//
+        "Columns must be primitive number arrays, but got " + //$NON-NLS-1$
+            column.getClass().getName());
+  }
+
+  /**
+   * Add {@code count} rows stored consecutively, one after the other, in
+   * a {@code double} array. The values are checked against the bounds of
+   * their dimensions, values for integer dimensions must be integral. If
+   * any value is invalid, no row is added.
+   *
+   * @param rows
+   *          the row-major values
+   * @param count
+   *          the number of rows to add
+   */
+  public final void addRows(final double[] rows, final int count) {
+    final long[] data;
+    final int n, offset, total;
+    int index;
+
+    if (rows == null) {
+      throw new IllegalArgumentException(//
+          "Row array must not be null."); //$NON-NLS-1$
+    }
+    n = this.m_n;
+    RunBuilder.__checkCount(count, rows.length, n);
+
+    offset = this.__reserve(count);
+    data = this.m_data;
+    total = (count * n);
+    for (index = 0; index < total; index++) {
+      data[offset + index] = _RowParser
+          ._encode(this.m_dims.get(index % n), rows[index]);
+    }
+
+    this.m_m += count;
+  }
+
+  /**
+   * Add {@code count} rows stored consecutively, one after the other, in
+   * a {@code long} array. The values are checked against the bounds of
+   * their dimensions. If any value is invalid, no row is added.
+   *
+   * @param rows
+   *          the row-major values
+   * @param count
+   *          the number of rows to add
+   */
+  public final void addRows(final long[] rows, final int count) {
+    final long[] data;
+    final int n, offset, total;
+    int index;
+
+    if (rows == null) {
+      throw new IllegalArgumentException(//
+          "Row array must not be null."); //$NON-NLS-1$
+    }
+    n = this.m_n;
+    RunBuilder.__checkCount(count, rows.length, n);
+
+    offset = this.__reserve(count);
+    data = this.m_data;
+    total = (count * n);
+    for (index = 0; index < total; index++) {
+      data[offset + index] = _RowParser
+          ._encode(this.m_dims.get(index % n), rows[index]);
+    }
+
+    this.m_m += count;
+  }
+
+  /**
+   * Compare two encoded values of a dimension in the direction of the
+   * dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param value
+   *          the encoded value
+   * @param best
+   *          the encoded best value so far
+   * @return {@code true} if {@code value} is better than {@code best},
+   *         {@code false} otherwise
+   */
+  private static final boolean __improves(final Dimension dim,
+      final long value, final long best) {
+    final boolean increasing;
+
+    increasing = dim.m_direction.isIncreasing();
+    switch (dim.m_primitiveType) {
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG: {
+        return (increasing ? (value > best) : (value < best));
+      }
+      case FLOAT: {
+        return (increasing
+            ? (Float.intBitsToFloat((int) value) > Float
+                .intBitsToFloat((int) best))
+            : (Float.intBitsToFloat((int) value) < Float
+                .intBitsToFloat((int) best)));
+      }
+      default: {
+        return (increasing
+            ? (Double.longBitsToDouble(value) > Double
+                .longBitsToDouble(best))
+            : (Double.longBitsToDouble(value) < Double
+                .longBitsToDouble(best)));
+      }
+    }
+  }
+
+  /**
+   * Remove all rows collected so far which do not improve any
+   * {@link org.optimizationBenchmarking.evaluator.data.spec.EDimensionType#isSolutionQualityMeasure()
+   * solution quality} dimension over all rows before them, except for the
+   * first and the last row. Whether a value is an improvement depends on
+   * the {@link Dimension#getDirection() direction} of its dimension. If
+   * there is no quality dimension, no row is removed. The remaining rows
+   * keep their order. The rows are not checked here: A row which violates
+   * the order of the run or the bounds of its instance may be removed, so
+   * logs should be checked before they are compacted.
+   *
+   * @return the number of removed rows
+   * @see ERunCompaction#IMPROVEMENTS
+   */
+  public final int compact() {
+    final long[] data, best;
+    final int[] quality;
+    final int m, n, last;
+    int count, index, row, kept, offset;
+    boolean improves;
+    Dimension dim;
+
+    m = this.m_m;
+    n = this.m_n;
+    if (m <= 2) {
+      return 0;
+    }
+
+    count = 0;
+    for (index = n; (--index) >= 0;) {
+      if (this.m_dims.get(index).m_dimensionType
+          .isSolutionQualityMeasure()) {
+        count++;
+      }
+    }
+    if (count <= 0) {
+      return 0;
+    }
+    quality = new int[count];
+    count = 0;
+    for (index = 0; index < n; index++) {
+      if (this.m_dims.get(index).m_dimensionType
+          .isSolutionQualityMeasure()) {
+        quality[count++] = index;
+      }
+    }
+
+    data = this.m_data;
+    best = new long[count];
+    for (index = count; (--index) >= 0;) {
+      best[index] = data[quality[index]];
+    }
+
+    last = (m - 1);
+    kept = 1;
+    for (row = 1; row <= last; row++) {
+      offset = (row * n);
+      improves = (row >= last);
+      for (index = count; (--index) >= 0;) {
+        dim = this.m_dims.get(quality[index]);
+        if (RunBuilder.__improves(dim, data[offset + quality[index]],
+            best[index])) {
+          best[index] = data[offset + quality[index]];
+          improves = true;
+        }
+      }
+      if (improves) {
+        if (kept < row) {
+          System.arraycopy(data, offset, data, (kept * n), n);
+        }
+        kept++;
+      }
+    }
+
+    this.m_m = kept;
+    return (m - kept);
+  }
+
+  /**
+   * Create a run from the rows collected so far. The buffer is not
+   * cleared.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @param validation
+   *          the strategy for checking whether each row can follow its
+   *          predecessor
+   * @return the run
+   */
+  public final Run createRun(final Instance instance,
+      final EElementSetValidation validation) {
+    return this.createRun(instance, validation, EStoragePrecision.EXACT);
+  }
+
+  /**
+   * Create a run from the rows collected so far. The buffer is not
+   * cleared.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @param validation
+   *          the strategy for checking whether each row can follow its
+   *          predecessor
+   * @param precision
+   *          the precision with which the values are stored
+   * @return the run
+   */
+  public final Run createRun(final Instance instance,
+      final EElementSetValidation validation,
+      final EStoragePrecision precision) {
+    return this.createRun(instance, validation, precision,
+        ERunEncoding.PLAIN);
+  }
+
+  /**
+   * Create a run from the rows collected so far. The buffer is not
+   * cleared.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @param validation
+   *          the strategy for checking whether each row can follow its
+   *          predecessor
+   * @param precision
+   *          the precision with which the values are stored
+   * @param encoding
+   *          the encoding of the columns in memory
+   * @return the run
+   */
+  public final Run createRun(final Instance instance,
+      final EElementSetValidation validation,
+      final EStoragePrecision precision, final ERunEncoding encoding) {
+    return this._createRun(instance, validation, precision, encoding,
+        null);
+  }
+
+  /**
+   * Create a run from the rows collected so far. The buffer is not
+   * cleared.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @param validation
+   *          the strategy for checking whether each row can follow its
+   *          predecessor
+   * @param precision
+   *          the precision with which the values are stored
+   * @param encoding
+   *          the encoding of the columns in memory
+   * @param store
+   *          the store outside of the heap to copy the plain columns to,
+   *          or {@code null} to keep them on the heap
+   * @return the run
+   */
+  final Run _createRun(final Instance instance,
+      final EElementSetValidation validation,
+      final EStoragePrecision precision, final ERunEncoding encoding,
+      final _OffHeapStore store) {
+    final _Column[] columns;
+    final int m, n;
+    final _ColumnarRun run;
+    _Column column;
+    int index;
+
+    m = this.m_m;
+    n = this.m_n;
+    columns = this.__columns();
+
+    if (instance != null) {
+      instance._validateColumns(columns, m);
+    }
+    for (index = n; (--index) >= 0;) {
+      columns[index] = precision._store(columns[index]);
+    }
+
+    run = new _ColumnarRun(this.m_dims, columns, m, validation);
+    // the run shares the column array: encode or copy the columns only
+    // after the rows have been validated on the plain arrays
+    for (index = n; (--index) >= 0;) {
+      column = encoding._encode(columns[index]);
+      if (store != null) {
+        column = _BufferColumn._copy(column, store);
+      }
+      columns[index] = column;
+    }
+    return run;
+  }
+
+  /**
+   * Copy the rows collected so far into one plain column per dimension
+   *
+   * @return the columns
+   */
+  private final _Column[] __columns() {
+    final _Column[] columns;
+    final long[] data;
+    final int m, n;
+    _MutableColumn column;
+    int index, row, offset;
+
+    m = this.m_m;
+    n = this.m_n;
+    data = this.m_data;
+    columns = new _Column[n];
+    for (index = n; (--index) >= 0;) {
+      columns[index] = column = _MutableColumn
+          ._create(this.m_dims.get(index), m);
+      offset = index;
+      for (row = 0; row < m; row++) {
+        column.setEncoded(row, data[offset]);
+        offset += n;
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Check the rows collected so far in the same way as
+   * {@link #createRun(Instance, EElementSetValidation)}, but without
+   * creating a run. This allows rejecting an invalid log before
+   * {@link #compact() compaction} drops some of its rows.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @param validation
+   *          the strategy for checking whether each row can follow its
+   *          predecessor
+   */
+  final void _validate(final Instance instance,
+      final EElementSetValidation validation) {
+    final _Column[] columns;
+
+    columns = this.__columns();
+    if (instance != null) {
+      instance._validateColumns(columns, this.m_m);
+    }
+    new _ColumnarRun(this.m_dims, columns, this.m_m, validation);
+  }
+
+  /**
+   * Create a run from the rows collected so far, checking every row
+   * against its predecessor. The buffer is not cleared.
+   *
+   * @param instance
+   *          the benchmark instance to which the run should belong, or
+   *          {@code null} if the rows should not be validated against the
+   *          instance's bounds
+   * @return the run
+   */
+  public final Run createRun(final Instance instance) {
+    return this.createRun(instance, EElementSetValidation.FULL);
+  }
+
+  /** a re-usable character sequence view of a character array */
+  private static final class __CharArraySequence implements CharSequence {
+
+    /** the characters */
+    char[] m_chars;
+
+    /** create */
+    __CharArraySequence() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int length() {
+      return this.m_chars.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final char charAt(final int index) {
+      return this.m_chars[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final CharSequence subSequence(final int start,
+        final int end) {
+      return String.valueOf(this.m_chars, start, (end - start));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final String toString() {
+      return String.valueOf(this.m_chars);
+    }
+  }
+
+  /**
+   * a re-usable character sequence view of a byte buffer with single-byte
+   * encoded (ASCII or ISO-8859-1) text, using absolute indices
+   */
+  private static final class __ByteBufferSequence implements CharSequence {
+
+    /** the bytes */
+    ByteBuffer m_bytes;
+
+    /** create */
+    __ByteBufferSequence() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int length() {
+      return this.m_bytes.limit();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final char charAt(final int index) {
+      return ((char) (this.m_bytes.get(index) & 0xff));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final CharSequence subSequence(final int start,
+        final int end) {
+      final char[] chars;
+      int index;
+
+      chars = new char[end - start];
+      for (index = chars.length; (--index) >= 0;) {
+        chars[index] = this.charAt(start + index);
+      }
+      return String.valueOf(chars);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final String toString() {
+      return this.subSequence(0, this.length()).toString();
+    }
+  }
+}
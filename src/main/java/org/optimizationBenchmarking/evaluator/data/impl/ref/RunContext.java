@@ -1,7 +1,5 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
-import java.util.ArrayList;
-
 import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
 import org.optimizationBenchmarking.evaluator.data.spec.builders.IRunContext;
 import org.optimizationBenchmarking.utils.hierarchy.HierarchicalFSM;
@@ -12,8 +10,10 @@ public final class RunContext extends _Context<Run>
 
   /** the properties */
   private volatile _PropertyFSMSettingBuilder<ParameterSetting> m_props;
-  /** the list of data points */
-  private volatile ArrayList<DataPoint> m_list;
+  /** the data factory */
+  private final DataFactory m_factory;
+  /** the buffer holding the data points */
+  private volatile RunBuilder m_rows;
 
   /**
    * create the run context
@@ -27,7 +27,8 @@ public final class RunContext extends _Context<Run>
       final _PropertyFSMSettingBuilder<ParameterSetting> ownerProps) {
     super(context);
 
-    this.m_list = new ArrayList<>();
+    this.m_factory = this._getDimensionSet().getDataFactory();
+    this.m_rows = this.m_factory.createRunBuilder();
     (this.m_props = new _PropertyFSMSettingBuilder<>(ownerProps))._begin();
 
     this.open();
@@ -48,6 +49,24 @@ public final class RunContext extends _Context<Run>
     return this.getOwner()._getDimensionSet();
   }
 
+  /**
+   * get the validation strategy
+   *
+   * @return the validation strategy
+   */
+  final EElementSetValidation _getValidation() {
+    return this.getOwner()._getValidation();
+  }
+
+  /**
+   * get the experiment set context
+   *
+   * @return the experiment set context
+   */
+  final ExperimentSetContext _getBuilder() {
+    return this.getOwner().getOwner().getBuilder();
+  }
+
   /** {@inheritDoc} */
   @Override
   public synchronized final void addDataPoint(final IDataPoint point) {
@@ -56,38 +75,87 @@ public final class RunContext extends _Context<Run>
       throw new IllegalArgumentException(//
           "Data point must not be null."); //$NON-NLS-1$
     }
-    this.m_list.add((DataPoint) point);
+    this.m_rows.addDataPoint((DataPoint) point);
   }
 
   /** {@inheritDoc} */
   @Override
-  public final void addDataPoint(final String string) {
-    this.addDataPoint(//
-        this._getDimensionSet().getDataFactory().parseString(string));
+  public synchronized final void addDataPoint(final String string) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    if (string == null) {
+      throw new IllegalArgumentException(//
+          "Data point string must not be null."); //$NON-NLS-1$
+    }
+    this.m_factory.parse(string, 0, string.length(), this.m_rows);
   }
 
   /** {@inheritDoc} */
   @Override
   public final void addDataPoint(final Number... numbers) {
-    this.addDataPoint(//
-        this._getDimensionSet().getDataFactory().parseNumbers(numbers));
+    this.addDataPoint(this.m_factory.parseNumbers(numbers));
   }
 
   /** {@inheritDoc} */
   @Override
   public final void addDataPoint(final Object rawObject) {
-    this.addDataPoint(//
-        this._getDimensionSet().getDataFactory().parseObject(rawObject));
+    this.addDataPoint(this.m_factory.parseObject(rawObject));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized final void addDataPoints(final int count,
+      final Object... columns) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    this.m_rows.addColumns(count, columns);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized final void addDataPoints(final double[] rows,
+      final int count) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    this.m_rows.addRows(rows, count);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized final void addDataPoints(final long[] rows,
+      final int count) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    this.m_rows.addRows(rows, count);
   }
 
   /** {@inheritDoc} */
   @Override
   final Run _doCompile() {
-    final ArrayList<DataPoint> l;
-    l = this.m_list;
-    this.m_list = null;
-    return this._getDimensionSet().getDataFactory()
-        .createRun(this.getOwner().getInstance(), l);
+    final ExperimentSetContext builder;
+    final RunBuilder rows;
+    final ERunCompaction compaction;
+    final EElementSetValidation validation;
+    final int removed;
+    Instance instance;
+
+    rows = this.m_rows;
+    this.m_rows = null;
+
+    builder = this._getBuilder();
+    instance = this.getOwner().getInstance();
+    validation = this._getValidation();
+    compaction = builder.getCompaction();
+    if (compaction != ERunCompaction.NONE) {
+      // check the complete log first, as compaction may drop invalid rows
+      rows._validate(instance, validation);
+      removed = compaction._compact(rows);
+      if (removed > 0) {
+        builder._addCompactedPoints(removed);
+      }
+      // the remaining rows are within the bounds of the instance
+      instance = null;
+    }
+
+    return rows._createRun(instance, validation,
+        builder.getStoragePrecision(), builder.getRunEncoding(),
+        builder._getStore());
   }
 
   /** {@inheritDoc} */
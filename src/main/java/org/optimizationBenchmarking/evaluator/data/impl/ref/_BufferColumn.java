@@ -0,0 +1,814 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.nio.ByteBuffer;
+
+import org.optimizationBenchmarking.utils.comparison.Compare;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * <p>
+ * A read-only column whose values are kept outside of the Java heap, in a
+ * slice of a buffer provided by an {@link _OffHeapStore}. Each value is
+ * stored with the data type of the column it replaces, i.e., as
+ * {@code int} for {@link _IntColumn}s, as {@code long} for
+ * {@link _LongColumn}s, and so on, so all accessors, searches, and
+ * comparisons return exactly the same results as for the original
+ * column.
+ * </p>
+ * <p>
+ * Once the store is {@link _OffHeapStore#_release() released}, the column
+ * drops its buffer and every access fails with an
+ * {@link IllegalStateException}. Buffers cannot be serialized, so a
+ * serialized column is replaced by a copy on the heap.
+ * </p>
+ */
+final class _BufferColumn extends _Column {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** an {@code int} column */
+  private static final int KIND_INT = 0;
+  /** a {@code long} column */
+  private static final int KIND_LONG = 1;
+  /** a {@code float} column */
+  private static final int KIND_FLOAT = 2;
+  /** a {@code double} column */
+  private static final int KIND_DOUBLE = 3;
+
+  /** the number of rows */
+  private final int m_size;
+
+  /** the kind of the column */
+  private final int m_kind;
+
+  /** the binary logarithm of the number of bytes per value */
+  private final int m_shift;
+
+  /** the buffer, or {@code null} if it has been released */
+  private transient volatile ByteBuffer m_buffer;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   * @param size
+   *          the number of rows
+   * @param kind
+   *          the kind of the column
+   * @param buffer
+   *          the buffer holding the values
+   */
+  private _BufferColumn(final Dimension dim, final int size,
+      final int kind, final ByteBuffer buffer) {
+    super(dim);
+    this.m_size = size;
+    this.m_kind = kind;
+    this.m_shift = (((kind == _BufferColumn.KIND_LONG)
+        || (kind == _BufferColumn.KIND_DOUBLE)) ? 3 : 2);
+    this.m_buffer = buffer;
+  }
+
+  /**
+   * Copy a plain column into a buffer of a store. Columns of other types
+   * and columns too large for a single buffer are not copied.
+   *
+   * @param column
+   *          the column
+   * @param store
+   *          the store
+   * @return the copied column, or {@code column} itself
+   */
+  static final _Column _copy(final _Column column,
+      final _OffHeapStore store) {
+    final _BufferColumn copy;
+    final ByteBuffer buffer;
+    final int size, kind;
+    int row;
+
+    if (column instanceof _IntColumn) {
+      kind = _BufferColumn.KIND_INT;
+    } else {
+      if (column instanceof _LongColumn) {
+        kind = _BufferColumn.KIND_LONG;
+      } else {
+        if (column instanceof _FloatColumn) {
+          kind = _BufferColumn.KIND_FLOAT;
+        } else {
+          if (column instanceof _DoubleColumn) {
+            kind = _BufferColumn.KIND_DOUBLE;
+          } else {
+            return column;
+          }
+        }
+      }
+    }
+
+    size = column.size();
+    if ((size <= 0) || (size > (Integer.MAX_VALUE >>> 3))) {
+      return column;
+    }
+
+    buffer = store._allocate(size << (((kind == _BufferColumn.KIND_LONG)
+        || (kind == _BufferColumn.KIND_DOUBLE)) ? 3 : 2));
+    switch (kind) {
+      case KIND_INT: {
+        for (row = 0; row < size; row++) {
+          buffer.putInt((row << 2), ((_IntColumn) column).m_data[row]);
+        }
+        break;
+      }
+      case KIND_LONG: {
+        for (row = 0; row < size; row++) {
+          buffer.putLong((row << 3), ((_LongColumn) column).m_data[row]);
+        }
+        break;
+      }
+      case KIND_FLOAT: {
+        for (row = 0; row < size; row++) {
+          buffer.putFloat((row << 2), ((_FloatColumn) column).m_data[row]);
+        }
+        break;
+      }
+      default: {
+        for (row = 0; row < size; row++) {
+          buffer.putDouble((row << 3),
+              ((_DoubleColumn) column).m_data[row]);
+        }
+      }
+    }
+
+    copy = new _BufferColumn(column.m_dim, size, kind, buffer);
+    store._register(copy);
+    return copy;
+  }
+
+  /** Drop the buffer, as its store is released. */
+  final void _release() {
+    this.m_buffer = null;
+  }
+
+  /**
+   * Get the buffer
+   *
+   * @return the buffer
+   */
+  private final ByteBuffer __buffer() {
+    final ByteBuffer buffer;
+
+    buffer = this.m_buffer;
+    if (buffer == null) {
+      throw new IllegalStateException(//
+          "The run data has already been released."); //$NON-NLS-1$
+    }
+    return buffer;
+  }
+
+  /**
+   * Check a row index
+   *
+   * @param row
+   *          the row
+   * @return the byte index of the row
+   */
+  private final int __index(final int row) {
+    if ((row < 0) || (row >= this.m_size)) {
+      throw new ArrayIndexOutOfBoundsException(row);
+    }
+    return (row << this.m_shift);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int size() {
+    return this.m_size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getLong(final int row) {
+    final ByteBuffer buffer;
+    final int index;
+
+    buffer = this.__buffer();
+    index = this.__index(row);
+    switch (this.m_kind) {
+      case KIND_INT: {
+        return buffer.getInt(index);
+      }
+      case KIND_LONG: {
+        return buffer.getLong(index);
+      }
+      case KIND_FLOAT: {
+        return ((long) (buffer.getFloat(index)));
+      }
+      default: {
+        return ((long) (buffer.getDouble(index)));
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final double getDouble(final int row) {
+    final ByteBuffer buffer;
+    final int index;
+
+    buffer = this.__buffer();
+    index = this.__index(row);
+    switch (this.m_kind) {
+      case KIND_INT: {
+        return buffer.getInt(index);
+      }
+      case KIND_LONG: {
+        return buffer.getLong(index);
+      }
+      case KIND_FLOAT: {
+        return buffer.getFloat(index);
+      }
+      default: {
+        return buffer.getDouble(index);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int row, final IAggregate aggregate) {
+    final ByteBuffer buffer;
+    final int index;
+
+    buffer = this.__buffer();
+    index = this.__index(row);
+    switch (this.m_kind) {
+      case KIND_INT: {
+        aggregate.append(buffer.getInt(index));
+        return;
+      }
+      case KIND_LONG: {
+        aggregate.append(buffer.getLong(index));
+        return;
+      }
+      case KIND_FLOAT: {
+        aggregate.append(buffer.getFloat(index));
+        return;
+      }
+      default: {
+        aggregate.append(buffer.getDouble(index));
+      }
+    }
+  }
+
+  /**
+   * Compare the value in a given row with a searched value which has
+   * already been converted to the type of this column
+   *
+   * @param buffer
+   *          the buffer
+   * @param row
+   *          the row
+   * @param key
+   *          the searched value, for integer columns
+   * @param floatKey
+   *          the searched value, for floating point columns
+   * @return the comparison result
+   */
+  private final int __compare(final ByteBuffer buffer, final int row,
+      final long key, final double floatKey) {
+    switch (this.m_kind) {
+      case KIND_INT: {
+        return Long.compare(buffer.getInt(row << 2), key);
+      }
+      case KIND_LONG: {
+        return Long.compare(buffer.getLong(row << 3), key);
+      }
+      case KIND_FLOAT: {
+        return Compare.compare(buffer.getFloat(row << 2),
+            ((float) floatKey));
+      }
+      default: {
+        return Compare.compare(buffer.getDouble(row << 3), floatKey);
+      }
+    }
+  }
+
+  /**
+   * Check whether the value in a given row comes before a searched value
+   * in the direction of the dimension
+   *
+   * @param buffer
+   *          the buffer
+   * @param row
+   *          the row
+   * @param key
+   *          the searched value, for integer columns
+   * @param floatKey
+   *          the searched value, for floating point columns
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} if the value must come strictly before the
+   *          searched value, {@code 1} if it may also be equal to it
+   * @return {@code true} if the value comes before the searched value
+   */
+  private final boolean __before(final ByteBuffer buffer, final int row,
+      final long key, final double floatKey, final boolean isIncreasing,
+      final int threshold) {
+    final int result;
+
+    result = this.__compare(buffer, row, key, floatKey);
+    return ((isIncreasing ? result : (-result)) < threshold);
+  }
+
+  /**
+   * Find the first row in a range whose value does not come before a
+   * given value in the direction of the dimension, by galloping from a
+   * given row, as done for the columns on the heap.
+   *
+   * @param buffer
+   *          the buffer
+   * @param key
+   *          the searched value, for integer columns
+   * @param floatKey
+   *          the searched value, for floating point columns
+   * @param threshold
+   *          {@code 0} to find the first row not strictly before the
+   *          value, {@code 1} to find the first row after it
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the exclusive end of the range
+   * @param hint
+   *          the row to start at, in {@code start...end}
+   * @return the row, or {@code end} if there is none
+   */
+  private final int __search(final ByteBuffer buffer, final long key,
+      final double floatKey, final int threshold, final int start,
+      final int end, final int hint) {
+    final boolean isIncreasing;
+    int low, high, bound, step, mid;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    if ((hint < end) && this.__before(buffer, hint, key, floatKey,
+        isIncreasing, threshold)) {
+      // gallop forward
+      low = bound = (hint + 1);
+      step = 1;
+      for (;;) {
+        if (bound >= end) {
+          high = end;
+          break;
+        }
+        if (!(this.__before(buffer, bound, key, floatKey, isIncreasing,
+            threshold))) {
+          high = bound;
+          break;
+        }
+        low = (bound + 1);
+        if (step >= (end - bound)) {
+          bound = end;
+        } else {
+          bound += step;
+          step <<= 1;
+        }
+      }
+    } else {
+      // gallop backward
+      high = hint;
+      bound = (hint - 1);
+      step = 1;
+      for (;;) {
+        if (bound < start) {
+          low = start;
+          break;
+        }
+        if (this.__before(buffer, bound, key, floatKey, isIncreasing,
+            threshold)) {
+          low = (bound + 1);
+          break;
+        }
+        high = bound;
+        bound -= step;
+        step <<= 1;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (this.__before(buffer, mid, key, floatKey, isIncreasing,
+          threshold)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Convert a searched {@code long} value to the type of an integer
+   * column by casting, as done by {@link #find(long, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final long __convert(final long value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Convert a searched {@code double} value to the type of an integer
+   * column by casting, as done by {@link #find(double, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final long __convert(final double value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return ((long) value);
+      }
+    }
+  }
+
+  /**
+   * Convert a searched {@code long} value to the type of a floating point
+   * column
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final double __convertFloat(final long value) {
+    return ((this.m_kind == _BufferColumn.KIND_FLOAT) ? ((float) value)
+        : ((double) value));
+  }
+
+  /**
+   * Convert a searched {@code double} value to the type of a floating
+   * point column
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final double __convertFloat(final double value) {
+    return ((this.m_kind == _BufferColumn.KIND_FLOAT) ? ((float) value)
+        : value);
+  }
+
+  /**
+   * Convert a {@code double} bound to the type of this column without
+   * changing the set of rows it delimits, as done for the columns on the
+   * heap.
+   *
+   * @param value
+   *          the bound
+   * @param upper
+   *          is this an upper bound?
+   * @return the converted bound
+   */
+  private final double __convertFloatBound(final double value,
+      final boolean upper) {
+    final float converted;
+
+    if (this.m_kind != _BufferColumn.KIND_FLOAT) {
+      return value;
+    }
+    converted = ((float) value);
+    if (this.m_dim.m_direction.isIncreasing() ^ upper) {
+      if (converted < value) {
+        return Math.nextUp(converted);
+      }
+    } else {
+      if (converted > value) {
+        return Math.nextAfter(converted, Double.NEGATIVE_INFINITY);
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * Convert a {@code double} bound to the type of an integer column
+   * without changing the set of rows it delimits, as done for the columns
+   * on the heap.
+   *
+   * @param value
+   *          the bound
+   * @param upper
+   *          is this an upper bound?
+   * @return the converted bound
+   */
+  private final long __convertBound(final double value,
+      final boolean upper) {
+    final double rounded;
+
+    rounded = ((this.m_dim.m_direction.isIncreasing() ^ upper)
+        ? Math.ceil(value) : Math.floor(value));
+    return ((this.m_kind == _BufferColumn.KIND_LONG) ? ((long) rounded)
+        : ((int) rounded));
+  }
+
+  /**
+   * Convert a {@code long} bound to the type of an integer column,
+   * saturating values outside of its range
+   *
+   * @param value
+   *          the bound
+   * @return the converted bound
+   */
+  private final long __convertBound(final long value) {
+    if (this.m_kind == _BufferColumn.KIND_LONG) {
+      return value;
+    }
+    if (value > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    if (value < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return value;
+  }
+
+  /**
+   * Is this a column of floating point values?
+   *
+   * @return {@code true} if the values are floating point numbers
+   */
+  private final boolean __isFloat() {
+    return (this.m_kind >= _BufferColumn.KIND_FLOAT);
+  }
+
+  /**
+   * Find the row for a converted value
+   *
+   * @param buffer
+   *          the buffer
+   * @param key
+   *          the searched value, for integer columns
+   * @param floatKey
+   *          the searched value, for floating point columns
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @param hint
+   *          the row to start the search at
+   * @return the row of the first value not before the searched one, or
+   *         {@code end} if there is none
+   */
+  private final int __lowerBound(final ByteBuffer buffer, final long key,
+      final double floatKey, final int start, final int end,
+      final int hint) {
+    return this.__search(buffer, key, floatKey, 0, start, end, hint);
+  }
+
+  /**
+   * Compute the result of a search from its lower bound
+   *
+   * @param buffer
+   *          the buffer
+   * @param row
+   *          the lower bound
+   * @param key
+   *          the searched value, for integer columns
+   * @param floatKey
+   *          the searched value, for floating point columns
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @return the row, or {@code -1} if none could be found
+   */
+  private final int __found(final ByteBuffer buffer, final int row,
+      final long key, final double floatKey, final int start,
+      final int end) {
+    return _Column._found(row,
+        ((row < end) && (this.__compare(buffer, row, key, floatKey) == 0)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final long value, final int start, final int end) {
+    final ByteBuffer buffer;
+    final long key;
+    final double floatKey;
+
+    buffer = this.__buffer();
+    if (this.__isFloat()) {
+      key = 0L;
+      floatKey = this.__convertFloat(value);
+    } else {
+      key = this.__convert(value);
+      floatKey = 0d;
+    }
+    return this.__found(buffer,
+        this.__lowerBound(buffer, key, floatKey, start, end, start), key,
+        floatKey, start, end);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final long[] values, final int[] rows, final int start,
+      final int end) {
+    final ByteBuffer buffer;
+    final boolean isFloat;
+    long key;
+    double floatKey;
+    int index, row;
+
+    buffer = this.__buffer();
+    isFloat = this.__isFloat();
+    row = start;
+    key = 0L;
+    floatKey = 0d;
+    for (index = 0; index < values.length; index++) {
+      if (isFloat) {
+        floatKey = this.__convertFloat(values[index]);
+      } else {
+        key = this.__convert(values[index]);
+      }
+      row = this.__lowerBound(buffer, key, floatKey, start, end, row);
+      rows[index] = this.__found(buffer, row, key, floatKey, start, end);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final double value, final int start, final int end) {
+    final ByteBuffer buffer;
+    final long key;
+    final double floatKey;
+
+    buffer = this.__buffer();
+    if (this.__isFloat()) {
+      key = 0L;
+      floatKey = this.__convertFloat(value);
+    } else {
+      key = this.__convert(value);
+      floatKey = 0d;
+    }
+    return this.__found(buffer,
+        this.__lowerBound(buffer, key, floatKey, start, end, start), key,
+        floatKey, start, end);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final double[] values, final int[] rows,
+      final int start, final int end) {
+    final ByteBuffer buffer;
+    final boolean isFloat;
+    long key;
+    double floatKey;
+    int index, row;
+
+    buffer = this.__buffer();
+    isFloat = this.__isFloat();
+    row = start;
+    key = 0L;
+    floatKey = 0d;
+    for (index = 0; index < values.length; index++) {
+      if (isFloat) {
+        floatKey = this.__convertFloat(values[index]);
+      } else {
+        key = this.__convert(values[index]);
+      }
+      row = this.__lowerBound(buffer, key, floatKey, start, end, row);
+      rows[index] = this.__found(buffer, row, key, floatKey, start, end);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final long value, final boolean upper, final int start,
+      final int end) {
+    if (this.__isFloat()) {
+      return this.__search(this.__buffer(), 0L, this.__convertFloat(value),
+          (upper ? 1 : 0), start, end, start);
+    }
+    return this.__search(this.__buffer(), this.__convertBound(value), 0d,
+        (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final double value, final boolean upper, final int start,
+      final int end) {
+    if (this.__isFloat()) {
+      return this.__search(this.__buffer(), 0L,
+          this.__convertFloatBound(value, upper), (upper ? 1 : 0), start,
+          end, start);
+    }
+    return this.__search(this.__buffer(),
+        this.__convertBound(value, upper), 0d, (upper ? 1 : 0), start, end,
+        start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int start, final int end,
+      final IAggregate aggregate) {
+    final ByteBuffer buffer;
+    int row;
+
+    buffer = this.__buffer();
+    switch (this.m_kind) {
+      case KIND_INT: {
+        for (row = start; row < end; row++) {
+          aggregate.append(buffer.getInt(row << 2));
+        }
+        return;
+      }
+      case KIND_LONG: {
+        for (row = start; row < end; row++) {
+          aggregate.append(buffer.getLong(row << 3));
+        }
+        return;
+      }
+      case KIND_FLOAT: {
+        for (row = start; row < end; row++) {
+          aggregate.append(buffer.getFloat(row << 2));
+        }
+        return;
+      }
+      default: {
+        for (row = start; row < end; row++) {
+          aggregate.append(buffer.getDouble(row << 3));
+        }
+      }
+    }
+  }
+
+  /**
+   * Replace this column by a copy on the heap when serializing it.
+   *
+   * @return the replacement
+   */
+  private final Object writeReplace() {
+    final ByteBuffer buffer;
+    final int[] ints;
+    final long[] longs;
+    final float[] floats;
+    final double[] doubles;
+    int row;
+
+    buffer = this.__buffer();
+    switch (this.m_kind) {
+      case KIND_INT: {
+        ints = new int[this.m_size];
+        for (row = 0; row < ints.length; row++) {
+          ints[row] = buffer.getInt(row << 2);
+        }
+        return new _IntColumn(this.m_dim, ints);
+      }
+      case KIND_LONG: {
+        longs = new long[this.m_size];
+        for (row = 0; row < longs.length; row++) {
+          longs[row] = buffer.getLong(row << 3);
+        }
+        return new _LongColumn(this.m_dim, longs);
+      }
+      case KIND_FLOAT: {
+        floats = new float[this.m_size];
+        for (row = 0; row < floats.length; row++) {
+          floats[row] = buffer.getFloat(row << 2);
+        }
+        return new _FloatColumn(this.m_dim, floats);
+      }
+      default: {
+        doubles = new double[this.m_size];
+        for (row = 0; row < doubles.length; row++) {
+          doubles[row] = buffer.getDouble(row << 3);
+        }
+        return new _DoubleColumn(this.m_dim, doubles);
+      }
+    }
+  }
+}
@@ -1,19 +1,15 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
 import java.lang.reflect.Array;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
 import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
 import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
-import org.optimizationBenchmarking.utils.collections.iterators.InstanceIterator;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 import org.optimizationBenchmarking.utils.collections.lists.BasicList;
@@ -23,9 +19,6 @@ import org.optimizationBenchmarking.utils.comparison.Compare;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerJobBuilder;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
 import org.optimizationBenchmarking.utils.hash.HashUtils;
-import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
-import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
-import org.optimizationBenchmarking.utils.math.matrix.MatrixRowIterator;
 import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
 import org.optimizationBenchmarking.utils.parsers.Parser;
 import org.optimizationBenchmarking.utils.predicates.IPredicate;
@@ -62,24 +55,12 @@ final class _ClassBuilder
   /** the parser class */
   private final String m_factoryClass;
 
-  /** the run class */
-  private final String m_runClass;
-
-  /** the run columns class */
-  private final String m_runColumnsClass;
-
-  /** the run row iterator class for the columns selection */
-  private final String m_runColumnsRowIteratorClass;
-
   /** the dimensions */
   private final ArraySetView<Dimension> m_dims;
 
   /** the matrix text */
   private String m_matrixTxt;
 
-  /** the matrix choice */
-  private Object m_matrixChoice;
-
   /** the logger */
   private final Logger m_logger;
 
@@ -92,6 +73,26 @@ final class _ClassBuilder
    *          the logger
    */
   _ClassBuilder(final DimensionSet dimensions, final Logger logger) {
+    this(dimensions, logger, null, null);
+  }
+
+  /**
+   * create a new class builder for classes with a given package and name
+   * suffix
+   *
+   * @param dimensions
+   *          the dimensions
+   * @param logger
+   *          the logger
+   * @param packageName
+   *          the package of the generated classes, or {@code null} to use
+   *          a new, unique package
+   * @param suffix
+   *          the suffix of the generated class names, or {@code null} to
+   *          use a unique suffix
+   */
+  _ClassBuilder(final DimensionSet dimensions, final Logger logger,
+      final String packageName, final String suffix) {
     super();
 
     final String hc;
@@ -102,10 +103,6 @@ final class _ClassBuilder
 
     this.m_logger = logger;
 
-    if (!(JavaCompilerTool.getInstance().canUse())) {
-      throw new IllegalStateException("No Java compiler found."); //$NON-NLS-1$
-    }
-
     this.m_dims = (dims = dimensions.getData());
     l = dims.size();
     this.m_primitiveTypes = new EPrimitiveType[l];
@@ -119,18 +116,19 @@ final class _ClassBuilder
       i++;
     }
 
-    synchronized (_ClassBuilder.class) {
-      id = (_ClassBuilder.s_counter++);
+    if ((packageName != null) && (suffix != null)) {
+      hc = suffix;
+      this.m_package = packageName;
+    } else {
+      synchronized (_ClassBuilder.class) {
+        id = (_ClassBuilder.s_counter++);
+      }
+      hc = Long.toHexString(id);
+      this.m_package = ((packageName != null) ? packageName
+          : ("_DynaDataPointPackage" + hc)); //$NON-NLS-1$
     }
-    hc = Long.toHexString(id);
-
-    this.m_package = ("_DynaDataPointPackage" + hc); //$NON-NLS-1$
     this.m_dataPointClass = ("_DynaDataPoint" + hc); //$NON-NLS-1$
     this.m_factoryClass = ("_DynaFactory" + hc); //$NON-NLS-1$
-    this.m_runClass = ("_DynaRun" + hc); //$NON-NLS-1$
-    this.m_runColumnsClass = ("_DynaRunColumns" + hc); //$NON-NLS-1$
-    this.m_runColumnsRowIteratorClass = ("_DynaRunColumnsRowIterator" //$NON-NLS-1$
-        + hc);
   }
 
   /**
@@ -673,10 +671,7 @@ final class _ClassBuilder
    * make the basic matrix stuff
    */
   private final void __makeBasicIMatrix() {
-    final ArrayList<Integer> ints, floats;
     final MemoryTextOutput sb;
-    String s;
-    int i;
 
     sb = new MemoryTextOutput();
     sb.append(//
@@ -685,47 +680,14 @@ final class _ClassBuilder
     sb.append(';');
     sb.append('}');
 
-    ints = new ArrayList<>();
-    floats = new ArrayList<>();
-
-    i = 0;
-    for (final EPrimitiveType p : this.m_primitiveTypes) {
-      if (p.isFloat()) {
-        floats.add(Integer.valueOf(i));
-      } else {
-        ints.add(Integer.valueOf(i));
+    checker: {
+      for (final EPrimitiveType p : this.m_primitiveTypes) {
+        if (p.isFloat()) {
+          break checker;
+        }
       }
-      i++;
-    }
-
-    if (floats.size() <= 0) {
       sb.append(//
           "@Override public final boolean isIntegerMatrix() { return true; }"); //$NON-NLS-1$
-      this.m_matrixChoice = Boolean.TRUE;
-    } else {
-      if (ints.size() <= 0) {
-        this.m_matrixChoice = Boolean.FALSE;
-      } else {
-
-        s = ""; //$NON-NLS-1$
-        if (ints.size() <= floats.size()) {
-          for (final Integer j : ints) {
-            if (s.length() > 0) {
-              s = s + "||"; //$NON-NLS-1$
-            }
-            s += ("(@==" + j.intValue()) + ')'; //$NON-NLS-1$
-          }
-        } else {
-          for (final Integer j : floats) {
-            if (s.length() > 0) {
-              s = s + "&&"; //$NON-NLS-1$
-            }
-            s += ("(@!=" + j.intValue()) + ')'; //$NON-NLS-1$
-          }
-        }
-
-        this.m_matrixChoice = ('(' + s + ')');
-      }
     }
 
     this.m_matrixTxt = sb.toString();
@@ -1129,7 +1091,6 @@ final class _ClassBuilder
     this.__factoryParseNumbers(sb);
     this.__factoryParseObject(sb);
     this.__factoryParseGetOutputClass(sb);
-    this.__factoryCreateRun(sb);
     sb.append('}');
 
     return sb;
@@ -1178,18 +1139,18 @@ final class _ClassBuilder
     sb.append("public "); //$NON-NLS-1$
     sb.append(this.m_factoryClass);
     sb.append('(');
+    sb.append(ArraySetView.class.getCanonicalName());
+    sb.append(" dims"); //$NON-NLS-1$
 
     i = 0;
     for (final Parser<?> parser : this.m_parsers) {
-      if (i > 0) {
-        sb.append(',');
-      }
+      sb.append(',');
       sb.append(parser.getClass().getCanonicalName());
       sb.append(' ');
       sb.append('p');
       sb.append(i++);
     }
-    sb.append("){super();"); //$NON-NLS-1$
+    sb.append("){super(dims);"); //$NON-NLS-1$
     for (i = 0; i < this.m_parsers.length; i++) {
       sb.append("this.m"); //$NON-NLS-1$
       sb.append(i);
@@ -1372,743 +1333,116 @@ final class _ClassBuilder
   }
 
   /**
-   * create the run
-   *
-   * @param sb
-   *          the string parser builder
-   */
-  private final void __factoryCreateRun(final MemoryTextOutput sb) {
-    sb.append(//
-        "@Override public final "); //$NON-NLS-1$
-    sb.append(Run.class.getCanonicalName());
-    sb.append(" createRun(final "); //$NON-NLS-1$
-    sb.append(Instance.class.getCanonicalName());
-    sb.append(" instance, final "); //$NON-NLS-1$
-    sb.append(Collection.class.getCanonicalName());
-    sb.append('<');
-    sb.append(DataPoint.class.getCanonicalName());
-    sb.append("> points) { final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] data = points.toArray(new "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[points.size()]); for("); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append(//
-        " next : data) { instance.validateDataPoint(next); } return new "); //$NON-NLS-1$
-    sb.append(this.m_runClass);
-    sb.append("(data); }"); //$NON-NLS-1$
-  }
-
-  /**
-   * create the run class
-   *
-   * @return the run class
-   */
-  private final CharSequence __createRun() {
-    final MemoryTextOutput sb;
-
-    sb = new MemoryTextOutput();
-    sb.append("package "); //$NON-NLS-1$
-    sb.append(this.m_package);
-    sb.append(';');
-
-    this.__runClassHead(sb);
-    this.__runConstructor(sb);
-
-    sb.append(this.m_matrixTxt);
-    this.__runIMatrixGet(sb);
-    this.__runIMatrixSelect(sb);
-    this.__runIMatrixAggregate(sb);
-    this.__runToText(sb);
-    this.__runFind(sb);
-    sb.append('}');
-
-    return sb;
-  }
-
-  /**
-   * create the run head
-   *
-   * @param sb
-   *          the string parser builder
-   */
-  private final void __runClassHead(final MemoryTextOutput sb) {
-
-    sb.append(//
-        "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"nls\", \"javadoc\"}) final class "); //$NON-NLS-1$
-    sb.append(this.m_runClass);
-    sb.append(" extends "); //$NON-NLS-1$
-    sb.append(Run.class.getCanonicalName());
-    sb.append('{');
-
-    sb.append(// serial version uid
-        "private static final long serialVersionUID = 1L;"); //$NON-NLS-1$
-
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
-  }
-
-  /**
-   * create the constructor of the run
+   * Get the fully-qualified name of the generated factory class
    *
-   * @param sb
-   *          the string builder
+   * @return the fully-qualified name of the generated factory class
    */
-  private final void __runConstructor(final MemoryTextOutput sb) {
-    sb.append(this.m_runClass);
-    sb.append("(final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] data) { super(data); this.points = data; }"); //$NON-NLS-1$
+  final String _getFactoryClassName() {
+    return (this.m_package + '.' + this.m_factoryClass);
   }
 
   /**
-   * create the matrix get methods for runs
+   * Get the fully-qualified names of all generated classes
    *
-   * @param sb
-   *          the string builder
+   * @return the fully-qualified names of all generated classes
    */
-  private final void __runIMatrixGet(final MemoryTextOutput sb) {
-    int i;
-    String s;
-
-    sb.append(//
-        "@Override public final int m() { return this.points.length; }"); //$NON-NLS-1$
-
-    for (final EPrimitiveType pt : new EPrimitiveType[] {
-        EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
-      sb.append(//
-          "@Override public final "); //$NON-NLS-1$
-      sb.append(s = pt.getPrimitiveTypeName());
-      sb.append(" get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(final int row, final int column) {"); //$NON-NLS-1$
-      sb.append(//
-          " switch(column) {"); //$NON-NLS-1$
-
-      for (i = 0; i < this.m_primitiveTypes.length; i++) {
-        sb.append("case "); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(": { return ("); //$NON-NLS-1$
-        if (pt.isInteger() && this.m_primitiveTypes[i].isFloat()) {
-          sb.append('(');
-          sb.append(s);
-          sb.append(')');
-        }
-
-        sb.append(" this.points[row].m"); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
-      }
-
-      sb.append(//
-          "} throw new IndexOutOfBoundsException(((\"Matrix access get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(\" + row) + "); //$NON-NLS-1$
-      sb.append(//
-          "',') + column + \") is invalid, the valid index range is (0..\" + "); //$NON-NLS-1$
-      sb.append(//
-          "(this.points.length-1) + \", 0.."); //$NON-NLS-1$
-      sb.append(this.m_primitiveTypes.length - 1);
-      sb.append(").\"); }"); //$NON-NLS-1$
-    }
-  }
-
-  /**
-   * create the matrix select methods for runs
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runIMatrixSelect(final MemoryTextOutput sb) {
-
-    sb.append(//
-        "@Override public final "); //$NON-NLS-1$
-    sb.append(IMatrix.class.getCanonicalName());
-    sb.append(//
-        " selectColumns(final int... cols) {"); //$NON-NLS-1$
-    sb.append("int i;"); //$NON-NLS-1$
-    sb.append("checker: {"); //$NON-NLS-1$
-    sb.append("i = 0;"); //$NON-NLS-1$
-    sb.append("for (int j : cols) {"); //$NON-NLS-1$
-    sb.append("if (j != (i++)) {"); //$NON-NLS-1$
-    sb.append("break checker;"); //$NON-NLS-1$
-    sb.append("}"); //$NON-NLS-1$
-    sb.append("}"); //$NON-NLS-1$
-    sb.append("if (i == "); //$NON-NLS-1$
-    sb.append(this.m_primitiveClasses.length);
-    sb.append(") {"); //$NON-NLS-1$
-    sb.append("return this;"); //$NON-NLS-1$
-    sb.append("}} return new "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsClass);
-    sb.append("(this, cols);}"); //$NON-NLS-1$
-
-    sb.append(//
-        "@Override public final "); //$NON-NLS-1$
-    sb.append(IMatrix.class.getCanonicalName());
-    sb.append(//
-        " selectRows(final int... rows) { if(rows.length<=0) { return this.points[rows[0]]; } return super.selectRows(rows); }"); //$NON-NLS-1$
-  }
-
-  /**
-   * create the matrix access aggregate method
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runIMatrixAggregate(final MemoryTextOutput sb) {
-    int i;
-
-    sb.append(//
-        "@Override public final void aggregateColumn(final int column, final ");//$NON-NLS-1$
-    sb.append(IAggregate.class.getCanonicalName());
-    sb.append("  aggregate) {  switch(column) {"); //$NON-NLS-1$
-    for (i = 0; i < this.m_primitiveTypes.length; i++) {
-      sb.append("case "); //$NON-NLS-1$
-      sb.append(i);
-      sb.append(": { for(final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append(" p : this.points) {"); //$NON-NLS-1$
-      sb.append("aggregate.append(p.m"); //$NON-NLS-1$
-      sb.append(i);
-      sb.append("); } return; }"); //$NON-NLS-1$
-    }
-    sb.append(//
-        "} throw new IndexOutOfBoundsException((\"Matrix access aggregateColumn(\" + column) + \") is invalid, the valid index range is 0.."); //$NON-NLS-1$
-    sb.append(this.m_primitiveTypes.length - 1);
-    sb.append(".\"); }"); //$NON-NLS-1$
-
-    sb.append(//
-        "@Override public final void aggregateRow(final int row, final ");//$NON-NLS-1$
-    sb.append(IAggregate.class.getCanonicalName());
-    sb.append("  aggregate) {  final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append(" p = this.points[row]; "); //$NON-NLS-1$
-    for (i = 0; i < this.m_primitiveTypes.length; i++) {
-      sb.append("aggregate.append(p.m"); //$NON-NLS-1$
-      sb.append(i);
-      sb.append(");"); //$NON-NLS-1$
-    }
-    sb.append('}');
-  }
-
-  /**
-   * create the appendable method for runs
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runToText(final MemoryTextOutput sb) {
-    sb.append("@Override public final void toText(final "); //$NON-NLS-1$
-    sb.append(ITextOutput.class.getCanonicalName());
-    sb.append(" textOut) { boolean b; textOut.append('[');"); //$NON-NLS-1$
-
-    sb.append("b = false;"); //$NON-NLS-1$
-    sb.append("for("); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append(" e : this.points) {"); //$NON-NLS-1$
-    sb.append("if (b) {"); //$NON-NLS-1$
-    sb.append("textOut.append(',');"); //$NON-NLS-1$
-    sb.append("textOut.append(' ');"); //$NON-NLS-1$
-    sb.append("} else {"); //$NON-NLS-1$
-    sb.append("b = true;"); //$NON-NLS-1$
-    sb.append("}"); //$NON-NLS-1$
-    sb.append("e.toText(textOut);"); //$NON-NLS-1$
-    sb.append("}"); //$NON-NLS-1$
-    sb.append("textOut.append(']');"); //$NON-NLS-1$
-    sb.append('}');
-  }
-
-  /**
-   * create the matrix access methods for runs
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runFind(final MemoryTextOutput sb) {
-    EDimensionDirection dir;
-    boolean q;
-
-    for (final Dimension dim : this.m_dims) {
-      dir = dim.getDirection();
-
-      sb.append("private static final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append(" _find"); //$NON-NLS-1$
-      sb.append(dim.getIndex());
-      sb.append("(final "); //$NON-NLS-1$
-      sb.append(dim.getDataType().getPrimitiveTypeName());
-      sb.append(" value, final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append("[] data) {"); //$NON-NLS-1$
-
-      sb.append(this.m_dataPointClass);
-      sb.append(" midVal"); //$NON-NLS-1$
-      if (!(dir.isStrict())) {
-        sb.append(", next"); //$NON-NLS-1$
-      }
-      sb.append(";int low, sh, high, mid"); //$NON-NLS-1$
-      if (!(dir.isStrict())) {
-        sb.append(//
-            ", i"); //$NON-NLS-1$
-      }
-
-      sb.append("; low = 0;"); //$NON-NLS-1$
-      sb.append("sh = high = (data.length - 1);"); //$NON-NLS-1$
-
-      sb.append("while (low <= high) {"); //$NON-NLS-1$
-      sb.append("mid = ((low + high) >>> 1);"); //$NON-NLS-1$
-      sb.append("midVal = data[mid];"); //$NON-NLS-1$
-      sb.append("if (midVal.m"); //$NON-NLS-1$
-      sb.append(dim.getIndex());
-      if (dir.isIncreasing()) {
-        sb.append('<');
-      } else {
-        sb.append('>');
-      }
-      sb.append("value) { low = (mid + 1); } else {"); //$NON-NLS-1$
-
-      sb.append("if (midVal.m"); //$NON-NLS-1$
-      sb.append(dim.getIndex());
-      if (dir.isIncreasing()) {
-        sb.append('>');
-      } else {
-        sb.append('<');
-      }
-      sb.append("value) { high = (mid - 1); } else {"); //$NON-NLS-1$
-      if (!(dir.isStrict())) {
-        sb.append("for (i = mid; (--i)>=0;) {"); //$NON-NLS-1$
-        sb.append("next = data[i];"); //$NON-NLS-1$
-        sb.append("if(next.m"); //$NON-NLS-1$
-        sb.append(dim.getIndex());
-        sb.append("!= value) { return midVal; } "); //$NON-NLS-1$
-        sb.append("midVal = next; }"); //$NON-NLS-1$
-      }
-      sb.append("return midVal; "); //$NON-NLS-1$
-
-      sb.append("}}}"); //$NON-NLS-1$
-
-      q = dim.getDimensionType().isSolutionQualityMeasure();
-      sb.append("if(low <= 0) { return "); //$NON-NLS-1$
-      if (q) {
-        sb.append("data[0]"); //$NON-NLS-1$
-      } else {
-        sb.append("null"); //$NON-NLS-1$
-      }
-
-      sb.append(";} if(low > sh) { return "); //$NON-NLS-1$
-      if (q) {
-        sb.append("null"); //$NON-NLS-1$
-      } else {
-        sb.append("data[sh]"); //$NON-NLS-1$
-      }
-
-      sb.append(";} return data[low"); //$NON-NLS-1$
-      if (!q) {
-        sb.append("-1"); //$NON-NLS-1$
-      }
-
-      sb.append("];}"); //$NON-NLS-1$
-    }
-
-    for (final EPrimitiveType clazz : new EPrimitiveType[] {
-        EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
-      sb.append("@Override public final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append(" find(final int column, final "); //$NON-NLS-1$
-      sb.append(clazz.getPrimitiveTypeName());
-      sb.append(" value) { switch(column) {"); //$NON-NLS-1$
-
-      for (final Dimension dim : this.m_dims) {
-        sb.append("case "); //$NON-NLS-1$
-        sb.append(dim.getIndex());
-        sb.append(": { return "); //$NON-NLS-1$
-        sb.append(this.m_runClass);
-        sb.append("._find"); //$NON-NLS-1$
-        sb.append(dim.getIndex());
-        sb.append("(("); //$NON-NLS-1$
-
-        if (!(dim.getDataType().isAssignableFrom(clazz))) {
-          sb.append('(');
-          sb.append(dim.getDataType().getPrimitiveTypeName());
-          sb.append(')');
-        }
-        sb.append("value), this.points); }"); //$NON-NLS-1$
-      }
-
-      sb.append("}"); //$NON-NLS-1$
-
-      sb.append(//
-          " throw new IndexOutOfBoundsException(\"Column \" + "); //$NON-NLS-1$
-      sb.append(//
-          "column + \" is invalid, valid indexes are in 0.."); //$NON-NLS-1$
-      sb.append(this.m_parsers.length - 1);
-      sb.append(//
-          ".\");"); //$NON-NLS-1$
-      sb.append("}"); //$NON-NLS-1$
-    }
-
+  final String[] _getClassNames() {
+    return new String[] { //
+        (this.m_package + '.' + this.m_dataPointClass), //
+        this._getFactoryClassName() };
   }
 
   /**
-   * create the run columns class body
+   * Generate the source code of the data point and factory classes, in
+   * the same order as their {@link #_getClassNames() names}.
    *
-   * @return the run columns class body
+   * @return the source code of all generated classes
    */
-  private final CharSequence __createRunColumnsClass() {
-    final MemoryTextOutput sb;
-
-    sb = new MemoryTextOutput();
-    sb.append("package "); //$NON-NLS-1$
-    sb.append(this.m_package);
-    sb.append(';');
-
-    this.__runColumnsClassHead(sb);
-    this.__runColumnsConstructor(sb);
-    this.__runColumnsGettersAndSetters(sb);
-    this.__runColumnsRowIterator(sb);
-
-    sb.append('}');
-    return sb;
+  final CharSequence[] _getSources() {
+    this.__makeBasicIMatrix();
+    return new CharSequence[] { //
+        this.__createDataPoint(), //
+        this.__createFactory() };
   }
 
   /**
-   * create the matrix access methods for runs
+   * Generate and compile the data point and factory classes.
    *
-   * @param sb
-   *          the string builder
+   * @return the class loader providing the compiled classes
    */
-  private final void __runColumnsGettersAndSetters(
-      final MemoryTextOutput sb) {
+  final ClassLoader _compile() {
+    final String[] names;
+    final CharSequence[] sources;
+    JavaCompilerJobBuilder builder;
     int i;
-    String s;
-
-    for (final EPrimitiveType pt : new EPrimitiveType[] {
-        EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
-      sb.append(//
-          "@Override public final "); //$NON-NLS-1$
-      sb.append(s = pt.getPrimitiveTypeName());
-      sb.append(" get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(final int row, final int column) {"); //$NON-NLS-1$
-      sb.append(//
-          " switch(this.m_cols[column]) {"); //$NON-NLS-1$
-
-      for (i = 0; i < this.m_primitiveTypes.length; i++) {
-        sb.append("case "); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(": { return ("); //$NON-NLS-1$
-        if (pt.isInteger() && this.m_primitiveTypes[i].isFloat()) {
-          sb.append('(');
-          sb.append(s);
-          sb.append(')');
-        }
-
-        sb.append(" this.points[row].m"); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
-      }
-
-      sb.append(//
-          "} throw new IndexOutOfBoundsException(((\"Matrix access get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(\" + row) + "); //$NON-NLS-1$
-
-      sb.append(//
-          "',') + column + \") is invalid, the valid index range is (0..\" + "); //$NON-NLS-1$
-      sb.append(//
-          "(this.points.length-1) + \", 0.."); //$NON-NLS-1$
-      sb.append(this.m_primitiveTypes.length - 1);
-      sb.append(").\"); }"); //$NON-NLS-1$
-    }
-
-    sb.append(//
-        "@Override public final "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsClass);
-    sb.append(" copy() { return this; }"); //$NON-NLS-1$
-  }
-
-  /**
-   * create the matrix access methods for runs iterating rows
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runColumnsRowIterator(final MemoryTextOutput sb) {
-
-    sb.append("@Override public final "); //$NON-NLS-1$
-    sb.append(Iterator.class.getCanonicalName());
-    sb.append('<');
-    sb.append(IMatrix.class.getCanonicalName());
-    sb.append(//
-        "> iterateRows() { if (this.points.length <= 1) { return new "); //$NON-NLS-1$ "
-    sb.append(InstanceIterator.class.getCanonicalName());
-    sb.append('<');
-    sb.append(IMatrix.class.getCanonicalName());
-    sb.append(">(this); } return new "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsRowIteratorClass);
-    sb.append("(this, this.m_cols"); //$NON-NLS-1$
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append(", this.isInt"); //$NON-NLS-1$
-    }
-    sb.append(");}"); //$NON-NLS-1$
-  }
-
-  /**
-   * create the run columns head
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runColumnsClassHead(final MemoryTextOutput sb) {
-
-    sb.append(//
-        "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"nls\", \"javadoc\"}) final class "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsClass);
-    sb.append(" extends "); //$NON-NLS-1$
-    sb.append(MatrixColumns.class.getCanonicalName());
-    sb.append('<');
-    sb.append(this.m_runClass);
-    sb.append('>');
-    sb.append('{');
-
-    // declare fields: all private and final
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
-
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append("final boolean isInt;"); //$NON-NLS-1$
-    }
-  }
-
-  /**
-   * create the constructor of the data point
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runColumnsConstructor(final MemoryTextOutput sb) {
-    final String s;
-
-    sb.append(this.m_runColumnsClass);
-    sb.append("(final "); //$NON-NLS-1$
-    sb.append(this.m_runClass);
-    sb.append(//
-        " owner, final int[] cols) { super(owner, cols); this.points = owner.points; "); //$NON-NLS-1$
-
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append("checkIsFloat:{checkIsInt: { for(int i: cols) {if "); //$NON-NLS-1$
-
-      s = ((String) (this.m_matrixChoice)).replace('@', 'i');
-      sb.append(s);
-      sb.append(//
-          " {continue; } break checkIsInt; } this.isInt=true;break checkIsFloat; } this.isInt=false;}"); //$NON-NLS-1$
-    }
-
-    sb.append('}');
-
-    if (this.m_matrixChoice != Boolean.FALSE) {
-      sb.append(
-          "@Override public final boolean isIntegerMatrix(){return "); //$NON-NLS-1$
-      if (this.m_matrixChoice == Boolean.TRUE) {
-        sb.append("true;"); //$NON-NLS-1$
-      } else {
-        sb.append("this.isInt;"); //$NON-NLS-1$
-      }
-      sb.append('}');
-    }
-
-  }
 
-  /**
-   * create the run columns row iterator class body
-   *
-   * @return the run columns row iterator class body
-   */
-  private final CharSequence __createRunColumnsRowIterator() {
-    final MemoryTextOutput sb;
-
-    sb = new MemoryTextOutput();
-    sb.append("package "); //$NON-NLS-1$
-    sb.append(this.m_package);
-    sb.append(';');
-
-    this.__runColumnsRowIteratorClassHead(sb);
-    this.__runColumnsRowIteratorConstructor(sb);
-    this.__runColumnsRowIteratorGettersAndSetters(sb);
-
-    sb.append('}');
-    return sb;
-  }
-
-  /**
-   * create the run columns head
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runColumnsRowIteratorClassHead(
-      final MemoryTextOutput sb) {
-
-    sb.append(//
-        "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"nls\", \"javadoc\"}) final class "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsRowIteratorClass);
-    sb.append(" extends "); //$NON-NLS-1$
-    sb.append(MatrixRowIterator.class.getCanonicalName());
-    sb.append('<');
-    sb.append(this.m_runColumnsClass);
-    sb.append('>');
-    sb.append('{');
-
-    // declare fields: all private and final
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
-
-    sb.append("final int[] cols;"); //$NON-NLS-1$
-
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append("final boolean isInt;"); //$NON-NLS-1$
+    if (!(JavaCompilerTool.getInstance().canUse())) {
+      throw new IllegalStateException("No Java compiler found."); //$NON-NLS-1$
     }
 
-  }
-
-  /**
-   * create the constructor of the data point
-   *
-   * @param sb
-   *          the string builder
-   */
-  private final void __runColumnsRowIteratorConstructor(
-      final MemoryTextOutput sb) {
-
-    sb.append(this.m_runColumnsRowIteratorClass);
-    sb.append("(final "); //$NON-NLS-1$
-    sb.append(this.m_runColumnsClass);
-    sb.append(" owner, final int[] c"); //$NON-NLS-1$
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append(", final boolean isi"); //$NON-NLS-1$
+    names = this._getClassNames();
+    sources = this._getSources();
+    builder = JavaCompilerTool.getInstance().use();
+    for (i = 0; i < names.length; i++) {
+      builder = builder.addClass(names[i], sources[i]);
     }
-
-    sb.append(//
-        ") { super(owner); this.points = owner.points; "); //$NON-NLS-1$
-
-    if (!(this.m_matrixChoice instanceof Boolean)) {
-      sb.append("this.isInt = isi;"); //$NON-NLS-1$
+    if (this.m_logger != null) {
+      builder = builder.setLogger(this.m_logger);
     }
-    sb.append("this.cols = c;"); //$NON-NLS-1$
-
-    sb.append('}');
-
-    if (this.m_matrixChoice != Boolean.FALSE) {
-      sb.append(
-          "@Override public final boolean isIntegerMatrix(){return "); //$NON-NLS-1$
-      if (this.m_matrixChoice == Boolean.TRUE) {
-        sb.append("true;"); //$NON-NLS-1$
-      } else {
-        sb.append("this.isInt;"); //$NON-NLS-1$
-      }
-      sb.append('}');
+    try {
+      return builder.create().call();
+    } catch (final RuntimeException e) {
+      throw e;
+    } catch (final Throwable t) {
+      throw new RuntimeException(t);
     }
-
   }
 
   /**
-   * create the matrix access methods for runs columns row iterators
+   * Instantiate a generated factory class for a given set of dimensions.
+   * The class may have been generated for a different dimension set, as
+   * long as both sets have the same
+   * {@link _DataFactoryCache#_signature(ArraySetView) signature}.
    *
-   * @param sb
-   *          the string builder
+   * @param factoryClass
+   *          the factory class
+   * @param dims
+   *          the dimensions
+   * @return the factory
    */
-  private final void __runColumnsRowIteratorGettersAndSetters(
-      final MemoryTextOutput sb) {
+  static final DataFactory _instantiate(final Class<?> factoryClass,
+      final ArraySetView<Dimension> dims) {
+    final Class<?>[] classes;
+    final Object[] params;
     int i;
-    String s;
-
-    for (final EPrimitiveType pt : new EPrimitiveType[] {
-        EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
-      sb.append(//
-          "@Override public final "); //$NON-NLS-1$
-      sb.append(s = pt.getPrimitiveTypeName());
-      sb.append(" get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(final int row, final int column) {"); //$NON-NLS-1$
-      sb.append(//
-          "if(row == 0) { switch(this.cols[column]) {"); //$NON-NLS-1$
-
-      for (i = 0; i < this.m_primitiveTypes.length; i++) {
-        sb.append("case "); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(": { return ("); //$NON-NLS-1$
-        if (pt.isInteger() && this.m_primitiveTypes[i].isFloat()) {
-          sb.append('(');
-          sb.append(s);
-          sb.append(')');
-        }
 
-        sb.append(" this.points[this.m_rows[0]].m"); //$NON-NLS-1$
-        sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
+    try {
+      i = dims.size();
+      classes = new Class<?>[i + 1];
+      params = new Object[i + 1];
+      for (; i > 0; i--) {
+        params[i] = dims.get(i - 1).getParser();
+        classes[i] = params[i].getClass();
       }
+      classes[0] = ArraySetView.class;
+      params[0] = dims;
 
-      sb.append(//
-          "} } throw new IndexOutOfBoundsException((((\"Matrix access get"); //$NON-NLS-1$
-      sb.append(TextUtils.toUpperCase(s.charAt(0)));
-      sb.append(s.substring(1));
-      sb.append("(\" + row) + "); //$NON-NLS-1$
-
-      sb.append(//
-          "',') + column + \") is invalid, the valid index range is (0, 0..\""); //$NON-NLS-1$
-      sb.append(//
-          " + (this.cols.length - 1)) + ')'); }"); //$NON-NLS-1$
+      return ((DataFactory) (factoryClass.getConstructor(classes)
+          .newInstance(params)));
+    } catch (final RuntimeException e) {
+      throw e;
+    } catch (final Throwable t) {
+      throw new RuntimeException(t);
     }
   }
 
   /** {@inheritDoc} */
   @Override
   public final DataFactory call() {
-    final ClassLoader cl;
-    final String qP;
-    final Class<?>[] classes;
-    JavaCompilerJobBuilder builder;
-    int i;
-
-    this.__makeBasicIMatrix();
-
-    qP = (this.m_package + '.' + this.m_factoryClass);
-
-    builder = JavaCompilerTool.getInstance().use();
-    builder = builder.addClass(
-        (this.m_package + '.' + this.m_dataPointClass), //
-        this.__createDataPoint());
-    builder = builder.addClass((this.m_package + '.' + this.m_runClass), //
-        this.__createRun());
-    builder = builder.addClass(//
-        (this.m_package + '.' + this.m_runColumnsClass), //
-        this.__createRunColumnsClass());
-    builder = builder.addClass(//
-        (this.m_package + '.' + this.m_runColumnsRowIteratorClass), //
-        this.__createRunColumnsRowIterator());
-    builder = builder.addClass(qP, this.__createFactory());
-    if (this.m_logger != null) {
-      builder = builder.setLogger(this.m_logger);
-    }
-    cl = builder.create().call();
-
     try {
-      i = this.m_parsers.length;
-      classes = new Class<?>[i];
-      for (; (--i) >= 0;) {
-        classes[i] = this.m_parsers[i].getClass();
-      }
-
-      return ((DataFactory) (cl.loadClass(qP).getConstructor(classes)
-          .newInstance((Object[]) (this.m_parsers))));
+      return _ClassBuilder._instantiate(//
+          this._compile().loadClass(this._getFactoryClassName()),
+          this.m_dims);
     } catch (final RuntimeException e) {
       throw e;
     } catch (final Throwable t) {
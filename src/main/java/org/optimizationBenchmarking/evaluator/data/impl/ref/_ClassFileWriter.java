@@ -0,0 +1,417 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * A minimal writer for Java class files, just powerful enough for the
+ * {@link _DataPointEmitter}. It manages a constant pool and collects
+ * fields and methods with ready-made byte code. The class files have
+ * version 49 (Java 5), so that no stack map frames are required: The
+ * virtual machine verifies them by type inference.
+ */
+final class _ClassFileWriter {
+
+  /** the class file version: Java 5 */
+  private static final int MAJOR_VERSION = 49;
+
+  /** the constant pool tag for utf-8 strings */
+  private static final int TAG_UTF8 = 1;
+  /** the constant pool tag for long values */
+  private static final int TAG_LONG = 5;
+  /** the constant pool tag for classes */
+  private static final int TAG_CLASS = 7;
+  /** the constant pool tag for field references */
+  private static final int TAG_FIELD = 9;
+  /** the constant pool tag for method references */
+  private static final int TAG_METHOD = 10;
+  /** the constant pool tag for name-and-type entries */
+  private static final int TAG_NAME_AND_TYPE = 12;
+
+  /** the constant pool */
+  private final ByteArrayOutputStream m_poolBytes;
+  /** the constant pool output */
+  private final DataOutputStream m_pool;
+  /** the constant pool lookup */
+  private final HashMap<String, Integer> m_poolIndex;
+  /** the next constant pool index */
+  private int m_poolSize;
+
+  /** the fields */
+  private final ByteArrayOutputStream m_fieldBytes;
+  /** the field output */
+  private final DataOutputStream m_fields;
+  /** the number of fields */
+  private int m_fieldCount;
+
+  /** the methods */
+  private final ByteArrayOutputStream m_methodBytes;
+  /** the method output */
+  private final DataOutputStream m_methods;
+  /** the number of methods */
+  private int m_methodCount;
+
+  /** the access flags of the class */
+  private final int m_access;
+  /** the index of the class */
+  private final int m_thisClass;
+  /** the index of the super class */
+  private final int m_superClass;
+
+  /**
+   * create the class file writer
+   *
+   * @param access
+   *          the access flags of the class
+   * @param name
+   *          the internal name of the class
+   * @param superName
+   *          the internal name of the super class
+   */
+  _ClassFileWriter(final int access, final String name,
+      final String superName) {
+    super();
+
+    this.m_poolBytes = new ByteArrayOutputStream();
+    this.m_pool = new DataOutputStream(this.m_poolBytes);
+    this.m_poolIndex = new HashMap<>();
+    this.m_poolSize = 1;
+
+    this.m_fieldBytes = new ByteArrayOutputStream();
+    this.m_fields = new DataOutputStream(this.m_fieldBytes);
+
+    this.m_methodBytes = new ByteArrayOutputStream();
+    this.m_methods = new DataOutputStream(this.m_methodBytes);
+
+    this.m_access = access;
+    this.m_thisClass = this._class(name);
+    this.m_superClass = this._class(superName);
+  }
+
+  /**
+   * Get the index of a constant pool entry, or {@code -1} if it does not
+   * exist yet.
+   *
+   * @param key
+   *          the entry key
+   * @return the index
+   */
+  private final int __lookup(final String key) {
+    final Integer index;
+    index = this.m_poolIndex.get(key);
+    return ((index != null) ? index.intValue() : (-1));
+  }
+
+  /**
+   * Register a new constant pool entry
+   *
+   * @param key
+   *          the entry key
+   * @param slots
+   *          the number of slots the entry needs
+   * @return the index of the entry
+   */
+  private final int __register(final String key, final int slots) {
+    final int index;
+    index = this.m_poolSize;
+    this.m_poolSize += slots;
+    this.m_poolIndex.put(key, Integer.valueOf(index));
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a utf-8 string
+   *
+   * @param string
+   *          the string
+   * @return the index
+   */
+  final int _utf8(final String string) {
+    final String key;
+    int index;
+
+    key = ("U" + string); //$NON-NLS-1$
+    index = this.__lookup(key);
+    if (index < 0) {
+      try {
+        this.m_pool.writeByte(_ClassFileWriter.TAG_UTF8);
+        this.m_pool.writeUTF(string);
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(ioe);
+      }
+      index = this.__register(key, 1);
+    }
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a {@code long} constant
+   *
+   * @param value
+   *          the value
+   * @return the index
+   */
+  final int _long(final long value) {
+    final String key;
+    int index;
+
+    key = ("J" + value); //$NON-NLS-1$
+    index = this.__lookup(key);
+    if (index < 0) {
+      try {
+        this.m_pool.writeByte(_ClassFileWriter.TAG_LONG);
+        this.m_pool.writeLong(value);
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(ioe);
+      }
+      index = this.__register(key, 2);
+    }
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a class
+   *
+   * @param name
+   *          the internal name of the class
+   * @return the index
+   */
+  final int _class(final String name) {
+    final String key;
+    final int utf8;
+    int index;
+
+    key = ("C" + name); //$NON-NLS-1$
+    index = this.__lookup(key);
+    if (index < 0) {
+      utf8 = this._utf8(name);
+      try {
+        this.m_pool.writeByte(_ClassFileWriter.TAG_CLASS);
+        this.m_pool.writeShort(utf8);
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(ioe);
+      }
+      index = this.__register(key, 1);
+    }
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a name-and-type entry
+   *
+   * @param name
+   *          the name
+   * @param descriptor
+   *          the descriptor
+   * @return the index
+   */
+  private final int __nameAndType(final String name,
+      final String descriptor) {
+    final String key;
+    final int nameIndex, descIndex;
+    int index;
+
+    key = ("N" + name + ' ' + descriptor); //$NON-NLS-1$
+    index = this.__lookup(key);
+    if (index < 0) {
+      nameIndex = this._utf8(name);
+      descIndex = this._utf8(descriptor);
+      try {
+        this.m_pool.writeByte(_ClassFileWriter.TAG_NAME_AND_TYPE);
+        this.m_pool.writeShort(nameIndex);
+        this.m_pool.writeShort(descIndex);
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(ioe);
+      }
+      index = this.__register(key, 1);
+    }
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a field or method reference
+   *
+   * @param tag
+   *          the tag
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the name
+   * @param descriptor
+   *          the descriptor
+   * @return the index
+   */
+  private final int __member(final int tag, final String owner,
+      final String name, final String descriptor) {
+    final String key;
+    final int classIndex, ntIndex;
+    int index;
+
+    key = (("" + tag) + owner + '.' + name + ' ' + descriptor); //$NON-NLS-1$
+    index = this.__lookup(key);
+    if (index < 0) {
+      classIndex = this._class(owner);
+      ntIndex = this.__nameAndType(name, descriptor);
+      try {
+        this.m_pool.writeByte(tag);
+        this.m_pool.writeShort(classIndex);
+        this.m_pool.writeShort(ntIndex);
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(ioe);
+      }
+      index = this.__register(key, 1);
+    }
+    return index;
+  }
+
+  /**
+   * Get the constant pool index of a field reference
+   *
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the field name
+   * @param descriptor
+   *          the field descriptor
+   * @return the index
+   */
+  final int _field(final String owner, final String name,
+      final String descriptor) {
+    return this.__member(_ClassFileWriter.TAG_FIELD, owner, name,
+        descriptor);
+  }
+
+  /**
+   * Get the constant pool index of a method reference
+   *
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the method name
+   * @param descriptor
+   *          the method descriptor
+   * @return the index
+   */
+  final int _method(final String owner, final String name,
+      final String descriptor) {
+    return this.__member(_ClassFileWriter.TAG_METHOD, owner, name,
+        descriptor);
+  }
+
+  /**
+   * Add a field
+   *
+   * @param access
+   *          the access flags
+   * @param name
+   *          the field name
+   * @param descriptor
+   *          the field descriptor
+   * @param constantValue
+   *          the constant pool index of the constant value, or {@code -1}
+   *          if the field has none
+   */
+  final void _addField(final int access, final String name,
+      final String descriptor, final int constantValue) {
+    final int nameIndex, descIndex, attrIndex;
+
+    nameIndex = this._utf8(name);
+    descIndex = this._utf8(descriptor);
+    attrIndex = ((constantValue > 0) ? this._utf8("ConstantValue") : 0); //$NON-NLS-1$
+    try {
+      this.m_fields.writeShort(access);
+      this.m_fields.writeShort(nameIndex);
+      this.m_fields.writeShort(descIndex);
+      if (constantValue > 0) {
+        this.m_fields.writeShort(1);
+        this.m_fields.writeShort(attrIndex);
+        this.m_fields.writeInt(2);
+        this.m_fields.writeShort(constantValue);
+      } else {
+        this.m_fields.writeShort(0);
+      }
+    } catch (final IOException ioe) {
+      throw new IllegalStateException(ioe);
+    }
+    this.m_fieldCount++;
+  }
+
+  /**
+   * Add a method
+   *
+   * @param access
+   *          the access flags
+   * @param name
+   *          the method name
+   * @param descriptor
+   *          the method descriptor
+   * @param maxStack
+   *          the maximum stack size
+   * @param maxLocals
+   *          the number of local variable slots, including the parameters
+   * @param code
+   *          the byte code
+   */
+  final void _addMethod(final int access, final String name,
+      final String descriptor, final int maxStack, final int maxLocals,
+      final byte[] code) {
+    final int nameIndex, descIndex, codeIndex;
+
+    nameIndex = this._utf8(name);
+    descIndex = this._utf8(descriptor);
+    codeIndex = this._utf8("Code"); //$NON-NLS-1$
+    try {
+      this.m_methods.writeShort(access);
+      this.m_methods.writeShort(nameIndex);
+      this.m_methods.writeShort(descIndex);
+      this.m_methods.writeShort(1);
+      this.m_methods.writeShort(codeIndex);
+      this.m_methods.writeInt(12 + code.length);
+      this.m_methods.writeShort(maxStack);
+      this.m_methods.writeShort(maxLocals);
+      this.m_methods.writeInt(code.length);
+      this.m_methods.write(code);
+      this.m_methods.writeShort(0);// no exception table
+      this.m_methods.writeShort(0);// no attributes
+    } catch (final IOException ioe) {
+      throw new IllegalStateException(ioe);
+    }
+    this.m_methodCount++;
+  }
+
+  /**
+   * Create the class file
+   *
+   * @return the bytes of the class file
+   */
+  final byte[] _toByteArray() {
+    final ByteArrayOutputStream bytes;
+    final DataOutputStream out;
+
+    bytes = new ByteArrayOutputStream(this.m_poolBytes.size()
+        + this.m_fieldBytes.size() + this.m_methodBytes.size() + 32);
+    out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(_ClassFileWriter.MAJOR_VERSION);
+      out.writeShort(this.m_poolSize);
+      this.m_poolBytes.writeTo(out);
+      out.writeShort(this.m_access);
+      out.writeShort(this.m_thisClass);
+      out.writeShort(this.m_superClass);
+      out.writeShort(0);// no interfaces
+      out.writeShort(this.m_fieldCount);
+      this.m_fieldBytes.writeTo(out);
+      out.writeShort(this.m_methodCount);
+      this.m_methodBytes.writeTo(out);
+      out.writeShort(0);// no attributes
+      out.flush();
+    } catch (final IOException ioe) {
+      throw new IllegalStateException(ioe);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,246 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.Serializable;
+
+import org.optimizationBenchmarking.utils.comparison.Compare;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * The internal base class for a column of a {@link _ColumnarRun}, i.e.,
+ * for the values of all data points of a run in one dimension. Columns
+ * are read-only: Only the {@link _MutableColumn plain columns} into which
+ * the rows of a run are collected can be written.
+ */
+abstract class _Column implements Serializable {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the dimension */
+  final Dimension m_dim;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   */
+  _Column(final Dimension dim) {
+    super();
+    this.m_dim = dim;
+  }
+
+  /**
+   * Get the number of rows of this column
+   *
+   * @return the number of rows of this column
+   */
+  abstract int size();
+
+  /**
+   * Get the value in a given row as {@code long}
+   *
+   * @param row
+   *          the row
+   * @return the value
+   */
+  abstract long getLong(final int row);
+
+  /**
+   * Get the value in a given row as {@code double}
+   *
+   * @param row
+   *          the row
+   * @return the value
+   */
+  abstract double getDouble(final int row);
+
+  /**
+   * Append the value in a given row to an aggregate
+   *
+   * @param row
+   *          the row
+   * @param aggregate
+   *          the aggregate
+   */
+  abstract void aggregate(final int row, final IAggregate aggregate);
+
+  /**
+   * Find the row of the data point corresponding to a given {@code long}
+   * value among the rows {@code start...end-1}: For solution quality
+   * dimensions, this is the first row whose value is as same as good or
+   * better than {@code value}; for time dimensions, it is the first row
+   * with exactly {@code value} or the last row before it.
+   *
+   * @param value
+   *          the value
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @return the row, or {@code -1} if none could be found
+   */
+  abstract int find(final long value, final int start, final int end);
+
+  /**
+   * Find the row of the data point corresponding to a given {@code double}
+   * value among the rows {@code start...end-1}, with the same semantics
+   * as {@link #find(long, int, int)}.
+   *
+   * @param value
+   *          the value
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @return the row, or {@code -1} if none could be found
+   */
+  abstract int find(final double value, final int start, final int end);
+
+  /**
+   * Find the rows of the data points corresponding to several
+   * {@code long} values, with the same semantics as
+   * {@link #find(long, int, int)}. If the values are sorted in the
+   * direction of the dimension, the total search effort is roughly linear
+   * in the number of values plus the number of rows.
+   *
+   * @param values
+   *          the values
+   * @param rows
+   *          the destination for the rows, each of which is {@code -1} if
+   *          no row could be found for the corresponding value
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   */
+  abstract void find(final long[] values, final int[] rows,
+      final int start, final int end);
+
+  /**
+   * Find the rows of the data points corresponding to several
+   * {@code double} values, with the same semantics as
+   * {@link #find(double, int, int)}. If the values are sorted in the
+   * direction of the dimension, the total search effort is roughly linear
+   * in the number of values plus the number of rows.
+   *
+   * @param values
+   *          the values
+   * @param rows
+   *          the destination for the rows, each of which is {@code -1} if
+   *          no row could be found for the corresponding value
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   */
+  abstract void find(final double[] values, final int[] rows,
+      final int start, final int end);
+
+  /**
+   * Find the boundary of the rows which come before a given {@code long}
+   * value in the direction of the dimension among the rows
+   * {@code start...end-1}.
+   *
+   * @param value
+   *          the value
+   * @param upper
+   *          {@code false} to get the first row which does not come
+   *          before {@code value}, {@code true} to get the first row which
+   *          comes after it
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @return the row, or {@code end} if there is none
+   */
+  abstract int bound(final long value, final boolean upper,
+      final int start, final int end);
+
+  /**
+   * Find the boundary of the rows which come before a given
+   * {@code double} value in the direction of the dimension among the rows
+   * {@code start...end-1}, with the same semantics as
+   * {@link #bound(long, boolean, int, int)}.
+   *
+   * @param value
+   *          the value
+   * @param upper
+   *          {@code false} to get the first row which does not come
+   *          before {@code value}, {@code true} to get the first row which
+   *          comes after it
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @return the row, or {@code end} if there is none
+   */
+  abstract int bound(final double value, final boolean upper,
+      final int start, final int end);
+
+  /**
+   * Append the values of the rows {@code start...end-1} of this column to
+   * an aggregate
+   *
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @param aggregate
+   *          the aggregate
+   */
+  abstract void aggregate(final int start, final int end,
+      final IAggregate aggregate);
+
+  /**
+   * Compare the (raw) value in a given row of this column with the value
+   * in a given row of another column of the same dimension.
+   *
+   * @param row
+   *          the row in this column
+   * @param other
+   *          the other column
+   * @param otherRow
+   *          the row in the other column
+   * @return the comparison result
+   */
+  int compare(final int row, final _Column other, final int otherRow) {
+    if (this.m_dim.m_primitiveType.isFloat()) {
+      return Compare.compare(this.getDouble(row),
+          other.getDouble(otherRow));
+    }
+    return Long.compare(this.getLong(row), other.getLong(otherRow));
+  }
+
+  /**
+   * Compute the result row of a search from the first row whose value
+   * does not come before the searched value in the direction of the
+   * dimension: For solution quality dimensions, this row itself is
+   * returned; for time dimensions, it is returned only if it holds exactly
+   * the searched value, otherwise the row before it is returned.
+   *
+   * @param lowerBound
+   *          the first row not before the searched value, or {@code end}
+   *          if there is none
+   * @param exact
+   *          does the row {@code lowerBound} hold exactly the searched
+   *          value?
+   * @param start
+   *          the inclusive start row of the searched range
+   * @param end
+   *          the exclusive end row of the searched range
+   * @param dimension
+   *          the dimension
+   * @return the row, or {@code -1} if none exists
+   */
+  static final int _found(final int lowerBound, final boolean exact,
+      final int start, final int end, final Dimension dimension) {
+    if (dimension.m_dimensionType.isSolutionQualityMeasure()) {
+      return ((lowerBound < end) ? lowerBound : (-1));
+    }
+    if (exact) {
+      return lowerBound;
+    }
+    return ((lowerBound > start) ? (lowerBound - 1) : (-1));
+  }
+}
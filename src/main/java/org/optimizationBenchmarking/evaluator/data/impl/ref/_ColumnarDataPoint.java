@@ -0,0 +1,92 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * A light-weight view of one row of a {@link _ColumnarRun} as data point.
+ * It does not store any values by itself, but reads them from the columns
+ * of the run.
+ */
+final class _ColumnarDataPoint extends _AbstractDataPoint {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the run */
+  final _ColumnarRun m_run;
+
+  /** the row */
+  final int m_row;
+
+  /**
+   * create the data point view
+   *
+   * @param run
+   *          the run
+   * @param row
+   *          the row
+   */
+  _ColumnarDataPoint(final _ColumnarRun run, final int row) {
+    super(run.m_dims);
+    this.m_run = run;
+    this.m_row = row;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int index) {
+    return this.m_run.m_columns[index].getDouble(this.m_row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int index) {
+    return this.m_run.m_columns[index].getLong(this.m_row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final float getFloat(final int index) {
+    final _Column column;
+
+    column = this.m_run.m_columns[index];
+    if (column.m_dim.m_primitiveType.isFloat()) {
+      return ((float) (column.getDouble(this.m_row)));
+    }
+    return column.getLong(this.m_row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getInt(final int index) {
+    final _Column column;
+
+    column = this.m_run.m_columns[index];
+    if (column.m_dim.m_primitiveType.isFloat()) {
+      return ((int) (column.getDouble(this.m_row)));
+    }
+    return ((int) (column.getLong(this.m_row)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final short getShort(final int index) {
+    final _Column column;
+
+    column = this.m_run.m_columns[index];
+    if (column.m_dim.m_primitiveType.isFloat()) {
+      return ((short) (column.getDouble(this.m_row)));
+    }
+    return ((short) (column.getLong(this.m_row)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final byte getByte(final int index) {
+    final _Column column;
+
+    column = this.m_run.m_columns[index];
+    if (column.m_dim.m_primitiveType.isFloat()) {
+      return ((byte) (column.getDouble(this.m_row)));
+    }
+    return ((byte) (column.getLong(this.m_row)));
+  }
+}
@@ -0,0 +1,489 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * An implementation of {@code run} which stores its data column-wise, in
+ * one primitive array per dimension. Matrix access, aggregation, and
+ * searching directly work on these arrays. {@link DataPoint} objects are
+ * only created as light-weight views when the {@link #getData() data
+ * point list} is requested for the first time.
+ */
+final class _ColumnarRun extends Run {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the dimensions */
+  final ArraySetView<Dimension> m_dims;
+
+  /** the columns */
+  final _Column[] m_columns;
+
+  /** the index of the first row of this run in the columns */
+  final int m_start;
+
+  /** the number of rows */
+  final int m_m;
+
+  /** the data point views, created on demand */
+  private transient volatile ArraySetView<DataPoint> m_points;
+
+  /**
+   * Create the columnar run
+   *
+   * @param dims
+   *          the dimension set
+   * @param columns
+   *          the columns, one for each dimension
+   * @param m
+   *          the number of rows
+   * @param validation
+   *          the strategy for validating consecutive rows: since the
+   *          ordering of rows is transitive, checking adjacent rows is
+   *          already complete, so {@link EElementSetValidation#FULL} and
+   *          {@link EElementSetValidation#ADJACENT} both take linear time
+   */
+  _ColumnarRun(final ArraySetView<Dimension> dims, final _Column[] columns,
+      final int m, final EElementSetValidation validation) {
+    super();
+
+    if (m <= 0) {
+      throw new IllegalArgumentException(//
+          TextUtils.className(this)//
+              + " must contain at least one element."); //$NON-NLS-1$
+    }
+
+    this.m_dims = dims;
+    this.m_columns = columns;
+    this.m_start = 0;
+    this.m_m = m;
+    if (validation != EElementSetValidation.NONE) {
+      this.__validate();
+    }
+  }
+
+  /**
+   * Create a view of a contiguous range of rows of another columnar run,
+   * sharing its columns
+   *
+   * @param run
+   *          the run
+   * @param start
+   *          the index of the first row in the columns
+   * @param m
+   *          the number of rows, which must be positive
+   */
+  private _ColumnarRun(final _ColumnarRun run, final int start,
+      final int m) {
+    super();
+    this.m_dims = run.m_dims;
+    this.m_columns = run.m_columns;
+    this.m_start = start;
+    this.m_m = m;
+    this.m_owner = run.m_owner;
+  }
+
+  /**
+   * Make sure that each row can follow its predecessor, i.e., perform the
+   * same checks as {@link DataPoint#validateAfter(DataPoint)}, but
+   * directly on the columns.
+   */
+  private final void __validate() {
+    final _Column[] columns;
+    _Column column;
+    Dimension dim;
+    int row, index, current;
+    boolean after;
+
+    columns = this.m_columns;
+    for (row = 1; row < this.m_m; row++) {
+      after = false;
+      for (index = columns.length; (--index) >= 0;) {
+        column = columns[index];
+        dim = column.m_dim;
+        current = column.compare(row, column, (row - 1));
+        if (!(dim.m_direction.isIncreasing())) {
+          current = (-current);
+        }
+
+        if (current < (dim.m_direction.isStrict() ? 1 : 0)) {
+          throw new IllegalArgumentException("Data point " //$NON-NLS-1$
+              + new _ColumnarDataPoint(this, row)
+              + " cannot follow data point " + //$NON-NLS-1$
+              new _ColumnarDataPoint(this, (row - 1))
+              + " due to its value in dimension "//$NON-NLS-1$
+              + dim);
+        }
+        after |= (current != 0);
+      }
+
+      if (!after) {
+        throw new IllegalArgumentException("Data point " //$NON-NLS-1$
+            + new _ColumnarDataPoint(this, row)
+            + " cannot follow data point " + //$NON-NLS-1$
+            new _ColumnarDataPoint(this, (row - 1))
+            + ", since they are identical.");//$NON-NLS-1$
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ArraySetView<DataPoint> getData() {
+    ArraySetView<DataPoint> points;
+    DataPoint[] data;
+    int row;
+
+    points = this.m_points;
+    if (points == null) {
+      synchronized (this.m_columns) {
+        points = this.m_points;
+        if (points == null) {
+          data = new DataPoint[this.m_m];
+          for (row = data.length; (--row) >= 0;) {
+            data[row] = new _ColumnarDataPoint(this, (this.m_start + row));
+          }
+          this.m_points = points = new ArraySetView<>(data, false);
+        }
+      }
+    }
+    return points;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int m() {
+    return this.m_m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return this.m_columns.length;
+  }
+
+  /**
+   * Get the index of a row of this run in the columns
+   *
+   * @param row
+   *          the row of this run
+   * @return the index of the row in the columns
+   */
+  private final int __row(final int row) {
+    if ((row < 0) || (row >= this.m_m)) {
+      throw new IndexOutOfBoundsException(//
+          "Invalid row index " + row + //$NON-NLS-1$
+              ", the run has " + this.m_m + //$NON-NLS-1$
+              " rows.");//$NON-NLS-1$
+    }
+    return (this.m_start + row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    return this.m_columns[column].getDouble(this.__row(row));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    return this.m_columns[column].getLong(this.__row(row));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    this.m_columns[column].aggregate(this.m_start,
+        (this.m_start + this.m_m), aggregate);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateRow(final int row,
+      final IAggregate aggregate) {
+    final int index;
+    int column;
+
+    index = this.__row(row);
+    for (column = this.m_columns.length; (--column) >= 0;) {
+      this.m_columns[column].aggregate(index, aggregate);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    for (final Dimension dim : this.m_dims) {
+      if (dim.m_primitiveType.isFloat()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DataPoint find(final int column, final double value) {
+    final int row;
+
+    row = this.m_columns[column].find(value, this.m_start,
+        (this.m_start + this.m_m));
+    return ((row < 0) ? null : this.getData().get(row - this.m_start));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DataPoint find(final int column, final long value) {
+    final int row;
+
+    row = this.m_columns[column].find(value, this.m_start,
+        (this.m_start + this.m_m));
+    return ((row < 0) ? null : this.getData().get(row - this.m_start));
+  }
+
+  /**
+   * Make sure that the destination array for rows is long enough
+   *
+   * @param count
+   *          the number of searched values
+   * @param rows
+   *          the destination array
+   */
+  private static final void __checkRows(final int count,
+      final int[] rows) {
+    if (rows.length < count) {
+      throw new IllegalArgumentException(//
+          "Cannot store the rows of " + count + //$NON-NLS-1$
+              " values in an array of length " + rows.length);//$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Translate rows found in the columns to rows of this run
+   *
+   * @param count
+   *          the number of rows
+   * @param rows
+   *          the rows
+   */
+  private final void __toLocalRows(final int count, final int[] rows) {
+    int index;
+
+    if (this.m_start > 0) {
+      for (index = count; (--index) >= 0;) {
+        if (rows[index] >= 0) {
+          rows[index] -= this.m_start;
+        }
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void findRows(final int column, final double[] values,
+      final int[] rows) {
+    _ColumnarRun.__checkRows(values.length, rows);
+    this.m_columns[column].find(values, rows, this.m_start,
+        (this.m_start + this.m_m));
+    this.__toLocalRows(values.length, rows);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void findRows(final int column, final long[] values,
+      final int[] rows) {
+    _ColumnarRun.__checkRows(values.length, rows);
+    this.m_columns[column].find(values, rows, this.m_start,
+        (this.m_start + this.m_m));
+    this.__toLocalRows(values.length, rows);
+  }
+
+  /**
+   * Get the view of the rows {@code start...end-1} of the columns
+   *
+   * @param start
+   *          the inclusive start index in the columns
+   * @param end
+   *          the exclusive end index in the columns
+   * @return the view, {@code this} if it would contain all rows of this
+   *         run, or {@code null} if it would be empty
+   */
+  private final _ColumnarRun __range(final int start, final int end) {
+    if (start >= end) {
+      return null;
+    }
+    if ((start <= this.m_start) && (end >= (this.m_start + this.m_m))) {
+      return this;
+    }
+    return new _ColumnarRun(this, start, (end - start));
+  }
+
+  /**
+   * Make sure that a bound is not {@code NaN}
+   *
+   * @param bound
+   *          the bound
+   */
+  private static final void __checkBound(final double bound) {
+    if (bound != bound) {
+      throw new IllegalArgumentException(//
+          "Range bounds must not be NaN."); //$NON-NLS-1$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _ColumnarRun subRun(final int column, final double from,
+      final double to) {
+    final _Column col;
+    final double first, last;
+    final int end;
+    int start;
+
+    _ColumnarRun.__checkBound(from);
+    _ColumnarRun.__checkBound(to);
+    col = this.m_columns[column];
+    if (col.m_dim.m_direction.isIncreasing() ^ (from > to)) {
+      first = from;
+      last = to;
+    } else {
+      first = to;
+      last = from;
+    }
+
+    end = (this.m_start + this.m_m);
+    start = col.bound(first, false, this.m_start, end);
+    return this.__range(start, col.bound(last, true, start, end));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _ColumnarRun subRun(final int column, final long from,
+      final long to) {
+    final _Column col;
+    final long first, last;
+    final int end;
+    int start;
+
+    col = this.m_columns[column];
+    if (col.m_dim.m_direction.isIncreasing() ^ (from > to)) {
+      first = from;
+      last = to;
+    } else {
+      first = to;
+      last = from;
+    }
+
+    end = (this.m_start + this.m_m);
+    start = col.bound(first, false, this.m_start, end);
+    return this.__range(start, col.bound(last, true, start, end));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _ColumnarRun truncate(final int column,
+      final double limit) {
+    _ColumnarRun.__checkBound(limit);
+    return this.__range(this.m_start, this.m_columns[column].bound(limit,
+        true, this.m_start, (this.m_start + this.m_m)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _ColumnarRun truncate(final int column, final long limit) {
+    return this.__range(this.m_start, this.m_columns[column].bound(limit,
+        true, this.m_start, (this.m_start + this.m_m)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRunCursor cursor() {
+    return new _ColumnarRunCursor(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix selectColumns(final int... cols) {
+    int i;
+
+    checker: {
+      i = 0;
+      for (final int j : cols) {
+        if (j != (i++)) {
+          break checker;
+        }
+      }
+      if (i == this.n()) {
+        return this;
+      }
+    }
+
+    return new _ColumnarRunColumns(this, cols);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix selectRows(final int... rows) {
+    final int first;
+    int index;
+
+    if (rows.length == 1) {
+      return this.getData().get(rows[0]);
+    }
+
+    checker: if (rows.length > 1) {
+      first = rows[0];
+      if ((first < 0) || (first > (this.m_m - rows.length))) {
+        break checker;
+      }
+      for (index = rows.length; (--index) > 0;) {
+        if (rows[index] != (first + index)) {
+          break checker;
+        }
+      }
+      return this.__range((this.m_start + first),
+          (this.m_start + first + rows.length));
+    }
+
+    return super.selectRows(rows);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int _compareTo(final _IDObject o) {
+    final _ColumnarRun other;
+    final int min;
+    _Column column;
+    int row, index, result;
+
+    if (o instanceof _ColumnarRun) {
+      other = ((_ColumnarRun) o);
+      if ((other.m_dims == this.m_dims) && (other != this)) {
+        min = Math.min(this.m_m, other.m_m);
+        for (row = 0; row < min; row++) {
+          for (index = 0; index < this.m_columns.length; index++) {
+            column = this.m_columns[index];
+            result = column.compare((this.m_start + row),
+                other.m_columns[index], (other.m_start + row));
+            if (result != 0) {
+              return (column.m_dim.m_direction.isIncreasing() ? result
+                  : (-result));
+            }
+          }
+        }
+        if (this.m_m != other.m_m) {
+          return ((this.m_m < other.m_m) ? (-1) : 1);
+        }
+      }
+    }
+
+    return super._compareTo(o);
+  }
+}
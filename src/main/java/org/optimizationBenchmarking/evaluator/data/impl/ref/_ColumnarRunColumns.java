@@ -2,8 +2,8 @@ package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
 
-/** A selection of columns from a basic run */
-final class _BasicRunColumns extends MatrixColumns<_BasicRun> {
+/** A selection of columns from a columnar run */
+final class _ColumnarRunColumns extends MatrixColumns<_ColumnarRun> {
   /**
    * create
    *
@@ -12,7 +12,7 @@ final class _BasicRunColumns extends MatrixColumns<_BasicRun> {
    * @param cols
    *          the matrix columns
    */
-  _BasicRunColumns(final _BasicRun owner, final int[] cols) {
+  _ColumnarRunColumns(final _ColumnarRun owner, final int[] cols) {
     super(owner, cols);
   }
 
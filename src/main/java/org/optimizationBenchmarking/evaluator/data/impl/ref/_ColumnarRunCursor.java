@@ -0,0 +1,224 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
+
+/**
+ * A cursor over a {@link _ColumnarRun}. The primitive arrays of the
+ * columns are fetched once when the cursor is created, so that reading a
+ * value is a switch over the column kind followed by a plain array
+ * access. Of {@link _DeltaColumn compressed} columns, the block of the
+ * current row is decoded once into a buffer, so that iterating over the
+ * rows costs only one decoding step per value. Columns of other types are
+ * read via their virtual accessors.
+ */
+final class _ColumnarRunCursor implements IRunCursor {
+
+  /** a column of another type */
+  private static final byte KIND_OTHER = 0;
+  /** an {@code int} column */
+  private static final byte KIND_INT = 1;
+  /** a {@code long} column */
+  private static final byte KIND_LONG = 2;
+  /** a {@code float} column */
+  private static final byte KIND_FLOAT = 3;
+  /** a {@code double} column */
+  private static final byte KIND_DOUBLE = 4;
+  /** a compressed column */
+  private static final byte KIND_DELTA = 5;
+
+  /** the columns */
+  private final _Column[] m_columns;
+
+  /** the kinds of the columns */
+  private final byte[] m_kinds;
+
+  /** the {@code int} arrays, for the {@code int} columns */
+  private final int[][] m_ints;
+
+  /** the {@code long} arrays, for the {@code long} columns */
+  private final long[][] m_longs;
+
+  /** the {@code float} arrays, for the {@code float} columns */
+  private final float[][] m_floats;
+
+  /** the {@code double} arrays, for the {@code double} columns */
+  private final double[][] m_doubles;
+
+  /** the decoded blocks, for the compressed columns */
+  private final long[][] m_blockValues;
+
+  /** the indices of the decoded blocks, for the compressed columns */
+  private final int[] m_blockIndices;
+
+  /** the index of the first row of the run in the columns */
+  private final int m_start;
+
+  /** the number of rows */
+  private final int m_m;
+
+  /** the current row */
+  private int m_row;
+
+  /**
+   * create
+   *
+   * @param run
+   *          the run
+   */
+  _ColumnarRunCursor(final _ColumnarRun run) {
+    super();
+
+    final int n;
+    _Column column;
+    int index;
+
+    this.m_columns = run.m_columns;
+    this.m_start = run.m_start;
+    this.m_m = run.m_m;
+    this.m_row = (-1);
+
+    n = this.m_columns.length;
+    this.m_kinds = new byte[n];
+    this.m_ints = new int[n][];
+    this.m_longs = new long[n][];
+    this.m_floats = new float[n][];
+    this.m_doubles = new double[n][];
+    this.m_blockValues = new long[n][];
+    this.m_blockIndices = new int[n];
+
+    for (index = n; (--index) >= 0;) {
+      column = this.m_columns[index];
+      if (column instanceof _IntColumn) {
+        this.m_kinds[index] = _ColumnarRunCursor.KIND_INT;
+        this.m_ints[index] = ((_IntColumn) column).m_data;
+      } else {
+        if (column instanceof _LongColumn) {
+          this.m_kinds[index] = _ColumnarRunCursor.KIND_LONG;
+          this.m_longs[index] = ((_LongColumn) column).m_data;
+        } else {
+          if (column instanceof _FloatColumn) {
+            this.m_kinds[index] = _ColumnarRunCursor.KIND_FLOAT;
+            this.m_floats[index] = ((_FloatColumn) column).m_data;
+          } else {
+            if (column instanceof _DoubleColumn) {
+              this.m_kinds[index] = _ColumnarRunCursor.KIND_DOUBLE;
+              this.m_doubles[index] = ((_DoubleColumn) column).m_data;
+            } else {
+              if (column instanceof _DeltaColumn) {
+                this.m_kinds[index] = _ColumnarRunCursor.KIND_DELTA;
+                this.m_blockValues[index] = new long[_DeltaColumn.BLOCK_SIZE];
+                this.m_blockIndices[index] = (-1);
+              } else {
+                this.m_kinds[index] = _ColumnarRunCursor.KIND_OTHER;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean next() {
+    if (this.m_row < this.m_m) {
+      return ((++this.m_row) < this.m_m);
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getRow() {
+    return this.m_row;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setRow(final int row) {
+    if ((row < (-1)) || (row > this.m_m)) {
+      throw new IndexOutOfBoundsException(//
+          "Invalid row index " + row + //$NON-NLS-1$
+              ", the run has " + this.m_m + //$NON-NLS-1$
+              " rows.");//$NON-NLS-1$
+    }
+    this.m_row = row;
+  }
+
+  /**
+   * Get a value of a compressed column, decoding its block if necessary
+   *
+   * @param column
+   *          the column
+   * @param row
+   *          the row in the column
+   * @return the value
+   */
+  private final long __getDelta(final int column, final int row) {
+    final int block;
+
+    block = (row >>> _DeltaColumn.BLOCK_SHIFT);
+    if (this.m_blockIndices[column] != block) {
+      ((_DeltaColumn) (this.m_columns[column]))._block(block,
+          this.m_blockValues[column]);
+      this.m_blockIndices[column] = block;
+    }
+    return this.m_blockValues[column][row & _DeltaColumn.BLOCK_MASK];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int column) {
+    final int row;
+
+    row = (this.m_start + this.m_row);
+    switch (this.m_kinds[column]) {
+      case KIND_INT: {
+        return this.m_ints[column][row];
+      }
+      case KIND_LONG: {
+        return this.m_longs[column][row];
+      }
+      case KIND_FLOAT: {
+        return ((long) (this.m_floats[column][row]));
+      }
+      case KIND_DOUBLE: {
+        return ((long) (this.m_doubles[column][row]));
+      }
+      case KIND_DELTA: {
+        return this.__getDelta(column, row);
+      }
+      default: {
+        return this.m_columns[column].getLong(row);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int column) {
+    final int row;
+
+    row = (this.m_start + this.m_row);
+    switch (this.m_kinds[column]) {
+      case KIND_INT: {
+        return this.m_ints[column][row];
+      }
+      case KIND_LONG: {
+        return this.m_longs[column][row];
+      }
+      case KIND_FLOAT: {
+        return this.m_floats[column][row];
+      }
+      case KIND_DOUBLE: {
+        return this.m_doubles[column][row];
+      }
+      case KIND_DELTA: {
+        return this.__getDelta(column, row);
+      }
+      default: {
+        return this.m_columns[column].getDouble(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,403 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
+import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
+
+/**
+ * A process-wide cache for the data point and factory classes generated
+ * by the {@link _ClassBuilder} or, if no Java compiler is available, by
+ * the {@link _DataPointEmitter}. The generated code only depends on the
+ * {@link #_signature(ArraySetView) signature} of a dimension set, i.e.,
+ * on the primitive types, parser classes, directions, and dimension types
+ * of its dimensions. Dimension sets with the same signature can thus share
+ * the same classes and only the first of them needs to invoke the Java
+ * compiler or byte code emitter. The classes for the standard dimension
+ * sets are even generated when the library is built (see
+ * {@link DataClassPregenerator}) and are used whenever their signature
+ * matches.
+ * <p>
+ * The in-memory cache only holds weak references to the factory classes,
+ * so classes which are no longer used by any dimension set can be
+ * unloaded. Additionally, the compiled classes can be stored in a
+ * {@link #_setDirectory(Path) directory} from which they will be loaded in
+ * later runs of the JVM. Classes stored there by a JVM with a compiler can
+ * also be used by a JVM without one, but emitted classes are never
+ * stored.
+ * </p>
+ */
+final class _DataFactoryCache {
+
+  /** the name of the index file in the cache directories */
+  private static final String INDEX_FILE = "factory.txt"; //$NON-NLS-1$
+
+  /**
+   * the cache: maps signatures to factory classes or emitted data point
+   * classes
+   */
+  private static final HashMap<String, WeakReference<Class<?>>> CACHE = new HashMap<>();
+
+  /** the directory for storing compiled classes, or {@code null} */
+  private static volatile Path s_directory = null;
+
+  /** the forbidden constructor */
+  private _DataFactoryCache() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Set the directory in which compiled classes should be stored and from
+   * which they should be loaded.
+   *
+   * @param directory
+   *          the directory, or {@code null} to disable the on-disk cache
+   */
+  static final void _setDirectory(final Path directory) {
+    _DataFactoryCache.s_directory = ((directory != null)
+        ? directory.toAbsolutePath().normalize() : null);
+  }
+
+  /**
+   * Get the directory in which compiled classes are stored.
+   *
+   * @return the directory, or {@code null} if no on-disk cache is used
+   */
+  static final Path _getDirectory() {
+    return _DataFactoryCache.s_directory;
+  }
+
+  /**
+   * Compute the canonical signature of a set of dimensions: Two dimension
+   * sets with the same signature can use the same generated classes.
+   *
+   * @param dims
+   *          the dimensions
+   * @return the signature
+   */
+  static final String _signature(final ArraySetView<Dimension> dims) {
+    final MemoryTextOutput sb;
+
+    sb = new MemoryTextOutput();
+    for (final Dimension dim : dims) {
+      sb.append(dim.m_primitiveType.name());
+      sb.append(',');
+      sb.append(dim.m_parser.getClass().getName());
+      sb.append(',');
+      sb.append(dim.m_direction.name());
+      sb.append(',');
+      sb.append(dim.m_dimensionType.name());
+      sb.append(';');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Get the data factory for a given dimension set, compiling or emitting
+   * the necessary classes only if no classes for the same signature
+   * exist.
+   *
+   * @param dimensions
+   *          the dimension set
+   * @param logger
+   *          the logger, or {@code null} if none is needed
+   * @return the data factory
+   */
+  static final DataFactory _getDataFactory(final DimensionSet dimensions,
+      final Logger logger) {
+    final ArraySetView<Dimension> dims;
+    final String signature;
+    final Path directory;
+    final _ClassBuilder builder;
+    final ClassLoader loader;
+    WeakReference<Class<?>> ref;
+    Class<?> clazz, other;
+    String key;
+
+    dims = dimensions.getData();
+    signature = _DataFactoryCache._signature(dims);
+
+    synchronized (_DataFactoryCache.CACHE) {
+      ref = _DataFactoryCache.CACHE.get(signature);
+    }
+    clazz = ((ref != null) ? ref.get() : null);
+
+    if (clazz == null) {
+      clazz = DimensionSet._getPregeneratedFactoryClass(signature);
+    }
+
+    if (clazz == null) {
+      directory = _DataFactoryCache.s_directory;
+      key = null;
+      if (directory != null) {
+        key = _DataFactoryCache.__key(signature);
+        clazz = _DataFactoryCache.__load(directory.resolve(key),
+            signature, logger);
+      }
+
+      if ((clazz == null) && (!(JavaCompilerTool.getInstance().canUse()))) {
+        clazz = _DataPointEmitter._emit(dims);
+        if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+          logger.fine("Emitted data point class " + clazz.getName() + //$NON-NLS-1$
+              " for signature " + signature);//$NON-NLS-1$
+        }
+      }
+
+      if (clazz == null) {
+        builder = new _ClassBuilder(dimensions, logger);
+        loader = builder._compile();
+        try {
+          clazz = loader.loadClass(builder._getFactoryClassName());
+        } catch (final ClassNotFoundException cnfe) {
+          throw new IllegalStateException(//
+              "Could not load generated factory class.", cnfe); //$NON-NLS-1$
+        }
+        if (key != null) {
+          _DataFactoryCache.__store(directory, key, signature, builder,
+              loader, logger);
+        }
+      }
+
+      synchronized (_DataFactoryCache.CACHE) {
+        ref = _DataFactoryCache.CACHE.get(signature);
+        other = ((ref != null) ? ref.get() : null);
+        if (other != null) {
+          clazz = other;
+        } else {
+          _DataFactoryCache.__purge();
+          _DataFactoryCache.CACHE.put(signature,
+              new WeakReference<Class<?>>(clazz));
+        }
+      }
+    } else {
+      if ((logger != null) && (logger.isLoggable(Level.FINER))) {
+        logger.finer(//
+            "Re-using cached or pregenerated data point classes for signature " //$NON-NLS-1$
+            + signature);
+      }
+    }
+
+    if (_EmittedDataPoint.class.isAssignableFrom(clazz)) {
+      return new _EmittedDataFactory(dims,
+          clazz.asSubclass(_EmittedDataPoint.class));
+    }
+    return _ClassBuilder._instantiate(clazz, dims);
+  }
+
+  /** remove all cache entries whose classes have been collected */
+  private static final void __purge() {
+    final Iterator<WeakReference<Class<?>>> it;
+
+    it = _DataFactoryCache.CACHE.values().iterator();
+    while (it.hasNext()) {
+      if (it.next().get() == null) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Compute the name of the cache directory for a given signature
+   *
+   * @param signature
+   *          the signature
+   * @return the directory name
+   */
+  private static final String __key(final String signature) {
+    final MemoryTextOutput sb;
+    final byte[] digest;
+
+    try {
+      digest = MessageDigest.getInstance("SHA-1").digest(//$NON-NLS-1$
+          signature.getBytes(StandardCharsets.UTF_8));
+    } catch (final Throwable error) {
+      return ("h" + Integer.toHexString(signature.hashCode())); //$NON-NLS-1$
+    }
+
+    sb = new MemoryTextOutput();
+    sb.append('h');
+    for (final byte b : digest) {
+      sb.append(Character.forDigit(((b >>> 4) & 0xf), 16));
+      sb.append(Character.forDigit((b & 0xf), 16));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Try to load a factory class from the on-disk cache.
+   *
+   * @param folder
+   *          the folder for the signature
+   * @param signature
+   *          the signature
+   * @param logger
+   *          the logger
+   * @return the class, or {@code null} if no class could be loaded
+   */
+  @SuppressWarnings("resource")
+  private static final Class<?> __load(final Path folder,
+      final String signature, final Logger logger) {
+    final Path index;
+    final List<String> lines;
+    final Class<?> clazz;
+
+    index = folder.resolve(_DataFactoryCache.INDEX_FILE);
+    if (!(Files.isRegularFile(index))) {
+      return null;
+    }
+
+    try {
+      lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+      if ((lines.size() < 2) || (!(signature.equals(lines.get(0))))) {
+        return null;
+      }
+
+      // the class loader must stay open as long as the class is in use
+      clazz = new URLClassLoader(new URL[] { folder.toUri().toURL() },
+          DataFactory.class.getClassLoader()).loadClass(lines.get(1));
+      if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+        logger.fine("Loaded data point classes from " + folder); //$NON-NLS-1$
+      }
+      return clazz;
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        logger.log(Level.WARNING,
+            ("Could not load data point classes from " + folder), //$NON-NLS-1$
+            error);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Store the compiled classes in the on-disk cache. Classes are first
+   * written to a temporary folder which is then atomically renamed, so
+   * that several processes can share the same cache directory.
+   *
+   * @param directory
+   *          the cache directory
+   * @param key
+   *          the name of the folder for the signature
+   * @param signature
+   *          the signature
+   * @param builder
+   *          the class builder
+   * @param loader
+   *          the class loader holding the compiled classes
+   * @param logger
+   *          the logger
+   */
+  private static final void __store(final Path directory,
+      final String key, final String signature,
+      final _ClassBuilder builder, final ClassLoader loader,
+      final Logger logger) {
+    final Path folder;
+    Path temp, dest;
+    String resource;
+
+    folder = directory.resolve(key);
+    if (Files.exists(folder)) {
+      return;
+    }
+
+    temp = null;
+    try {
+      Files.createDirectories(directory);
+      temp = Files.createTempDirectory(directory, key);
+
+      for (final String name : builder._getClassNames()) {
+        resource = (name.replace('.', '/') + ".class"); //$NON-NLS-1$
+        try (final InputStream input = loader
+            .getResourceAsStream(resource)) {
+          if (input == null) {
+            if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+              logger.fine(//
+                  "The byte code of the generated class " + name + //$NON-NLS-1$
+                      " is not accessible, so it cannot be stored."); //$NON-NLS-1$
+            }
+            return;
+          }
+          dest = temp;
+          for (final String part : resource.split("/")) { //$NON-NLS-1$
+            dest = dest.resolve(part);
+          }
+          Files.createDirectories(dest.getParent());
+          Files.copy(input, dest);
+        }
+      }
+
+      Files.write(temp.resolve(_DataFactoryCache.INDEX_FILE), //
+          (signature + '\n' + builder._getFactoryClassName() + '\n')
+              .getBytes(StandardCharsets.UTF_8));
+
+      try {
+        Files.move(temp, folder, StandardCopyOption.ATOMIC_MOVE);
+        temp = null;
+      } catch (final IOException ioe) {
+        // another process may have stored the classes in the meantime
+        if (!(Files.exists(folder))) {
+          throw ioe;
+        }
+      }
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        logger.log(Level.WARNING,
+            ("Could not store data point classes in " + folder), //$NON-NLS-1$
+            error);
+      }
+    } finally {
+      if (temp != null) {
+        _DataFactoryCache.__delete(temp);
+      }
+    }
+  }
+
+  /**
+   * Delete a temporary folder, ignoring all errors.
+   *
+   * @param folder
+   *          the folder
+   */
+  private static final void __delete(final Path folder) {
+    try {
+      Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+        /** {@inheritDoc} */
+        @Override
+        public final FileVisitResult visitFile(final Path file,
+            final BasicFileAttributes attrs) throws IOException {
+          Files.deleteIfExists(file);
+          return FileVisitResult.CONTINUE;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public final FileVisitResult postVisitDirectory(final Path dir,
+            final IOException exc) throws IOException {
+          Files.deleteIfExists(dir);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (final Throwable ignore) {
+      // ignore
+    }
+  }
+}
@@ -0,0 +1,597 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
+
+/**
+ * An emitter which directly generates the byte code of
+ * {@link _EmittedDataPoint data point classes} specialized to a set of
+ * dimensions. Different from the {@link _ClassBuilder}, it does not need
+ * a Java compiler and thus also works on a plain JRE. The generated
+ * classes have one {@code private final} field of the dimension's
+ * primitive type per dimension and getter methods which select the field
+ * via a {@code tableswitch}, so they are as compact and fast as the
+ * compiled ones.
+ * <p>
+ * The classes are defined in the package and class loader of
+ * {@link _EmittedDataPoint}, since they need to access its package-private
+ * members. On Java 9 and later, this is done via
+ * {@code MethodHandles.Lookup.defineClass}, on older versions via the
+ * protected method {@link ClassLoader} {@code defineClass}.
+ * </p>
+ */
+final class _DataPointEmitter {
+
+  /** the internal name of the super class */
+  private static final String SUPER = _DataPointEmitter
+      .__internalName(_EmittedDataPoint.class);
+  /** the internal name of the abstract data point */
+  private static final String ABSTRACT = _DataPointEmitter
+      .__internalName(_AbstractDataPoint.class);
+  /** the descriptor of the array set view */
+  private static final String DIMS = ('L'
+      + _DataPointEmitter.__internalName(ArraySetView.class) + ';');
+  /** the descriptor of the constructor */
+  private static final String INIT = ('(' + _DataPointEmitter.DIMS
+      + "[J)V"); //$NON-NLS-1$
+
+  /** the class name prefix */
+  private static final String PREFIX = (_EmittedDataPoint.class.getName()
+      + "Impl"); //$NON-NLS-1$
+
+  /** the class counter */
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  /** {@code public} */
+  private static final int ACC_PUBLIC = 0x0001;
+  /** {@code private} */
+  private static final int ACC_PRIVATE = 0x0002;
+  /** {@code static} */
+  private static final int ACC_STATIC = 0x0008;
+  /** {@code final} */
+  private static final int ACC_FINAL = 0x0010;
+  /** the super flag for classes */
+  private static final int ACC_SUPER = 0x0020;
+
+  /** the getter method names, in the order of {@link #GETTER_TYPES} */
+  private static final String[] GETTER_NAMES = { "getDouble", //$NON-NLS-1$
+      "getFloat", //$NON-NLS-1$
+      "getLong", //$NON-NLS-1$
+      "getInt", //$NON-NLS-1$
+      "getShort", //$NON-NLS-1$
+      "getByte" //$NON-NLS-1$
+  };
+
+  /** the getter return types */
+  private static final EPrimitiveType[] GETTER_TYPES = {
+      EPrimitiveType.DOUBLE, EPrimitiveType.FLOAT, EPrimitiveType.LONG,
+      EPrimitiveType.INT, EPrimitiveType.SHORT, EPrimitiveType.BYTE };
+
+  /** the forbidden constructor */
+  private _DataPointEmitter() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the internal name of a class
+   *
+   * @param clazz
+   *          the class
+   * @return the internal name
+   */
+  private static final String __internalName(final Class<?> clazz) {
+    return clazz.getName().replace('.', '/');
+  }
+
+  /**
+   * Get the field descriptor of a primitive type
+   *
+   * @param type
+   *          the type
+   * @return the descriptor
+   */
+  private static final String __descriptor(final EPrimitiveType type) {
+    switch (type) {
+      case BYTE: {
+        return "B"; //$NON-NLS-1$
+      }
+      case SHORT: {
+        return "S"; //$NON-NLS-1$
+      }
+      case INT: {
+        return "I"; //$NON-NLS-1$
+      }
+      case LONG: {
+        return "J"; //$NON-NLS-1$
+      }
+      case FLOAT: {
+        return "F"; //$NON-NLS-1$
+      }
+      case DOUBLE: {
+        return "D"; //$NON-NLS-1$
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Unsupported primitive type: " + type); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Write a two-byte value
+   *
+   * @param code
+   *          the code
+   * @param value
+   *          the value
+   */
+  private static final void __u2(final ByteArrayOutputStream code,
+      final int value) {
+    code.write(value >>> 8);
+    code.write(value);
+  }
+
+  /**
+   * Write a four-byte value
+   *
+   * @param code
+   *          the code
+   * @param value
+   *          the value
+   */
+  private static final void __u4(final ByteArrayOutputStream code,
+      final int value) {
+    code.write(value >>> 24);
+    code.write(value >>> 16);
+    code.write(value >>> 8);
+    code.write(value);
+  }
+
+  /**
+   * Write the instruction pushing an {@code int} constant
+   *
+   * @param code
+   *          the code
+   * @param value
+   *          the value
+   */
+  private static final void __push(final ByteArrayOutputStream code,
+      final int value) {
+    if (value <= 5) {
+      code.write(0x03 + value);// iconst_<value>
+    } else {
+      if (value <= Byte.MAX_VALUE) {
+        code.write(0x10);// bipush
+        code.write(value);
+      } else {
+        code.write(0x11);// sipush
+        _DataPointEmitter.__u2(code, value);
+      }
+    }
+  }
+
+  /**
+   * Write the instructions converting the value on top of the stack from
+   * one primitive type to another, with the semantics of a Java cast.
+   *
+   * @param code
+   *          the code
+   * @param from
+   *          the source type
+   * @param to
+   *          the destination type
+   */
+  private static final void __convert(final ByteArrayOutputStream code,
+      final EPrimitiveType from, final EPrimitiveType to) {
+    final boolean narrow;
+
+    narrow = ((to == EPrimitiveType.BYTE) || (to == EPrimitiveType.SHORT));
+
+    switch (from) {
+      case LONG: {
+        switch (to) {
+          case DOUBLE: {
+            code.write(0x8a);// l2d
+            return;
+          }
+          case FLOAT: {
+            code.write(0x89);// l2f
+            return;
+          }
+          case LONG: {
+            return;
+          }
+          default: {
+            code.write(0x88);// l2i
+            break;
+          }
+        }
+        break;
+      }
+      case FLOAT: {
+        switch (to) {
+          case DOUBLE: {
+            code.write(0x8d);// f2d
+            return;
+          }
+          case FLOAT: {
+            return;
+          }
+          case LONG: {
+            code.write(0x8c);// f2l
+            return;
+          }
+          default: {
+            code.write(0x8b);// f2i
+            break;
+          }
+        }
+        break;
+      }
+      case DOUBLE: {
+        switch (to) {
+          case DOUBLE: {
+            return;
+          }
+          case FLOAT: {
+            code.write(0x90);// d2f
+            return;
+          }
+          case LONG: {
+            code.write(0x8f);// d2l
+            return;
+          }
+          default: {
+            code.write(0x8e);// d2i
+            break;
+          }
+        }
+        break;
+      }
+      default: {// byte, short, or int
+        switch (to) {
+          case DOUBLE: {
+            code.write(0x87);// i2d
+            return;
+          }
+          case FLOAT: {
+            code.write(0x86);// i2f
+            return;
+          }
+          case LONG: {
+            code.write(0x85);// i2l
+            return;
+          }
+          default: {
+            if ((!narrow) || (from == to) || //
+                ((from == EPrimitiveType.BYTE) && //
+                    (to == EPrimitiveType.SHORT))) {
+              return;
+            }
+            break;
+          }
+        }
+      }
+    }
+
+    if (to == EPrimitiveType.BYTE) {
+      code.write(0x91);// i2b
+    } else {
+      if (to == EPrimitiveType.SHORT) {
+        code.write(0x93);// i2s
+      }
+    }
+  }
+
+  /**
+   * Get the return instruction for a given type
+   *
+   * @param type
+   *          the type
+   * @return the instruction
+   */
+  private static final int __return(final EPrimitiveType type) {
+    switch (type) {
+      case DOUBLE: {
+        return 0xaf;// dreturn
+      }
+      case FLOAT: {
+        return 0xae;// freturn
+      }
+      case LONG: {
+        return 0xad;// lreturn
+      }
+      default: {
+        return 0xac;// ireturn
+      }
+    }
+  }
+
+  /**
+   * Create the byte code of the constructor, which takes the dimension set
+   * and the long-encoded data.
+   *
+   * @param writer
+   *          the class file writer
+   * @param name
+   *          the internal class name
+   * @param dims
+   *          the dimensions
+   * @return the code
+   */
+  private static final byte[] __constructor(final _ClassFileWriter writer,
+      final String name, final ArraySetView<Dimension> dims) {
+    final ByteArrayOutputStream code;
+    EPrimitiveType type;
+    int index;
+
+    code = new ByteArrayOutputStream();
+    code.write(0x2a);// aload_0
+    code.write(0x2b);// aload_1
+    code.write(0xb7);// invokespecial
+    _DataPointEmitter.__u2(code, writer._method(_DataPointEmitter.SUPER,
+        "<init>", ('(' + _DataPointEmitter.DIMS + ")V"))); //$NON-NLS-1$//$NON-NLS-2$
+
+    for (index = 0; index < dims.size(); index++) {
+      type = dims.get(index).m_primitiveType;
+      code.write(0x2a);// aload_0
+      code.write(0x2c);// aload_2
+      _DataPointEmitter.__push(code, index);
+      code.write(0x2f);// laload
+
+      switch (type) {
+        case FLOAT: {
+          code.write(0x88);// l2i
+          code.write(0xb8);// invokestatic
+          _DataPointEmitter.__u2(code, writer._method("java/lang/Float", //$NON-NLS-1$
+              "intBitsToFloat", "(I)F")); //$NON-NLS-1$//$NON-NLS-2$
+          break;
+        }
+        case DOUBLE: {
+          code.write(0xb8);// invokestatic
+          _DataPointEmitter.__u2(code, writer._method("java/lang/Double", //$NON-NLS-1$
+              "longBitsToDouble", "(J)D")); //$NON-NLS-1$//$NON-NLS-2$
+          break;
+        }
+        default: {
+          _DataPointEmitter.__convert(code, EPrimitiveType.LONG, type);
+        }
+      }
+
+      code.write(0xb5);// putfield
+      _DataPointEmitter.__u2(code, writer._field(name, ("v" + index), //$NON-NLS-1$
+          _DataPointEmitter.__descriptor(type)));
+    }
+
+    code.write(0xb1);// return
+    return code.toByteArray();
+  }
+
+  /**
+   * Create the byte code of the {@link _EmittedDataPoint#_create(long[])}
+   * method.
+   *
+   * @param writer
+   *          the class file writer
+   * @param name
+   *          the internal class name
+   * @return the code
+   */
+  private static final byte[] __create(final _ClassFileWriter writer,
+      final String name) {
+    final ByteArrayOutputStream code;
+
+    code = new ByteArrayOutputStream();
+    code.write(0xbb);// new
+    _DataPointEmitter.__u2(code, writer._class(name));
+    code.write(0x59);// dup
+    code.write(0x2a);// aload_0
+    code.write(0xb4);// getfield
+    _DataPointEmitter.__u2(code, writer._field(_DataPointEmitter.ABSTRACT,
+        "m_dims", _DataPointEmitter.DIMS)); //$NON-NLS-1$
+    code.write(0x2b);// aload_1
+    code.write(0xb7);// invokespecial
+    _DataPointEmitter.__u2(code,
+        writer._method(name, "<init>", _DataPointEmitter.INIT)); //$NON-NLS-1$
+    code.write(0xb0);// areturn
+    return code.toByteArray();
+  }
+
+  /**
+   * Create the byte code of a getter method: The field is selected by a
+   * {@code tableswitch} over the dimension index.
+   *
+   * @param writer
+   *          the class file writer
+   * @param name
+   *          the internal class name
+   * @param dims
+   *          the dimensions
+   * @param returnType
+   *          the return type of the getter
+   * @return the code
+   */
+  private static final byte[] __getter(final _ClassFileWriter writer,
+      final String name, final ArraySetView<Dimension> dims,
+      final EPrimitiveType returnType) {
+    final ByteArrayOutputStream code;
+    final byte[][] cases;
+    final int size, header;
+    ByteArrayOutputStream current;
+    EPrimitiveType type;
+    int index, offset;
+
+    size = dims.size();
+    cases = new byte[size][];
+    for (index = 0; index < size; index++) {
+      type = dims.get(index).m_primitiveType;
+      current = new ByteArrayOutputStream();
+      current.write(0x2a);// aload_0
+      current.write(0xb4);// getfield
+      _DataPointEmitter.__u2(current, writer._field(name, ("v" + index), //$NON-NLS-1$
+          _DataPointEmitter.__descriptor(type)));
+      _DataPointEmitter.__convert(current, type, returnType);
+      current.write(_DataPointEmitter.__return(returnType));
+      cases[index] = current.toByteArray();
+    }
+
+    // iload_1, tableswitch, 2 bytes padding to reach offset 4, default,
+    // low, high, and one jump offset per case
+    header = (16 + (size << 2));
+
+    code = new ByteArrayOutputStream();
+    code.write(0x1b);// iload_1
+    code.write(0xaa);// tableswitch
+    code.write(0);
+    code.write(0);
+
+    offset = header;
+    for (final byte[] caseCode : cases) {
+      offset += caseCode.length;
+    }
+    _DataPointEmitter.__u4(code, (offset - 1));// default
+    _DataPointEmitter.__u4(code, 0);// low
+    _DataPointEmitter.__u4(code, (size - 1));// high
+    offset = header;
+    for (final byte[] caseCode : cases) {
+      _DataPointEmitter.__u4(code, (offset - 1));
+      offset += caseCode.length;
+    }
+
+    for (final byte[] caseCode : cases) {
+      code.write(caseCode, 0, caseCode.length);
+    }
+
+    code.write(0x2a);// aload_0
+    code.write(0x1b);// iload_1
+    code.write(0xb6);// invokevirtual
+    _DataPointEmitter.__u2(code, writer._method(_DataPointEmitter.SUPER,
+        "_indexError", //$NON-NLS-1$
+        "(I)Ljava/lang/IndexOutOfBoundsException;")); //$NON-NLS-1$
+    code.write(0xbf);// athrow
+    return code.toByteArray();
+  }
+
+  /**
+   * Generate the byte code of a data point class for the given
+   * dimensions.
+   *
+   * @param name
+   *          the fully-qualified class name
+   * @param dims
+   *          the dimensions
+   * @return the class file
+   */
+  static final byte[] _generate(final String name,
+      final ArraySetView<Dimension> dims) {
+    final _ClassFileWriter writer;
+    final String internalName;
+    int index;
+
+    internalName = name.replace('.', '/');
+    writer = new _ClassFileWriter(
+        (_DataPointEmitter.ACC_FINAL | _DataPointEmitter.ACC_SUPER),
+        internalName, _DataPointEmitter.SUPER);
+
+    writer._addField(
+        (_DataPointEmitter.ACC_PRIVATE | _DataPointEmitter.ACC_STATIC
+            | _DataPointEmitter.ACC_FINAL),
+        "serialVersionUID", "J", writer._long(1L)); //$NON-NLS-1$//$NON-NLS-2$
+    for (index = 0; index < dims.size(); index++) {
+      writer._addField(
+          (_DataPointEmitter.ACC_PRIVATE | _DataPointEmitter.ACC_FINAL),
+          ("v" + index), //$NON-NLS-1$
+          _DataPointEmitter.__descriptor(dims.get(index).m_primitiveType),
+          (-1));
+    }
+
+    writer._addMethod(0, "<init>", _DataPointEmitter.INIT, 4, 3, //$NON-NLS-1$
+        _DataPointEmitter.__constructor(writer, internalName, dims));
+    writer._addMethod(_DataPointEmitter.ACC_FINAL, "_create", //$NON-NLS-1$
+        ("([J)L" + _DataPointEmitter.SUPER + ';'), 4, 2, //$NON-NLS-1$
+        _DataPointEmitter.__create(writer, internalName));
+
+    for (index = 0; index < _DataPointEmitter.GETTER_NAMES.length; index++) {
+      writer._addMethod(
+          (_DataPointEmitter.ACC_PUBLIC | _DataPointEmitter.ACC_FINAL),
+          _DataPointEmitter.GETTER_NAMES[index],
+          ("(I)" + _DataPointEmitter//$NON-NLS-1$
+              .__descriptor(_DataPointEmitter.GETTER_TYPES[index])),
+          2, 2, _DataPointEmitter.__getter(writer, internalName, dims,
+              _DataPointEmitter.GETTER_TYPES[index]));
+    }
+
+    return writer._toByteArray();
+  }
+
+  /**
+   * Emit and define a data point class for the given dimensions.
+   *
+   * @param dims
+   *          the dimensions
+   * @return the class
+   */
+  static final Class<? extends _EmittedDataPoint> _emit(
+      final ArraySetView<Dimension> dims) {
+    final String name;
+    final byte[] bytes;
+
+    name = (_DataPointEmitter.PREFIX
+        + _DataPointEmitter.COUNTER.getAndIncrement());
+    bytes = _DataPointEmitter._generate(name, dims);
+    return _DataPointEmitter.__define(name, bytes)
+        .asSubclass(_EmittedDataPoint.class);
+  }
+
+  /**
+   * Define a class in the package and class loader of
+   * {@link _EmittedDataPoint}.
+   *
+   * @param name
+   *          the class name
+   * @param bytes
+   *          the class file
+   * @return the class
+   */
+  private static final Class<?> __define(final String name,
+      final byte[] bytes) {
+    final ClassLoader loader;
+    final Method define;
+    Throwable lookupError;
+
+    lookupError = null;
+    try {// Java 9 and later: MethodHandles.Lookup.defineClass(byte[])
+      return ((Class<?>) (MethodHandles.Lookup.class
+          .getMethod("defineClass", byte[].class)//$NON-NLS-1$
+          .invoke(MethodHandles.lookup(), bytes)));
+    } catch (final NoSuchMethodException nsme) {
+      // Java 7 or 8: use the class loader below
+    } catch (final Throwable error) {
+      lookupError = error;
+    }
+
+    loader = _EmittedDataPoint.class.getClassLoader();
+    try {
+      define = ClassLoader.class.getDeclaredMethod("defineClass", //$NON-NLS-1$
+          String.class, byte[].class, int.class, int.class,
+          ProtectionDomain.class);
+      define.setAccessible(true);
+      return ((Class<?>) (define.invoke(loader, name, bytes,
+          Integer.valueOf(0), Integer.valueOf(bytes.length),
+          _EmittedDataPoint.class.getProtectionDomain())));
+    } catch (final Throwable error) {
+      if (lookupError != null) {
+        error.addSuppressed(lookupError);
+      }
+      throw new IllegalStateException(//
+          "Could not define emitted data point class " + name, //$NON-NLS-1$
+          error);
+    }
+  }
+}
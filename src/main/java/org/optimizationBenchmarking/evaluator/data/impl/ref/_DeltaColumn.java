@@ -0,0 +1,556 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IColumnAggregate;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
+
+/**
+ * <p>
+ * A compressed, read-only column of integer values. The rows are divided
+ * into blocks of {@link #BLOCK_SIZE} consecutive rows. The first value of
+ * each block is stored as is and every following value as its difference
+ * to the value before it. All of them are zig-zag encoded, so that small
+ * negative differences become small positive numbers, and then written
+ * as variable-length integers with seven bits per byte. Time dimensions
+ * increase in small steps and solution qualities change rarely, so most
+ * differences need a single byte instead of four or eight.
+ * </p>
+ * <p>
+ * The only index is the byte offset of each block. A row is read by
+ * decoding at most {@link #BLOCK_SIZE} values of its block, and a search
+ * first locates the block via a binary search over the first values of
+ * the blocks and then decodes only that block. The conversions of
+ * searched values and bounds are the same as in {@link _IntColumn} and
+ * {@link _LongColumn}, so all searches return the same rows as for an
+ * uncompressed column.
+ * </p>
+ */
+final class _DeltaColumn extends _Column {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the logarithm of the number of rows per block */
+  static final int BLOCK_SHIFT = 5;
+
+  /** the number of rows per block */
+  static final int BLOCK_SIZE = (1 << _DeltaColumn.BLOCK_SHIFT);
+
+  /** the mask for the index of a row within its block */
+  static final int BLOCK_MASK = (_DeltaColumn.BLOCK_SIZE - 1);
+
+  /** the number of rows */
+  private final int m_size;
+
+  /** the byte offsets of the blocks */
+  private final int[] m_blocks;
+
+  /** the encoded values */
+  private final byte[] m_bytes;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   * @param size
+   *          the number of rows
+   * @param blocks
+   *          the byte offsets of the blocks
+   * @param bytes
+   *          the encoded values
+   */
+  private _DeltaColumn(final Dimension dim, final int size,
+      final int[] blocks, final byte[] bytes) {
+    super(dim);
+    this.m_size = size;
+    this.m_blocks = blocks;
+    this.m_bytes = bytes;
+  }
+
+  /**
+   * Zig-zag encode a value, i.e., map values of small magnitude to small
+   * non-negative numbers
+   *
+   * @param value
+   *          the value
+   * @return the encoded value
+   */
+  private static final long __zigZag(final long value) {
+    return ((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Get the number of bytes needed for a zig-zag encoded value
+   *
+   * @param encoded
+   *          the encoded value
+   * @return the number of bytes
+   */
+  private static final int __length(final long encoded) {
+    long rest;
+    int length;
+
+    rest = (encoded >>> 7);
+    for (length = 1; rest != 0L; length++) {
+      rest >>>= 7;
+    }
+    return length;
+  }
+
+  /**
+   * Compress an integer column. Columns of floating point values are not
+   * compressed, neither are columns for which the compressed form would
+   * not need less memory.
+   *
+   * @param column
+   *          the column
+   * @return the compressed column, or {@code column} itself
+   */
+  static final _Column _encode(final _Column column) {
+    final int size, blockCount;
+    final int[] blocks;
+    final byte[] bytes;
+    final long raw;
+    long previous, current, encoded;
+    int row, offset;
+
+    if (column.m_dim.m_primitiveType.isFloat()) {
+      return column;
+    }
+
+    size = column.size();
+    if (size <= 0) {
+      return column;
+    }
+
+    raw = (((long) size) * ((column instanceof _LongColumn) ? 8L : 4L));
+    blockCount = (((size - 1) >>> _DeltaColumn.BLOCK_SHIFT) + 1);
+
+    // compute the length of the encoded data
+    previous = 0L;
+    offset = 0;
+    for (row = 0; row < size; row++) {
+      current = column.getLong(row);
+      offset += _DeltaColumn.__length(_DeltaColumn.__zigZag(//
+          ((row & _DeltaColumn.BLOCK_MASK) == 0) ? current
+              : (current - previous)));
+      previous = current;
+      if ((offset + (4L * blockCount)) >= raw) {
+        return column;
+      }
+    }
+
+    blocks = new int[blockCount];
+    bytes = new byte[offset];
+    previous = 0L;
+    offset = 0;
+    for (row = 0; row < size; row++) {
+      current = column.getLong(row);
+      if ((row & _DeltaColumn.BLOCK_MASK) == 0) {
+        blocks[row >>> _DeltaColumn.BLOCK_SHIFT] = offset;
+        encoded = _DeltaColumn.__zigZag(current);
+      } else {
+        encoded = _DeltaColumn.__zigZag(current - previous);
+      }
+      previous = current;
+      while ((encoded & (~0x7fL)) != 0L) {
+        bytes[offset++] = ((byte) ((encoded & 0x7fL) | 0x80L));
+        encoded >>>= 7;
+      }
+      bytes[offset++] = ((byte) encoded);
+    }
+
+    return new _DeltaColumn(column.m_dim, size, blocks, bytes);
+  }
+
+  /**
+   * Get the first value of a block
+   *
+   * @param block
+   *          the block
+   * @return the first value of the block
+   */
+  private final long __first(final int block) {
+    final byte[] bytes;
+    long encoded;
+    int offset, shift;
+    byte b;
+
+    bytes = this.m_bytes;
+    offset = this.m_blocks[block];
+    encoded = 0L;
+    shift = 0;
+    do {
+      b = bytes[offset++];
+      encoded |= (((long) (b & 0x7f)) << shift);
+      shift += 7;
+    } while (b < 0);
+    return ((encoded >>> 1) ^ (-(encoded & 1L)));
+  }
+
+  /**
+   * Decode all values of a block
+   *
+   * @param block
+   *          the block
+   * @param dest
+   *          the destination array, with at least {@link #BLOCK_SIZE}
+   *          elements
+   * @return the number of rows in the block
+   */
+  final int _block(final int block, final long[] dest) {
+    final byte[] bytes;
+    final int count;
+    long value, encoded;
+    int index, offset, shift;
+    byte b;
+
+    count = Math.min(_DeltaColumn.BLOCK_SIZE,
+        (this.m_size - (block << _DeltaColumn.BLOCK_SHIFT)));
+    bytes = this.m_bytes;
+    offset = this.m_blocks[block];
+    value = 0L;
+    for (index = 0; index < count; index++) {
+      encoded = 0L;
+      shift = 0;
+      do {
+        b = bytes[offset++];
+        encoded |= (((long) (b & 0x7f)) << shift);
+        shift += 7;
+      } while (b < 0);
+      value += ((encoded >>> 1) ^ (-(encoded & 1L)));
+      dest[index] = value;
+    }
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int size() {
+    return this.m_size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getLong(final int row) {
+    final byte[] bytes;
+    long value, encoded;
+    int count, offset, shift;
+    byte b;
+
+    if ((row < 0) || (row >= this.m_size)) {
+      throw new ArrayIndexOutOfBoundsException(row);
+    }
+
+    bytes = this.m_bytes;
+    offset = this.m_blocks[row >>> _DeltaColumn.BLOCK_SHIFT];
+    value = 0L;
+    for (count = (row & _DeltaColumn.BLOCK_MASK); count >= 0; count--) {
+      encoded = 0L;
+      shift = 0;
+      do {
+        b = bytes[offset++];
+        encoded |= (((long) (b & 0x7f)) << shift);
+        shift += 7;
+      } while (b < 0);
+      value += ((encoded >>> 1) ^ (-(encoded & 1L)));
+    }
+    return value;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final double getDouble(final int row) {
+    return this.getLong(row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int row, final IAggregate aggregate) {
+    aggregate.append(this.getLong(row));
+  }
+
+  /**
+   * Check whether a value comes before a searched value in the direction
+   * of the dimension
+   *
+   * @param x
+   *          the value
+   * @param value
+   *          the searched value
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} if {@code x} must come strictly before
+   *          {@code value}, {@code 1} if it may also be equal to it
+   * @return {@code true} if {@code x} comes before {@code value}
+   */
+  private static final boolean __before(final long x, final long value,
+      final boolean isIncreasing, final int threshold) {
+    return ((isIncreasing ? Long.compare(x, value)
+        : Long.compare(value, x)) < threshold);
+  }
+
+  /**
+   * Find the first row in a range whose value does not come before a
+   * given value in the direction of the dimension: A binary search over
+   * the first values of the blocks overlapping with the range identifies
+   * the only block which can contain the result, and then this block is
+   * decoded and scanned.
+   *
+   * @param value
+   *          the value
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} to find the first row not strictly before
+   *          {@code value}, {@code 1} to find the first row after it
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the exclusive end of the range
+   * @param buffer
+   *          a buffer with at least {@link #BLOCK_SIZE} elements
+   * @return the row, or {@code end} if there is none
+   */
+  private final int __search(final long value, final boolean isIncreasing,
+      final int threshold, final int start, final int end,
+      final long[] buffer) {
+    int low, high, mid, first, count, row, last;
+
+    if (start >= end) {
+      return end;
+    }
+
+    // find the first block after the one containing start whose first
+    // value does not come before the searched value
+    low = ((start >>> _DeltaColumn.BLOCK_SHIFT) + 1);
+    high = (((end - 1) >>> _DeltaColumn.BLOCK_SHIFT) + 1);
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (_DeltaColumn.__before(this.__first(mid), value, isIncreasing,
+          threshold)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+
+    // the result is in the block before it or is its first row
+    first = ((low - 1) << _DeltaColumn.BLOCK_SHIFT);
+    count = this._block((low - 1), buffer);
+    last = Math.min(end, (first + count));
+    for (row = Math.max(start, first); row < last; row++) {
+      if (!(_DeltaColumn.__before(buffer[row - first], value,
+          isIncreasing, threshold))) {
+        return row;
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Convert a searched {@code long} value to the type of this column by
+   * casting, as done by {@link #find(long, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final long __convert(final long value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Convert a searched {@code double} value to the type of this column by
+   * casting, as done by {@link #find(double, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final long __convert(final double value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return ((long) value);
+      }
+    }
+  }
+
+  /**
+   * Convert a {@code double} bound to the type of this column without
+   * changing the set of rows it delimits, as done for uncompressed
+   * columns.
+   *
+   * @param value
+   *          the bound
+   * @param upper
+   *          is this an upper bound?
+   * @return the converted bound
+   */
+  private final long __convertBound(final double value,
+      final boolean upper) {
+    final double rounded;
+
+    rounded = ((this.m_dim.m_direction.isIncreasing() ^ upper)
+        ? Math.ceil(value) : Math.floor(value));
+    return ((this.m_dim.m_primitiveType == EPrimitiveType.LONG)
+        ? ((long) rounded) : ((int) rounded));
+  }
+
+  /**
+   * Convert a {@code long} bound to the type of this column, saturating
+   * values outside of its range as done for uncompressed columns
+   *
+   * @param value
+   *          the bound
+   * @return the converted bound
+   */
+  private final long __convertBound(final long value) {
+    if (this.m_dim.m_primitiveType == EPrimitiveType.LONG) {
+      return value;
+    }
+    if (value > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    if (value < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return value;
+  }
+
+  /**
+   * Find the row for a converted value
+   *
+   * @param value
+   *          the converted value
+   * @param start
+   *          the inclusive start row
+   * @param end
+   *          the exclusive end row
+   * @param buffer
+   *          a buffer with at least {@link #BLOCK_SIZE} elements
+   * @return the row, or {@code -1} if none could be found
+   */
+  private final int __find(final long value, final int start,
+      final int end, final long[] buffer) {
+    final int row;
+
+    row = this.__search(value, this.m_dim.m_direction.isIncreasing(), 0,
+        start, end, buffer);
+    return _Column._found(row,
+        ((row < end) && (this.getLong(row) == value)), start, end,
+        this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final long value, final int start, final int end) {
+    return this.__find(this.__convert(value), start, end,
+        new long[_DeltaColumn.BLOCK_SIZE]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final long[] values, final int[] rows, final int start,
+      final int end) {
+    final long[] buffer;
+    int index;
+
+    buffer = new long[_DeltaColumn.BLOCK_SIZE];
+    for (index = 0; index < values.length; index++) {
+      rows[index] = this.__find(this.__convert(values[index]), start, end,
+          buffer);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final double value, final int start, final int end) {
+    return this.__find(this.__convert(value), start, end,
+        new long[_DeltaColumn.BLOCK_SIZE]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final double[] values, final int[] rows,
+      final int start, final int end) {
+    final long[] buffer;
+    int index;
+
+    buffer = new long[_DeltaColumn.BLOCK_SIZE];
+    for (index = 0; index < values.length; index++) {
+      rows[index] = this.__find(this.__convert(values[index]), start, end,
+          buffer);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final long value, final boolean upper, final int start,
+      final int end) {
+    return this.__search(this.__convertBound(value),
+        this.m_dim.m_direction.isIncreasing(), (upper ? 1 : 0), start, end,
+        new long[_DeltaColumn.BLOCK_SIZE]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final double value, final boolean upper, final int start,
+      final int end) {
+    return this.__search(this.__convertBound(value, upper),
+        this.m_dim.m_direction.isIncreasing(), (upper ? 1 : 0), start, end,
+        new long[_DeltaColumn.BLOCK_SIZE]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int start, final int end,
+      final IAggregate aggregate) {
+    final long[] buffer;
+    int block, first, from, to, row;
+
+    if (start >= end) {
+      return;
+    }
+
+    buffer = new long[_DeltaColumn.BLOCK_SIZE];
+    for (block = (start >>> _DeltaColumn.BLOCK_SHIFT); (block
+        << _DeltaColumn.BLOCK_SHIFT) < end; block++) {
+      first = (block << _DeltaColumn.BLOCK_SHIFT);
+      this._block(block, buffer);
+      from = Math.max(start, first) - first;
+      to = Math.min(end, (first + _DeltaColumn.BLOCK_SIZE)) - first;
+      if (aggregate instanceof IColumnAggregate) {
+        ((IColumnAggregate) aggregate).append(buffer, from, to);
+      } else {
+        for (row = from; row < to; row++) {
+          aggregate.append(buffer[row]);
+        }
+      }
+    }
+  }
+}
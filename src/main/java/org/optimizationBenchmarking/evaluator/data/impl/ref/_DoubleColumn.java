@@ -0,0 +1,326 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IColumnAggregate;
+import org.optimizationBenchmarking.utils.comparison.Compare;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/** A column of double values. */
+final class _DoubleColumn extends _MutableColumn {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  final double[] m_data;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   * @param data
+   *          the data
+   */
+  _DoubleColumn(final Dimension dim, final double[] data) {
+    super(dim);
+    this.m_data = data;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int size() {
+    return this.m_data.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getLong(final int row) {
+    return ((long) (this.m_data[row]));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final double getDouble(final int row) {
+    return this.m_data[row];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int row, final IAggregate aggregate) {
+    aggregate.append(this.m_data[row]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void set(final int row, final DataPoint point) {
+    this.m_data[row] = point.getDouble(this.m_dim.m_id);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setEncoded(final int row, final long encoded) {
+    this.m_data[row] = Double.longBitsToDouble(encoded);
+  }
+
+  /**
+   * Round the values of this column to the nearest {@code float} values,
+   * as done by a {@code (float)} cast.
+   *
+   * @return a new float column with the rounded values, or {@code null}
+   *         if at least one finite value would become infinite or one
+   *         non-zero value would become zero
+   */
+  final _FloatColumn _toFloat() {
+    final double[] data;
+    final float[] rounded;
+    double value;
+    float single;
+    int index;
+
+    data = this.m_data;
+    rounded = new float[data.length];
+    for (index = data.length; (--index) >= 0;) {
+      value = data[index];
+      single = ((float) value);
+      if (((single == 0f) && (value != 0d)) || (Float.isInfinite(single)
+          && (!(Double.isInfinite(value))))) {
+        return null;
+      }
+      rounded[index] = single;
+    }
+    return new _FloatColumn(this.m_dim, rounded);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int compare(final int row, final _Column other,
+      final int otherRow) {
+    if (other instanceof _DoubleColumn) {
+      return Compare.compare(this.m_data[row],
+          ((_DoubleColumn) other).m_data[otherRow]);
+    }
+    return super.compare(row, other, otherRow);
+  }
+
+  /**
+   * Check whether a value comes before a searched value in the direction
+   * of the dimension
+   *
+   * @param x
+   *          the value
+   * @param value
+   *          the searched value
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} if {@code x} must come strictly before
+   *          {@code value}, {@code 1} if it may also be equal to it
+   * @return {@code true} if {@code x} comes before {@code value}
+   */
+  private static final boolean __before(final double x, final double value,
+      final boolean isIncreasing, final int threshold) {
+    return ((isIncreasing ? Compare.compare(x, value)
+        : Compare.compare(value, x)) < threshold);
+  }
+
+  /**
+   * Find the first row in a range whose value does not come before a
+   * given value in the direction of the dimension, by galloping from a
+   * given row: Starting at {@code hint}, the search interval is doubled
+   * until it contains the result, which is then located via a binary
+   * search. If the hint is close to the result, e.g., because the searched
+   * values are sorted, this takes much fewer steps than a full binary
+   * search.
+   *
+   * @param value
+   *          the value
+   * @param data
+   *          the data array
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} to find the first row not strictly before
+   *          {@code value}, {@code 1} to find the first row after it
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the exclusive end of the range
+   * @param hint
+   *          the row to start at, in {@code start...end}
+   * @return the row, or {@code end} if there is none
+   */
+  private static final int __search(final double value, final double[] data,
+      final boolean isIncreasing, final int threshold, final int start,
+      final int end, final int hint) {
+    int low, high, bound, step, mid;
+
+    if ((hint < end) && _DoubleColumn.__before(data[hint], value, isIncreasing,
+        threshold)) {
+      // gallop forward
+      low = bound = (hint + 1);
+      step = 1;
+      for (;;) {
+        if (bound >= end) {
+          high = end;
+          break;
+        }
+        if (!(_DoubleColumn.__before(data[bound], value, isIncreasing,
+            threshold))) {
+          high = bound;
+          break;
+        }
+        low = (bound + 1);
+        if (step >= (end - bound)) {
+          bound = end;
+        } else {
+          bound += step;
+          step <<= 1;
+        }
+      }
+    } else {
+      // gallop backward
+      high = hint;
+      bound = (hint - 1);
+      step = 1;
+      for (;;) {
+        if (bound < start) {
+          low = start;
+          break;
+        }
+        if (_DoubleColumn.__before(data[bound], value, isIncreasing,
+            threshold)) {
+          low = (bound + 1);
+          break;
+        }
+        high = bound;
+        bound -= step;
+        step <<= 1;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (_DoubleColumn.__before(data[mid], value, isIncreasing, threshold)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final long value, final int start, final int end) {
+    final double[] data;
+    final double converted;
+    final int row;
+
+    data = this.m_data;
+    converted = value;
+    row = _DoubleColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row,
+        ((row < end) && (Compare.compare(data[row], converted) == 0)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final long[] values, final int[] rows, final int start,
+      final int end) {
+    final double[] data;
+    final boolean isIncreasing;
+    double value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = values[index];
+      row = _DoubleColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (Compare.compare(data[row], value) == 0)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final double value, final int start, final int end) {
+    final double[] data;
+    final double converted;
+    final int row;
+
+    data = this.m_data;
+    converted = value;
+    row = _DoubleColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row,
+        ((row < end) && (Compare.compare(data[row], converted) == 0)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final double[] values, final int[] rows, final int start,
+      final int end) {
+    final double[] data;
+    final boolean isIncreasing;
+    double value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = values[index];
+      row = _DoubleColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (Compare.compare(data[row], value) == 0)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final long value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _DoubleColumn.__search(value,
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final double value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _DoubleColumn.__search(value,
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int start, final int end,
+      final IAggregate aggregate) {
+    final double[] data;
+    int row;
+
+    data = this.m_data;
+    if (aggregate instanceof IColumnAggregate) {
+      ((IColumnAggregate) aggregate).append(data, start, end);
+      return;
+    }
+    for (row = start; row < end; row++) {
+      aggregate.append(data[row]);
+    }
+  }
+}
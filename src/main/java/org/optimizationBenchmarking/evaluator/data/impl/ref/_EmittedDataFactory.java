@@ -0,0 +1,55 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+
+/**
+ * A factory for data points whose classes have been generated by the
+ * {@link _DataPointEmitter}. Parsing works exactly as in the
+ * {@link _LongEncodedDataFactory}, but the resulting data points store
+ * their values in fields of the proper primitive types.
+ */
+final class _EmittedDataFactory extends _LongEncodedDataFactory {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the prototype used to create new data points */
+  private final _EmittedDataPoint m_prototype;
+
+  /**
+   * create the data factory
+   *
+   * @param dims
+   *          the dimensions
+   * @param clazz
+   *          the emitted data point class
+   */
+  _EmittedDataFactory(final ArraySetView<Dimension> dims,
+      final Class<? extends _EmittedDataPoint> clazz) {
+    super(dims);
+
+    try {
+      this.m_prototype = clazz
+          .getDeclaredConstructor(ArraySetView.class, long[].class)
+          .newInstance(dims, new long[dims.size()]);
+    } catch (final Throwable error) {
+      throw new IllegalStateException(//
+          "Could not instantiate emitted data point class " //$NON-NLS-1$
+              + clazz.getName(),
+          error);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final DataPoint _create(final long[] data) {
+    return this.m_prototype._create(data);
+  }
+
+  /** {@inheritDoc} */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Override
+  public final Class<DataPoint> getOutputClass() {
+    return ((Class) (this.m_prototype.getClass()));
+  }
+}
@@ -0,0 +1,52 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+
+/**
+ * The base class for data points whose classes are generated directly as
+ * byte code by the {@link _DataPointEmitter}. The generated classes store
+ * each dimension in a field of the dimension's primitive type and
+ * implement the getter methods based on a switch over the dimension
+ * index.
+ */
+abstract class _EmittedDataPoint extends _AbstractDataPoint {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the data point
+   *
+   * @param dims
+   *          the dimension set
+   */
+  _EmittedDataPoint(final ArraySetView<Dimension> dims) {
+    super(dims);
+  }
+
+  /**
+   * Create a new data point of the same class and with the same
+   * dimensions as this one.
+   *
+   * @param data
+   *          the data, encoded as {@code long} values in the same way as
+   *          for {@link _LongEncodedDataPoint}
+   * @return the new data point
+   */
+  abstract _EmittedDataPoint _create(final long[] data);
+
+  /**
+   * Create the exception thrown if an invalid dimension index is
+   * accessed.
+   *
+   * @param index
+   *          the index
+   * @return the exception
+   */
+  final IndexOutOfBoundsException _indexError(final int index) {
+    return new IndexOutOfBoundsException(//
+        "Invalid dimension index " + index + //$NON-NLS-1$
+            ", the valid range is 0.." + //$NON-NLS-1$
+            (this.m_dims.size() - 1));
+  }
+}
@@ -59,6 +59,15 @@ final class _ExperimentSetContext extends
     return this.getOwner().getFeatureSet();
   }
 
+  /**
+   * get the validation strategy
+   *
+   * @return the validation strategy
+   */
+  final EElementSetValidation _getValidation() {
+    return this.getOwner().getValidation();
+  }
+
   /**
    * get the parameter set
    *
@@ -90,7 +99,8 @@ final class _ExperimentSetContext extends
 
     return new ExperimentSet(this._getDimensionSet(),
         this._getInstanceSet(), this._getFeatureSet(), ps,
-        data.toArray(new Experiment[data.size()]), false, true, true);
+        data.toArray(new Experiment[data.size()]), false, true, true,
+        this._getValidation());
   }
 
   /**
@@ -125,4 +135,10 @@ final class _ExperimentSetContext extends
     return ExperimentContext.class;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final boolean _isChildCompilationParallel() {
+    return true;
+  }
+
 }
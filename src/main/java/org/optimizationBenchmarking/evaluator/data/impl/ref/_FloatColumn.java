@@ -0,0 +1,327 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IColumnAggregate;
+import org.optimizationBenchmarking.utils.comparison.Compare;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/** A column of float values. */
+final class _FloatColumn extends _MutableColumn {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  final float[] m_data;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   * @param data
+   *          the data
+   */
+  _FloatColumn(final Dimension dim, final float[] data) {
+    super(dim);
+    this.m_data = data;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int size() {
+    return this.m_data.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getLong(final int row) {
+    return ((long) (this.m_data[row]));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final double getDouble(final int row) {
+    return this.m_data[row];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int row, final IAggregate aggregate) {
+    aggregate.append(this.m_data[row]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void set(final int row, final DataPoint point) {
+    this.m_data[row] = point.getFloat(this.m_dim.m_id);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setEncoded(final int row, final long encoded) {
+    this.m_data[row] = Float.intBitsToFloat((int) encoded);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int compare(final int row, final _Column other,
+      final int otherRow) {
+    if (other instanceof _FloatColumn) {
+      return Compare.compare(this.m_data[row],
+          ((_FloatColumn) other).m_data[otherRow]);
+    }
+    return super.compare(row, other, otherRow);
+  }
+
+  /**
+   * Check whether a value comes before a searched value in the direction
+   * of the dimension
+   *
+   * @param x
+   *          the value
+   * @param value
+   *          the searched value
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} if {@code x} must come strictly before
+   *          {@code value}, {@code 1} if it may also be equal to it
+   * @return {@code true} if {@code x} comes before {@code value}
+   */
+  private static final boolean __before(final float x, final float value,
+      final boolean isIncreasing, final int threshold) {
+    return ((isIncreasing ? Compare.compare(x, value)
+        : Compare.compare(value, x)) < threshold);
+  }
+
+  /**
+   * Find the first row in a range whose value does not come before a
+   * given value in the direction of the dimension, by galloping from a
+   * given row: Starting at {@code hint}, the search interval is doubled
+   * until it contains the result, which is then located via a binary
+   * search. If the hint is close to the result, e.g., because the searched
+   * values are sorted, this takes much fewer steps than a full binary
+   * search.
+   *
+   * @param value
+   *          the value
+   * @param data
+   *          the data array
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} to find the first row not strictly before
+   *          {@code value}, {@code 1} to find the first row after it
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the exclusive end of the range
+   * @param hint
+   *          the row to start at, in {@code start...end}
+   * @return the row, or {@code end} if there is none
+   */
+  private static final int __search(final float value, final float[] data,
+      final boolean isIncreasing, final int threshold, final int start,
+      final int end, final int hint) {
+    int low, high, bound, step, mid;
+
+    if ((hint < end) && _FloatColumn.__before(data[hint], value, isIncreasing,
+        threshold)) {
+      // gallop forward
+      low = bound = (hint + 1);
+      step = 1;
+      for (;;) {
+        if (bound >= end) {
+          high = end;
+          break;
+        }
+        if (!(_FloatColumn.__before(data[bound], value, isIncreasing,
+            threshold))) {
+          high = bound;
+          break;
+        }
+        low = (bound + 1);
+        if (step >= (end - bound)) {
+          bound = end;
+        } else {
+          bound += step;
+          step <<= 1;
+        }
+      }
+    } else {
+      // gallop backward
+      high = hint;
+      bound = (hint - 1);
+      step = 1;
+      for (;;) {
+        if (bound < start) {
+          low = start;
+          break;
+        }
+        if (_FloatColumn.__before(data[bound], value, isIncreasing,
+            threshold)) {
+          low = (bound + 1);
+          break;
+        }
+        high = bound;
+        bound -= step;
+        step <<= 1;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (_FloatColumn.__before(data[mid], value, isIncreasing, threshold)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Convert a {@code double} bound to the type of this column without
+   * changing the set of rows it delimits: The value is rounded towards
+   * the rows which do not come before it in the direction of the
+   * dimension if {@code upper} is {@code false}, and towards the rows
+   * which do not come after it otherwise.
+   *
+   * @param value
+   *          the bound
+   * @param upper
+   *          is this an upper bound?
+   * @return the converted bound
+   */
+  private final float __convertBound(final double value,
+      final boolean upper) {
+    final float converted;
+
+    converted = ((float) value);
+    if (this.m_dim.m_direction.isIncreasing() ^ upper) {
+      if (converted < value) {
+        return Math.nextUp(converted);
+      }
+    } else {
+      if (converted > value) {
+        return Math.nextAfter(converted, Double.NEGATIVE_INFINITY);
+      }
+    }
+    return converted;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final long value, final int start, final int end) {
+    final float[] data;
+    final float converted;
+    final int row;
+
+    data = this.m_data;
+    converted = value;
+    row = _FloatColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row,
+        ((row < end) && (Compare.compare(data[row], converted) == 0)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final long[] values, final int[] rows, final int start,
+      final int end) {
+    final float[] data;
+    final boolean isIncreasing;
+    float value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = values[index];
+      row = _FloatColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (Compare.compare(data[row], value) == 0)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final double value, final int start, final int end) {
+    final float[] data;
+    final float converted;
+    final int row;
+
+    data = this.m_data;
+    converted = ((float) (value));
+    row = _FloatColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row,
+        ((row < end) && (Compare.compare(data[row], converted) == 0)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final double[] values, final int[] rows, final int start,
+      final int end) {
+    final float[] data;
+    final boolean isIncreasing;
+    float value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = ((float) (values[index]));
+      row = _FloatColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (Compare.compare(data[row], value) == 0)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final long value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _FloatColumn.__search(value,
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final double value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _FloatColumn.__search(this.__convertBound(value, upper),
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int start, final int end,
+      final IAggregate aggregate) {
+    final float[] data;
+    int row;
+
+    data = this.m_data;
+    if (aggregate instanceof IColumnAggregate) {
+      ((IColumnAggregate) aggregate).append(data, start, end);
+      return;
+    }
+    for (row = start; row < end; row++) {
+      aggregate.append(data[row]);
+    }
+  }
+}
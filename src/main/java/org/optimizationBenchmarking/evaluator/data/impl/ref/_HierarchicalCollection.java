@@ -1,7 +1,10 @@
 package org.optimizationBenchmarking.evaluator.data.impl.ref;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
+import org.optimizationBenchmarking.evaluator.data.spec.ParallelExecution;
 import org.optimizationBenchmarking.utils.hierarchy.HierarchicalFSM;
 import org.optimizationBenchmarking.utils.text.TextUtils;
 
@@ -18,6 +21,12 @@ import org.optimizationBenchmarking.utils.text.TextUtils;
 abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
     extends _Context<RT> {
 
+  /**
+   * the minimum number of children for which a parallel compilation is
+   * attempted
+   */
+  private static final int PARALLEL_THRESHOLD = 4;
+
   /** the collection */
   private volatile ArrayList<Object> m_collection;
 
@@ -39,6 +48,19 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
    */
   abstract Class<CET> _getChildType();
 
+  /**
+   * Can the children of this collection be compiled in parallel? This is
+   * only possible if compiling a child neither locks this collection nor
+   * any of its owners, since these are locked by the thread waiting for
+   * the compilation to complete.
+   *
+   * @return {@code true} if the children can be compiled in parallel,
+   *         {@code false} otherwise
+   */
+  boolean _isChildCompilationParallel() {
+    return false;
+  }
+
   /**
    * process the collection
    *
@@ -56,8 +78,8 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
   final RT _doCompile() {
     ArrayList<Object> list;
     Class<CET> clazz;
-    CCT r;
-    Object o;
+    __CompileChildren task;
+    Throwable error;
     int i;
 
     list = this.m_collection;
@@ -74,26 +96,69 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
           " has none."); //$NON-NLS-1$
     }
 
-    for (; (--i) >= 0;) {
-      o = list.get(i);
-      if (o == null) {
-        throw new IllegalStateException("No child of " + this//$NON-NLS-1$
-            + " can be null, but the one at index " + i//$NON-NLS-1$
-            + " is."); //$NON-NLS-1$
+    if ((i >= _HierarchicalCollection.PARALLEL_THRESHOLD)
+        && this._isChildCompilationParallel()
+        && ((ForkJoinTask.inForkJoinPool()) || //
+            (Runtime.getRuntime().availableProcessors() > 1))) {
+      task = new __CompileChildren(this, list, clazz, 0, i,
+          new Throwable[i]);
+      ParallelExecution.invoke(task);
+
+      // report the error of the child with the highest index, just like
+      // the sequential compilation
+      for (; (--i) >= 0;) {
+        error = task.m_errors[i];
+        if (error != null) {
+          if (error instanceof RuntimeException) {
+            throw ((RuntimeException) error);
+          }
+          if (error instanceof Error) {
+            throw ((Error) error);
+          }
+          throw new IllegalStateException(error);
+        }
       }
-      r = clazz.cast(o)._compile();
-      if (r == null) {
-        throw new IllegalStateException("No compiled child of " + this//$NON-NLS-1$
-            + " can be null, but the one at index " + i//$NON-NLS-1$
-            + " (" + o + //$NON-NLS-1$
-            ") compiles to null."); //$NON-NLS-1$
+    } else {
+      for (; (--i) >= 0;) {
+        this.__compileChild(list, clazz, i);
       }
-      list.set(i, r);
     }
 
     return this._doCompile((ArrayList<CCT>) list);
   }
 
+  /**
+   * Compile the child at a given index and store the result at that
+   * index
+   *
+   * @param list
+   *          the list of children
+   * @param clazz
+   *          the child type
+   * @param index
+   *          the index
+   */
+  private final void __compileChild(final ArrayList<Object> list,
+      final Class<CET> clazz, final int index) {
+    final Object o;
+    final CCT r;
+
+    o = list.get(index);
+    if (o == null) {
+      throw new IllegalStateException("No child of " + this//$NON-NLS-1$
+          + " can be null, but the one at index " + index//$NON-NLS-1$
+          + " is."); //$NON-NLS-1$
+    }
+    r = clazz.cast(o)._compile();
+    if (r == null) {
+      throw new IllegalStateException("No compiled child of " + this//$NON-NLS-1$
+          + " can be null, but the one at index " + index//$NON-NLS-1$
+          + " (" + o + //$NON-NLS-1$
+          ") compiles to null."); //$NON-NLS-1$
+    }
+    list.set(index, r);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected synchronized final void beforeChildOpens(
@@ -128,4 +193,88 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
       this.throwChildNotAllowed(child);
     }
   }
+
+  /**
+   * A task compiling a range of children. The children are compiled
+   * independently and the results are stored at their original indices,
+   * so the result does not depend on the order in which they complete.
+   * Errors are recorded per index instead of being thrown.
+   */
+  private static final class __CompileChildren extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the owning collection */
+    private final _HierarchicalCollection<?, ?, ?> m_owner;
+
+    /** the list of children */
+    private final ArrayList<Object> m_list;
+
+    /** the child type */
+    @SuppressWarnings("rawtypes")
+    private final Class m_clazz;
+
+    /** the inclusive start index */
+    private final int m_start;
+
+    /** the exclusive end index */
+    private final int m_end;
+
+    /** the errors, one per child */
+    final Throwable[] m_errors;
+
+    /**
+     * create
+     *
+     * @param owner
+     *          the owning collection
+     * @param list
+     *          the list of children
+     * @param clazz
+     *          the child type
+     * @param start
+     *          the inclusive start index
+     * @param end
+     *          the exclusive end index
+     * @param errors
+     *          the errors, one per child
+     */
+    @SuppressWarnings("rawtypes")
+    __CompileChildren(final _HierarchicalCollection<?, ?, ?> owner,
+        final ArrayList<Object> list, final Class clazz, final int start,
+        final int end, final Throwable[] errors) {
+      super();
+      this.m_owner = owner;
+      this.m_list = list;
+      this.m_clazz = clazz;
+      this.m_start = start;
+      this.m_end = end;
+      this.m_errors = errors;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected final void compute() {
+      final int mid;
+
+      if ((this.m_end - this.m_start) <= 1) {
+        try {
+          this.m_owner.__compileChild(this.m_list, this.m_clazz,
+              this.m_start);
+        } catch (final Throwable error) {
+          this.m_errors[this.m_start] = error;
+        }
+        return;
+      }
+
+      mid = ((this.m_start + this.m_end) >>> 1);
+      ForkJoinTask.invokeAll(
+          new __CompileChildren(this.m_owner, this.m_list, this.m_clazz,
+              this.m_start, mid, this.m_errors),
+          new __CompileChildren(this.m_owner, this.m_list, this.m_clazz,
+              mid, this.m_end, this.m_errors));
+    }
+  }
 }
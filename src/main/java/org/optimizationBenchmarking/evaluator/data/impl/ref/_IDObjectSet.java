@@ -30,6 +30,25 @@ abstract class _IDObjectSet<DT extends _IDObject> extends ElementSet<DT> {
     super(data, clone, sort, own);
   }
 
+  /**
+   * instantiate
+   *
+   * @param data
+   *          the data of the set
+   * @param clone
+   *          should we clone the data?
+   * @param sort
+   *          should we sort the data?
+   * @param own
+   *          should we make all elements our own?
+   * @param validation
+   *          the strategy for validating pairs of elements
+   */
+  _IDObjectSet(final DT[] data, final boolean clone, final boolean sort,
+      final boolean own, final EElementSetValidation validation) {
+    super(data, clone, sort, own, validation);
+  }
+
   /** {@inheritDoc} */
   @Override
   final void _setOwnerOfElement(final DT element, final int index) {
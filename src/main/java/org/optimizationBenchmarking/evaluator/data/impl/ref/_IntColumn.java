@@ -0,0 +1,379 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.evaluator.data.spec.IColumnAggregate;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * A column of int values, used for dimensions of type {@code byte},
+ * {@code short}, and {@code int}.
+ */
+final class _IntColumn extends _MutableColumn {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  final int[] m_data;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   * @param data
+   *          the data
+   */
+  _IntColumn(final Dimension dim, final int[] data) {
+    super(dim);
+    this.m_data = data;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int size() {
+    return this.m_data.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long getLong(final int row) {
+    return this.m_data[row];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final double getDouble(final int row) {
+    return this.m_data[row];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int row, final IAggregate aggregate) {
+    aggregate.append(this.m_data[row]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void set(final int row, final DataPoint point) {
+    this.m_data[row] = point.getInt(this.m_dim.m_id);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setEncoded(final int row, final long encoded) {
+    this.m_data[row] = ((int) encoded);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int compare(final int row, final _Column other,
+      final int otherRow) {
+    if (other instanceof _IntColumn) {
+      return Integer.compare(this.m_data[row],
+          ((_IntColumn) other).m_data[otherRow]);
+    }
+    return super.compare(row, other, otherRow);
+  }
+
+  /**
+   * Check whether a value comes before a searched value in the direction
+   * of the dimension
+   *
+   * @param x
+   *          the value
+   * @param value
+   *          the searched value
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} if {@code x} must come strictly before
+   *          {@code value}, {@code 1} if it may also be equal to it
+   * @return {@code true} if {@code x} comes before {@code value}
+   */
+  private static final boolean __before(final int x, final int value,
+      final boolean isIncreasing, final int threshold) {
+    return ((isIncreasing ? Integer.compare(x, value)
+        : Integer.compare(value, x)) < threshold);
+  }
+
+  /**
+   * Find the first row in a range whose value does not come before a
+   * given value in the direction of the dimension, by galloping from a
+   * given row: Starting at {@code hint}, the search interval is doubled
+   * until it contains the result, which is then located via a binary
+   * search. If the hint is close to the result, e.g., because the searched
+   * values are sorted, this takes much fewer steps than a full binary
+   * search.
+   *
+   * @param value
+   *          the value
+   * @param data
+   *          the data array
+   * @param isIncreasing
+   *          is the dimension increasing?
+   * @param threshold
+   *          {@code 0} to find the first row not strictly before
+   *          {@code value}, {@code 1} to find the first row after it
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the exclusive end of the range
+   * @param hint
+   *          the row to start at, in {@code start...end}
+   * @return the row, or {@code end} if there is none
+   */
+  private static final int __search(final int value, final int[] data,
+      final boolean isIncreasing, final int threshold, final int start,
+      final int end, final int hint) {
+    int low, high, bound, step, mid;
+
+    if ((hint < end) && _IntColumn.__before(data[hint], value, isIncreasing,
+        threshold)) {
+      // gallop forward
+      low = bound = (hint + 1);
+      step = 1;
+      for (;;) {
+        if (bound >= end) {
+          high = end;
+          break;
+        }
+        if (!(_IntColumn.__before(data[bound], value, isIncreasing,
+            threshold))) {
+          high = bound;
+          break;
+        }
+        low = (bound + 1);
+        if (step >= (end - bound)) {
+          bound = end;
+        } else {
+          bound += step;
+          step <<= 1;
+        }
+      }
+    } else {
+      // gallop backward
+      high = hint;
+      bound = (hint - 1);
+      step = 1;
+      for (;;) {
+        if (bound < start) {
+          low = start;
+          break;
+        }
+        if (_IntColumn.__before(data[bound], value, isIncreasing,
+            threshold)) {
+          low = (bound + 1);
+          break;
+        }
+        high = bound;
+        bound -= step;
+        step <<= 1;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (_IntColumn.__before(data[mid], value, isIncreasing, threshold)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Convert a searched {@code long} value to the type of this column by
+   * casting, as done by {@link #find(long, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final int __convert(final long value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      default: {
+        return ((int) value);
+      }
+    }
+  }
+
+  /**
+   * Convert a searched {@code double} value to the type of this column by
+   * casting, as done by {@link #find(double, int, int)}
+   *
+   * @param value
+   *          the value
+   * @return the converted value
+   */
+  private final int __convert(final double value) {
+    switch (this.m_dim.m_primitiveType) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      default: {
+        return ((int) value);
+      }
+    }
+  }
+
+  /**
+   * Convert a {@code double} bound to the type of this column without
+   * changing the set of rows it delimits: The value is rounded towards
+   * the rows which do not come before it in the direction of the
+   * dimension if {@code upper} is {@code false}, and towards the rows
+   * which do not come after it otherwise. Values outside of the range of
+   * the column saturate.
+   *
+   * @param value
+   *          the bound
+   * @param upper
+   *          is this an upper bound?
+   * @return the converted bound
+   */
+  private final int __convertBound(final double value,
+      final boolean upper) {
+    return ((int) ((this.m_dim.m_direction.isIncreasing() ^ upper)
+        ? Math.ceil(value) : Math.floor(value)));
+  }
+
+  /**
+   * Convert a {@code long} bound to the type of this column, saturating
+   * values outside of its range
+   *
+   * @param value
+   *          the bound
+   * @return the converted bound
+   */
+  private static final int __convertBound(final long value) {
+    if (value > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    if (value < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return ((int) value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final long value, final int start, final int end) {
+    final int[] data;
+    final int converted;
+    final int row;
+
+    data = this.m_data;
+    converted = this.__convert(value);
+    row = _IntColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row, ((row < end) && (data[row] == converted)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final long[] values, final int[] rows, final int start,
+      final int end) {
+    final int[] data;
+    final boolean isIncreasing;
+    int value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = this.__convert(values[index]);
+      row = _IntColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (data[row] == value)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int find(final double value, final int start, final int end) {
+    final int[] data;
+    final int converted;
+    final int row;
+
+    data = this.m_data;
+    converted = this.__convert(value);
+    row = _IntColumn.__search(converted, data,
+        this.m_dim.m_direction.isIncreasing(), 0, start, end, start);
+    return _Column._found(row, ((row < end) && (data[row] == converted)),
+        start, end, this.m_dim);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void find(final double[] values, final int[] rows, final int start,
+      final int end) {
+    final int[] data;
+    final boolean isIncreasing;
+    int value;
+    int index, row;
+
+    data = this.m_data;
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    row = start;
+    for (index = 0; index < values.length; index++) {
+      value = this.__convert(values[index]);
+      row = _IntColumn.__search(value, data, isIncreasing, 0, start, end,
+          row);
+      rows[index] = _Column._found(row,
+          ((row < end) && (data[row] == value)), start, end,
+          this.m_dim);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final long value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _IntColumn.__search(_IntColumn.__convertBound(value),
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final int bound(final double value, final boolean upper, final int start,
+      final int end) {
+    final boolean isIncreasing;
+
+    isIncreasing = this.m_dim.m_direction.isIncreasing();
+    return _IntColumn.__search(this.__convertBound(value, upper),
+        this.m_data, isIncreasing, (upper ? 1 : 0), start, end, start);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void aggregate(final int start, final int end,
+      final IAggregate aggregate) {
+    final int[] data;
+    int row;
+
+    data = this.m_data;
+    if (aggregate instanceof IColumnAggregate) {
+      ((IColumnAggregate) aggregate).append(data, start, end);
+      return;
+    }
+    for (row = start; row < end; row++) {
+      aggregate.append(data[row]);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+/**
+ * The base class for the plain columns which store their values in a
+ * primitive array and can be written. The rows of a run are collected in
+ * such columns, which may then be replaced by read-only representations,
+ * such as {@link _DeltaColumn} or {@link _BufferColumn}.
+ */
+abstract class _MutableColumn extends _Column {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the column
+   *
+   * @param dim
+   *          the dimension
+   */
+  _MutableColumn(final Dimension dim) {
+    super(dim);
+  }
+
+  /**
+   * Store the value of the dimension of this column in a given data point
+   * into a given row.
+   *
+   * @param row
+   *          the row
+   * @param point
+   *          the data point
+   */
+  abstract void set(final int row, final DataPoint point);
+
+  /**
+   * Store a value encoded as {@code long} in the same way as in
+   * {@link _LongEncodedDataPoint} into a given row.
+   *
+   * @param row
+   *          the row
+   * @param encoded
+   *          the encoded value
+   */
+  abstract void setEncoded(final int row, final long encoded);
+
+  /**
+   * Create a column for the given dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param size
+   *          the number of rows
+   * @return the column
+   */
+  static final _MutableColumn _create(final Dimension dim,
+      final int size) {
+    switch (dim.m_primitiveType) {
+      case BYTE:
+      case SHORT:
+      case INT: {
+        return new _IntColumn(dim, new int[size]);
+      }
+      case LONG: {
+        return new _LongColumn(dim, new long[size]);
+      }
+      case FLOAT: {
+        return new _FloatColumn(dim, new float[size]);
+      }
+      default: {
+        return new _DoubleColumn(dim, new double[size]);
+      }
+    }
+  }
+}
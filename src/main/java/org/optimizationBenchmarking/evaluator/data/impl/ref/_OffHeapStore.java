@@ -0,0 +1,186 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * <p>
+ * The memory outside of the Java heap holding the {@link _BufferColumn
+ * columns} of the runs of one experiment set. Columns are cut from large
+ * chunks, which are either {@link ByteBuffer#allocateDirect(int) direct
+ * buffers} or regions of a scratch file mapped into memory. The file is
+ * created in a given directory and deleted when the store is released or,
+ * at the latest, when the virtual machine exits.
+ * </p>
+ * <p>
+ * Releasing the store makes all of its columns drop their buffers and
+ * closes the scratch file, so the memory is no longer reachable from the
+ * experiment set and any further access to its runs fails. The Java 7
+ * API offers no way to free a direct or mapped buffer explicitly, so the
+ * virtual machine returns the memory to the operating system when it
+ * collects the buffer objects.
+ * </p>
+ */
+final class _OffHeapStore {
+
+  /** the size of the chunks */
+  private static final int CHUNK_SIZE = (1 << 24);
+
+  /** should the chunks be mapped from a scratch file? */
+  private final boolean m_isMapped;
+
+  /**
+   * the directory for the scratch file, or {@code null} to use the
+   * default directory for temporary files
+   */
+  private final Path m_directory;
+
+  /** the scratch file channel, or {@code null} if not yet opened */
+  private FileChannel m_channel;
+
+  /** the size of the mapped part of the scratch file */
+  private long m_mapped;
+
+  /** the current chunk, or {@code null} if none is allocated */
+  private ByteBuffer m_chunk;
+
+  /** the columns allocated in this store */
+  private ArrayList<_BufferColumn> m_columns;
+
+  /**
+   * create
+   *
+   * @param isMapped
+   *          {@code true} to map the chunks from a scratch file,
+   *          {@code false} to use direct buffers
+   * @param directory
+   *          the directory for the scratch file, or {@code null} to use
+   *          the default directory for temporary files
+   */
+  _OffHeapStore(final boolean isMapped, final Path directory) {
+    super();
+    this.m_isMapped = isMapped;
+    this.m_directory = directory;
+    this.m_columns = new ArrayList<>();
+  }
+
+  /**
+   * Create a new chunk of memory
+   *
+   * @param size
+   *          the size of the chunk
+   * @return the chunk
+   * @throws IOException
+   *           if the scratch file cannot be created or mapped
+   */
+  private final ByteBuffer __chunk(final int size) throws IOException {
+    final ByteBuffer chunk;
+    final Path file;
+
+    if (!(this.m_isMapped)) {
+      return ByteBuffer.allocateDirect(size);
+    }
+
+    if (this.m_channel == null) {
+      file = ((this.m_directory == null)
+          ? Files.createTempFile("runs", ".bin") //$NON-NLS-1$//$NON-NLS-2$
+          : Files.createTempFile(this.m_directory, "runs", //$NON-NLS-1$
+              ".bin")); //$NON-NLS-1$
+      this.m_channel = FileChannel.open(file, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+    chunk = this.m_channel.map(FileChannel.MapMode.READ_WRITE,
+        this.m_mapped, size);
+    this.m_mapped += size;
+    return chunk;
+  }
+
+  /**
+   * Allocate a buffer for a column
+   *
+   * @param size
+   *          the size of the buffer in bytes
+   * @return the buffer, in the native byte order
+   */
+  synchronized final ByteBuffer _allocate(final int size) {
+    ByteBuffer chunk, buffer;
+    int position;
+
+    if (this.m_columns == null) {
+      throw new IllegalStateException(//
+          "The run data has already been released."); //$NON-NLS-1$
+    }
+
+    try {
+      if (size > (_OffHeapStore.CHUNK_SIZE >>> 2)) {
+        // large columns get their own buffer
+        buffer = this.__chunk(size);
+      } else {
+        chunk = this.m_chunk;
+        position = ((chunk == null) ? 0 : ((chunk.position() + 7) & (~7)));
+        if ((chunk == null) || (position > (chunk.limit() - size))) {
+          this.m_chunk = chunk = this.__chunk(_OffHeapStore.CHUNK_SIZE);
+          position = 0;
+        }
+        chunk.position(position);
+        buffer = chunk.slice();
+        buffer.limit(size);
+        chunk.position(position + size);
+      }
+    } catch (final IOException ioe) {
+      throw new IllegalStateException(//
+          "Could not allocate memory for run data.", //$NON-NLS-1$
+          ioe);
+    }
+    return buffer.order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Register a column allocated in this store
+   *
+   * @param column
+   *          the column
+   */
+  synchronized final void _register(final _BufferColumn column) {
+    if (this.m_columns == null) {
+      column._release();
+      throw new IllegalStateException(//
+          "The run data has already been released."); //$NON-NLS-1$
+    }
+    this.m_columns.add(column);
+  }
+
+  /** Release the memory of all columns and delete the scratch file. */
+  synchronized final void _release() {
+    final ArrayList<_BufferColumn> columns;
+    final FileChannel channel;
+
+    columns = this.m_columns;
+    if (columns == null) {
+      return;
+    }
+    this.m_columns = null;
+    this.m_chunk = null;
+    for (final _BufferColumn column : columns) {
+      column._release();
+    }
+
+    channel = this.m_channel;
+    this.m_channel = null;
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (final IOException ioe) {
+        throw new IllegalStateException(//
+            "Could not delete the scratch file of the run data.", //$NON-NLS-1$
+            ioe);
+      }
+    }
+  }
+}
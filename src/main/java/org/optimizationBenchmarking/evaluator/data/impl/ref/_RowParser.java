@@ -0,0 +1,460 @@
+package org.optimizationBenchmarking.evaluator.data.impl.ref;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+/**
+ * An internal parser which reads the values of a data point directly from
+ * a range of a {@link CharSequence} into a {@code long} array, using the
+ * same encoding as {@link _LongEncodedDataPoint}. Plain decimal numbers
+ * are converted without creating any objects, only numbers in other
+ * formats (hexadecimal numbers, special values, numbers with too many
+ * significant digits, ...) are passed on to the {@link NumberParser} of
+ * their dimension as {@link String}. In both cases, the bounds of the
+ * dimension's parser are enforced.
+ */
+final class _RowParser {
+
+  /** the maximum number of decimal digits which never overflow a long */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  /** the maximum number of digits of an exactly representable double */
+  private static final int MAX_DOUBLE_DIGITS = 15;
+
+  /** the maximum mantissa of an exactly representable float */
+  private static final long MAX_FLOAT_MANTISSA = (1L << 24);
+
+  /** the exactly representable powers of ten as double */
+  private static final double[] DOUBLE_POWERS = { 1e0, 1e1, 1e2, 1e3,
+      1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+      1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  /** the exactly representable powers of ten as float */
+  private static final float[] FLOAT_POWERS = { 1e0f, 1e1f, 1e2f, 1e3f,
+      1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+  /** the forbidden constructor */
+  private _RowParser() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Parse the values of one data point from a range of characters. The
+   * values may be separated by white space or commas, and the whole
+   * point may be enclosed in square brackets.
+   *
+   * @param dims
+   *          the dimensions
+   * @param chars
+   *          the characters
+   * @param start
+   *          the index of the first character to parse
+   * @param end
+   *          the exclusive end index of the range
+   * @param dest
+   *          the destination array
+   * @param offset
+   *          the index in {@code dest} where the value of the first
+   *          dimension should be stored
+   */
+  static final void _parse(final ArraySetView<Dimension> dims,
+      final CharSequence chars, final int start, final int end,
+      final long[] dest, final int offset) {
+    final int size;
+    int index, i, j;
+    char ch;
+
+    size = dims.size();
+    j = start;
+    for (index = 0; index < size; index++) {
+      i = j;
+      skip: for (; i < end; i++) {
+        ch = chars.charAt(i);
+        if ((ch <= ' ') || (ch == ',')) {
+          continue skip;
+        }
+        if ((index <= 0) && (ch == '[')) {
+          continue skip;
+        }
+        break skip;
+      }
+
+      for (j = i; j < end; j++) {
+        ch = chars.charAt(j);
+        if ((ch <= ' ') || (ch == ',') || (ch == ']')) {
+          break;
+        }
+      }
+
+      if (j <= i) {
+        throw new IllegalArgumentException(//
+            "Missing value for dimension " + dims.get(index) + //$NON-NLS-1$
+                " in '" + chars.subSequence(start, end) + '\'');//$NON-NLS-1$
+      }
+
+      dest[offset + index] = _RowParser.__parseValue(dims.get(index), chars,
+          i, j);
+    }
+  }
+
+  /**
+   * Parse a single value and encode it as {@code long}.
+   *
+   * @param dim
+   *          the dimension
+   * @param chars
+   *          the characters
+   * @param start
+   *          the start index
+   * @param end
+   *          the exclusive end index
+   * @return the encoded value
+   */
+  private static final long __parseValue(final Dimension dim,
+      final CharSequence chars, final int start, final int end) {
+    final NumberParser<Number> parser;
+    final long l;
+    final double d;
+    final float f;
+
+    parser = dim.m_parser;
+    switch (dim.m_primitiveType) {
+      case BYTE: {
+        l = _RowParser.__parseLong(chars, start, end);
+        if (l == Long.MIN_VALUE) {
+          return parser.parseByte(_RowParser.__string(chars, start, end));
+        }
+        return _RowParser.__checkLong(parser, l, dim);
+      }
+      case SHORT: {
+        l = _RowParser.__parseLong(chars, start, end);
+        if (l == Long.MIN_VALUE) {
+          return parser.parseShort(_RowParser.__string(chars, start, end));
+        }
+        return _RowParser.__checkLong(parser, l, dim);
+      }
+      case INT: {
+        l = _RowParser.__parseLong(chars, start, end);
+        if (l == Long.MIN_VALUE) {
+          return parser.parseInt(_RowParser.__string(chars, start, end));
+        }
+        return _RowParser.__checkLong(parser, l, dim);
+      }
+      case LONG: {
+        l = _RowParser.__parseLong(chars, start, end);
+        if (l == Long.MIN_VALUE) {
+          return parser.parseLong(_RowParser.__string(chars, start, end));
+        }
+        return _RowParser.__checkLong(parser, l, dim);
+      }
+      case FLOAT: {
+        f = ((float) (_RowParser.__parseDecimal(chars, start, end, true)));
+        if (f != f) {
+          return Float.floatToIntBits(
+              parser.parseFloat(_RowParser.__string(chars, start, end)));
+        }
+        _RowParser.__checkDouble(parser, f, dim);
+        return Float.floatToIntBits(f);
+      }
+      default: {
+        d = _RowParser.__parseDecimal(chars, start, end, false);
+        if (d != d) {
+          return Double.doubleToLongBits(
+              parser.parseDouble(_RowParser.__string(chars, start, end)));
+        }
+        _RowParser.__checkDouble(parser, d, dim);
+        return Double.doubleToLongBits(d);
+      }
+    }
+  }
+
+  /**
+   * Check an integer value against the bounds of a dimension and encode
+   * it in the same way as {@link _LongEncodedDataPoint}.
+   *
+   * @param dim
+   *          the dimension
+   * @param value
+   *          the value
+   * @return the encoded value
+   */
+  static final long _encode(final Dimension dim, final long value) {
+    final float f;
+
+    switch (dim.m_primitiveType) {
+      case FLOAT: {
+        f = value;
+        _RowParser.__checkDouble(dim.m_parser, f, dim);
+        return Float.floatToIntBits(f);
+      }
+      case DOUBLE: {
+        _RowParser.__checkDouble(dim.m_parser, value, dim);
+        return Double.doubleToLongBits(value);
+      }
+      default: {
+        return _RowParser.__checkLong(dim.m_parser, value, dim);
+      }
+    }
+  }
+
+  /**
+   * Check a floating point value against the bounds of a dimension and
+   * encode it in the same way as {@link _LongEncodedDataPoint}. Values
+   * for integer dimensions must be integral.
+   *
+   * @param dim
+   *          the dimension
+   * @param value
+   *          the value
+   * @return the encoded value
+   */
+  static final long _encode(final Dimension dim, final double value) {
+    final float f;
+    final long l;
+
+    switch (dim.m_primitiveType) {
+      case FLOAT: {
+        f = ((float) value);
+        _RowParser.__checkDouble(dim.m_parser, f, dim);
+        return Float.floatToIntBits(f);
+      }
+      case DOUBLE: {
+        _RowParser.__checkDouble(dim.m_parser, value, dim);
+        return Double.doubleToLongBits(value);
+      }
+      default: {
+        l = ((long) value);
+        if (l != value) {
+          throw new IllegalArgumentException(//
+              "Value " + value + //$NON-NLS-1$
+                  " is not a valid integer for dimension " + dim); //$NON-NLS-1$
+        }
+        return _RowParser.__checkLong(dim.m_parser, l, dim);
+      }
+    }
+  }
+
+  /**
+   * Create a string for the fallback parsers.
+   *
+   * @param chars
+   *          the characters
+   * @param start
+   *          the start index
+   * @param end
+   *          the exclusive end index
+   * @return the string
+   */
+  private static final String __string(final CharSequence chars,
+      final int start, final int end) {
+    return chars.subSequence(start, end).toString();
+  }
+
+  /**
+   * Make sure that an integer value is within the bounds of a parser
+   *
+   * @param parser
+   *          the parser
+   * @param value
+   *          the value
+   * @param dim
+   *          the dimension
+   * @return the value
+   */
+  private static final long __checkLong(final NumberParser<Number> parser,
+      final long value, final Dimension dim) {
+    if ((value < parser.getLowerBoundLong())
+        || (value > parser.getUpperBoundLong())) {
+      throw new IllegalArgumentException(//
+          "Value " + value + //$NON-NLS-1$
+              " is outside of the range [" + //$NON-NLS-1$
+              parser.getLowerBoundLong() + ',' + parser.getUpperBoundLong()
+              + "] of dimension " + dim); //$NON-NLS-1$
+    }
+    return value;
+  }
+
+  /**
+   * Make sure that a floating point value is within the bounds of a
+   * parser
+   *
+   * @param parser
+   *          the parser
+   * @param value
+   *          the value
+   * @param dim
+   *          the dimension
+   */
+  private static final void __checkDouble(
+      final NumberParser<Number> parser, final double value,
+      final Dimension dim) {
+    if ((value < parser.getLowerBoundDouble())
+        || (value > parser.getUpperBoundDouble())) {
+      throw new IllegalArgumentException(//
+          "Value " + value + //$NON-NLS-1$
+              " is outside of the range [" + //$NON-NLS-1$
+              parser.getLowerBoundDouble() + ','
+              + parser.getUpperBoundDouble() + "] of dimension " + dim); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Parse a plain decimal integer, i.e., an optional sign followed by at
+   * most {@link #MAX_LONG_DIGITS} digits.
+   *
+   * @param chars
+   *          the characters
+   * @param start
+   *          the start index
+   * @param end
+   *          the exclusive end index
+   * @return the value, or {@link Long#MIN_VALUE} if the text is not a
+   *         plain decimal integer
+   */
+  private static final long __parseLong(final CharSequence chars,
+      final int start, final int end) {
+    boolean negative;
+    long value;
+    int i;
+    char ch;
+
+    i = start;
+    negative = false;
+    ch = chars.charAt(i);
+    if ((ch == '-') || (ch == '+')) {
+      negative = (ch == '-');
+      i++;
+    }
+    if ((i >= end) || ((end - i) > _RowParser.MAX_LONG_DIGITS)) {
+      return Long.MIN_VALUE;
+    }
+
+    value = 0L;
+    for (; i < end; i++) {
+      ch = chars.charAt(i);
+      if ((ch < '0') || (ch > '9')) {
+        return Long.MIN_VALUE;
+      }
+      value = ((value * 10L) + (ch - '0'));
+    }
+    return (negative ? (-value) : value);
+  }
+
+  /**
+   * Parse a plain decimal number, i.e., an optional sign, digits with an
+   * optional decimal point, and an optional exponent. Only numbers which
+   * can be converted exactly with one floating point operation are
+   * handled, so the result is always correctly rounded.
+   *
+   * @param chars
+   *          the characters
+   * @param start
+   *          the start index
+   * @param end
+   *          the exclusive end index
+   * @param isFloat
+   *          {@code true} if the number should be rounded to
+   *          {@code float}, {@code false} for {@code double}
+   * @return the value, or {@link Double#NaN} if the fallback parser must
+   *         be used
+   */
+  private static final double __parseDecimal(final CharSequence chars,
+      final int start, final int end, final boolean isFloat) {
+    boolean negative, negativeExponent, hasDigits, dot;
+    long mantissa;
+    int i, digits, exponent, scale;
+    char ch;
+
+    i = start;
+    negative = false;
+    ch = chars.charAt(i);
+    if ((ch == '-') || (ch == '+')) {
+      negative = (ch == '-');
+      i++;
+    }
+
+    mantissa = 0L;
+    digits = 0;
+    scale = 0;
+    hasDigits = false;
+    dot = false;
+    for (; i < end; i++) {
+      ch = chars.charAt(i);
+      if ((ch >= '0') && (ch <= '9')) {
+        hasDigits = true;
+        if ((mantissa != 0L) || (ch != '0')) {
+          if ((++digits) > _RowParser.MAX_DOUBLE_DIGITS) {
+            return Double.NaN;
+          }
+          mantissa = ((mantissa * 10L) + (ch - '0'));
+        }
+        if (dot) {
+          scale--;
+        }
+        continue;
+      }
+      if ((ch == '.') && (!dot)) {
+        dot = true;
+        continue;
+      }
+      break;
+    }
+    if (!hasDigits) {
+      return Double.NaN;
+    }
+
+    exponent = 0;
+    if (i < end) {
+      ch = chars.charAt(i);
+      if (((ch != 'e') && (ch != 'E')) || ((++i) >= end)) {
+        return Double.NaN;
+      }
+      negativeExponent = false;
+      ch = chars.charAt(i);
+      if ((ch == '-') || (ch == '+')) {
+        negativeExponent = (ch == '-');
+        if ((++i) >= end) {
+          return Double.NaN;
+        }
+      }
+      if ((end - i) > 4) {
+        return Double.NaN;
+      }
+      for (; i < end; i++) {
+        ch = chars.charAt(i);
+        if ((ch < '0') || (ch > '9')) {
+          return Double.NaN;
+        }
+        exponent = ((exponent * 10) + (ch - '0'));
+      }
+      if (negativeExponent) {
+        exponent = (-exponent);
+      }
+    }
+
+    if (mantissa == 0L) {
+      return (negative ? (-0d) : 0d);
+    }
+    if (negative) {
+      mantissa = (-mantissa);
+    }
+    exponent += scale;
+
+    if (isFloat) {
+      if ((Math.abs(mantissa) > _RowParser.MAX_FLOAT_MANTISSA)
+          || (Math.abs(exponent) >= _RowParser.FLOAT_POWERS.length)) {
+        return Double.NaN;
+      }
+      return ((exponent >= 0)
+          ? (mantissa * _RowParser.FLOAT_POWERS[exponent])
+          : (mantissa / _RowParser.FLOAT_POWERS[-exponent]));
+    }
+
+    if (Math.abs(exponent) >= _RowParser.DOUBLE_POWERS.length) {
+      return Double.NaN;
+    }
+    return ((exponent >= 0)
+        ? (mantissa * _RowParser.DOUBLE_POWERS[exponent])
+        : (mantissa / _RowParser.DOUBLE_POWERS[-exponent]));
+  }
+}
@@ -7,6 +7,7 @@ import org.optimizationBenchmarking.evaluator.data.spec.IInstance;
 import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
 
 /**
  * A shadow instance run set is basically a shadow of another instance run
@@ -53,6 +54,15 @@ public class ShadowInstanceRuns extends //
     return this.m_instance;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    for (final IRun run : this.getData()) {
+      run.aggregateColumn(column, aggregate);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   final boolean _canDelegateAttributesTo(final IInstanceRuns shadow) {
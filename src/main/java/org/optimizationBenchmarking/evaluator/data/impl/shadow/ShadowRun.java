@@ -5,6 +5,7 @@ import java.util.Iterator;
 import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
 import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
@@ -134,4 +135,65 @@ public class ShadowRun extends _ShadowDataElement<IInstanceRuns, IRun>
     return this.m_shadowUnpacked.find(column, value);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void findRows(final int column, final double[] values,
+      final int[] rows) {
+    this.m_shadowUnpacked.findRows(column, values, rows);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void findRows(final int column, final long[] values,
+      final int[] rows) {
+    this.m_shadowUnpacked.findRows(column, values, rows);
+  }
+
+  /**
+   * Get a view of the shadowed run which belongs to the same owner as
+   * this shadow, or this shadow if the view contains the whole shadowed
+   * run
+   *
+   * @param view
+   *          the view of the shadowed run
+   * @return the view
+   */
+  private final IRun __view(final IRun view) {
+    if (view == this.m_shadowUnpacked) {
+      return this;
+    }
+    return new ShadowRun(this.m_owner, view);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRun subRun(final int column, final double from,
+      final double to) {
+    return this.__view(this.m_shadowUnpacked.subRun(column, from, to));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRun subRun(final int column, final long from,
+      final long to) {
+    return this.__view(this.m_shadowUnpacked.subRun(column, from, to));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRun truncate(final int column, final double limit) {
+    return this.__view(this.m_shadowUnpacked.truncate(column, limit));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRun truncate(final int column, final long limit) {
+    return this.__view(this.m_shadowUnpacked.truncate(column, limit));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IRunCursor cursor() {
+    return this.m_shadowUnpacked.cursor();
+  }
 }
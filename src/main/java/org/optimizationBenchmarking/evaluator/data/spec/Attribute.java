@@ -1,5 +1,9 @@
 package org.optimizationBenchmarking.evaluator.data.spec;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
@@ -17,7 +21,7 @@ import org.optimizationBenchmarking.utils.text.TextUtils;
  * <p>
  * Depending on their {@link #m_type type}, attributes may be cached
  * internally. In this case, the attribute instance also serves as key to a
- * {@link java.util.HashMap hash map}-based cache.
+ * {@link java.util.concurrent.ConcurrentHashMap hash map}-based cache.
  * </p>
  *
  * @param <ST>
@@ -57,6 +61,59 @@ public abstract class Attribute<ST extends IDataElement, RT> {
    */
   protected abstract RT compute(final ST data, final Logger logger);
 
+  /**
+   * Get the approximate memory consumption of a value of this attribute.
+   * This is used by the {@link AttributeCache} to decide when
+   * {@link EAttributeType#TEMPORARILY_STORED temporarily stored} values
+   * need to be evicted. By default, the size is
+   * {@link AttributeCache#estimateSize(Object) estimated}, but attributes
+   * which know the size of their values better may override this method.
+   *
+   * @param value
+   *          the value computed by this attribute
+   * @return the approximate size of {@code value} in bytes
+   */
+  protected long getApproximateSize(final RT value) {
+    return AttributeCache.estimateSize(value);
+  }
+
+  /**
+   * Get the serializer for the values of this attribute. Attributes which
+   * return a serializer here (and a non-{@code null}
+   * {@link #getPersistentKey() persistent key}) can be kept in the
+   * {@link AttributeStore} across evaluator runs. By default, this method
+   * returns {@code null}, i.e., values are not stored on disk.
+   *
+   * @return the serializer, or {@code null} if values of this attribute
+   *         should not be stored on disk
+   */
+  protected IAttributeSerializer<RT> getSerializer() {
+    return null;
+  }
+
+  /**
+   * Get the key identifying this attribute in the {@link AttributeStore}.
+   * Two attributes must have the same key if and only if they are
+   * {@link #equals(Object) equal}. By default, the class name is returned
+   * if this class does not override {@link #equals(Object)}, and
+   * {@code null} otherwise: Attributes with parameters must override this
+   * method and include their parameters in the key in order to be stored.
+   *
+   * @return the key, or {@code null} if values of this attribute should
+   *         not be stored on disk
+   */
+  protected String getPersistentKey() {
+    try {
+      if (this.getClass().getMethod("equals", Object.class) //$NON-NLS-1$
+          .getDeclaringClass() == Attribute.class) {
+        return this.getClass().getName();
+      }
+    } catch (final NoSuchMethodException error) {
+      // cannot happen
+    }
+    return null;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean equals(final Object o) {
@@ -124,6 +181,139 @@ public abstract class Attribute<ST extends IDataElement, RT> {
     throw this.__throw(data);
   }
 
+  /**
+   * Collect the elements to compute the attribute for
+   *
+   * @param data
+   *          the elements
+   * @return the list of elements
+   */
+  private final ArrayList<ST> __collect(final Iterable<? extends ST> data) {
+    final ArrayList<ST> list;
+
+    if (data == null) {
+      throw new IllegalArgumentException(//
+          "Collection of data elements must not be null."); //$NON-NLS-1$
+    }
+    list = new ArrayList<>();
+    for (final ST element : data) {
+      if (!(element instanceof DataElement)) {
+        throw this.__throw(element);
+      }
+      list.add(element);
+    }
+    return list;
+  }
+
+  /**
+   * Compute the value of this attribute for all given data elements in
+   * parallel. The computations are distributed over a shared fork-join
+   * pool whose parallelism is bounded by the number of available
+   * processors. Cached values are re-used and newly computed ones are
+   * cached according to the {@link #m_type type} of this attribute. If any
+   * computation fails, the error for the first failing element is thrown
+   * after all computations have finished.
+   *
+   * @param data
+   *          the data elements
+   * @param logger
+   *          the logger to use, or {@code null} if no logging information
+   *          should be created
+   * @return an unmodifiable list with the values, in the order of the
+   *         elements in {@code data}
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public final List<RT> computeAll(final Iterable<? extends ST> data,
+      final Logger logger) {
+    final ArrayList<ST> list;
+
+    list = this.__collect(data);
+    if (list.size() <= 1) {
+      if (list.isEmpty()) {
+        return Collections.emptyList();
+      }
+      return Collections.singletonList(this.get(list.get(0), logger));
+    }
+    return Collections.unmodifiableList((List) (Arrays.asList(
+        _BulkAttributeComputation._compute(this, list, logger, true))));
+  }
+
+  /**
+   * Make sure that the value of this attribute is cached for all given
+   * data elements by computing the missing values in parallel, as in
+   * {@link #computeAll(Iterable, Logger)}. For
+   * {@link EAttributeType#NEVER_STORED never stored} attributes, this
+   * method does nothing.
+   *
+   * @param data
+   *          the data elements
+   * @param logger
+   *          the logger to use, or {@code null} if no logging information
+   *          should be created
+   */
+  public final void prefetch(final Iterable<? extends ST> data,
+      final Logger logger) {
+    final ArrayList<ST> list;
+
+    if (!(this.m_type.m_store)) {
+      return;
+    }
+    list = this.__collect(data);
+    if (!(list.isEmpty())) {
+      _BulkAttributeComputation._compute(this, list, logger, false);
+    }
+  }
+
+  /**
+   * Make sure that the value of this attribute is cached for all elements
+   * of the given type in an experiment set, i.e., the set itself, its
+   * experiments, their instance runs, and their runs, as in
+   * {@link #prefetch(Iterable, Logger)}.
+   *
+   * @param experimentSet
+   *          the experiment set
+   * @param type
+   *          the type of the elements to compute the attribute for, e.g.,
+   *          {@code IExperiment.class} or {@code IRun.class}
+   * @param logger
+   *          the logger to use, or {@code null} if no logging information
+   *          should be created
+   */
+  public final void prefetch(final IExperimentSet experimentSet,
+      final Class<? extends ST> type, final Logger logger) {
+    final ArrayList<ST> list;
+
+    if ((experimentSet == null) || (type == null)) {
+      throw new IllegalArgumentException(//
+          "Experiment set and element type must not be null."); //$NON-NLS-1$
+    }
+    if (!(this.m_type.m_store)) {
+      return;
+    }
+
+    list = new ArrayList<>();
+    if (type.isInstance(experimentSet)) {
+      list.add(type.cast(experimentSet));
+    }
+    for (final IExperiment experiment : experimentSet.getData()) {
+      if (type.isInstance(experiment)) {
+        list.add(type.cast(experiment));
+      }
+      for (final IInstanceRuns runs : experiment.getData()) {
+        if (type.isInstance(runs)) {
+          list.add(type.cast(runs));
+        }
+        for (final IRun run : runs.getData()) {
+          if (type.isInstance(run)) {
+            list.add(type.cast(run));
+          }
+        }
+      }
+    }
+
+    this.prefetch(list, logger);
+  }
+
   /** a job which can load the value of the current attribute */
   public final class AttributeGetter implements Callable<RT> {
     /** the data to load the attribute from */
@@ -0,0 +1,403 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * <p>
+ * The global cache for the values of
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.EAttributeType#TEMPORARILY_STORED
+ * temporarily stored} attributes of all
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.DataElement}s.
+ * The cache has a budget in bytes. Whenever the approximate total size of
+ * the cached values exceeds this budget, the least recently used values
+ * are evicted until it fits again. Evicted values are re-computed when
+ * their attribute is accessed the next time.
+ * </p>
+ * <p>
+ * Recency is tracked with the clock algorithm: Accessing a cached value
+ * only sets a flag and does not need any lock, while the eviction sweeps
+ * over all values, clearing the flags and evicting the values whose flag
+ * was not set.
+ * </p>
+ * <p>
+ * The cache holds the values strongly, so the garbage collector never
+ * drops them and only the budget decides which values are evicted. The
+ * data elements owning the values are only referenced
+ * {@link java.lang.ref.WeakReference weakly}, though. Once a data element
+ * has been discarded, e.g., together with its experiment set, its values
+ * are removed from the cache and count as evicted. A value which itself
+ * references its data element keeps it alive until it is evicted.
+ * </p>
+ * <p>
+ * The default budget is a quarter of the maximum heap size and can be set
+ * via the system property {@link #BUDGET_PROPERTY} or
+ * {@link #setBudget(long)}.
+ * </p>
+ */
+public final class AttributeCache {
+
+  /** the system property defining the cache budget in bytes */
+  public static final String BUDGET_PROPERTY = "org.optimizationBenchmarking.evaluator.attributeCacheBudget"; //$NON-NLS-1$
+
+  /** the size assumed for objects we cannot estimate */
+  private static final long OBJECT_SIZE = 16L;
+
+  /** the size of a reference */
+  private static final long REFERENCE_SIZE = 8L;
+
+  /** the maximum depth up to which nested objects are estimated */
+  private static final int MAX_DEPTH = 3;
+
+  /** the cached values */
+  private final ArrayList<_CachedAttribute> m_entries;
+
+  /** the queue of entries whose owners have been garbage collected */
+  private final ReferenceQueue<Object> m_collected;
+
+  /** the position of the clock hand */
+  private int m_hand;
+
+  /** the budget in bytes */
+  private volatile long m_budget;
+
+  /** the approximate size of all cached values in bytes */
+  private volatile long m_size;
+
+  /** the number of stored values */
+  private final AtomicLong m_stores;
+
+  /** the number of evicted values */
+  private final AtomicLong m_evictions;
+
+  /** create */
+  AttributeCache() {
+    super();
+
+    long budget;
+
+    this.m_entries = new ArrayList<>();
+    this.m_collected = new ReferenceQueue<>();
+    this.m_stores = new AtomicLong();
+    this.m_evictions = new AtomicLong();
+
+    budget = (Runtime.getRuntime().maxMemory() >>> 2);
+    try {
+      budget = Long.getLong(AttributeCache.BUDGET_PROPERTY, budget)
+          .longValue();
+    } catch (final SecurityException ignore) {
+      // use the default budget
+    }
+    this.m_budget = Math.max(0L, budget);
+  }
+
+  /**
+   * Get the global attribute cache
+   *
+   * @return the global attribute cache
+   */
+  public static final AttributeCache getInstance() {
+    return __AttributeCacheHolder.INSTANCE;
+  }
+
+  /**
+   * Get the budget of this cache
+   *
+   * @return the budget of this cache in bytes
+   */
+  public final long getBudget() {
+    return this.m_budget;
+  }
+
+  /**
+   * Set the budget of this cache. If the cached values exceed the new
+   * budget, the least recently used ones are evicted immediately.
+   *
+   * @param budget
+   *          the new budget in bytes
+   */
+  public final void setBudget(final long budget) {
+    if (budget < 0L) {
+      throw new IllegalArgumentException(//
+          "Cache budget must not be negative, but is " + budget); //$NON-NLS-1$
+    }
+    synchronized (this) {
+      this.m_budget = budget;
+      this.__purge();
+      this.__evict();
+    }
+  }
+
+  /**
+   * Get the approximate size of all cached values
+   *
+   * @return the approximate size of all cached values in bytes
+   */
+  public synchronized final long getSize() {
+    this.__purge();
+    return this.m_size;
+  }
+
+  /**
+   * Get the number of cached values
+   *
+   * @return the number of cached values
+   */
+  public synchronized final int getCount() {
+    this.__purge();
+    return this.m_entries.size();
+  }
+
+  /**
+   * Get the number of values stored in the cache, i.e., the number of
+   * times an attribute had to be computed
+   *
+   * @return the number of stored values
+   */
+  public final long getStoreCount() {
+    return this.m_stores.get();
+  }
+
+  /**
+   * Get the number of values evicted from the cache
+   *
+   * @return the number of evicted values
+   */
+  public final long getEvictionCount() {
+    return this.m_evictions.get();
+  }
+
+  /** Evict all values from this cache. */
+  public synchronized final void clear() {
+    this.__purge();
+    for (final _CachedAttribute entry : this.m_entries) {
+      entry.m_index = (-1);
+      entry.m_value = null;
+    }
+    this.m_evictions.addAndGet(this.m_entries.size());
+    this.m_entries.clear();
+    this.m_hand = 0;
+    this.m_size = 0L;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((((((("AttributeCache: " + this.getCount()) + //$NON-NLS-1$
+        " values with ") + this.m_size) + //$NON-NLS-1$
+        " of ") + this.m_budget) + //$NON-NLS-1$
+        " bytes, ") + this.getStoreCount()) + //$NON-NLS-1$
+        " stores, ") + this.getEvictionCount()) + " evictions"; //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /**
+   * Store a value in the cache
+   *
+   * @param owner
+   *          the data element owning the value
+   * @param value
+   *          the value
+   * @param size
+   *          the approximate size of the value in bytes
+   * @return the cache entry
+   */
+  final _CachedAttribute _store(final DataElement owner,
+      final Object value, final long size) {
+    final _CachedAttribute entry;
+
+    entry = new _CachedAttribute(owner, value, Math.max(0L, size),
+        this.m_collected);
+    this.m_stores.incrementAndGet();
+    synchronized (this) {
+      this.__purge();
+      entry.m_index = this.m_entries.size();
+      this.m_entries.add(entry);
+      this.m_size += entry.m_size;
+      this.__evict();
+    }
+    return entry;
+  }
+
+  /**
+   * Remove an entry from the list of cached values by replacing it with
+   * the last one
+   *
+   * @param entry
+   *          the entry
+   */
+  private final void __remove(final _CachedAttribute entry) {
+    final ArrayList<_CachedAttribute> entries;
+    final _CachedAttribute moved;
+    final int index, last;
+
+    index = entry.m_index;
+    entries = this.m_entries;
+    last = (entries.size() - 1);
+    moved = entries.remove(last);
+    if (index < last) {
+      entries.set(index, moved);
+      moved.m_index = index;
+    }
+    entry.m_index = (-1);
+    entry.m_value = null;
+    this.m_size -= entry.m_size;
+    this.m_evictions.incrementAndGet();
+  }
+
+  /**
+   * remove the entries whose owners have been collected by the garbage
+   * collector
+   */
+  private final void __purge() {
+    Reference<?> reference;
+    _CachedAttribute entry;
+
+    while ((reference = this.m_collected.poll()) != null) {
+      entry = ((_CachedAttribute) reference);
+      if (entry.m_index >= 0) {
+        this.__remove(entry);
+      }
+    }
+  }
+
+  /** evict values until the cache fits into its budget */
+  private final void __evict() {
+    final ArrayList<_CachedAttribute> entries;
+    _CachedAttribute entry;
+    int hand;
+
+    entries = this.m_entries;
+    hand = this.m_hand;
+    while ((this.m_size > this.m_budget) && (!(entries.isEmpty()))) {
+      if (hand >= entries.size()) {
+        hand = 0;
+      }
+      entry = entries.get(hand);
+      if (entry.m_used) {
+        entry.m_used = false;
+        hand++;
+        continue;
+      }
+
+      // evict the entry by replacing it with the last one
+      this.__remove(entry);
+    }
+    this.m_hand = hand;
+  }
+
+  /**
+   * Estimate the memory consumption of an object in bytes. This method
+   * knows arrays, {@link java.lang.CharSequence}s,
+   * {@link java.util.Collection}s, {@link java.util.Map}s, and
+   * {@link org.optimizationBenchmarking.utils.math.matrix.IMatrix
+   * matrices} and looks into nested objects up to a small depth.
+   *
+   * @param object
+   *          the object
+   * @return the approximate size of the object in bytes
+   */
+  public static final long estimateSize(final Object object) {
+    return AttributeCache.__estimateSize(object, 0);
+  }
+
+  /**
+   * Estimate the memory consumption of an object in bytes
+   *
+   * @param object
+   *          the object
+   * @param depth
+   *          the current depth
+   * @return the approximate size of the object in bytes
+   */
+  private static final long __estimateSize(final Object object,
+      final int depth) {
+    long size;
+
+    if (object == null) {
+      return 0L;
+    }
+    if (object instanceof double[]) {
+      return (AttributeCache.OBJECT_SIZE
+          + (((double[]) object).length << 3));
+    }
+    if (object instanceof long[]) {
+      return (AttributeCache.OBJECT_SIZE + (((long[]) object).length << 3));
+    }
+    if (object instanceof int[]) {
+      return (AttributeCache.OBJECT_SIZE + (((int[]) object).length << 2));
+    }
+    if (object instanceof float[]) {
+      return (AttributeCache.OBJECT_SIZE
+          + (((float[]) object).length << 2));
+    }
+    if (object instanceof char[]) {
+      return (AttributeCache.OBJECT_SIZE + (((char[]) object).length << 1));
+    }
+    if (object instanceof short[]) {
+      return (AttributeCache.OBJECT_SIZE
+          + (((short[]) object).length << 1));
+    }
+    if (object instanceof byte[]) {
+      return (AttributeCache.OBJECT_SIZE + ((byte[]) object).length);
+    }
+    if (object instanceof boolean[]) {
+      return (AttributeCache.OBJECT_SIZE + ((boolean[]) object).length);
+    }
+    if (object instanceof CharSequence) {
+      return ((AttributeCache.OBJECT_SIZE << 1)
+          + (((CharSequence) object).length() << 1));
+    }
+    if (object instanceof IMatrix) {
+      return ((AttributeCache.OBJECT_SIZE << 1)
+          + ((((long) (((IMatrix) object).m()))
+              * ((IMatrix) object).n()) << 3));
+    }
+    if (object instanceof Object[]) {
+      size = (AttributeCache.OBJECT_SIZE
+          + (((Object[]) object).length * AttributeCache.REFERENCE_SIZE));
+      if (depth < AttributeCache.MAX_DEPTH) {
+        for (final Object element : ((Object[]) object)) {
+          size += AttributeCache.__estimateSize(element, (depth + 1));
+        }
+      }
+      return size;
+    }
+    if (object instanceof Collection) {
+      size = ((AttributeCache.OBJECT_SIZE << 1) + (((Collection<?>) object)
+          .size() * (AttributeCache.REFERENCE_SIZE << 1)));
+      if (depth < AttributeCache.MAX_DEPTH) {
+        for (final Object element : ((Collection<?>) object)) {
+          size += AttributeCache.__estimateSize(element, (depth + 1));
+        }
+      }
+      return size;
+    }
+    if (object instanceof Map) {
+      size = ((AttributeCache.OBJECT_SIZE << 2) + (((Map<?, ?>) object)
+          .size() * (AttributeCache.OBJECT_SIZE << 1)));
+      if (depth < AttributeCache.MAX_DEPTH) {
+        for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object)
+            .entrySet()) {
+          size += AttributeCache.__estimateSize(entry.getKey(),
+              (depth + 1));
+          size += AttributeCache.__estimateSize(entry.getValue(),
+              (depth + 1));
+        }
+      }
+      return size;
+    }
+    return AttributeCache.OBJECT_SIZE;
+  }
+
+  /** the holder of the global attribute cache */
+  private static final class __AttributeCacheHolder {
+    /** the global attribute cache */
+    static final AttributeCache INSTANCE = new AttributeCache();
+  }
+}
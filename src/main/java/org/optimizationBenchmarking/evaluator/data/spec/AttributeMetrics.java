@@ -0,0 +1,305 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * The default, in-memory {@link IAttributeMetricsSink}, which counts the
+ * hits, waits for other threads, misses, re-computations, loads, and
+ * computations as well as the total waiting, loading, and computation
+ * time per {@link Attribute} class. It can be
+ * {@link #dump(Logger) written} to a logger, e.g., at the end of an
+ * evaluation, in order to find the attributes dominating the runtime.
+ * </p>
+ * <p>
+ * No metrics are collected unless a sink is installed via
+ * {@link #setSink(IAttributeMetricsSink)}. Setting the system property
+ * {@link #ENABLE_PROPERTY} to {@code true} installs the
+ * {@link #getRegistry() default registry} from the start.
+ * </p>
+ */
+public final class AttributeMetrics implements IAttributeMetricsSink {
+
+  /** the system property enabling the default registry */
+  public static final String ENABLE_PROPERTY = "org.optimizationBenchmarking.evaluator.attributeMetrics"; //$NON-NLS-1$
+
+  /** the currently installed sink, or {@code null} if there is none */
+  private static volatile IAttributeMetricsSink s_sink = AttributeMetrics
+      .__defaultSink();
+
+  /** the counters per attribute class */
+  private final ConcurrentHashMap<Class<?>, __Counters> m_counters;
+
+  /** create */
+  AttributeMetrics() {
+    super();
+    this.m_counters = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get the sink to install initially
+   *
+   * @return the sink to install initially
+   */
+  private static final IAttributeMetricsSink __defaultSink() {
+    try {
+      if (Boolean.getBoolean(AttributeMetrics.ENABLE_PROPERTY)) {
+        return AttributeMetrics.getRegistry();
+      }
+    } catch (final SecurityException ignore) {
+      // metrics remain disabled
+    }
+    return null;
+  }
+
+  /**
+   * Get the default, in-memory metrics registry
+   *
+   * @return the default metrics registry
+   */
+  public static final AttributeMetrics getRegistry() {
+    return __AttributeMetricsHolder.INSTANCE;
+  }
+
+  /**
+   * Get the currently installed metrics sink
+   *
+   * @return the currently installed metrics sink, or {@code null} if no
+   *         metrics are collected
+   */
+  public static final IAttributeMetricsSink getSink() {
+    return AttributeMetrics.s_sink;
+  }
+
+  /**
+   * Install a metrics sink
+   *
+   * @param sink
+   *          the sink, e.g., the {@link #getRegistry() default registry},
+   *          or {@code null} to stop collecting metrics
+   */
+  public static final void setSink(final IAttributeMetricsSink sink) {
+    AttributeMetrics.s_sink = sink;
+  }
+
+  /**
+   * Get the counters for an attribute
+   *
+   * @param attribute
+   *          the attribute
+   * @return the counters
+   */
+  private final __Counters __counters(final Attribute<?, ?> attribute) {
+    final Class<?> clazz;
+    __Counters counters, old;
+
+    clazz = attribute.getClass();
+    counters = this.m_counters.get(clazz);
+    if (counters == null) {
+      counters = new __Counters(clazz);
+      old = this.m_counters.putIfAbsent(clazz, counters);
+      if (old != null) {
+        return old;
+      }
+    }
+    return counters;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void hit(final Attribute<?, ?> attribute) {
+    this.__counters(attribute).m_hits.incrementAndGet();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void waited(final Attribute<?, ?> attribute,
+      final long nanos) {
+    final __Counters counters;
+
+    counters = this.__counters(attribute);
+    counters.m_waits.incrementAndGet();
+    counters.m_waitNanos.addAndGet(nanos);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void miss(final Attribute<?, ?> attribute,
+      final boolean evicted) {
+    final __Counters counters;
+
+    counters = this.__counters(attribute);
+    counters.m_misses.incrementAndGet();
+    if (evicted) {
+      counters.m_recomputations.incrementAndGet();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void loaded(final Attribute<?, ?> attribute,
+      final long nanos) {
+    final __Counters counters;
+
+    counters = this.__counters(attribute);
+    counters.m_loads.incrementAndGet();
+    counters.m_loadNanos.addAndGet(nanos);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void computed(final Attribute<?, ?> attribute,
+      final long nanos) {
+    final __Counters counters;
+
+    counters = this.__counters(attribute);
+    counters.m_computations.incrementAndGet();
+    counters.m_computeNanos.addAndGet(nanos);
+  }
+
+  /** Reset all counters. */
+  public final void clear() {
+    this.m_counters.clear();
+  }
+
+  /**
+   * Write the collected metrics to a logger, one line per attribute
+   * class, sorted by decreasing total computation time
+   *
+   * @param logger
+   *          the logger, or {@code null} if nothing should be written
+   */
+  public final void dump(final Logger logger) {
+    if ((logger != null) && (logger.isLoggable(Level.INFO))) {
+      logger.info(this.toString());
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    final ArrayList<__Counters> list;
+    final StringBuilder sb;
+
+    list = new ArrayList<>(this.m_counters.values());
+    Collections.sort(list, __Counters.BY_COMPUTE_TIME);
+
+    sb = new StringBuilder();
+    sb.append("Attribute metrics (class: hits, waits, wait ms, misses, recomputations, loads, load ms, computations, compute ms):"); //$NON-NLS-1$
+    for (final __Counters counters : list) {
+      sb.append(System.lineSeparator());
+      sb.append(counters.m_class.getName());
+      sb.append(':');
+      sb.append(' ');
+      sb.append(counters.m_hits.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_waits.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_waitNanos.get() / 1000000L);
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_misses.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_recomputations.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_loads.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_loadNanos.get() / 1000000L);
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_computations.get());
+      sb.append(',');
+      sb.append(' ');
+      sb.append(counters.m_computeNanos.get() / 1000000L);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Get a snapshot of the number of computations per attribute class
+   *
+   * @return the number of computations per attribute class
+   */
+  public final Map<Class<?>, Long> getComputationCounts() {
+    final HashMap<Class<?>, Long> map;
+
+    map = new HashMap<>();
+    for (final __Counters counters : this.m_counters.values()) {
+      map.put(counters.m_class,
+          Long.valueOf(counters.m_computations.get()));
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+  /** the counters for one attribute class */
+  private static final class __Counters {
+
+    /** compare counters by decreasing computation time */
+    static final Comparator<__Counters> BY_COMPUTE_TIME = new Comparator<__Counters>() {
+      @Override
+      public final int compare(final __Counters a, final __Counters b) {
+        return Long.compare(b.m_computeNanos.get(), a.m_computeNanos.get());
+      }
+    };
+
+    /** the attribute class */
+    final Class<?> m_class;
+    /** the hits */
+    final AtomicLong m_hits;
+    /** the waits for other threads */
+    final AtomicLong m_waits;
+    /** the time spent waiting for other threads */
+    final AtomicLong m_waitNanos;
+    /** the misses */
+    final AtomicLong m_misses;
+    /** the re-computations of evicted values */
+    final AtomicLong m_recomputations;
+    /** the loads from the store */
+    final AtomicLong m_loads;
+    /** the time spent loading from the store */
+    final AtomicLong m_loadNanos;
+    /** the computations */
+    final AtomicLong m_computations;
+    /** the time spent computing */
+    final AtomicLong m_computeNanos;
+
+    /**
+     * create
+     *
+     * @param clazz
+     *          the attribute class
+     */
+    __Counters(final Class<?> clazz) {
+      super();
+      this.m_class = clazz;
+      this.m_hits = new AtomicLong();
+      this.m_waits = new AtomicLong();
+      this.m_waitNanos = new AtomicLong();
+      this.m_misses = new AtomicLong();
+      this.m_recomputations = new AtomicLong();
+      this.m_loads = new AtomicLong();
+      this.m_loadNanos = new AtomicLong();
+      this.m_computations = new AtomicLong();
+      this.m_computeNanos = new AtomicLong();
+    }
+  }
+
+  /** the holder of the default registry */
+  private static final class __AttributeMetricsHolder {
+    /** the default registry */
+    static final AttributeMetrics INSTANCE = new AttributeMetrics();
+  }
+}
@@ -0,0 +1,379 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * An optional store which keeps the values of attributes on disk, so that
+ * they do not need to be re-computed when the same data is evaluated again
+ * in a later run of the evaluator. Only attributes which provide a
+ * {@link Attribute#getSerializer() serializer} and a
+ * {@link Attribute#getPersistentKey() persistent key} take part.
+ * </p>
+ * <p>
+ * A value is stored under a key built from a fingerprint of the content
+ * of the data element, the persistent key of the attribute, and the
+ * {@link IAttributeSerializer#getVersion() version} of its serializer. If
+ * the data changes, its fingerprint changes too and the stored value is no
+ * longer found. The store is disabled unless a directory is set, either
+ * via the system property {@link #DIRECTORY_PROPERTY} or via
+ * {@link #setDirectory(Path)}. Problems with the store are logged and
+ * otherwise ignored: The attribute is then simply computed.
+ * </p>
+ */
+public final class AttributeStore {
+
+  /** the system property defining the store directory */
+  public static final String DIRECTORY_PROPERTY = "org.optimizationBenchmarking.evaluator.attributeStore"; //$NON-NLS-1$
+
+  /** the magic number at the start of each file */
+  private static final int MAGIC = 0x4f424154;
+
+  /** the file suffix */
+  private static final String SUFFIX = ".attr"; //$NON-NLS-1$
+
+  /** the hash algorithm for the file names */
+  private static final String ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+  /** the hexadecimal digits */
+  private static final char[] HEX = { '0', '1', '2', '3', '4', '5', '6',
+      '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+  /** the store directory, or {@code null} if the store is disabled */
+  private volatile Path m_directory;
+
+  /** the number of values loaded from the store */
+  private final AtomicLong m_loads;
+
+  /** the number of values not found in the store */
+  private final AtomicLong m_misses;
+
+  /** the number of values written to the store */
+  private final AtomicLong m_writes;
+
+  /** create */
+  AttributeStore() {
+    super();
+
+    String dir;
+
+    this.m_loads = new AtomicLong();
+    this.m_misses = new AtomicLong();
+    this.m_writes = new AtomicLong();
+
+    try {
+      dir = System.getProperty(AttributeStore.DIRECTORY_PROPERTY);
+      if ((dir != null) && (!(dir.trim().isEmpty()))) {
+        this.m_directory = Paths.get(dir.trim()).toAbsolutePath();
+      }
+    } catch (final SecurityException | InvalidPathException ignore) {
+      // the store remains disabled
+    }
+  }
+
+  /**
+   * Get the global attribute store
+   *
+   * @return the global attribute store
+   */
+  public static final AttributeStore getInstance() {
+    return __AttributeStoreHolder.INSTANCE;
+  }
+
+  /**
+   * Get the store directory
+   *
+   * @return the store directory, or {@code null} if the store is disabled
+   */
+  public final Path getDirectory() {
+    return this.m_directory;
+  }
+
+  /**
+   * Set the store directory
+   *
+   * @param directory
+   *          the store directory, or {@code null} to disable the store
+   */
+  public final void setDirectory(final Path directory) {
+    this.m_directory = ((directory != null) ? directory.toAbsolutePath()
+        : null);
+  }
+
+  /**
+   * Get the number of values loaded from the store
+   *
+   * @return the number of values loaded from the store
+   */
+  public final long getLoadCount() {
+    return this.m_loads.get();
+  }
+
+  /**
+   * Get the number of values which were looked up but not found in the
+   * store
+   *
+   * @return the number of values not found in the store
+   */
+  public final long getMissCount() {
+    return this.m_misses.get();
+  }
+
+  /**
+   * Get the number of values written to the store
+   *
+   * @return the number of values written to the store
+   */
+  public final long getWriteCount() {
+    return this.m_writes.get();
+  }
+
+  /**
+   * Get the key under which the value of an attribute for a given element
+   * is stored
+   *
+   * @param element
+   *          the element
+   * @param attribute
+   *          the attribute
+   * @param serializer
+   *          the serializer
+   * @param logger
+   *          the logger
+   * @return the key, or {@code null} if the attribute cannot be stored
+   */
+  private static final String __key(final DataElement element,
+      final Attribute<?, ?> attribute,
+      final IAttributeSerializer<?> serializer, final Logger logger) {
+    final String key;
+    final StringBuilder sb;
+
+    key = attribute.getPersistentKey();
+    if (key == null) {
+      return null;
+    }
+
+    sb = new StringBuilder();
+    AttributeStore.__hex(
+        _ContentFingerprint.INSTANCE.get(element, logger), sb);
+    sb.append('|');
+    sb.append(key);
+    sb.append('|');
+    sb.append(serializer.getVersion());
+    return sb.toString();
+  }
+
+  /**
+   * Append the hexadecimal representation of a byte array
+   *
+   * @param data
+   *          the data
+   * @param sb
+   *          the destination
+   */
+  private static final void __hex(final byte[] data,
+      final StringBuilder sb) {
+    for (final byte b : data) {
+      sb.append(AttributeStore.HEX[(b >>> 4) & 0xf]);
+      sb.append(AttributeStore.HEX[b & 0xf]);
+    }
+  }
+
+  /**
+   * Get the path of the file for a given key
+   *
+   * @param directory
+   *          the store directory
+   * @param key
+   *          the key
+   * @return the path
+   */
+  private static final Path __path(final Path directory,
+      final String key) {
+    final StringBuilder sb;
+    final String name;
+
+    sb = new StringBuilder();
+    try {
+      AttributeStore.__hex(MessageDigest.getInstance(AttributeStore.ALGORITHM)
+          .digest(key.getBytes(StandardCharsets.UTF_8)), sb);
+    } catch (final NoSuchAlgorithmException error) {
+      throw new IllegalStateException(error);
+    }
+    name = sb.toString();
+    return directory.resolve(name.substring(0, 2))
+        .resolve(name.substring(2) + AttributeStore.SUFFIX);
+  }
+
+  /**
+   * Load the value of an attribute from the store
+   *
+   * @param element
+   *          the element
+   * @param attribute
+   *          the attribute
+   * @param logger
+   *          the logger
+   * @return the value, or {@code null} if it is not stored
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  final <XDT extends IDataElement, RT> RT _load(final DataElement element,
+      final Attribute<XDT, RT> attribute, final Logger logger) {
+    final Path directory, path;
+    final IAttributeSerializer<RT> serializer;
+    final String key;
+    final RT value;
+
+    directory = this.m_directory;
+    if (directory == null) {
+      return null;
+    }
+    serializer = attribute.getSerializer();
+    if (serializer == null) {
+      return null;
+    }
+
+    try {
+      key = AttributeStore.__key(element, attribute, serializer, logger);
+      if (key == null) {
+        return null;
+      }
+      path = AttributeStore.__path(directory, key);
+
+      try (final InputStream is = Files.newInputStream(path);
+          final DataInputStream in = new DataInputStream(
+              new BufferedInputStream(is))) {
+        if ((in.readInt() != AttributeStore.MAGIC)
+            || (!(key.equals(in.readUTF())))) {
+          this.m_misses.incrementAndGet();
+          return null;
+        }
+        value = serializer.read(in);
+      }
+    } catch (final NoSuchFileException notFound) {
+      this.m_misses.incrementAndGet();
+      return null;
+    } catch (final IOException | RuntimeException error) {
+      this.m_misses.incrementAndGet();
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        logger.log(Level.WARNING, //
+            "Could not load attribute " + attribute + //$NON-NLS-1$
+                " from store.", //$NON-NLS-1$
+            error);
+      }
+      return null;
+    }
+
+    if (value != null) {
+      this.m_loads.incrementAndGet();
+    } else {
+      this.m_misses.incrementAndGet();
+    }
+    return value;
+  }
+
+  /**
+   * Write the value of an attribute to the store
+   *
+   * @param element
+   *          the element
+   * @param attribute
+   *          the attribute
+   * @param value
+   *          the value
+   * @param logger
+   *          the logger
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  final <XDT extends IDataElement, RT> void _save(final DataElement element,
+      final Attribute<XDT, RT> attribute, final RT value,
+      final Logger logger) {
+    final Path directory, path, temp;
+    final IAttributeSerializer<RT> serializer;
+    final String key;
+
+    directory = this.m_directory;
+    if (directory == null) {
+      return;
+    }
+    serializer = attribute.getSerializer();
+    if (serializer == null) {
+      return;
+    }
+
+    try {
+      key = AttributeStore.__key(element, attribute, serializer, logger);
+      if (key == null) {
+        return;
+      }
+      path = AttributeStore.__path(directory, key);
+      Files.createDirectories(path.getParent());
+      temp = Files.createTempFile(path.getParent(), null, null);
+      try {
+        try (final OutputStream os = Files.newOutputStream(temp);
+            final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(os))) {
+          out.writeInt(AttributeStore.MAGIC);
+          out.writeUTF(key);
+          serializer.write(value, out);
+        }
+        try {
+          Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException notAtomic) {
+          Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      this.m_writes.incrementAndGet();
+    } catch (final IOException | RuntimeException error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        logger.log(Level.WARNING, //
+            "Could not write attribute " + attribute + //$NON-NLS-1$
+                " to store.", //$NON-NLS-1$
+            error);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((((("AttributeStore: " + this.m_directory) + //$NON-NLS-1$
+        ", ") + this.getLoadCount()) + //$NON-NLS-1$
+        " loads, ") + this.getMissCount()) + //$NON-NLS-1$
+        " misses, ") + this.getWriteCount()) + " writes"; //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /** the holder of the global attribute store */
+  private static final class __AttributeStoreHolder {
+    /** the global attribute store */
+    static final AttributeStore INSTANCE = new AttributeStore();
+  }
+}
@@ -0,0 +1,157 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+/**
+ * <p>
+ * A dense matrix holding the solution quality of a list of runs at a grid
+ * of checkpoints in time, as computed by {@link CheckpointResampling}.
+ * Row {@code i} belongs to the {@code i}<sup>th</sup> run and column
+ * {@code j} to the {@code j}<sup>th</sup> checkpoint. The value is the
+ * quality of the last data point of the run at or before the checkpoint,
+ * or {@link Double#NaN} if the run has no such point.
+ * </p>
+ * <p>
+ * The values are kept in a single primitive array in row-major order, so
+ * a progress curve of one run is a {@link #copyRun(int, double[], int)
+ * row} and the distribution over all runs at one checkpoint, e.g., for
+ * plotting the median curve, is a
+ * {@link #copyCheckpoint(int, double[], int) column}. Instances are
+ * immutable.
+ * </p>
+ */
+public final class CheckpointMatrix {
+
+  /** the checkpoints */
+  final double[] m_checkpoints;
+
+  /** the number of runs */
+  final int m_runs;
+
+  /** the values, in row-major order */
+  final double[] m_values;
+
+  /**
+   * create
+   *
+   * @param checkpoints
+   *          the checkpoints
+   * @param runs
+   *          the number of runs
+   * @param values
+   *          the values, in row-major order
+   */
+  CheckpointMatrix(final double[] checkpoints, final int runs,
+      final double[] values) {
+    super();
+    this.m_checkpoints = checkpoints;
+    this.m_runs = runs;
+    this.m_values = values;
+  }
+
+  /**
+   * Get the number of runs, i.e., rows
+   *
+   * @return the number of runs
+   */
+  public final int getRunCount() {
+    return this.m_runs;
+  }
+
+  /**
+   * Get the number of checkpoints, i.e., columns
+   *
+   * @return the number of checkpoints
+   */
+  public final int getCheckpointCount() {
+    return this.m_checkpoints.length;
+  }
+
+  /**
+   * Get a checkpoint
+   *
+   * @param checkpoint
+   *          the index of the checkpoint
+   * @return the time of the checkpoint
+   */
+  public final double getCheckpoint(final int checkpoint) {
+    return this.m_checkpoints[checkpoint];
+  }
+
+  /**
+   * Get the quality of a run at a checkpoint
+   *
+   * @param run
+   *          the index of the run
+   * @param checkpoint
+   *          the index of the checkpoint
+   * @return the quality, or {@link Double#NaN} if the run has no data
+   *         point at or before the checkpoint
+   */
+  public final double getValue(final int run, final int checkpoint) {
+    if ((run < 0) || (run >= this.m_runs) || (checkpoint < 0)
+        || (checkpoint >= this.m_checkpoints.length)) {
+      throw new IndexOutOfBoundsException(//
+          "Invalid run " + run + //$NON-NLS-1$
+              " or checkpoint " + checkpoint); //$NON-NLS-1$
+    }
+    return this.m_values[(run * this.m_checkpoints.length) + checkpoint];
+  }
+
+  /**
+   * Copy the qualities of one run at all checkpoints
+   *
+   * @param run
+   *          the index of the run
+   * @param dest
+   *          the destination array
+   * @param destStart
+   *          the index in {@code dest} to write the quality at the first
+   *          checkpoint to
+   */
+  public final void copyRun(final int run, final double[] dest,
+      final int destStart) {
+    final int length;
+
+    if ((run < 0) || (run >= this.m_runs)) {
+      throw new IndexOutOfBoundsException("Invalid run " + run); //$NON-NLS-1$
+    }
+    length = this.m_checkpoints.length;
+    System.arraycopy(this.m_values, (run * length), dest, destStart,
+        length);
+  }
+
+  /**
+   * Copy the qualities of all runs at one checkpoint
+   *
+   * @param checkpoint
+   *          the index of the checkpoint
+   * @param dest
+   *          the destination array
+   * @param destStart
+   *          the index in {@code dest} to write the quality of the first
+   *          run to
+   */
+  public final void copyCheckpoint(final int checkpoint,
+      final double[] dest, final int destStart) {
+    final int length;
+    int index, run;
+
+    length = this.m_checkpoints.length;
+    if ((checkpoint < 0) || (checkpoint >= length)) {
+      throw new IndexOutOfBoundsException(//
+          "Invalid checkpoint " + checkpoint); //$NON-NLS-1$
+    }
+    index = checkpoint;
+    for (run = 0; run < this.m_runs; run++) {
+      dest[destStart + run] = this.m_values[index];
+      index += length;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((("CheckpointMatrix: " + this.m_runs) + //$NON-NLS-1$
+        " runs x ") + this.m_checkpoints.length) + //$NON-NLS-1$
+        " checkpoints"; //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,277 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * An attribute resampling all runs of an {@link IInstanceRuns} set or an
+ * {@link IExperiment} at a fixed grid of checkpoints in a time dimension.
+ * Its value is a dense {@link CheckpointMatrix} holding, for every run and
+ * every checkpoint, the quality of the last data point of the run at or
+ * before the checkpoint. This is what plots of progress curves need.
+ * </p>
+ * <p>
+ * Instead of one {@link IRun#find(int, double) search} per checkpoint and
+ * run, each run is resampled with a single forward sweep over the sorted
+ * checkpoints via {@link IRun#findRows(int, double[], int[])}, and the
+ * runs are processed in parallel. Two resamplings with the same
+ * dimensions and checkpoints are {@link #equals(Object) equal}, so the
+ * matrix is computed only once and then cached like any other attribute.
+ * </p>
+ */
+public final class CheckpointResampling
+    extends Attribute<IElementSet, CheckpointMatrix> {
+
+  /** the time column */
+  private final int m_time;
+
+  /** the quality column */
+  private final int m_quality;
+
+  /** the checkpoints */
+  private final double[] m_checkpoints;
+
+  /**
+   * Create the resampling attribute
+   *
+   * @param time
+   *          the {@link EDimensionType#isTimeMeasure() time} dimension in
+   *          which the checkpoints are given
+   * @param quality
+   *          the {@link EDimensionType#isSolutionQualityMeasure()
+   *          quality} dimension whose values should be sampled
+   * @param checkpoints
+   *          the checkpoints, in strictly increasing order
+   */
+  public CheckpointResampling(final IDimension time,
+      final IDimension quality, final double[] checkpoints) {
+    super(EAttributeType.TEMPORARILY_STORED);
+
+    int index;
+
+    if ((time == null) || (quality == null) || (checkpoints == null)) {
+      throw new IllegalArgumentException(//
+          "Time dimension, quality dimension, and checkpoints must not be null."); //$NON-NLS-1$
+    }
+    if (!(time.getDimensionType().isTimeMeasure())) {
+      throw new IllegalArgumentException(//
+          "Checkpoints must be given in a time dimension, but " //$NON-NLS-1$
+              + time + " is not one."); //$NON-NLS-1$
+    }
+    if (!(quality.getDimensionType().isSolutionQualityMeasure())) {
+      throw new IllegalArgumentException(//
+          "Only a solution quality dimension can be resampled, but " //$NON-NLS-1$
+              + quality + " is not one."); //$NON-NLS-1$
+    }
+    for (index = 0; index < checkpoints.length; index++) {
+      if ((checkpoints[index] != checkpoints[index]) || ((index > 0)
+          && (checkpoints[index] <= checkpoints[index - 1]))) {
+        throw new IllegalArgumentException(//
+            "Checkpoints must be strictly increasing and not NaN, but " //$NON-NLS-1$
+                + Arrays.toString(checkpoints) + " are not."); //$NON-NLS-1$
+      }
+    }
+
+    this.m_time = time.getIndex();
+    this.m_quality = quality.getIndex();
+    this.m_checkpoints = checkpoints.clone();
+  }
+
+  /**
+   * Create a grid of checkpoints spaced evenly on a logarithmic scale, as
+   * commonly used for plotting progress over time
+   *
+   * @param min
+   *          the first checkpoint, which must be positive
+   * @param max
+   *          the last checkpoint, which must be larger than {@code min}
+   * @param count
+   *          the number of checkpoints, at least {@code 2}
+   * @return the checkpoints, in strictly increasing order
+   */
+  public static final double[] logSpacedCheckpoints(final double min,
+      final double max, final int count) {
+    final double[] checkpoints;
+    final double logMin, step;
+    double value;
+    int index, used;
+
+    if ((!(min > 0d)) || (!(max > min)) || (max >= Double.POSITIVE_INFINITY)
+        || (count < 2)) {
+      throw new IllegalArgumentException(//
+          "Invalid logarithmic grid from " + min + //$NON-NLS-1$
+              " to " + max + " with " + count + //$NON-NLS-1$//$NON-NLS-2$
+              " checkpoints."); //$NON-NLS-1$
+    }
+
+    checkpoints = new double[count];
+    logMin = Math.log(min);
+    step = ((Math.log(max) - logMin) / (count - 1));
+    checkpoints[0] = min;
+    used = 1;
+    for (index = 1; index < count; index++) {
+      value = ((index == (count - 1)) ? max
+          : Math.exp(logMin + (index * step)));
+      if (value > checkpoints[used - 1]) {
+        checkpoints[used++] = value;
+      }
+    }
+    return ((used < count) ? Arrays.copyOf(checkpoints, used)
+        : checkpoints);
+  }
+
+  /**
+   * Collect all runs contained in an element set, in their order
+   *
+   * @param set
+   *          the set
+   * @param runs
+   *          the destination list
+   */
+  private static final void __collect(final IElementSet set,
+      final ArrayList<IRun> runs) {
+    for (final Object element : set.getData()) {
+      if (element instanceof IRun) {
+        runs.add((IRun) element);
+      } else {
+        if (element instanceof IElementSet) {
+          CheckpointResampling.__collect(((IElementSet) element), runs);
+        }
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final CheckpointMatrix compute(final IElementSet data,
+      final Logger logger) {
+    final ArrayList<IRun> runs;
+
+    runs = new ArrayList<>();
+    if (data instanceof IRun) {
+      runs.add((IRun) data);
+    } else {
+      CheckpointResampling.__collect(data, runs);
+    }
+    return _CheckpointResamplingTask._resample(runs, this.m_time,
+        this.m_quality, this.m_checkpoints);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long getApproximateSize(final CheckpointMatrix value) {
+    return (64L + (8L * (value.m_values.length)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final IAttributeSerializer<CheckpointMatrix> getSerializer() {
+    return __Serializer.INSTANCE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final String getPersistentKey() {
+    final StringBuilder sb;
+
+    sb = new StringBuilder();
+    sb.append(this.getClass().getName());
+    sb.append(':');
+    sb.append(this.m_time);
+    sb.append(':');
+    sb.append(this.m_quality);
+    for (final double checkpoint : this.m_checkpoints) {
+      sb.append(':');
+      sb.append(Long.toHexString(Double.doubleToLongBits(checkpoint)));
+    }
+    return sb.toString();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    final CheckpointResampling other;
+
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof CheckpointResampling) {
+      other = ((CheckpointResampling) o);
+      return ((other.m_time == this.m_time)
+          && (other.m_quality == this.m_quality)
+          && Arrays.equals(other.m_checkpoints, this.m_checkpoints));
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return ((((31 * this.m_time) + this.m_quality) * 31)
+        + Arrays.hashCode(this.m_checkpoints));
+  }
+
+  /** the serializer for checkpoint matrices */
+  private static final class __Serializer
+      implements IAttributeSerializer<CheckpointMatrix> {
+
+    /** the globally shared instance */
+    static final __Serializer INSTANCE = new __Serializer();
+
+    /** create */
+    private __Serializer() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int getVersion() {
+      return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void write(final CheckpointMatrix value,
+        final DataOutput out) throws IOException {
+      out.writeInt(value.m_runs);
+      out.writeInt(value.m_checkpoints.length);
+      for (final double checkpoint : value.m_checkpoints) {
+        out.writeDouble(checkpoint);
+      }
+      for (final double quality : value.m_values) {
+        out.writeDouble(quality);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final CheckpointMatrix read(final DataInput in)
+        throws IOException {
+      final double[] checkpoints, values;
+      final int runs, count;
+      int index;
+
+      runs = in.readInt();
+      count = in.readInt();
+      if ((runs < 0) || (count < 0)
+          || ((((long) runs) * count) > Integer.MAX_VALUE)) {
+        throw new IOException("Invalid matrix size " + runs + //$NON-NLS-1$
+            'x' + count);
+      }
+      checkpoints = new double[count];
+      for (index = 0; index < count; index++) {
+        checkpoints[index] = in.readDouble();
+      }
+      values = new double[runs * count];
+      for (index = 0; index < values.length; index++) {
+        values[index] = in.readDouble();
+      }
+      return new CheckpointMatrix(checkpoints, runs, values);
+    }
+  }
+}
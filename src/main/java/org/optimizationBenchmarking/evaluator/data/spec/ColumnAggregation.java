@@ -0,0 +1,62 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+/**
+ * <p>
+ * Aggregate one column over all runs of an experiment set, an experiment,
+ * or an instance runs set in parallel. The runs are split into chunks,
+ * each of which is aggregated into its own
+ * {@link IMergeableAggregate#createEmpty() empty copy} of the given
+ * aggregate by a fork-join task. The partial results are then
+ * {@link IMergeableAggregate#merge(IMergeableAggregate) merged} in the
+ * order of the runs, so the result does not depend on the number of
+ * threads or the scheduling.
+ * </p>
+ * <p>
+ * Together with {@link ColumnStatistics} or {@link ColumnValues}, this
+ * allows computing, e.g., the mean or the median of the final objective
+ * values over a whole experiment set without creating a data point or
+ * boxing a single value.
+ * </p>
+ */
+public final class ColumnAggregation {
+
+  /** the forbidden constructor */
+  private ColumnAggregation() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Aggregate the values of one column over all runs contained in a data
+   * element and merge them into a given aggregate
+   *
+   * @param data
+   *          the data, i.e., an {@link IExperimentSet}, an
+   *          {@link IExperiment}, an {@link IInstanceRuns} set, or an
+   *          {@link IRun}
+   * @param column
+   *          the column index
+   * @param aggregate
+   *          the destination aggregate
+   * @return the destination aggregate
+   * @param <A>
+   *          the aggregate type
+   */
+  public static final <A extends IMergeableAggregate<A>> A aggregate(
+      final IDataElement data, final int column, final A aggregate) {
+    if (aggregate == null) {
+      throw new IllegalArgumentException(//
+          "Destination aggregate must not be null."); //$NON-NLS-1$
+    }
+    if (data instanceof IRun) {
+      ((IRun) data).aggregateColumn(column, aggregate);
+      return aggregate;
+    }
+    if (data instanceof IElementSet) {
+      aggregate.merge(_ColumnAggregationTask._aggregate(
+          ((IElementSet) data), column, aggregate));
+      return aggregate;
+    }
+    throw new IllegalArgumentException(//
+        "Cannot aggregate a column of " + data); //$NON-NLS-1$
+  }
+}
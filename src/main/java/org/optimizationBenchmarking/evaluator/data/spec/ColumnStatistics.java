@@ -0,0 +1,530 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * <p>
+ * An aggregate computing the count, minimum, maximum, sum, arithmetic
+ * mean, and variance of a set of values in a single object. It implements
+ * {@link IColumnAggregate}, so the columns of runs can be fed into it in
+ * bulk, e.g., via {@link IRun#aggregateColumn(int, IAggregate)} or
+ * {@link IInstanceRuns#aggregateColumn(int, IAggregate)}.
+ * </p>
+ * <p>
+ * Each bulk range is processed in two tight passes, one for the sum and
+ * extremes and one for the squared deviations from the mean of the range,
+ * each with several independent accumulators. The result of a range is
+ * then combined with the values collected so far with the pairwise update
+ * formula of Chan, Golub, and LeVeque, which is numerically stable and
+ * also used by {@link #merge(ColumnStatistics)} to merge two statistics.
+ * Single values are added with Welford's update. {@code NaN} values are
+ * ignored by the minimum and maximum, but propagate to the sum, mean,
+ * and variance.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ */
+public final class ColumnStatistics
+    implements IColumnAggregate, IMergeableAggregate<ColumnStatistics> {
+
+  /** the number of values */
+  private long m_count;
+
+  /** the sum */
+  private double m_sum;
+
+  /** the arithmetic mean */
+  private double m_mean;
+
+  /** the sum of the squared deviations from the mean */
+  private double m_m2;
+
+  /** the minimum */
+  private double m_min;
+
+  /** the maximum */
+  private double m_max;
+
+  /** create */
+  public ColumnStatistics() {
+    super();
+    this.clear();
+  }
+
+  /** Remove all values from this aggregate */
+  public final void clear() {
+    this.m_count = 0L;
+    this.m_sum = 0d;
+    this.m_mean = 0d;
+    this.m_m2 = 0d;
+    this.m_min = Double.POSITIVE_INFINITY;
+    this.m_max = Double.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * Combine the statistics of a block of values with the statistics
+   * collected so far
+   *
+   * @param count
+   *          the number of values in the block, which must be positive
+   * @param sum
+   *          the sum of the block
+   * @param mean
+   *          the mean of the block
+   * @param m2
+   *          the sum of the squared deviations from the block mean
+   * @param min
+   *          the minimum of the block
+   * @param max
+   *          the maximum of the block
+   */
+  private final void __merge(final long count, final double sum,
+      final double mean, final double m2, final double min,
+      final double max) {
+    final long oldCount, total;
+    final double delta;
+
+    oldCount = this.m_count;
+    if (oldCount <= 0L) {
+      this.m_count = count;
+      this.m_sum = sum;
+      this.m_mean = mean;
+      this.m_m2 = m2;
+      this.m_min = min;
+      this.m_max = max;
+      return;
+    }
+
+    total = (oldCount + count);
+    delta = (mean - this.m_mean);
+    this.m_mean += ((delta * count) / total);
+    this.m_m2 += (m2 + (((delta * delta) * oldCount) * count) / total);
+    this.m_count = total;
+    this.m_sum += sum;
+    if (min < this.m_min) {
+      this.m_min = min;
+    }
+    if (max > this.m_max) {
+      this.m_max = max;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ColumnStatistics createEmpty() {
+    return new ColumnStatistics();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void merge(final ColumnStatistics other) {
+    if (other.m_count > 0L) {
+      this.__merge(other.m_count, other.m_sum, other.m_mean, other.m_m2,
+          other.m_min, other.m_max);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final byte v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final short v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final int v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final long v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final float v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final double v) {
+    final double delta;
+
+    this.m_count++;
+    this.m_sum += v;
+    delta = (v - this.m_mean);
+    this.m_mean += (delta / this.m_count);
+    this.m_m2 += (delta * (v - this.m_mean));
+    if (v < this.m_min) {
+      this.m_min = v;
+    }
+    if (v > this.m_max) {
+      this.m_max = v;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final Number v) {
+    this.append(v.doubleValue());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final int[] data, final int start,
+      final int end) {
+    final int count, limit;
+    final double sum, mean;
+    double sum0, sum1, sum2, sum3, sq0, sq1, sq2, sq3, min, max, value0,
+        value1, value2, value3;
+    int index;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+
+    // first pass: sum, minimum, and maximum with four independent
+    // accumulators
+    sum0 = sum1 = sum2 = sum3 = 0d;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    limit = (end - 3);
+    for (index = start; index < limit; index += 4) {
+      value0 = data[index];
+      value1 = data[index + 1];
+      value2 = data[index + 2];
+      value3 = data[index + 3];
+      sum0 += value0;
+      sum1 += value1;
+      sum2 += value2;
+      sum3 += value3;
+      min = ((value0 < min) ? value0 : min);
+      min = ((value1 < min) ? value1 : min);
+      min = ((value2 < min) ? value2 : min);
+      min = ((value3 < min) ? value3 : min);
+      max = ((value0 > max) ? value0 : max);
+      max = ((value1 > max) ? value1 : max);
+      max = ((value2 > max) ? value2 : max);
+      max = ((value3 > max) ? value3 : max);
+    }
+    for (; index < end; index++) {
+      value0 = data[index];
+      sum0 += value0;
+      min = ((value0 < min) ? value0 : min);
+      max = ((value0 > max) ? value0 : max);
+    }
+    sum = ((sum0 + sum1) + (sum2 + sum3));
+    mean = (sum / count);
+
+    // second pass: sum of squared deviations from the mean of the range
+    sq0 = sq1 = sq2 = sq3 = 0d;
+    for (index = start; index < limit; index += 4) {
+      value0 = (data[index] - mean);
+      value1 = (data[index + 1] - mean);
+      value2 = (data[index + 2] - mean);
+      value3 = (data[index + 3] - mean);
+      sq0 += (value0 * value0);
+      sq1 += (value1 * value1);
+      sq2 += (value2 * value2);
+      sq3 += (value3 * value3);
+    }
+    for (; index < end; index++) {
+      value0 = (data[index] - mean);
+      sq0 += (value0 * value0);
+    }
+
+    this.__merge(count, sum, mean, ((sq0 + sq1) + (sq2 + sq3)), min, max);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final long[] data, final int start,
+      final int end) {
+    final int count, limit;
+    final double sum, mean;
+    double sum0, sum1, sum2, sum3, sq0, sq1, sq2, sq3, min, max, value0,
+        value1, value2, value3;
+    int index;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+
+    // first pass: sum, minimum, and maximum with four independent
+    // accumulators
+    sum0 = sum1 = sum2 = sum3 = 0d;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    limit = (end - 3);
+    for (index = start; index < limit; index += 4) {
+      value0 = data[index];
+      value1 = data[index + 1];
+      value2 = data[index + 2];
+      value3 = data[index + 3];
+      sum0 += value0;
+      sum1 += value1;
+      sum2 += value2;
+      sum3 += value3;
+      min = ((value0 < min) ? value0 : min);
+      min = ((value1 < min) ? value1 : min);
+      min = ((value2 < min) ? value2 : min);
+      min = ((value3 < min) ? value3 : min);
+      max = ((value0 > max) ? value0 : max);
+      max = ((value1 > max) ? value1 : max);
+      max = ((value2 > max) ? value2 : max);
+      max = ((value3 > max) ? value3 : max);
+    }
+    for (; index < end; index++) {
+      value0 = data[index];
+      sum0 += value0;
+      min = ((value0 < min) ? value0 : min);
+      max = ((value0 > max) ? value0 : max);
+    }
+    sum = ((sum0 + sum1) + (sum2 + sum3));
+    mean = (sum / count);
+
+    // second pass: sum of squared deviations from the mean of the range
+    sq0 = sq1 = sq2 = sq3 = 0d;
+    for (index = start; index < limit; index += 4) {
+      value0 = (data[index] - mean);
+      value1 = (data[index + 1] - mean);
+      value2 = (data[index + 2] - mean);
+      value3 = (data[index + 3] - mean);
+      sq0 += (value0 * value0);
+      sq1 += (value1 * value1);
+      sq2 += (value2 * value2);
+      sq3 += (value3 * value3);
+    }
+    for (; index < end; index++) {
+      value0 = (data[index] - mean);
+      sq0 += (value0 * value0);
+    }
+
+    this.__merge(count, sum, mean, ((sq0 + sq1) + (sq2 + sq3)), min, max);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final float[] data, final int start,
+      final int end) {
+    final int count, limit;
+    final double sum, mean;
+    double sum0, sum1, sum2, sum3, sq0, sq1, sq2, sq3, min, max, value0,
+        value1, value2, value3;
+    int index;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+
+    // first pass: sum, minimum, and maximum with four independent
+    // accumulators
+    sum0 = sum1 = sum2 = sum3 = 0d;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    limit = (end - 3);
+    for (index = start; index < limit; index += 4) {
+      value0 = data[index];
+      value1 = data[index + 1];
+      value2 = data[index + 2];
+      value3 = data[index + 3];
+      sum0 += value0;
+      sum1 += value1;
+      sum2 += value2;
+      sum3 += value3;
+      min = ((value0 < min) ? value0 : min);
+      min = ((value1 < min) ? value1 : min);
+      min = ((value2 < min) ? value2 : min);
+      min = ((value3 < min) ? value3 : min);
+      max = ((value0 > max) ? value0 : max);
+      max = ((value1 > max) ? value1 : max);
+      max = ((value2 > max) ? value2 : max);
+      max = ((value3 > max) ? value3 : max);
+    }
+    for (; index < end; index++) {
+      value0 = data[index];
+      sum0 += value0;
+      min = ((value0 < min) ? value0 : min);
+      max = ((value0 > max) ? value0 : max);
+    }
+    sum = ((sum0 + sum1) + (sum2 + sum3));
+    mean = (sum / count);
+
+    // second pass: sum of squared deviations from the mean of the range
+    sq0 = sq1 = sq2 = sq3 = 0d;
+    for (index = start; index < limit; index += 4) {
+      value0 = (data[index] - mean);
+      value1 = (data[index + 1] - mean);
+      value2 = (data[index + 2] - mean);
+      value3 = (data[index + 3] - mean);
+      sq0 += (value0 * value0);
+      sq1 += (value1 * value1);
+      sq2 += (value2 * value2);
+      sq3 += (value3 * value3);
+    }
+    for (; index < end; index++) {
+      value0 = (data[index] - mean);
+      sq0 += (value0 * value0);
+    }
+
+    this.__merge(count, sum, mean, ((sq0 + sq1) + (sq2 + sq3)), min, max);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final double[] data, final int start,
+      final int end) {
+    final int count, limit;
+    final double sum, mean;
+    double sum0, sum1, sum2, sum3, sq0, sq1, sq2, sq3, min, max, value0,
+        value1, value2, value3;
+    int index;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+
+    // first pass: sum, minimum, and maximum with four independent
+    // accumulators
+    sum0 = sum1 = sum2 = sum3 = 0d;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    limit = (end - 3);
+    for (index = start; index < limit; index += 4) {
+      value0 = data[index];
+      value1 = data[index + 1];
+      value2 = data[index + 2];
+      value3 = data[index + 3];
+      sum0 += value0;
+      sum1 += value1;
+      sum2 += value2;
+      sum3 += value3;
+      min = ((value0 < min) ? value0 : min);
+      min = ((value1 < min) ? value1 : min);
+      min = ((value2 < min) ? value2 : min);
+      min = ((value3 < min) ? value3 : min);
+      max = ((value0 > max) ? value0 : max);
+      max = ((value1 > max) ? value1 : max);
+      max = ((value2 > max) ? value2 : max);
+      max = ((value3 > max) ? value3 : max);
+    }
+    for (; index < end; index++) {
+      value0 = data[index];
+      sum0 += value0;
+      min = ((value0 < min) ? value0 : min);
+      max = ((value0 > max) ? value0 : max);
+    }
+    sum = ((sum0 + sum1) + (sum2 + sum3));
+    mean = (sum / count);
+
+    // second pass: sum of squared deviations from the mean of the range
+    sq0 = sq1 = sq2 = sq3 = 0d;
+    for (index = start; index < limit; index += 4) {
+      value0 = (data[index] - mean);
+      value1 = (data[index + 1] - mean);
+      value2 = (data[index + 2] - mean);
+      value3 = (data[index + 3] - mean);
+      sq0 += (value0 * value0);
+      sq1 += (value1 * value1);
+      sq2 += (value2 * value2);
+      sq3 += (value3 * value3);
+    }
+    for (; index < end; index++) {
+      value0 = (data[index] - mean);
+      sq0 += (value0 * value0);
+    }
+
+    this.__merge(count, sum, mean, ((sq0 + sq1) + (sq2 + sq3)), min, max);
+  }
+
+  /**
+   * Get the number of values
+   *
+   * @return the number of values
+   */
+  public final long getCount() {
+    return this.m_count;
+  }
+
+  /**
+   * Get the sum of the values
+   *
+   * @return the sum of the values, or {@code 0} if there are none
+   */
+  public final double getSum() {
+    return this.m_sum;
+  }
+
+  /**
+   * Get the smallest value
+   *
+   * @return the smallest value, or {@code NaN} if there are no values
+   */
+  public final double getMinimum() {
+    return ((this.m_count > 0L) ? this.m_min : Double.NaN);
+  }
+
+  /**
+   * Get the largest value
+   *
+   * @return the largest value, or {@code NaN} if there are no values
+   */
+  public final double getMaximum() {
+    return ((this.m_count > 0L) ? this.m_max : Double.NaN);
+  }
+
+  /**
+   * Get the arithmetic mean of the values
+   *
+   * @return the arithmetic mean, or {@code NaN} if there are no values
+   */
+  public final double getMean() {
+    return ((this.m_count > 0L) ? this.m_mean : Double.NaN);
+  }
+
+  /**
+   * Get the sample variance of the values
+   *
+   * @return the sample variance, or {@code NaN} if there are fewer than
+   *         two values
+   */
+  public final double getVariance() {
+    return ((this.m_count > 1L) ? (this.m_m2 / (this.m_count - 1L))
+        : Double.NaN);
+  }
+
+  /**
+   * Get the sample standard deviation of the values
+   *
+   * @return the sample standard deviation, or {@code NaN} if there are
+   *         fewer than two values
+   */
+  public final double getStandardDeviation() {
+    return Math.sqrt(this.getVariance());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((((((((("count=" + this.m_count) + //$NON-NLS-1$
+        ", min=") + this.getMinimum()) + //$NON-NLS-1$
+        ", max=") + this.getMaximum()) + //$NON-NLS-1$
+        ", sum=") + this.m_sum) + //$NON-NLS-1$
+        ", mean=") + this.getMean()) + //$NON-NLS-1$
+        ", var=") + this.getVariance()); //$NON-NLS-1$
+  }
+}
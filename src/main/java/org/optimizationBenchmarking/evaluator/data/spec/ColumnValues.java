@@ -0,0 +1,281 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * <p>
+ * An aggregate collecting values into a primitive {@code double} array,
+ * so that order statistics such as the {@link #getMedian() median} or
+ * other {@link #getQuantile(double) quantiles} can be computed. It
+ * implements {@link IColumnAggregate}, so the columns of runs are copied
+ * in bulk, e.g., via {@link IRun#aggregateColumn(int, IAggregate)} or
+ * {@link IInstanceRuns#aggregateColumn(int, IAggregate)}. The values are
+ * sorted once, when the first order statistic is requested after values
+ * have been added.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ */
+public final class ColumnValues
+    implements IColumnAggregate, IMergeableAggregate<ColumnValues> {
+
+  /** the values */
+  private double[] m_values;
+
+  /** the number of values */
+  private int m_size;
+
+  /** are the values sorted? */
+  private boolean m_sorted;
+
+  /** create */
+  public ColumnValues() {
+    super();
+    this.m_values = new double[16];
+    this.m_sorted = true;
+  }
+
+  /**
+   * Make room for additional values
+   *
+   * @param count
+   *          the number of additional values
+   */
+  private final void __reserve(final int count) {
+    final long needed;
+    long length;
+
+    needed = (((long) (this.m_size)) + count);
+    if (needed <= this.m_values.length) {
+      return;
+    }
+    if (needed > (Integer.MAX_VALUE - 8)) {
+      throw new IllegalStateException(//
+          "Cannot collect more than " + (Integer.MAX_VALUE - 8) + //$NON-NLS-1$
+              " values."); //$NON-NLS-1$
+    }
+    length = Math.max(needed, (this.m_values.length << 1L));
+    this.m_values = Arrays.copyOf(this.m_values,
+        ((int) (Math.min(length, (Integer.MAX_VALUE - 8)))));
+  }
+
+  /** Remove all values from this aggregate */
+  public final void clear() {
+    this.m_size = 0;
+    this.m_sorted = true;
+  }
+
+  /**
+   * Get the number of values
+   *
+   * @return the number of values
+   */
+  public final int size() {
+    return this.m_size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final byte v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final short v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final int v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final long v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final float v) {
+    this.append((double) v);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final double v) {
+    this.__reserve(1);
+    this.m_values[this.m_size++] = v;
+    this.m_sorted = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final Number v) {
+    this.append(v.doubleValue());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ColumnValues createEmpty() {
+    return new ColumnValues();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void merge(final ColumnValues other) {
+    this.append(other.m_values, 0, other.m_size);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final int[] data, final int start,
+      final int end) {
+    final int count;
+    final double[] values;
+    int index, size;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+    this.__reserve(count);
+    values = this.m_values;
+    size = this.m_size;
+    for (index = start; index < end; index++) {
+      values[size++] = data[index];
+    }
+    this.m_size += count;
+    this.m_sorted = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final long[] data, final int start,
+      final int end) {
+    final int count;
+    final double[] values;
+    int index, size;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+    this.__reserve(count);
+    values = this.m_values;
+    size = this.m_size;
+    for (index = start; index < end; index++) {
+      values[size++] = data[index];
+    }
+    this.m_size += count;
+    this.m_sorted = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final float[] data, final int start,
+      final int end) {
+    final int count;
+    final double[] values;
+    int index, size;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+    this.__reserve(count);
+    values = this.m_values;
+    size = this.m_size;
+    for (index = start; index < end; index++) {
+      values[size++] = data[index];
+    }
+    this.m_size += count;
+    this.m_sorted = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void append(final double[] data, final int start,
+      final int end) {
+    final int count;
+
+    count = (end - start);
+    if (count <= 0) {
+      return;
+    }
+    this.__reserve(count);
+    System.arraycopy(data, start, this.m_values, this.m_size, count);
+    this.m_size += count;
+    this.m_sorted = false;
+  }
+
+  /** sort the values, if necessary */
+  private final void __sort() {
+    if (!(this.m_sorted)) {
+      Arrays.sort(this.m_values, 0, this.m_size);
+      this.m_sorted = true;
+    }
+  }
+
+  /**
+   * Get a sorted copy of the values
+   *
+   * @return the values in ascending order
+   */
+  public final double[] toSortedArray() {
+    this.__sort();
+    return Arrays.copyOf(this.m_values, this.m_size);
+  }
+
+  /**
+   * Get a quantile of the values, interpolating linearly between the two
+   * closest ranks, i.e., with the definition also used as default by R
+   * and NumPy
+   *
+   * @param p
+   *          the probability, in {@code [0, 1]}
+   * @return the quantile, or {@code NaN} if there are no values
+   */
+  public final double getQuantile(final double p) {
+    final double position, low;
+    final int index;
+
+    if ((p < 0d) || (p > 1d) || (p != p)) {
+      throw new IllegalArgumentException(//
+          "Quantile probability must be in [0, 1], but is " + p); //$NON-NLS-1$
+    }
+    if (this.m_size <= 0) {
+      return Double.NaN;
+    }
+
+    this.__sort();
+    position = (p * (this.m_size - 1));
+    index = ((int) position);
+    low = this.m_values[index];
+    if (index >= (this.m_size - 1)) {
+      return low;
+    }
+    return (low + ((position - index) * (this.m_values[index + 1] - low)));
+  }
+
+  /**
+   * Get the median of the values
+   *
+   * @return the median, or {@code NaN} if there are no values
+   */
+  public final double getMedian() {
+    return this.getQuantile(0.5d);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return (("ColumnValues: " + this.m_size) + " values"); //$NON-NLS-1$//$NON-NLS-2$
+  }
+}
@@ -1,6 +1,9 @@
 package org.optimizationBenchmarking.evaluator.data.spec;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Logger;
 
 /**
@@ -8,14 +11,50 @@ import java.util.logging.Logger;
  */
 public abstract class DataElement implements IDataElement {
 
-  /** the attribute map */
-  private HashMap<Attribute<?, ?>, Object> m_attributes;
+  /** the updater for the attribute map */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<DataElement, ConcurrentHashMap> ATTRIBUTES = AtomicReferenceFieldUpdater
+      .newUpdater(DataElement.class, ConcurrentHashMap.class,
+          "m_attributes"); //$NON-NLS-1$
+
+  /**
+   * the markers of the attributes which are being computed further up the
+   * stack of the current thread
+   */
+  private static final ThreadLocal<HashSet<Object>> COMPUTING = new ThreadLocal<HashSet<Object>>() {
+    /** {@inheritDoc} */
+    @Override
+    protected final HashSet<Object> initialValue() {
+      return new HashSet<>();
+    }
+  };
+
+  /** the attribute map, created on demand */
+  private volatile ConcurrentHashMap<Attribute<?, ?>, Object> m_attributes;
 
   /** create */
   protected DataElement() {
     super();
   }
 
+  /**
+   * Get the attribute map, create it if necessary
+   *
+   * @return the attribute map
+   */
+  @SuppressWarnings("unchecked")
+  private final ConcurrentHashMap<Attribute<?, ?>, Object> __getAttributes() {
+    ConcurrentHashMap<Attribute<?, ?>, Object> map;
+
+    map = this.m_attributes;
+    if (map == null) {
+      DataElement.ATTRIBUTES.compareAndSet(this, null,
+          new ConcurrentHashMap<>());
+      map = this.m_attributes;
+    }
+    return map;
+  }
+
   /**
    * Get the value of a given attribute. This is an internal method you
    * should better leave your fingers away from...
@@ -35,68 +74,198 @@ public abstract class DataElement implements IDataElement {
   protected <XDT extends IDataElement, RT> RT getAttribute(
       final Attribute<XDT, RT> attribute, final Logger logger) {
     final EAttributeType type;
-    RT computed, ret;
+    final IAttributeMetricsSink sink;
+    final HashSet<Object> computing;
+    final RT computed;
+    ConcurrentHashMap<Attribute<?, ?>, Object> map;
+    __PendingAttribute pending;
+    boolean evicted;
+    RT ret;
     Object old;
+    long time;
 
     type = attribute.m_type;
+    sink = AttributeMetrics.getSink();
 
-    if (type.m_store) {
-      // If the attribute can be stored, we first need to check if it has
-      // already been computed and stored. We do this in a synchronized
-      // way. We synchronize here just to check if the value is already
-      // cached. If yes, we return it. If not, we compute it in an
-      // unsynchronized fashion. Then we synchronize again and check
-      // whether the attribute has been computed in the meantime. If so, we
-      // discard our newly computed value and use the existing one.
-      // Otherwise, we cache the new value. We synchronize two times
-      // because the actual computation may cost a lot of time and we do
-      // not want to block other, unrelated attributes to be computed.
-      synchronized (this) {
-        if (this.m_attributes != null) {
-          old = this.m_attributes.get(attribute);
-          if (old != null) {
-            ret = type.unpack(old);
-            if (ret != null) {
-              return ret;
-            }
-            // Although ret may be a softref that points nowhere, we don't
-            // need to delete it, since it will be overwritten soon.
+    if (!(type.m_store)) {
+      // The attribute is never stored and needs to be computed every time.
+      if (sink == null) {
+        return DataElement.__compute(this, attribute, logger);
+      }
+      sink.miss(attribute, false);
+      time = System.nanoTime();
+      computed = DataElement.__compute(this, attribute, logger);
+      sink.computed(attribute, (System.nanoTime() - time));
+      return computed;
+    }
+
+    // The attribute can be stored, so we first check if it has already
+    // been computed and stored. This does not need any lock: reading the
+    // map reference is a volatile load and reading from a concurrent hash
+    // map does not block.
+    evicted = false;
+    map = this.m_attributes;
+    if (map != null) {
+      old = map.get(attribute);
+      if ((old != null) && (!(old instanceof __PendingAttribute))) {
+        ret = type.unpack(old);
+        if (ret != null) {
+          if (sink != null) {
+            sink.hit(attribute);
           }
+          return ret;
         }
+        evicted = true;
+        // The value has been evicted from the attribute cache. We don't
+        // need to delete the empty cache entry, since it will be
+        // overwritten soon.
       }
     }
 
-    // OK, the attribute either never is stored and needs to be computed
-    // every time or has been purged from the cache before.
-    computed = attribute.compute(((XDT) this), logger);
+    // The attribute either has not been computed yet or has been purged
+    // from the cache. We compute it at most once at a time: The first
+    // thread puts a marker into the cache and computes the value without
+    // holding any lock, since this may take a lot of time. All other
+    // threads asking for the attribute in the meantime find the marker
+    // and wait for the result (or the error) of the first thread.
+    map = this.__getAttributes();
+    pending = null;
+    for (;;) {
+      old = map.get(attribute);
+      if (old == null) {
+        if (pending == null) {
+          pending = new __PendingAttribute();
+        }
+        old = map.putIfAbsent(attribute, pending);
+        if (old == null) {
+          break;
+        }
+      }
+      if (old instanceof __PendingAttribute) {
+        // Another thread is computing the value: we wait for it, which is
+        // neither a hit nor a miss.
+        time = ((sink != null) ? System.nanoTime() : 0L);
+        ret = ((RT) (((__PendingAttribute) old)._await(attribute)));
+        if (sink != null) {
+          sink.waited(attribute, (System.nanoTime() - time));
+        }
+        return ret;
+      }
+      ret = type.unpack(old);
+      if (ret != null) {
+        // While we were checking, someone else put a value for the
+        // property into the map.
+        if (sink != null) {
+          sink.hit(attribute);
+        }
+        return ret;
+      }
+      // The value has been purged from the cache in the meantime.
+      evicted = true;
+      if (pending == null) {
+        pending = new __PendingAttribute();
+      }
+      if (map.replace(attribute, old, pending)) {
+        break;
+      }
+    }
+
+    if (sink != null) {
+      sink.miss(attribute, evicted);
+    }
+
+    computing = DataElement.COMPUTING.get();
+    computing.add(pending);
+    try {
+      computed = DataElement.__computeOrLoad(this, attribute, logger,
+          sink);
+    } catch (final Throwable error) {
+      map.remove(attribute, pending);
+      pending._fail(error);
+      throw error;
+    } finally {
+      computing.remove(pending);
+    }
+
+    map.replace(attribute, pending, type.pack(this, attribute, computed));
+    pending._complete(computed);
+    return computed;
+  }
+
+  /**
+   * Compute the value of an attribute
+   *
+   * @param element
+   *          the data element
+   * @param attribute
+   *          the attribute
+   * @param logger
+   *          the logger to use, or {@code null} if no logging information
+   *          should be created
+   * @return the attribute value
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  @SuppressWarnings("unchecked")
+  private static final <XDT extends IDataElement, RT> RT __compute(
+      final DataElement element, final Attribute<XDT, RT> attribute,
+      final Logger logger) {
+    final RT computed;
+
+    computed = attribute.compute(((XDT) element), logger);
     if (computed == null) {
       throw new IllegalStateException(//
           "Computed attribute value must not be null."); //$NON-NLS-1$
     }
+    return computed;
+  }
 
-    if (type.m_store) {
-      // Synchronized again: check if attribute has been stored in the mean
-      // time, if not, set it and return it.
-      synchronized (this) {
-        if (this.m_attributes != null) {
-          old = this.m_attributes.get(attribute);
-          if (old != null) {
-            ret = type.unpack(old);
-            if (ret != null) {
-              // While we were computing, someone else put a value for the
-              // property into the map.
-              return ret;
-            }
-            // Although ret is a softref that points nowhere, we don't need
-            // to delete it, since it will be overwritten soon.
-          }
-        } else {
-          this.m_attributes = new HashMap<>();
-        }
-        this.m_attributes.put(attribute, type.pack(computed));
+  /**
+   * Load the value of a stored attribute from the {@link AttributeStore}
+   * or, if it is not there, compute it and put it into the store
+   *
+   * @param element
+   *          the data element
+   * @param attribute
+   *          the attribute
+   * @param logger
+   *          the logger to use, or {@code null} if no logging information
+   *          should be created
+   * @param sink
+   *          the metrics sink, or {@code null} if no metrics are collected
+   * @return the attribute value
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  private static final <XDT extends IDataElement, RT> RT __computeOrLoad(
+      final DataElement element, final Attribute<XDT, RT> attribute,
+      final Logger logger, final IAttributeMetricsSink sink) {
+    final AttributeStore store;
+    RT computed;
+    long time;
+
+    store = AttributeStore.getInstance();
+    time = ((sink != null) ? System.nanoTime() : 0L);
+    computed = store._load(element, attribute, logger);
+    if (computed != null) {
+      if (sink != null) {
+        sink.loaded(attribute, (System.nanoTime() - time));
       }
+      return computed;
     }
 
+    if (sink != null) {
+      time = System.nanoTime();
+    }
+    computed = DataElement.__compute(element, attribute, logger);
+    if (sink != null) {
+      sink.computed(attribute, (System.nanoTime() - time));
+    }
+    store._save(element, attribute, computed, logger);
     return computed;
   }
 
@@ -122,4 +291,114 @@ public abstract class DataElement implements IDataElement {
       final Logger logger) {
     return ((DataElement) to).getAttribute(attribute, logger);
   }
+
+  /**
+   * The marker put into the attribute cache while an attribute is being
+   * computed. Threads asking for the attribute in the meantime wait for
+   * the result. Waiting is done via a {@link ForkJoinPool.ManagedBlocker},
+   * so that a fork-join pool whose worker waits can activate a spare
+   * thread instead of running out of workers.
+   */
+  private static final class __PendingAttribute
+      implements ForkJoinPool.ManagedBlocker {
+
+    /** has the computation finished? */
+    private volatile boolean m_done;
+
+    /** the computed value */
+    private Object m_value;
+
+    /** the error, if the computation has failed */
+    private Throwable m_error;
+
+    /** create */
+    __PendingAttribute() {
+      super();
+    }
+
+    /**
+     * Set the computed value and notify all waiting threads.
+     *
+     * @param value
+     *          the value
+     */
+    synchronized final void _complete(final Object value) {
+      this.m_value = value;
+      this.m_done = true;
+      this.notifyAll();
+    }
+
+    /**
+     * Set the error and notify all waiting threads.
+     *
+     * @param error
+     *          the error
+     */
+    synchronized final void _fail(final Throwable error) {
+      this.m_error = error;
+      this.m_done = true;
+      this.notifyAll();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isReleasable() {
+      return this.m_done;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized final boolean block() throws InterruptedException {
+      while (!(this.m_done)) {
+        this.wait();
+      }
+      return true;
+    }
+
+    /**
+     * Wait for the computation to finish.
+     *
+     * @param attribute
+     *          the attribute
+     * @return the computed value
+     */
+    final Object _await(final Attribute<?, ?> attribute) {
+      boolean interrupted;
+
+      // The thread which computes the attribute can only ask for it again
+      // if the computation depends on itself or if it has stolen a task
+      // which needs the attribute while waiting for a sub-task. Either way,
+      // waiting would never end.
+      if ((!(this.m_done)) && DataElement.COMPUTING.get().contains(this)) {
+        throw new IllegalStateException(//
+            "Cyclic dependency: the computation of attribute " //$NON-NLS-1$
+                + attribute + " requires its own value."); //$NON-NLS-1$
+      }
+
+      interrupted = false;
+      while (!(this.m_done)) {
+        try {
+          ForkJoinPool.managedBlock(this);
+        } catch (final InterruptedException ie) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+
+      synchronized (this) {
+        if (this.m_error != null) {
+          if (this.m_error instanceof Error) {
+            throw ((Error) (this.m_error));
+          }
+          throw new IllegalStateException(//
+              "The computation of attribute " + attribute + //$NON-NLS-1$
+                  " failed in another thread.", //$NON-NLS-1$
+              this.m_error);
+        }
+        return this.m_value;
+      }
+    }
+  }
 }
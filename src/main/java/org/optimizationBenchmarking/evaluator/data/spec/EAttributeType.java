@@ -1,16 +1,15 @@
 package org.optimizationBenchmarking.evaluator.data.spec;
 
-import java.lang.ref.SoftReference;
-
 /**
  * The storage type of
  * {@link org.optimizationBenchmarking.evaluator.data.spec.Attribute
  * attribute}. Attributes can be {@link #PERMANENTLY_STORED permanently}
- * stored, {@link #TEMPORARILY_STORED temporarily} stored as long as there
- * is enough memory, or {@link #NEVER_STORED not stored} at all in internal
- * caches. Whenever a attribute which may be stored in a cache is accessed,
- * first it is checked whether the attribute resides in the cache. If so,
- * the cached value is returned. Otherwise, it is computed.
+ * stored, {@link #TEMPORARILY_STORED temporarily} stored as long as the
+ * budget of the {@link AttributeCache} and the available memory permit, or
+ * {@link #NEVER_STORED not stored} at all in internal caches. Whenever a
+ * attribute which may be stored in a cache is accessed, first it is
+ * checked whether the attribute resides in the cache. If so, the cached
+ * value is returned. Otherwise, it is computed.
  */
 public enum EAttributeType {
 
@@ -22,10 +21,10 @@ public enum EAttributeType {
 
   /**
    * Attributes of this type my be stored in the data sets but may also be
-   * purged in low-memory situations. Once purged, they will simply be
-   * re-computed. This is realized by internally referencing them with
-   * {@link java.lang.ref.SoftReference soft references} which will be
-   * garbage collected when the memory situation warrants it.
+   * purged. Once purged, they will simply be re-computed. This is realized
+   * by registering them in the global {@link AttributeCache}, which
+   * evicts the least recently used values once their total approximate
+   * size exceeds its budget or once their data element is discarded.
    */
   TEMPORARILY_STORED(true) {
 
@@ -33,13 +32,16 @@ public enum EAttributeType {
     @Override
     @SuppressWarnings("unchecked")
     final <T> T unpack(final Object o) {
-      return ((o != null) ? (((SoftReference<T>) (o)).get()) : null);
+      return ((o != null) ? ((T) (((_CachedAttribute) o)._get())) : null);
     }
 
     /** {@inheritDoc} */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
-    final Object pack(final Object o) {
-      return new SoftReference<>(o);
+    final Object pack(final DataElement owner,
+        final Attribute<?, ?> attribute, final Object o) {
+      return AttributeCache.getInstance()._store(owner, o,
+          ((Attribute) attribute).getApproximateSize(o));
     }
 
   },
@@ -85,11 +87,16 @@ public enum EAttributeType {
    * pack an object: the method is internally used to wrap objects by the
    * cache in a data object.
    *
+   * @param owner
+   *          the data element owning the value
+   * @param attribute
+   *          the attribute whose value is packed
    * @param o
    *          the unpacked object
    * @return the packed object
    */
-  Object pack(final Object o) {
+  Object pack(final DataElement owner, final Attribute<?, ?> attribute,
+      final Object o) {
     return o;
   }
 }
@@ -0,0 +1,73 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+/**
+ * A sink receiving events about the accesses to
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.Attribute
+ * attributes} of
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.DataElement}s.
+ * The sink is installed via {@link AttributeMetrics#setSink(IAttributeMetricsSink)}.
+ * Its methods are called by many threads at the same time and must hence
+ * be thread-safe and fast.
+ */
+public interface IAttributeMetricsSink {
+
+  /**
+   * The value of an attribute was found in the cache of a data element.
+   *
+   * @param attribute
+   *          the attribute
+   */
+  public abstract void hit(final Attribute<?, ?> attribute);
+
+  /**
+   * The value of an attribute was being loaded or computed by another
+   * thread, which we waited for. This is counted neither as
+   * {@link #hit(Attribute) hit} nor as
+   * {@link #miss(Attribute, boolean) miss}, since the value is loaded or
+   * computed only once.
+   *
+   * @param attribute
+   *          the attribute
+   * @param nanos
+   *          the time spent waiting, in nanoseconds
+   */
+  public abstract void waited(final Attribute<?, ?> attribute,
+      final long nanos);
+
+  /**
+   * The value of an attribute was not found in the cache of a data
+   * element and will be loaded or computed.
+   *
+   * @param attribute
+   *          the attribute
+   * @param evicted
+   *          {@code true} if the value had been cached before but was
+   *          {@link EAttributeType#TEMPORARILY_STORED evicted}, i.e., if
+   *          it is re-computed, {@code false} if it was never cached
+   */
+  public abstract void miss(final Attribute<?, ?> attribute,
+      final boolean evicted);
+
+  /**
+   * The value of an attribute was loaded from the
+   * {@link AttributeStore}.
+   *
+   * @param attribute
+   *          the attribute
+   * @param nanos
+   *          the time needed for loading, in nanoseconds
+   */
+  public abstract void loaded(final Attribute<?, ?> attribute,
+      final long nanos);
+
+  /**
+   * The value of an attribute was computed.
+   *
+   * @param attribute
+   *          the attribute
+   * @param nanos
+   *          the wall time of the computation, in nanoseconds
+   */
+  public abstract void computed(final Attribute<?, ?> attribute,
+      final long nanos);
+}
@@ -0,0 +1,50 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A serializer which writes the values of an {@link Attribute} in a
+ * compact binary form, so that they can be kept in the
+ * {@link AttributeStore} across evaluator runs.
+ *
+ * @param <T>
+ *          the value type
+ */
+public interface IAttributeSerializer<T> {
+
+  /**
+   * Get the version of the binary format. Stored values written with a
+   * different version are ignored and re-computed, so the version must be
+   * changed whenever the format or the computation of the attribute
+   * changes.
+   *
+   * @return the version of the binary format
+   */
+  public abstract int getVersion();
+
+  /**
+   * Write a value
+   *
+   * @param value
+   *          the value
+   * @param out
+   *          the output to write to
+   * @throws IOException
+   *           if i/o fails
+   */
+  public abstract void write(final T value, final DataOutput out)
+      throws IOException;
+
+  /**
+   * Read a value
+   *
+   * @param in
+   *          the input to read from
+   * @return the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  public abstract T read(final DataInput in) throws IOException;
+}
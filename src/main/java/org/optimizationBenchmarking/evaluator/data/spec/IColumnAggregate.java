@@ -0,0 +1,65 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * An aggregate which can consume whole ranges of primitive arrays at
+ * once. Runs which store their data column-wise pass their columns
+ * directly to the bulk methods of such an aggregate in
+ * {@link IRun#aggregateColumn(int, IAggregate)}, instead of appending one
+ * value at a time, which allows for tight, easily optimizable loops.
+ */
+public interface IColumnAggregate extends IAggregate {
+
+  /**
+   * Append the values {@code data[start...end-1]}
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   */
+  public abstract void append(final int[] data, final int start,
+      final int end);
+
+  /**
+   * Append the values {@code data[start...end-1]}
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   */
+  public abstract void append(final long[] data, final int start,
+      final int end);
+
+  /**
+   * Append the values {@code data[start...end-1]}
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   */
+  public abstract void append(final float[] data, final int start,
+      final int end);
+
+  /**
+   * Append the values {@code data[start...end-1]}
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   */
+  public abstract void append(final double[] data, final int start,
+      final int end);
+}
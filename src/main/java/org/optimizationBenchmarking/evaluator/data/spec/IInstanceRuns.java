@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.evaluator.data.spec;
 
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
 
 /** A set of runs for a given instance */
 public interface IInstanceRuns extends IElementSet {
@@ -27,4 +28,18 @@ public interface IInstanceRuns extends IElementSet {
    */
   @Override
   public abstract ArrayListView<? extends IRun> getData();
+
+  /**
+   * Append the values of all data points of all runs in a given
+   * column/dimension to an aggregate. This is the same as calling
+   * {@link IRun#aggregateColumn(int, IAggregate)} for each run, so an
+   * {@link IColumnAggregate} receives the columns of the runs in bulk.
+   *
+   * @param column
+   *          the column
+   * @param aggregate
+   *          the aggregate
+   */
+  public abstract void aggregateColumn(final int column,
+      final IAggregate aggregate);
 }
@@ -0,0 +1,35 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * An aggregate which can be split up and merged again: Several empty
+ * copies can be {@link #createEmpty() created}, filled independently,
+ * e.g., by different threads, and then {@link #merge(IMergeableAggregate)
+ * merged}. The result must be the same, up to rounding, as if all values
+ * had been appended to a single aggregate. This is the contract needed by
+ * {@link ColumnAggregation} for aggregating in parallel.
+ *
+ * @param <A>
+ *          the aggregate type
+ */
+public interface IMergeableAggregate<A extends IMergeableAggregate<A>>
+    extends IAggregate {
+
+  /**
+   * Create a new, empty aggregate of the same kind and with the same
+   * configuration as this one.
+   *
+   * @return the new aggregate
+   */
+  public abstract A createEmpty();
+
+  /**
+   * Merge all values collected by another aggregate into this one. The
+   * other aggregate must not be changed.
+   *
+   * @param other
+   *          the other aggregate
+   */
+  public abstract void merge(final A other);
+}
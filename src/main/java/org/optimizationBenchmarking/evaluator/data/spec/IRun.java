@@ -83,4 +83,126 @@ public interface IRun extends IElementSet, IMatrix {
    */
   public abstract IDataPoint find(final int column, final long value);
 
+  /**
+   * Find the rows of the data points for several values at once. For
+   * each value {@code values[i]}, the index of the row of the data point
+   * which {@link #find(int, double)} would return is stored in
+   * {@code rows[i]}, or {@code -1} if it would return {@code null}.
+   * Implementations may exploit the ordering of the run: If the values
+   * are sorted in the direction of dimension {@code column}, i.e., in the
+   * order in which they would appear in the run, the search takes roughly
+   * time linear in the number of values plus the number of rows, instead
+   * of one full binary search per value.
+   *
+   * @param column
+   *          the column
+   * @param values
+   *          the values, ideally sorted in the direction of the dimension
+   * @param rows
+   *          the destination array for the row indices, which must be at
+   *          least as long as {@code values}
+   */
+  public abstract void findRows(final int column, final double[] values,
+      final int[] rows);
+
+  /**
+   * Find the rows of the data points for several values at once. For
+   * each value {@code values[i]}, the index of the row of the data point
+   * which {@link #find(int, long)} would return is stored in
+   * {@code rows[i]}, or {@code -1} if it would return {@code null}.
+   * Implementations may exploit the ordering of the run: If the values
+   * are sorted in the direction of dimension {@code column}, i.e., in the
+   * order in which they would appear in the run, the search takes roughly
+   * time linear in the number of values plus the number of rows, instead
+   * of one full binary search per value.
+   *
+   * @param column
+   *          the column
+   * @param values
+   *          the values, ideally sorted in the direction of the dimension
+   * @param rows
+   *          the destination array for the row indices, which must be at
+   *          least as long as {@code values}
+   */
+  public abstract void findRows(final int column, final long[] values,
+      final int[] rows);
+
+  /**
+   * Get a view of the contiguous range of data points of this run whose
+   * values in dimension {@code column} lie between {@code from} and
+   * {@code to}, both inclusive. The bounds may be given in either order.
+   * The view shares the data of this run, so creating it does not take
+   * time or memory proportional to the length of the run, and searching
+   * or aggregating within the view only touches its range. Its row
+   * indices start at {@code 0}.
+   *
+   * @param column
+   *          the column
+   * @param from
+   *          the first bound
+   * @param to
+   *          the second bound
+   * @return the view, this run itself if all of its points are in the
+   *         range, or {@code null} if none of them is
+   */
+  public abstract IRun subRun(final int column, final double from,
+      final double to);
+
+  /**
+   * Get a view of the contiguous range of data points of this run whose
+   * values in dimension {@code column} lie between {@code from} and
+   * {@code to}, both inclusive, with the same semantics as
+   * {@link #subRun(int, double, double)}.
+   *
+   * @param column
+   *          the column
+   * @param from
+   *          the first bound
+   * @param to
+   *          the second bound
+   * @return the view, this run itself if all of its points are in the
+   *         range, or {@code null} if none of them is
+   */
+  public abstract IRun subRun(final int column, final long from,
+      final long to);
+
+  /**
+   * Get a view of this run truncated at a given limit in dimension
+   * {@code column}, i.e., of the data points from the start of the run
+   * whose values in dimension {@code column} do not come after
+   * {@code limit} in the direction of the dimension. For a time measure,
+   * this is the run as seen with a budget of {@code limit}. Like
+   * {@link #subRun(int, double, double)}, the view shares the data of this
+   * run.
+   *
+   * @param column
+   *          the column
+   * @param limit
+   *          the limit
+   * @return the view, this run itself if no data point comes after the
+   *         limit, or {@code null} if already the first one does
+   */
+  public abstract IRun truncate(final int column, final double limit);
+
+  /**
+   * Get a view of this run truncated at a given limit in dimension
+   * {@code column}, with the same semantics as
+   * {@link #truncate(int, double)}.
+   *
+   * @param column
+   *          the column
+   * @param limit
+   *          the limit
+   * @return the view, this run itself if no data point comes after the
+   *         limit, or {@code null} if already the first one does
+   */
+  public abstract IRun truncate(final int column, final long limit);
+
+  /**
+   * Create a new cursor for walking over the rows of this run without
+   * creating data point objects.
+   *
+   * @return the new cursor, positioned before the first row
+   */
+  public abstract IRunCursor cursor();
 }
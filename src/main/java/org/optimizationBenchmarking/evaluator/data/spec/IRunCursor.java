@@ -0,0 +1,72 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+/**
+ * <p>
+ * A cursor walking over the rows of an {@link IRun}. Different from the
+ * {@link IRun#getData() data points} of a run, the cursor does not create
+ * any objects and does not box any values: It just points to one row,
+ * whose values can be read directly via {@link #getLong(int)} and
+ * {@link #getDouble(int)}.
+ * </p>
+ * <p>
+ * A new cursor is positioned before the first row, so the typical loop
+ * is:
+ * </p>
+ *
+ * <pre>
+ * final IRunCursor cursor = run.cursor();
+ * while (cursor.next()) {
+ *   sum += cursor.getDouble(column);
+ * }
+ * </pre>
+ * <p>
+ * A cursor is not thread-safe, but any number of cursors may walk over the
+ * same run at the same time.
+ * </p>
+ */
+public interface IRunCursor {
+
+  /**
+   * Move the cursor to the next row.
+   *
+   * @return {@code true} if the cursor now points to a valid row,
+   *         {@code false} if there are no more rows
+   */
+  public abstract boolean next();
+
+  /**
+   * Get the index of the row the cursor points to.
+   *
+   * @return the index of the current row, {@code -1} if the cursor is
+   *         before the first row, or {@link IRun#m()} if it is after the
+   *         last row
+   */
+  public abstract int getRow();
+
+  /**
+   * Move the cursor to a given row. Setting the row to {@code -1}
+   * restarts the iteration.
+   *
+   * @param row
+   *          the row, which must be in {@code -1...}{@link IRun#m()}
+   */
+  public abstract void setRow(final int row);
+
+  /**
+   * Get the value of a given column in the current row as {@code long}
+   *
+   * @param column
+   *          the column
+   * @return the value
+   */
+  public abstract long getLong(final int column);
+
+  /**
+   * Get the value of a given column in the current row as {@code double}
+   *
+   * @param column
+   *          the column
+   * @return the value
+   */
+  public abstract double getDouble(final int column);
+}
@@ -0,0 +1,263 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * An attribute computing a {@link LevelOfDetailPyramid} of an
+ * {@link IRun}, i.e., a series of progressively thinned versions of the
+ * run which keep the extremes of one dimension, usually a solution
+ * quality, that are visible at a given resolution. Runs with millions of
+ * data points can then be drawn from the few hundred rows of a suitable
+ * {@link LevelOfDetailPyramid#getRows(int) level} instead of scanning the
+ * full run for every figure.
+ * </p>
+ * <p>
+ * The pyramid is built once, in time linear in the length of the run: The
+ * finest level is computed from the run and each coarser level from the
+ * level before it, which is at least twice as large. Two level-of-detail
+ * attributes for the same dimension are {@link #equals(Object) equal}, so
+ * the pyramid is cached like any other attribute.
+ * </p>
+ */
+public final class LevelOfDetail
+    extends Attribute<IRun, LevelOfDetailPyramid> {
+
+  /** the logarithm of the size of the buckets of the finest level */
+  private static final int FIRST_SHIFT = 2;
+
+  /** the dimension to sample */
+  private final int m_column;
+
+  /**
+   * Create the level-of-detail attribute
+   *
+   * @param dimension
+   *          the dimension whose extremes should be preserved
+   */
+  public LevelOfDetail(final IDimension dimension) {
+    super(EAttributeType.TEMPORARILY_STORED);
+    if (dimension == null) {
+      throw new IllegalArgumentException(//
+          "Dimension must not be null."); //$NON-NLS-1$
+    }
+    this.m_column = dimension.getIndex();
+  }
+
+  /**
+   * Thin a list of rows by keeping, of each bucket of {@code 2^shift}
+   * consecutive rows, the rows with the smallest and largest value, plus
+   * the first and last row of the list
+   *
+   * @param run
+   *          the run
+   * @param column
+   *          the column
+   * @param source
+   *          the row indices to thin, in increasing order, or {@code null}
+   *          for all rows of the run
+   * @param size
+   *          the number of rows to thin
+   * @param shift
+   *          the logarithm of the bucket size
+   * @return the kept row indices, in increasing order
+   */
+  private static final int[] __thin(final IRun run, final int column,
+      final int[] source, final int size, final int shift) {
+    final int[] dest, keep;
+    int index, row, bucket, current, count, minRow, maxRow, kept, i, j;
+    double value, min, max;
+
+    dest = new int[size];
+    keep = new int[4];
+    count = 0;
+    current = -1;
+    minRow = maxRow = -1;
+    min = max = 0d;
+
+    for (index = 0; index <= size; index++) {
+      if (index < size) {
+        row = ((source == null) ? index : source[index]);
+        bucket = (row >>> shift);
+        if (bucket == current) {
+          value = run.getDouble(row, column);
+          if (value < min) {
+            min = value;
+            minRow = row;
+          } else {
+            if (value > max) {
+              max = value;
+              maxRow = row;
+            }
+          }
+          continue;
+        }
+      } else {
+        row = -1;
+        bucket = -1;
+      }
+
+      if (current >= 0) {
+        // emit the extremes of the finished bucket, in row order
+        kept = 0;
+        if (count <= 0) {
+          keep[kept++] = ((source == null) ? 0 : source[0]);
+        }
+        keep[kept++] = minRow;
+        keep[kept++] = maxRow;
+        if (index >= size) {
+          keep[kept++] = ((source == null) ? (size - 1)
+              : source[size - 1]);
+        }
+        Arrays.sort(keep, 0, kept);
+        for (i = 0; i < kept; i++) {
+          j = keep[i];
+          if ((count <= 0) || (dest[count - 1] < j)) {
+            dest[count++] = j;
+          }
+        }
+      }
+
+      if (row >= 0) {
+        current = bucket;
+        min = max = run.getDouble(row, column);
+        minRow = maxRow = row;
+      }
+    }
+
+    return ((count < size) ? Arrays.copyOf(dest, count) : dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final LevelOfDetailPyramid compute(final IRun data,
+      final Logger logger) {
+    final int m;
+    int[][] levels;
+    int[] level;
+    int count, shift;
+
+    m = data.m();
+    levels = new int[8][];
+    level = LevelOfDetail.__thin(data, this.m_column, null, m,
+        LevelOfDetail.FIRST_SHIFT);
+    levels[0] = level;
+    count = 1;
+
+    for (shift = (LevelOfDetail.FIRST_SHIFT + 1); (shift < 31)
+        && (level.length > 2) && ((1 << (shift - 1)) < m); shift++) {
+      level = LevelOfDetail.__thin(data, this.m_column, level,
+          level.length, shift);
+      if (count >= levels.length) {
+        levels = Arrays.copyOf(levels, count << 1);
+      }
+      levels[count++] = level;
+    }
+
+    return new LevelOfDetailPyramid(m,
+        ((count < levels.length) ? Arrays.copyOf(levels, count) : levels));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long getApproximateSize(final LevelOfDetailPyramid value) {
+    long size;
+
+    size = (32L + (16L * value.m_levels.length));
+    for (final int[] level : value.m_levels) {
+      size += (4L * level.length);
+    }
+    return size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final IAttributeSerializer<LevelOfDetailPyramid> getSerializer() {
+    return __Serializer.INSTANCE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final String getPersistentKey() {
+    return ((this.getClass().getName() + ':') + this.m_column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    return ((o == this) || ((o instanceof LevelOfDetail)
+        && (((LevelOfDetail) o).m_column == this.m_column)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return ((31 * LevelOfDetail.class.hashCode()) + this.m_column);
+  }
+
+  /** the serializer for level-of-detail pyramids */
+  private static final class __Serializer
+      implements IAttributeSerializer<LevelOfDetailPyramid> {
+
+    /** the globally shared instance */
+    static final __Serializer INSTANCE = new __Serializer();
+
+    /** create */
+    private __Serializer() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int getVersion() {
+      return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void write(final LevelOfDetailPyramid value,
+        final DataOutput out) throws IOException {
+      out.writeInt(value.m_m);
+      out.writeInt(value.m_levels.length);
+      for (final int[] level : value.m_levels) {
+        out.writeInt(level.length);
+        for (final int row : level) {
+          out.writeInt(row);
+        }
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final LevelOfDetailPyramid read(final DataInput in)
+        throws IOException {
+      final int[][] levels;
+      final int m;
+      int[] level;
+      int index, row;
+
+      m = in.readInt();
+      index = in.readInt();
+      if ((m < 0) || (index < 0)) {
+        throw new IOException("Invalid pyramid size."); //$NON-NLS-1$
+      }
+      levels = new int[index][];
+      for (index = 0; index < levels.length; index++) {
+        row = in.readInt();
+        if ((row < 0) || (row > m)) {
+          throw new IOException("Invalid level size " + row); //$NON-NLS-1$
+        }
+        level = new int[row];
+        for (row = 0; row < level.length; row++) {
+          level[row] = in.readInt();
+        }
+        levels[index] = level;
+      }
+      return new LevelOfDetailPyramid(m, levels);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+/**
+ * <p>
+ * A pyramid of progressively thinned versions of a run, as computed by
+ * {@link LevelOfDetail}. Level {@code k} divides the rows of the run into
+ * consecutive buckets of {@code 2<sup>k+2</sup>} rows and keeps, of each
+ * bucket, the rows with the smallest and largest value in the sampled
+ * dimension. The first and last row of the run are kept at every level.
+ * Each level therefore has at most half as many rows as the one before,
+ * and a curve drawn through the rows of a level shows every extreme which
+ * is visible at the corresponding resolution.
+ * </p>
+ * <p>
+ * The levels only hold row indices, in increasing order, so the values
+ * are read from the run itself. Instances are immutable.
+ * </p>
+ */
+public final class LevelOfDetailPyramid {
+
+  /** the number of rows of the run */
+  final int m_m;
+
+  /** the row indices of the levels, from the finest to the coarsest */
+  final int[][] m_levels;
+
+  /**
+   * create
+   *
+   * @param m
+   *          the number of rows of the run
+   * @param levels
+   *          the row indices of the levels, from the finest to the
+   *          coarsest
+   */
+  LevelOfDetailPyramid(final int m, final int[][] levels) {
+    super();
+    this.m_m = m;
+    this.m_levels = levels;
+  }
+
+  /**
+   * Get the number of rows of the full run
+   *
+   * @return the number of rows of the full run
+   */
+  public final int m() {
+    return this.m_m;
+  }
+
+  /**
+   * Get the number of thinned levels
+   *
+   * @return the number of thinned levels
+   */
+  public final int getLevelCount() {
+    return this.m_levels.length;
+  }
+
+  /**
+   * Get the number of rows kept at a given level
+   *
+   * @param level
+   *          the level, in {@code 0...}{@link #getLevelCount()}
+   *          {@code -1}
+   * @return the number of rows kept at that level
+   */
+  public final int getLevelSize(final int level) {
+    return this.m_levels[level].length;
+  }
+
+  /**
+   * Get the rows kept at a given level
+   *
+   * @param level
+   *          the level, in {@code 0...}{@link #getLevelCount()}
+   *          {@code -1}
+   * @return a new array with the indices of the rows, in increasing order
+   */
+  public final int[] getLevelRows(final int level) {
+    return this.m_levels[level].clone();
+  }
+
+  /**
+   * Get the indices of the rows to use for drawing the run with at most
+   * {@code maxPoints} points: If the run has at most {@code maxPoints}
+   * rows, all of them are returned. Otherwise, the rows of the finest
+   * level with at most {@code maxPoints} rows are returned or, if there
+   * is none, those of the coarsest level.
+   *
+   * @param maxPoints
+   *          the maximum number of points
+   * @return a new array with the indices of the rows, in increasing order
+   */
+  public final int[] getRows(final int maxPoints) {
+    final int[] rows;
+    int index;
+
+    if (this.m_m <= maxPoints) {
+      rows = new int[this.m_m];
+      for (index = rows.length; (--index) >= 0;) {
+        rows[index] = index;
+      }
+      return rows;
+    }
+
+    for (final int[] level : this.m_levels) {
+      if (level.length <= maxPoints) {
+        return level.clone();
+      }
+    }
+    return this.m_levels[this.m_levels.length - 1].clone();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((("LevelOfDetailPyramid: " + this.m_m) + //$NON-NLS-1$
+        " rows, ") + this.m_levels.length) + //$NON-NLS-1$
+        " levels"; //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,56 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The single fork-join pool used for all parallel work on experiment data,
+ * i.e., for compiling experiment sets as well as for computing attributes
+ * and aggregates over many data elements. Sharing one pool whose
+ * parallelism is bounded by the number of available processors avoids
+ * creating more worker threads than there are processors.
+ */
+public final class ParallelExecution {
+
+  /** the forbidden constructor */
+  private ParallelExecution() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the shared pool
+   *
+   * @return the shared pool
+   */
+  public static final ForkJoinPool getPool() {
+    return __Pool.POOL;
+  }
+
+  /**
+   * Execute a task and wait for its result. If the current thread already
+   * belongs to a fork-join pool, the task is executed in that pool.
+   * Otherwise, it is executed in the {@link #getPool() shared pool}.
+   *
+   * @param task
+   *          the task
+   * @return the result
+   * @param <T>
+   *          the result type
+   */
+  public static final <T> T invoke(final ForkJoinTask<T> task) {
+    if (ForkJoinTask.inForkJoinPool()) {
+      return task.invoke();
+    }
+    return __Pool.POOL.invoke(task);
+  }
+
+  /** the holder for the shared pool */
+  private static final class __Pool {
+    /**
+     * the shared pool, whose parallelism is bounded by the number of
+     * available processors
+     */
+    static final ForkJoinPool POOL = new ForkJoinPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors()));
+  }
+}
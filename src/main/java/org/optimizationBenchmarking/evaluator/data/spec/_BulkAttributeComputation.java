@@ -0,0 +1,154 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * A fork-join task computing the value of one attribute for a range of
+ * data elements. The elements are split recursively until each task
+ * handles at most {@link #SEQUENTIAL_THRESHOLD} of them. Results and
+ * errors are stored at the index of their element, so neither depends on
+ * the order in which the tasks complete.
+ */
+final class _BulkAttributeComputation extends RecursiveAction {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the number of elements processed sequentially by one task */
+  private static final int SEQUENTIAL_THRESHOLD = 2;
+
+  /** the attribute */
+  @SuppressWarnings("rawtypes")
+  private final Attribute m_attribute;
+
+  /** the elements */
+  private final ArrayList<? extends IDataElement> m_elements;
+
+  /** the logger */
+  private final Logger m_logger;
+
+  /** the inclusive start index */
+  private final int m_start;
+
+  /** the exclusive end index */
+  private final int m_end;
+
+  /** the results, or {@code null} if they need not be kept */
+  final Object[] m_results;
+
+  /** the errors */
+  final Throwable[] m_errors;
+
+  /**
+   * create
+   *
+   * @param attribute
+   *          the attribute
+   * @param elements
+   *          the elements
+   * @param logger
+   *          the logger
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   * @param results
+   *          the results, or {@code null} if they need not be kept
+   * @param errors
+   *          the errors
+   */
+  private _BulkAttributeComputation(final Attribute<?, ?> attribute,
+      final ArrayList<? extends IDataElement> elements,
+      final Logger logger, final int start, final int end,
+      final Object[] results, final Throwable[] errors) {
+    super();
+    this.m_attribute = attribute;
+    this.m_elements = elements;
+    this.m_logger = logger;
+    this.m_start = start;
+    this.m_end = end;
+    this.m_results = results;
+    this.m_errors = errors;
+  }
+
+  /**
+   * Compute an attribute for a list of elements in parallel
+   *
+   * @param attribute
+   *          the attribute
+   * @param elements
+   *          the elements
+   * @param logger
+   *          the logger
+   * @param keepResults
+   *          should the results be returned?
+   * @return the results, or {@code null} if {@code keepResults} is
+   *         {@code false}
+   */
+  static final Object[] _compute(final Attribute<?, ?> attribute,
+      final ArrayList<? extends IDataElement> elements,
+      final Logger logger, final boolean keepResults) {
+    final _BulkAttributeComputation task;
+    final int size;
+    Throwable error;
+    int index;
+
+    size = elements.size();
+    task = new _BulkAttributeComputation(attribute, elements, logger, 0,
+        size, (keepResults ? new Object[size] : null),
+        new Throwable[size]);
+
+    ParallelExecution.invoke(task);
+
+    for (index = 0; index < size; index++) {
+      error = task.m_errors[index];
+      if (error != null) {
+        if (error instanceof RuntimeException) {
+          throw ((RuntimeException) error);
+        }
+        if (error instanceof Error) {
+          throw ((Error) error);
+        }
+        throw new IllegalStateException(error);
+      }
+    }
+
+    return task.m_results;
+  }
+
+  /** {@inheritDoc} */
+  @SuppressWarnings("unchecked")
+  @Override
+  protected final void compute() {
+    final int mid;
+    Object result;
+    int index;
+
+    if ((this.m_end - this.m_start) <= _BulkAttributeComputation.SEQUENTIAL_THRESHOLD) {
+      for (index = this.m_start; index < this.m_end; index++) {
+        try {
+          result = this.m_attribute.get(this.m_elements.get(index),
+              this.m_logger);
+          if (this.m_results != null) {
+            this.m_results[index] = result;
+          }
+        } catch (final Throwable error) {
+          this.m_errors[index] = error;
+        }
+      }
+      return;
+    }
+
+    mid = ((this.m_start + this.m_end) >>> 1);
+    ForkJoinTask.invokeAll(
+        new _BulkAttributeComputation(this.m_attribute, this.m_elements,
+            this.m_logger, this.m_start, mid, this.m_results,
+            this.m_errors),
+        new _BulkAttributeComputation(this.m_attribute, this.m_elements,
+            this.m_logger, mid, this.m_end, this.m_results,
+            this.m_errors));
+  }
+}
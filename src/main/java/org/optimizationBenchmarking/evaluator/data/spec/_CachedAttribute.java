@@ -0,0 +1,69 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A value of a
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.EAttributeType#TEMPORARILY_STORED
+ * temporarily stored} attribute registered in the {@link AttributeCache}.
+ * The value is referenced strongly and is only dropped when the cache
+ * evicts it, after which the attribute will be re-computed on its next
+ * access. The data element owning the value, however, is only referenced
+ * weakly: Once it has been discarded, e.g., together with its experiment
+ * set, the entry is added to the cache's queue and the cache drops the
+ * value as well.
+ */
+final class _CachedAttribute extends WeakReference<DataElement> {
+
+  /** the approximate size of the value in bytes */
+  final long m_size;
+
+  /** the value, or {@code null} if it has been evicted */
+  volatile Object m_value;
+
+  /** has the value been accessed since the clock hand last passed it? */
+  volatile boolean m_used;
+
+  /**
+   * the index of this entry in the cache, or {@code -1} if it has been
+   * removed from the cache, guarded by the cache's lock
+   */
+  int m_index;
+
+  /**
+   * create the cached attribute
+   *
+   * @param owner
+   *          the data element owning the value
+   * @param value
+   *          the value
+   * @param size
+   *          the approximate size of the value in bytes
+   * @param queue
+   *          the queue to which the entry is added once the garbage
+   *          collector has collected the owner
+   */
+  _CachedAttribute(final DataElement owner, final Object value,
+      final long size, final ReferenceQueue<Object> queue) {
+    super(owner, queue);
+    this.m_value = value;
+    this.m_size = size;
+    this.m_index = (-1);
+  }
+
+  /**
+   * Get the value and mark it as recently used
+   *
+   * @return the value, or {@code null} if it has been evicted
+   */
+  final Object _get() {
+    final Object value;
+
+    value = this.m_value;
+    if ((value != null) && (!(this.m_used))) {
+      this.m_used = true;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,135 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork-join task resampling a range of runs at a grid of checkpoints.
+ * The runs are split recursively until each task handles at most
+ * {@link #SEQUENTIAL_RUNS} of them. Each run is resampled with a single
+ * {@link IRun#findRows(int, double[], int[])} sweep over the sorted
+ * checkpoints, and its qualities are written into its own row of the
+ * shared matrix.
+ */
+final class _CheckpointResamplingTask extends RecursiveAction {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the number of runs resampled sequentially by one task */
+  private static final int SEQUENTIAL_RUNS = 8;
+
+  /** the runs */
+  private final ArrayList<IRun> m_runs;
+
+  /** the inclusive start index */
+  private final int m_start;
+
+  /** the exclusive end index */
+  private final int m_end;
+
+  /** the time column */
+  private final int m_time;
+
+  /** the quality column */
+  private final int m_quality;
+
+  /** the checkpoints */
+  private final double[] m_checkpoints;
+
+  /** the values, in row-major order */
+  private final double[] m_values;
+
+  /**
+   * create
+   *
+   * @param runs
+   *          the runs
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   * @param time
+   *          the time column
+   * @param quality
+   *          the quality column
+   * @param checkpoints
+   *          the checkpoints
+   * @param values
+   *          the values, in row-major order
+   */
+  private _CheckpointResamplingTask(final ArrayList<IRun> runs,
+      final int start, final int end, final int time, final int quality,
+      final double[] checkpoints, final double[] values) {
+    super();
+    this.m_runs = runs;
+    this.m_start = start;
+    this.m_end = end;
+    this.m_time = time;
+    this.m_quality = quality;
+    this.m_checkpoints = checkpoints;
+    this.m_values = values;
+  }
+
+  /**
+   * Resample a list of runs at a grid of checkpoints in parallel
+   *
+   * @param runs
+   *          the runs
+   * @param time
+   *          the time column
+   * @param quality
+   *          the quality column
+   * @param checkpoints
+   *          the checkpoints, sorted in increasing order
+   * @return the matrix
+   */
+  static final CheckpointMatrix _resample(final ArrayList<IRun> runs,
+      final int time, final int quality, final double[] checkpoints) {
+    final double[] values;
+    final int size;
+
+    size = runs.size();
+    values = new double[size * checkpoints.length];
+    if (size > 0) {
+      ParallelExecution.invoke(new _CheckpointResamplingTask(runs, 0,
+          size, time, quality, checkpoints, values));
+    }
+    return new CheckpointMatrix(checkpoints, size, values);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void compute() {
+    final int[] rows;
+    final int length, mid;
+    IRun run;
+    int index, checkpoint, offset, row;
+
+    if ((this.m_end - this.m_start) <= _CheckpointResamplingTask.SEQUENTIAL_RUNS) {
+      length = this.m_checkpoints.length;
+      rows = new int[length];
+      offset = (this.m_start * length);
+      for (index = this.m_start; index < this.m_end; index++) {
+        run = this.m_runs.get(index);
+        run.findRows(this.m_time, this.m_checkpoints, rows);
+        for (checkpoint = 0; checkpoint < length; checkpoint++) {
+          row = rows[checkpoint];
+          this.m_values[offset++] = ((row < 0) ? Double.NaN
+              : run.getDouble(row, this.m_quality));
+        }
+      }
+      return;
+    }
+
+    mid = ((this.m_start + this.m_end) >>> 1);
+    ForkJoinTask.invokeAll(
+        new _CheckpointResamplingTask(this.m_runs, this.m_start, mid,
+            this.m_time, this.m_quality, this.m_checkpoints,
+            this.m_values),
+        new _CheckpointResamplingTask(this.m_runs, mid, this.m_end,
+            this.m_time, this.m_quality, this.m_checkpoints,
+            this.m_values));
+  }
+}
@@ -0,0 +1,148 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork-join task aggregating one column of all runs in a range of a
+ * list of data elements, each of which is either a run or an element set
+ * containing runs, such as an experiment or an instance runs set. Ranges
+ * of element sets are split until each task handles a single set, whose
+ * elements are then processed by a new task. Ranges of runs are split
+ * until each task handles at most {@link #SEQUENTIAL_RUNS} runs, which it
+ * aggregates into its own, new aggregate. The results of two sub-tasks
+ * are merged in a fixed order, so the result does not depend on the
+ * scheduling.
+ *
+ * @param <A>
+ *          the aggregate type
+ */
+final class _ColumnAggregationTask<A extends IMergeableAggregate<A>>
+    extends RecursiveTask<A> {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the number of runs aggregated sequentially by one task */
+  private static final int SEQUENTIAL_RUNS = 16;
+
+  /** the elements */
+  private final List<?> m_elements;
+
+  /** the inclusive start index */
+  private final int m_start;
+
+  /** the exclusive end index */
+  private final int m_end;
+
+  /** the column */
+  private final int m_column;
+
+  /** the aggregate from which new aggregates are created */
+  private final A m_prototype;
+
+  /**
+   * create
+   *
+   * @param elements
+   *          the elements
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   * @param column
+   *          the column
+   * @param prototype
+   *          the aggregate from which new aggregates are created
+   */
+  _ColumnAggregationTask(final List<?> elements, final int start,
+      final int end, final int column, final A prototype) {
+    super();
+    this.m_elements = elements;
+    this.m_start = start;
+    this.m_end = end;
+    this.m_column = column;
+    this.m_prototype = prototype;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final A compute() {
+    final _ColumnAggregationTask<A> left, right;
+    final Object first;
+    final A result;
+    final int mid;
+    int index;
+
+    if (this.m_start >= this.m_end) {
+      return this.m_prototype.createEmpty();
+    }
+    first = this.m_elements.get(this.m_start);
+
+    if ((this.m_end - this.m_start) > ((first instanceof IRun)
+        ? _ColumnAggregationTask.SEQUENTIAL_RUNS : 1)) {
+      mid = ((this.m_start + this.m_end) >>> 1);
+      left = new _ColumnAggregationTask<>(this.m_elements, this.m_start,
+          mid, this.m_column, this.m_prototype);
+      right = new _ColumnAggregationTask<>(this.m_elements, mid,
+          this.m_end, this.m_column, this.m_prototype);
+      right.fork();
+      result = left.compute();
+      result.merge(right.join());
+      return result;
+    }
+
+    if (first instanceof IRun) {
+      result = this.m_prototype.createEmpty();
+      for (index = this.m_start; index < this.m_end; index++) {
+        ((IRun) (this.m_elements.get(index))).aggregateColumn(
+            this.m_column, result);
+      }
+      return result;
+    }
+
+    return _ColumnAggregationTask.__forSet(((IElementSet) first),
+        this.m_column, this.m_prototype).compute();
+  }
+
+  /**
+   * Create a task for all elements of a set
+   *
+   * @param set
+   *          the set
+   * @param column
+   *          the column
+   * @param prototype
+   *          the aggregate from which new aggregates are created
+   * @return the task
+   * @param <A>
+   *          the aggregate type
+   */
+  private static final <A extends IMergeableAggregate<A>> _ColumnAggregationTask<A> __forSet(
+      final IElementSet set, final int column, final A prototype) {
+    final List<?> elements;
+
+    elements = set.getData();
+    return new _ColumnAggregationTask<>(elements, 0, elements.size(),
+        column, prototype);
+  }
+
+  /**
+   * Aggregate one column of all runs in a set in parallel
+   *
+   * @param set
+   *          the set, whose elements are either runs or sets of runs
+   * @param column
+   *          the column
+   * @param prototype
+   *          the aggregate from which new aggregates are created
+   * @return the new aggregate holding the result
+   * @param <A>
+   *          the aggregate type
+   */
+  static final <A extends IMergeableAggregate<A>> A _aggregate(
+      final IElementSet set, final int column, final A prototype) {
+    return ParallelExecution.invoke(
+        _ColumnAggregationTask.__forSet(set, column, prototype));
+  }
+}
@@ -0,0 +1,322 @@
+package org.optimizationBenchmarking.evaluator.data.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+/**
+ * An attribute computing a fingerprint of the content of a data element.
+ * The fingerprint covers the values of all runs, the names of all named
+ * elements, the types and parser bounds of dimensions, the features and
+ * bounds of instances, the parameter settings of experiments, and,
+ * recursively, the fingerprints of the elements of all element sets. The
+ * fingerprint of a run also covers the fingerprints of its instance and of
+ * the dimension set of its experiment set, so that attributes of runs may
+ * depend on these, too. It identifies the element in the
+ * {@link AttributeStore}.
+ * Since the fingerprint of a set is computed from the fingerprints of its
+ * elements, which are stored permanently, each run is hashed only once.
+ */
+final class _ContentFingerprint extends Attribute<IDataElement, byte[]> {
+
+  /** the globally shared instance */
+  static final _ContentFingerprint INSTANCE = new _ContentFingerprint();
+
+  /** the hash algorithm */
+  private static final String ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+  /** create */
+  private _ContentFingerprint() {
+    super(EAttributeType.PERMANENTLY_STORED);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final byte[] compute(final IDataElement data,
+      final Logger logger) {
+    final __Hasher hasher;
+    final IMatrix matrix;
+    final INamedElement named;
+    final IDimension dimension;
+    final NumberParser<Number> parser;
+    final IInstance instance;
+    final IInstanceSet instances;
+    final IInstanceRuns runs;
+    final IExperiment experiment;
+    final IExperimentSet set;
+    final int m, n;
+    int i, j;
+
+    hasher = new __Hasher();
+
+    if (data instanceof IMatrix) {
+      matrix = ((IMatrix) data);
+      m = matrix.m();
+      n = matrix.n();
+      hasher._putByte('M');
+      hasher._putLong(m);
+      hasher._putLong(n);
+      if (matrix.isIntegerMatrix()) {
+        for (i = 0; i < m; i++) {
+          for (j = 0; j < n; j++) {
+            hasher._putLong(matrix.getLong(i, j));
+          }
+        }
+      } else {
+        for (i = 0; i < m; i++) {
+          for (j = 0; j < n; j++) {
+            hasher._putLong(Double.doubleToLongBits(matrix.getDouble(i, j)));
+          }
+        }
+      }
+
+      if (data instanceof IRun) {
+        hasher._putByte('R');
+        runs = ((IRun) data).getOwner();
+        experiment = ((runs != null) ? runs.getOwner() : null);
+        set = ((experiment != null) ? experiment.getOwner() : null);
+        hasher._putFingerprint(((runs != null) ? runs.getInstance() : null),
+            logger);
+        hasher._putFingerprint(((set != null) ? set.getDimensions() : null),
+            logger);
+      }
+      return hasher._finish();
+    }
+
+    if (data instanceof INamedElement) {
+      named = ((INamedElement) data);
+      hasher._putByte('N');
+      hasher._putString(named.getName());
+      hasher._putString(named.getDescription());
+    }
+
+    if (data instanceof IDimension) {
+      dimension = ((IDimension) data);
+      hasher._putByte('D');
+      hasher._putString(String.valueOf(dimension.getDataType()));
+      hasher._putString(String.valueOf(dimension.getDimensionType()));
+      hasher._putString(String.valueOf(dimension.getDirection()));
+      parser = dimension.getParser();
+      if (parser != null) {
+        hasher._putString(parser.getClass().getName());
+        if (parser.areBoundsInteger()) {
+          hasher._putLong(parser.getLowerBoundLong());
+          hasher._putLong(parser.getUpperBoundLong());
+        } else {
+          hasher._putLong(
+              Double.doubleToLongBits(parser.getLowerBoundDouble()));
+          hasher._putLong(
+              Double.doubleToLongBits(parser.getUpperBoundDouble()));
+        }
+      }
+    }
+
+    if (data instanceof IInstance) {
+      instance = ((IInstance) data);
+      hasher._putByte('B');
+      hasher._putSetting(instance.getFeatureSetting());
+      instances = instance.getOwner();
+      if ((instances != null) && (instances.getOwner() != null)) {
+        for (final IDimension dim : instances.getOwner().getDimensions()
+            .getData()) {
+          hasher._putNumber(instance.getLowerBound(dim));
+          hasher._putNumber(instance.getUpperBound(dim));
+        }
+      }
+    }
+
+    if (data instanceof IExperiment) {
+      hasher._putByte('P');
+      hasher._putSetting(((IExperiment) data).getParameterSetting());
+    }
+
+    if (data instanceof IInstanceRuns) {
+      hasher._putByte('I');
+      hasher._putFingerprint(((IInstanceRuns) data).getInstance(), logger);
+    }
+
+    if (data instanceof IExperimentSet) {
+      hasher._putByte('S');
+      hasher._putFingerprint(((IExperimentSet) data).getDimensions(),
+          logger);
+      hasher._putFingerprint(((IExperimentSet) data).getInstances(),
+          logger);
+    }
+
+    if (data instanceof IElementSet) {
+      hasher._putByte('L');
+      for (final Object element : ((IElementSet) data).getData()) {
+        if (element instanceof IDataElement) {
+          hasher._putFingerprint(((IDataElement) element), logger);
+        } else {
+          hasher._putString(String.valueOf(element));
+        }
+      }
+    }
+
+    return hasher._finish();
+  }
+
+  /** a buffered hasher */
+  private static final class __Hasher {
+
+    /** the digest */
+    private final MessageDigest m_digest;
+
+    /** the buffer */
+    private final byte[] m_buffer;
+
+    /** the number of bytes in the buffer */
+    private int m_size;
+
+    /** create */
+    __Hasher() {
+      super();
+      try {
+        this.m_digest = MessageDigest
+            .getInstance(_ContentFingerprint.ALGORITHM);
+      } catch (final NoSuchAlgorithmException error) {
+        throw new IllegalStateException(error);
+      }
+      this.m_buffer = new byte[4096];
+    }
+
+    /** flush the buffer into the digest */
+    private final void __flush() {
+      this.m_digest.update(this.m_buffer, 0, this.m_size);
+      this.m_size = 0;
+    }
+
+    /**
+     * add a byte
+     *
+     * @param value
+     *          the byte
+     */
+    final void _putByte(final int value) {
+      if (this.m_size >= this.m_buffer.length) {
+        this.__flush();
+      }
+      this.m_buffer[this.m_size++] = ((byte) value);
+    }
+
+    /**
+     * add a long
+     *
+     * @param value
+     *          the long
+     */
+    final void _putLong(final long value) {
+      int shift;
+
+      if ((this.m_size + 8) > this.m_buffer.length) {
+        this.__flush();
+      }
+      for (shift = 56; shift >= 0; shift -= 8) {
+        this.m_buffer[this.m_size++] = ((byte) (value >>> shift));
+      }
+    }
+
+    /**
+     * add a byte array
+     *
+     * @param value
+     *          the byte array
+     */
+    final void _putBytes(final byte[] value) {
+      this.__flush();
+      this._putLong(value.length);
+      this.__flush();
+      this.m_digest.update(value);
+    }
+
+    /**
+     * add a string, which may be {@code null}
+     *
+     * @param value
+     *          the string
+     */
+    final void _putString(final String value) {
+      if (value == null) {
+        this._putLong(-1L);
+      } else {
+        this._putBytes(value.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    /**
+     * add a number, which may be {@code null}
+     *
+     * @param value
+     *          the number
+     */
+    final void _putNumber(final Number value) {
+      if (value == null) {
+        this._putByte(0);
+      } else {
+        if ((value instanceof Double) || (value instanceof Float)) {
+          this._putByte('d');
+          this._putLong(Double.doubleToLongBits(value.doubleValue()));
+        } else {
+          this._putByte('l');
+          this._putLong(value.longValue());
+        }
+      }
+    }
+
+    /**
+     * add the values of a property setting, which may be {@code null}
+     *
+     * @param setting
+     *          the setting
+     */
+    final void _putSetting(final IPropertySetting setting) {
+      final Iterator<? extends IPropertyValue> values;
+      IPropertyValue value;
+
+      if (setting == null) {
+        this._putLong(-1L);
+        return;
+      }
+      this._putLong(setting.size());
+      values = setting.iterator();
+      while (values.hasNext()) {
+        value = values.next();
+        this._putString(value.getOwner().getName());
+        this._putString(String.valueOf(value.getValue()));
+      }
+    }
+
+    /**
+     * add the fingerprint of a data element
+     *
+     * @param element
+     *          the element
+     * @param logger
+     *          the logger
+     */
+    final void _putFingerprint(final IDataElement element,
+        final Logger logger) {
+      if (element == null) {
+        this._putLong(-1L);
+      } else {
+        this._putBytes(_ContentFingerprint.INSTANCE.get(element, logger));
+      }
+    }
+
+    /**
+     * finish hashing
+     *
+     * @return the hash
+     */
+    final byte[] _finish() {
+      this.__flush();
+      return this.m_digest.digest();
+    }
+  }
+}
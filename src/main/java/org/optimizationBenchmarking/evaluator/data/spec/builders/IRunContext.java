@@ -35,4 +35,44 @@ public interface IRunContext extends IParameterSettingScope {
    *          the raw object to add
    */
   public abstract void addDataPoint(final Object rawObject);
+
+  /**
+   * Add {@code count} data points given column-wise: {@code columns[i]}
+   * must be a primitive number array ({@code byte[]}, {@code short[]},
+   * {@code int[]}, {@code long[]}, {@code float[]}, or {@code double[]})
+   * holding at least {@code count} values of the {@code i}<sup>th</sup>
+   * dimension. If any value is invalid, no data point is added.
+   *
+   * @param count
+   *          the number of data points to add
+   * @param columns
+   *          the columns, one array per dimension
+   */
+  public abstract void addDataPoints(final int count,
+      final Object... columns);
+
+  /**
+   * Add {@code count} data points whose values are stored row-wise, one
+   * data point after the other, in a {@code double} array. If any value
+   * is invalid, no data point is added.
+   *
+   * @param rows
+   *          the values
+   * @param count
+   *          the number of data points to add
+   */
+  public abstract void addDataPoints(final double[] rows,
+      final int count);
+
+  /**
+   * Add {@code count} data points whose values are stored row-wise, one
+   * data point after the other, in a {@code long} array. If any value is
+   * invalid, no data point is added.
+   *
+   * @param rows
+   *          the values
+   * @param count
+   *          the number of data points to add
+   */
+  public abstract void addDataPoints(final long[] rows, final int count);
 }
@@ -3,6 +3,8 @@ package org.optimizationBenchmarking.evaluator.io.impl.bbob;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ERunCompaction;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
 import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
 import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
 import org.optimizationBenchmarking.evaluator.data.spec.builders.IDimensionContext;
@@ -1030,6 +1032,16 @@ public class BBOBInput extends FileInputTool<IExperimentSetContext>
       throws Throwable {
     super.before(job, data);
 
+    // The BBOB logs contain many points which do not improve the solution
+    // quality, so we drop them unless another compaction was chosen.
+    if (data instanceof ExperimentSetContext) {
+      if (((ExperimentSetContext) data)
+          .getCompaction() == ERunCompaction.NONE) {
+        ((ExperimentSetContext) data)
+            .setCompaction(ERunCompaction.IMPROVEMENTS);
+      }
+    }
+
     BBOBInput.makeBBOBDimensionSet(data);
 
     BBOBInput.makeBBOBInstanceSet(data);
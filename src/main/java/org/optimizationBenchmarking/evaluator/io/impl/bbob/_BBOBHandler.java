@@ -209,8 +209,9 @@ final class _BBOBHandler implements Comparator<Number[]> {
     final ArrayList<ArrayList<Number[]>> list;
     ArrayList<Number[]> run;
     Number[][] nums;
-    int i, s;
-    Number[] lastN;
+    int[] fes;
+    double[] fs;
+    int i, s, count;
     Integer lastI, curI;
     Double lastD, curD;
 
@@ -239,27 +240,29 @@ final class _BBOBHandler implements Comparator<Number[]> {
           Arrays.sort(nums, this);
           lastD = null;
           lastI = null;
-          lastN = null;
+          fes = new int[s];
+          fs = new double[s];
+          count = 0;
           try (final IRunContext rc = ic.createRun()) {
 
+            // The .tdat and .dat files may log the same evaluation twice
+            // and contain points which are worse than earlier ones. We
+            // only drop the points which would violate the order of the
+            // run, non-improving points are removed by the run compaction
+            // of the experiment set context.
             for (final Number[] point : nums) {
               curI = ((Integer) (point[0]));
               curD = ((Double) (point[1]));
-              lastN = null;
-              if (((lastI == null) || (curI.compareTo(lastI) > 0))) {
-                if (((lastD == null) || (curD.compareTo(lastD) < 0))) {
-                  rc.addDataPoint(point);
-                } else {
-                  lastN = point;
-                }
+              if (((lastI == null) || (curI.compareTo(lastI) > 0))
+                  && ((lastD == null) || (curD.compareTo(lastD) <= 0))) {
+                fes[count] = curI.intValue();
+                fs[count++] = curD.doubleValue();
+                lastD = curD;
+                lastI = curI;
               }
-              lastD = curD;
-              lastI = curI;
             }
 
-            if (lastN != null) {
-              rc.addDataPoint(lastN);
-            }
+            rc.addDataPoints(count, fes, fs);
           }
         }
       }
@@ -5,7 +5,6 @@ import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.logging.Logger;
 
-import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
 import org.optimizationBenchmarking.evaluator.data.spec.IDimension;
 import org.optimizationBenchmarking.evaluator.data.spec.IDimensionSet;
 import org.optimizationBenchmarking.evaluator.data.spec.IExperiment;
@@ -18,6 +17,7 @@ import org.optimizationBenchmarking.evaluator.data.spec.IInstanceSet;
 import org.optimizationBenchmarking.evaluator.data.spec.IParameter;
 import org.optimizationBenchmarking.evaluator.data.spec.IParameterValue;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
 import org.optimizationBenchmarking.evaluator.io.spec.IExperimentSetOutput;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.io.encoding.StreamEncoding;
@@ -612,6 +612,7 @@ public final class EDIOutput extends XMLOutputTool<Object>
     final Logger logger;
     String string;
     IParameter parameter;
+    IRunCursor cursor;
     int i;
 
     logger = job.getLogger();
@@ -680,21 +681,22 @@ public final class EDIOutput extends XMLOutputTool<Object>
           try (final XMLElement runXML = instanceRunsXML.element()) {
             runXML.name(EDI.NAMESPACE_URI, EDI.ELEMENT_RUN);
 
-            for (final IDataPoint point : run.getData()) {
+            cursor = run.cursor();
+            while (cursor.next()) {
               try (final XMLElement pointXML = runXML.element()) {
                 pointXML.name(EDI.NAMESPACE_URI, EDI.ELEMENT_POINT);
                 for (i = 0; i < dimensionSize; i++) {
                   if (isInt[i]) {
                     try (final XMLElement valueXML = pointXML.element()) {
                       valueXML.name(EDI.NAMESPACE_URI, EDI.ELEMENT_INT);
-                      valueXML.textRaw().append(point.getLong(i));
+                      valueXML.textRaw().append(cursor.getLong(i));
                     }
                   } else {
                     try (final XMLElement valueXML = pointXML.element()) {
                       valueXML.name(EDI.NAMESPACE_URI, EDI.ELEMENT_FLOAT);
                       valueXML.textRaw()
                           .append(XMLNumberAppender.INSTANCE.toString(
-                              point.getDouble(i), ETextCase.IN_SENTENCE));
+                              cursor.getDouble(i), ETextCase.IN_SENTENCE));
 
                     }
                   }
@@ -1,9 +1,13 @@
 package shared.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 
 import org.junit.Assert;
+import org.optimizationBenchmarking.evaluator.data.spec.CheckpointMatrix;
+import org.optimizationBenchmarking.evaluator.data.spec.CheckpointResampling;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnStatistics;
 import org.optimizationBenchmarking.evaluator.data.spec.IDataElement;
 import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
 import org.optimizationBenchmarking.evaluator.data.spec.IDimension;
@@ -27,6 +31,9 @@ import org.optimizationBenchmarking.evaluator.data.spec.IPropertySet;
 import org.optimizationBenchmarking.evaluator.data.spec.IPropertySetting;
 import org.optimizationBenchmarking.evaluator.data.spec.IPropertyValue;
 import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
+import org.optimizationBenchmarking.evaluator.data.spec.LevelOfDetail;
+import org.optimizationBenchmarking.evaluator.data.spec.LevelOfDetailPyramid;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.error.ErrorUtils;
 import org.optimizationBenchmarking.utils.math.MathUtils;
@@ -429,6 +436,75 @@ public final class DataValidator {
   public static final void checkInstanceRuns(final IInstanceRuns data) {
     Assert.assertNotNull(data);
     DataValidator.checkRunList(data.getData());
+    DataValidator.__checkCheckpointResampling(data);
+  }
+
+  /**
+   * Assert that resampling an instance run set at checkpoints yields the
+   * same qualities as searching each run at each checkpoint
+   *
+   * @param data
+   *          the data
+   */
+  private static final void __checkCheckpointResampling(
+      final IInstanceRuns data) {
+    final CheckpointMatrix matrix;
+    final IRun first;
+    IDimension time, quality;
+    IDataPoint point;
+    double[] checkpoints;
+    int i, j, count;
+
+    if ((data.getOwner() == null)
+        || (data.getOwner().getOwner() == null)) {
+      return;
+    }
+    time = quality = null;
+    for (final IDimension dimension : data.getOwner().getOwner()
+        .getDimensions().getData()) {
+      if ((time == null)
+          && dimension.getDimensionType().isTimeMeasure()) {
+        time = dimension;
+      }
+      if ((quality == null)
+          && dimension.getDimensionType().isSolutionQualityMeasure()) {
+        quality = dimension;
+      }
+    }
+    if ((time == null) || (quality == null)) {
+      return;
+    }
+
+    first = data.getData().get(0);
+    checkpoints = new double[first.m() + 2];
+    for (i = first.m(); (--i) >= 0;) {
+      checkpoints[i + 1] = first.getDouble(i, time.getIndex());
+    }
+    checkpoints[0] = (first.getDouble(0, time.getIndex()) - 1d);
+    checkpoints[first.m() + 1] = (first.getDouble(first.m() - 1,
+        time.getIndex()) + 1d);
+    Arrays.sort(checkpoints);
+    count = 1;
+    for (i = 1; i < checkpoints.length; i++) {
+      if (checkpoints[i] > checkpoints[count - 1]) {
+        checkpoints[count++] = checkpoints[i];
+      }
+    }
+    checkpoints = Arrays.copyOf(checkpoints, count);
+
+    matrix = new CheckpointResampling(time, quality, checkpoints)
+        .get(data, null);
+    Assert.assertEquals(data.getData().size(), matrix.getRunCount());
+    Assert.assertEquals(count, matrix.getCheckpointCount());
+    for (i = data.getData().size(); (--i) >= 0;) {
+      for (j = count; (--j) >= 0;) {
+        point = data.getData().get(i).find(time.getIndex(),
+            checkpoints[j]);
+        Assert.assertEquals(((point == null) ? Double.NaN
+            : point.getDouble(quality.getIndex())),
+            matrix.getValue(i, j), 0d);
+      }
+    }
   }
 
   /**
@@ -453,6 +529,7 @@ public final class DataValidator {
    *          the data
    */
   public static final void checkRun(final IRun data) {
+    final IRunCursor cursor;
     int i, j;
     Assert.assertNotNull(data);
     DataValidator.checkDataPointList(data.getData());
@@ -462,6 +539,180 @@ public final class DataValidator {
         Assert.assertTrue(MathUtils.isFinite(data.getDouble(i, j)));
       }
     }
+
+    cursor = data.cursor();
+    Assert.assertNotNull(cursor);
+    Assert.assertEquals(-1, cursor.getRow());
+    i = 0;
+    while (cursor.next()) {
+      Assert.assertEquals(i, cursor.getRow());
+      for (j = data.n(); (--j) >= 0;) {
+        Assert.assertEquals(data.getLong(i, j), cursor.getLong(j));
+        Assert.assertEquals(data.getDouble(i, j), cursor.getDouble(j), 0d);
+      }
+      i++;
+    }
+    Assert.assertEquals(data.m(), i);
+    Assert.assertFalse(cursor.next());
+
+    DataValidator.__checkFindRows(data);
+    DataValidator.__checkViews(data);
+    DataValidator.__checkColumnStatistics(data);
+    DataValidator.__checkLevelOfDetail(data);
+  }
+
+  /**
+   * Assert that each level of the level-of-detail pyramid of a run keeps
+   * its first row, its last row, and its extremes
+   *
+   * @param data
+   *          the run
+   */
+  private static final void __checkLevelOfDetail(final IRun data) {
+    final LevelOfDetailPyramid pyramid;
+    final IDimension dimension;
+    int[] rows;
+    int i, k, min, max;
+
+    if ((data.getOwner() == null) || (data.getOwner().getOwner() == null)
+        || (data.getOwner().getOwner().getOwner() == null)) {
+      return;
+    }
+    dimension = data.getOwner().getOwner().getOwner().getDimensions()
+        .getData().get(data.n() - 1);
+    pyramid = new LevelOfDetail(dimension).get(data, null);
+    Assert.assertEquals(data.m(), pyramid.m());
+
+    min = max = 0;
+    for (i = 1; i < data.m(); i++) {
+      if (data.getDouble(i, dimension.getIndex()) < data.getDouble(min,
+          dimension.getIndex())) {
+        min = i;
+      }
+      if (data.getDouble(i, dimension.getIndex()) > data.getDouble(max,
+          dimension.getIndex())) {
+        max = i;
+      }
+    }
+
+    for (k = pyramid.getLevelCount(); (--k) >= 0;) {
+      rows = pyramid.getLevelRows(k);
+      Assert.assertEquals(0, rows[0]);
+      Assert.assertEquals(data.m() - 1, rows[rows.length - 1]);
+      for (i = 1; i < rows.length; i++) {
+        Assert.assertTrue(rows[i - 1] < rows[i]);
+      }
+      Assert.assertTrue(Arrays.binarySearch(rows, min) >= 0);
+      Assert.assertTrue(Arrays.binarySearch(rows, max) >= 0);
+    }
+    Assert.assertTrue(pyramid.getRows(16).length <= Math.max(16,
+        pyramid.getLevelSize(pyramid.getLevelCount() - 1)));
+  }
+
+  /**
+   * Assert that the column statistics of a run match its values
+   *
+   * @param data
+   *          the run
+   */
+  private static final void __checkColumnStatistics(final IRun data) {
+    final ColumnStatistics statistics;
+    double min, max, sum;
+    int i, j;
+
+    statistics = new ColumnStatistics();
+    for (j = data.n(); (--j) >= 0;) {
+      statistics.clear();
+      data.aggregateColumn(j, statistics);
+      Assert.assertEquals(data.m(), statistics.getCount());
+
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+      sum = 0d;
+      for (i = data.m(); (--i) >= 0;) {
+        min = Math.min(min, data.getDouble(i, j));
+        max = Math.max(max, data.getDouble(i, j));
+        sum += data.getDouble(i, j);
+      }
+      Assert.assertEquals(min, statistics.getMinimum(), 0d);
+      Assert.assertEquals(max, statistics.getMaximum(), 0d);
+      Assert.assertEquals(sum, statistics.getSum(),
+          1e-9d * Math.max(1d, Math.abs(sum)));
+    }
+  }
+
+  /**
+   * Assert that the range views of a run are consistent with the run
+   *
+   * @param data
+   *          the run
+   */
+  private static final void __checkViews(final IRun data) {
+    final int m;
+    IRun view;
+    double value;
+    int i, j;
+
+    m = data.m();
+    for (j = data.n(); (--j) >= 0;) {
+      Assert.assertSame(data, data.truncate(j, data.getDouble(m - 1, j)));
+      Assert.assertSame(data,
+          data.subRun(j, data.getDouble(m - 1, j), data.getDouble(0, j)));
+
+      value = data.getDouble((m >>> 1), j);
+      view = data.subRun(j, value, value);
+      Assert.assertNotNull(view);
+      Assert.assertSame(data.getOwner(), view.getOwner());
+      Assert.assertTrue(view.m() <= m);
+      Assert.assertEquals(data.n(), view.n());
+      for (i = view.m(); (--i) >= 0;) {
+        Assert.assertEquals(value, view.getDouble(i, j), 0d);
+      }
+
+      view = data.truncate(j, value);
+      Assert.assertNotNull(view);
+      Assert.assertSame(data.getOwner(), view.getOwner());
+      Assert.assertTrue(view.m() > (m >>> 1));
+      for (i = view.m(); (--i) >= 0;) {
+        Assert.assertEquals(data.getDouble(i, j), view.getDouble(i, j), 0d);
+      }
+    }
+  }
+
+  /**
+   * Assert that finding the rows of several values at once yields the
+   * same points as finding them one by one
+   *
+   * @param data
+   *          the run
+   */
+  private static final void __checkFindRows(final IRun data) {
+    final double[] doubles;
+    final long[] longs;
+    final int[] doubleRows, longRows;
+    final int m;
+    int i, j;
+
+    m = data.m();
+    doubles = new double[m];
+    longs = new long[m];
+    doubleRows = new int[m];
+    longRows = new int[m];
+
+    for (j = data.n(); (--j) >= 0;) {
+      for (i = m; (--i) >= 0;) {
+        doubles[i] = data.getDouble(i, j);
+        longs[i] = data.getLong(i, j);
+      }
+      data.findRows(j, doubles, doubleRows);
+      data.findRows(j, longs, longRows);
+      for (i = m; (--i) >= 0;) {
+        Assert.assertSame(data.find(j, doubles[i]), ((doubleRows[i] < 0)
+            ? null : data.getData().get(doubleRows[i])));
+        Assert.assertSame(data.find(j, longs[i]), ((longRows[i] < 0) ? null
+            : data.getData().get(longRows[i])));
+      }
+    }
   }
 
   /**
@@ -0,0 +1,278 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.Attribute;
+import org.optimizationBenchmarking.evaluator.data.spec.EAttributeType;
+import org.optimizationBenchmarking.evaluator.data.spec.IExperiment;
+import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that {@link Attribute#computeAll(Iterable, Logger)} and the
+ * {@code prefetch} methods compute the same values as
+ * {@link Attribute#get(org.optimizationBenchmarking.evaluator.data.spec.IDataElement, Logger)}
+ * , each only once, and report errors like a sequential computation.
+ */
+public class AttributeBulkTest {
+
+  /** the number of runs */
+  private static final int RUNS = 40;
+
+  /** create */
+  public AttributeBulkTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with runs of different lengths
+   *
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create() {
+    final String[][] runs;
+    int run, row;
+
+    runs = new String[AttributeBulkTest.RUNS][];
+    for (run = 0; run < AttributeBulkTest.RUNS; run++) {
+      runs[run] = new String[1 + (run % 5)];
+      for (row = 0; row < runs[run].length; row++) {
+        runs[run][row] = ((1 + row) + " " + //$NON-NLS-1$
+            (9d - row - (run * 0.01d)));
+      }
+    }
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      return ExperimentSetContextTest._create(esc, runs);
+    }
+  }
+
+  /**
+   * Get all runs of a set
+   *
+   * @param set
+   *          the set
+   * @return the runs
+   */
+  private static final ArrayList<IRun> __runs(final ExperimentSet set) {
+    final ArrayList<IRun> list;
+
+    list = new ArrayList<>();
+    for (final IExperiment experiment : set.getData()) {
+      for (final IInstanceRuns runs : experiment.getData()) {
+        list.addAll(runs.getData());
+      }
+    }
+    return list;
+  }
+
+  /**
+   * {@link Attribute#computeAll(Iterable, Logger)} must return the values
+   * in the order of the elements and compute each only once.
+   */
+  @Test(timeout = 3600000)
+  public void testComputeAll() {
+    final ArrayList<IRun> runs;
+    final __Length attribute;
+    final List<Long> values;
+    int index;
+
+    runs = AttributeBulkTest.__runs(AttributeBulkTest.__create());
+    Assert.assertEquals(AttributeBulkTest.RUNS, runs.size());
+    attribute = new __Length(EAttributeType.PERMANENTLY_STORED, -1);
+
+    values = attribute.computeAll(runs, TestBase.getNullLogger());
+    Assert.assertEquals(runs.size(), values.size());
+    for (index = runs.size(); (--index) >= 0;) {
+      Assert.assertEquals(runs.get(index).m(),
+          values.get(index).longValue());
+    }
+    Assert.assertEquals(runs.size(), attribute.m_count.get());
+
+    // the values are cached now
+    Assert.assertEquals(values,
+        attribute.computeAll(runs, TestBase.getNullLogger()));
+    for (final IRun run : runs) {
+      Assert.assertEquals(run.m(),
+          attribute.get(run, TestBase.getNullLogger()).longValue());
+    }
+    Assert.assertEquals(runs.size(), attribute.m_count.get());
+  }
+
+  /** Computing an empty list or a single element must work. */
+  @Test(timeout = 3600000)
+  public void testComputeAllSmall() {
+    final ArrayList<IRun> runs;
+    final __Length attribute;
+
+    runs = AttributeBulkTest.__runs(AttributeBulkTest.__create());
+    attribute = new __Length(EAttributeType.NEVER_STORED, -1);
+
+    Assert.assertTrue(attribute
+        .computeAll(new ArrayList<IRun>(), TestBase.getNullLogger())
+        .isEmpty());
+    Assert.assertEquals(runs.get(3).m(),
+        attribute.computeAll(runs.subList(3, 4), TestBase.getNullLogger())
+            .get(0).longValue());
+  }
+
+  /**
+   * {@link Attribute#prefetch(org.optimizationBenchmarking.evaluator.data.spec.IExperimentSet, Class, Logger)}
+   * must fill the caches of all elements of the given type.
+   */
+  @Test(timeout = 3600000)
+  public void testPrefetchExperimentSet() {
+    final ExperimentSet set;
+    final __Length attribute;
+
+    set = AttributeBulkTest.__create();
+    attribute = new __Length(EAttributeType.TEMPORARILY_STORED, -1);
+
+    attribute.prefetch(set, IRun.class, TestBase.getNullLogger());
+    Assert.assertEquals(AttributeBulkTest.RUNS, attribute.m_count.get());
+
+    for (final IRun run : AttributeBulkTest.__runs(set)) {
+      Assert.assertEquals(run.m(),
+          attribute.get(run, TestBase.getNullLogger()).longValue());
+    }
+    Assert.assertEquals(AttributeBulkTest.RUNS, attribute.m_count.get());
+  }
+
+  /** Prefetching attributes which are never stored does nothing. */
+  @Test(timeout = 3600000)
+  public void testPrefetchNeverStored() {
+    final ExperimentSet set;
+    final __Length attribute;
+
+    set = AttributeBulkTest.__create();
+    attribute = new __Length(EAttributeType.NEVER_STORED, -1);
+
+    attribute.prefetch(AttributeBulkTest.__runs(set),
+        TestBase.getNullLogger());
+    attribute.prefetch(set, IRun.class, TestBase.getNullLogger());
+    Assert.assertEquals(0, attribute.m_count.get());
+  }
+
+  /**
+   * If computations fail, the error of the first failing element must be
+   * thrown, as it would be by a sequential loop, and all other values
+   * must still be computed.
+   */
+  @Test(timeout = 3600000)
+  public void testComputeAllFirstError() {
+    final ArrayList<IRun> runs;
+    final __Length attribute;
+    IRun first;
+    Throwable cause;
+
+    runs = AttributeBulkTest.__runs(AttributeBulkTest.__create());
+    attribute = new __Length(EAttributeType.PERMANENTLY_STORED, 3);
+
+    first = null;
+    for (final IRun run : runs) {
+      if (run.m() == 3) {
+        first = run;
+        break;
+      }
+    }
+    Assert.assertNotNull(first);
+
+    try {
+      attribute.computeAll(runs, TestBase.getNullLogger());
+      Assert.fail("The computation should have failed."); //$NON-NLS-1$
+    } catch (final RuntimeException error) {
+      cause = error;
+      while ((cause != null) && (!(cause instanceof __Failure))) {
+        cause = cause.getCause();
+      }
+      Assert.assertNotNull(cause);
+      Assert.assertSame(first, ((__Failure) cause).m_run);
+    }
+    Assert.assertEquals(runs.size(), attribute.m_count.get());
+  }
+
+  /**
+   * Null elements must be rejected before anything is computed.
+   */
+  @Test(timeout = 3600000)
+  public void testComputeAllRejectsNull() {
+    final ArrayList<IRun> runs;
+    final __Length attribute;
+
+    runs = AttributeBulkTest.__runs(AttributeBulkTest.__create());
+    runs.add(null);
+    attribute = new __Length(EAttributeType.PERMANENTLY_STORED, -1);
+    try {
+      attribute.computeAll(runs, TestBase.getNullLogger());
+      Assert.fail("A null element should be rejected."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    Assert.assertEquals(0, attribute.m_count.get());
+  }
+
+  /** the failure thrown by the attribute */
+  private static final class __Failure extends RuntimeException {
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the run for which the computation failed */
+    final transient IRun m_run;
+
+    /**
+     * create
+     *
+     * @param run
+     *          the run for which the computation failed
+     */
+    __Failure(final IRun run) {
+      super("Computation failed on purpose."); //$NON-NLS-1$
+      this.m_run = run;
+    }
+  }
+
+  /** an attribute returning the length of a run */
+  private static final class __Length extends Attribute<IRun, Long> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** the length of the runs for which the computation fails */
+    private final int m_fail;
+
+    /**
+     * create
+     *
+     * @param type
+     *          the attribute type
+     * @param fail
+     *          the length of the runs for which the computation fails, or
+     *          {@code -1} if it never fails
+     */
+    __Length(final EAttributeType type, final int fail) {
+      super(type);
+      this.m_count = new AtomicInteger();
+      this.m_fail = fail;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Long compute(final IRun data, final Logger logger) {
+      this.m_count.incrementAndGet();
+      if (data.m() == this.m_fail) {
+        throw new __Failure(data);
+      }
+      return Long.valueOf(data.m());
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.Attribute;
+import org.optimizationBenchmarking.evaluator.data.spec.AttributeCache;
+import org.optimizationBenchmarking.evaluator.data.spec.EAttributeType;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the {@link AttributeCache} keeps to its budget and that
+ * evicted attributes are re-computed.
+ */
+public class AttributeCacheTest {
+
+  /** the approximate size of each value */
+  private static final long SIZE = 1000L;
+
+  /** create */
+  public AttributeCacheTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with four runs
+   *
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      return ExperimentSetContextTest._create(esc, //
+          new String[] { "1 9", "2 5" }, //$NON-NLS-1$//$NON-NLS-2$
+          new String[] { "1 8", "3 4" }, //$NON-NLS-1$//$NON-NLS-2$
+          new String[] { "1 7", "4 3" }, //$NON-NLS-1$//$NON-NLS-2$
+          new String[] { "1 6", "5 2" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+  }
+
+  /**
+   * Run a test with a given cache budget, starting with an empty cache
+   *
+   * @param budget
+   *          the budget
+   * @param test
+   *          the test
+   */
+  private static final void __withBudget(final long budget,
+      final Runnable test) {
+    final AttributeCache cache;
+    final long old;
+
+    cache = AttributeCache.getInstance();
+    old = cache.getBudget();
+    try {
+      cache.clear();
+      cache.setBudget(budget);
+      test.run();
+    } finally {
+      cache.setBudget(old);
+      cache.clear();
+    }
+  }
+
+  /** The cache must evict values to keep to a small budget. */
+  @Test(timeout = 3600000)
+  public void testEvictionUnderSmallBudget() {
+    AttributeCacheTest.__withBudget((AttributeCacheTest.SIZE << 1),
+        new Runnable() {
+          @Override
+          public final void run() {
+            final AttributeCache cache;
+            final __CountingAttribute attribute;
+            final long evictions;
+
+            cache = AttributeCache.getInstance();
+            attribute = new __CountingAttribute();
+            evictions = cache.getEvictionCount();
+
+            for (final IRun run : AttributeCacheTest.__runs()) {
+              Assert.assertEquals(run.m(), attribute.get(run,
+                  TestBase.getNullLogger()).longValue());
+              Assert.assertTrue(
+                  cache.getSize() <= (AttributeCacheTest.SIZE << 1));
+            }
+
+            Assert.assertEquals(4, attribute.m_count.get());
+            Assert.assertTrue(cache.getCount() <= 2);
+            Assert.assertTrue((cache.getEvictionCount() - evictions) >= 2L);
+          }
+        });
+  }
+
+  /** Evicted values must be re-computed on their next access. */
+  @Test(timeout = 3600000)
+  public void testRecomputationAfterEviction() {
+    AttributeCacheTest.__withBudget((AttributeCacheTest.SIZE << 4),
+        new Runnable() {
+          @Override
+          public final void run() {
+            final AttributeCache cache;
+            final __CountingAttribute attribute;
+            final IRun run;
+
+            cache = AttributeCache.getInstance();
+            attribute = new __CountingAttribute();
+            run = AttributeCacheTest.__runs()[0];
+
+            Assert.assertEquals(run.m(),
+                attribute.get(run, TestBase.getNullLogger()).longValue());
+            Assert.assertEquals(1, attribute.m_count.get());
+            Assert.assertEquals(run.m(),
+                attribute.get(run, TestBase.getNullLogger()).longValue());
+            Assert.assertEquals(1, attribute.m_count.get());
+
+            cache.clear();
+            Assert.assertEquals(0, cache.getCount());
+
+            Assert.assertEquals(run.m(),
+                attribute.get(run, TestBase.getNullLogger()).longValue());
+            Assert.assertEquals(2, attribute.m_count.get());
+            Assert.assertEquals(1, cache.getCount());
+          }
+        });
+  }
+
+  /**
+   * Values within the budget must survive garbage collections, so that a
+   * full collection does not make all attributes be re-computed at once.
+   */
+  @Test(timeout = 3600000)
+  public void testValuesSurviveGarbageCollection() {
+    AttributeCacheTest.__withBudget((AttributeCacheTest.SIZE << 4),
+        new Runnable() {
+          @Override
+          public final void run() {
+            final AttributeCache cache;
+            final __CountingAttribute attribute;
+            final IRun[] runs;
+            int index;
+
+            cache = AttributeCache.getInstance();
+            attribute = new __CountingAttribute();
+            runs = AttributeCacheTest.__runs();
+
+            for (final IRun run : runs) {
+              attribute.get(run, TestBase.getNullLogger());
+            }
+            Assert.assertEquals(runs.length, attribute.m_count.get());
+
+            for (index = 0; index < 5; index++) {
+              System.gc();
+            }
+
+            Assert.assertEquals(runs.length, cache.getCount());
+            for (final IRun run : runs) {
+              Assert.assertEquals(run.m(), attribute
+                  .get(run, TestBase.getNullLogger()).longValue());
+            }
+            Assert.assertEquals(runs.length, attribute.m_count.get());
+          }
+        });
+  }
+
+  /**
+   * The values of the runs of a discarded experiment set must be removed
+   * from the cache once the runs have been collected.
+   */
+  @Test(timeout = 3600000)
+  public void testValuesOfDiscardedSetAreReleased() {
+    AttributeCacheTest.__withBudget((AttributeCacheTest.SIZE << 4),
+        new Runnable() {
+          @Override
+          public final void run() {
+            final AttributeCache cache;
+            final __CountingAttribute attribute;
+            IRun[] runs;
+            int index;
+
+            cache = AttributeCache.getInstance();
+            attribute = new __CountingAttribute();
+            runs = AttributeCacheTest.__runs();
+            for (final IRun run : runs) {
+              attribute.get(run, TestBase.getNullLogger());
+            }
+            Assert.assertEquals(runs.length, cache.getCount());
+
+            runs = null;
+            for (index = 0; (index < 100) && (cache.getCount() > 0);
+                index++) {
+              System.gc();
+              try {
+                Thread.sleep(10L);
+              } catch (final InterruptedException ignore) {
+                break;
+              }
+            }
+            Assert.assertEquals(0, cache.getCount());
+            Assert.assertEquals(0L, cache.getSize());
+          }
+        });
+  }
+
+  /**
+   * Get the runs of a new experiment set
+   *
+   * @return the runs
+   */
+  private static final IRun[] __runs() {
+    final ExperimentSet set;
+
+    set = AttributeCacheTest.__create();
+    return set.getData().get(0).getData().get(0).getData()
+        .toArray(new IRun[0]);
+  }
+
+  /** a temporarily stored attribute counting its computations */
+  private static final class __CountingAttribute
+      extends Attribute<IRun, Long> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** create */
+    __CountingAttribute() {
+      super(EAttributeType.TEMPORARILY_STORED);
+      this.m_count = new AtomicInteger();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Long compute(final IRun data, final Logger logger) {
+      this.m_count.incrementAndGet();
+      return Long.valueOf(data.m());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final long getApproximateSize(final Long value) {
+      return AttributeCacheTest.SIZE;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.Attribute;
+import org.optimizationBenchmarking.evaluator.data.spec.EAttributeType;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that an attribute requested by many threads at once is computed
+ * only once and that its failure reaches all of them.
+ */
+public class AttributeComputationTest {
+
+  /** the number of concurrent requests */
+  private static final int REQUESTS = 8;
+
+  /** create */
+  public AttributeComputationTest() {
+    super();
+  }
+
+  /**
+   * Get a run of a new experiment set
+   *
+   * @return the run
+   */
+  private static final IRun __run() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      return ExperimentSetContextTest._run(ExperimentSetContextTest
+          ._create(esc, new String[] { "1 9", "2 5", "3 1" })); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    }
+  }
+
+  /**
+   * Request an attribute concurrently in a fork-join pool with fewer
+   * workers than requests and release its computation once it has
+   * started and the other requests had time to wait for it
+   *
+   * @param attribute
+   *          the attribute
+   * @return the futures of the requests
+   * @throws InterruptedException
+   *           if interrupted
+   */
+  private static final ArrayList<Future<Long>> __request(
+      final __BlockingAttribute attribute) throws InterruptedException {
+    final ForkJoinPool pool;
+    final ArrayList<Future<Long>> futures;
+    final IRun run;
+    int index;
+
+    run = AttributeComputationTest.__run();
+    pool = new ForkJoinPool(2);
+    futures = new ArrayList<>();
+    try {
+      for (index = AttributeComputationTest.REQUESTS; (--index) >= 0;) {
+        futures.add(pool.submit(new Callable<Long>() {
+          @Override
+          public final Long call() {
+            return attribute.get(run, TestBase.getNullLogger());
+          }
+        }));
+      }
+
+      Assert.assertTrue(attribute.m_started.await(1L, TimeUnit.MINUTES));
+      Thread.sleep(200L);
+      attribute.m_release.countDown();
+
+      for (final Future<Long> future : futures) {
+        try {
+          future.get(1L, TimeUnit.MINUTES);
+        } catch (final Throwable error) {
+          // checked by the caller
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return futures;
+  }
+
+  /**
+   * Concurrent requests for the same attribute must be answered by a
+   * single computation.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testSingleFlight() throws Exception {
+    final __BlockingAttribute attribute;
+
+    attribute = new __BlockingAttribute(false);
+    for (final Future<Long> future : AttributeComputationTest
+        .__request(attribute)) {
+      Assert.assertEquals(3L, future.get().longValue());
+    }
+    Assert.assertEquals(1, attribute.m_count.get());
+  }
+
+  /**
+   * If the computation of an attribute fails, all requests waiting for it
+   * must fail, too.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testFailureReachesAllWaiters() throws Exception {
+    final __BlockingAttribute attribute;
+    Throwable cause;
+
+    attribute = new __BlockingAttribute(true);
+    for (final Future<Long> future : AttributeComputationTest
+        .__request(attribute)) {
+      try {
+        future.get();
+        Assert.fail("The request should have failed."); //$NON-NLS-1$
+      } catch (final ExecutionException error) {
+        cause = error.getCause();
+        while ((cause != null) && (!(cause instanceof __Failure))) {
+          cause = cause.getCause();
+        }
+        Assert.assertNotNull(cause);
+      }
+    }
+    Assert.assertTrue(attribute.m_count.get() >= 1);
+  }
+
+  /** the failure thrown by the attribute */
+  private static final class __Failure extends RuntimeException {
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** create */
+    __Failure() {
+      super("Computation failed on purpose."); //$NON-NLS-1$
+    }
+  }
+
+  /** an attribute whose computation waits until it is released */
+  private static final class __BlockingAttribute
+      extends Attribute<IRun, Long> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** counted down when the first computation starts */
+    final CountDownLatch m_started;
+
+    /** counted down to let the computations finish */
+    final CountDownLatch m_release;
+
+    /** should the computation fail? */
+    private final boolean m_fail;
+
+    /**
+     * create
+     *
+     * @param fail
+     *          should the computation fail?
+     */
+    __BlockingAttribute(final boolean fail) {
+      super(EAttributeType.PERMANENTLY_STORED);
+      this.m_count = new AtomicInteger();
+      this.m_started = new CountDownLatch(1);
+      this.m_release = new CountDownLatch(1);
+      this.m_fail = fail;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Long compute(final IRun data, final Logger logger) {
+      this.m_count.incrementAndGet();
+      this.m_started.countDown();
+      try {
+        this.m_release.await();
+      } catch (final InterruptedException ie) {
+        throw new IllegalStateException(ie);
+      }
+      if (this.m_fail) {
+        throw new __Failure();
+      }
+      return Long.valueOf(data.m());
+    }
+  }
+}
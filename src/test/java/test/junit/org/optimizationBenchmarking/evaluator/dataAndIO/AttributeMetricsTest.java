@@ -0,0 +1,432 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.Attribute;
+import org.optimizationBenchmarking.evaluator.data.spec.AttributeCache;
+import org.optimizationBenchmarking.evaluator.data.spec.AttributeMetrics;
+import org.optimizationBenchmarking.evaluator.data.spec.EAttributeType;
+import org.optimizationBenchmarking.evaluator.data.spec.IAttributeMetricsSink;
+import org.optimizationBenchmarking.evaluator.data.spec.IAttributeSerializer;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the {@link IAttributeMetricsSink} is notified about hits,
+ * waits, misses, loads, and computations and that the
+ * {@link AttributeMetrics} registry counts and dumps them.
+ */
+public class AttributeMetricsTest {
+
+  /** the minimum time a blocked computation takes, in milliseconds */
+  private static final long DELAY = 20L;
+
+  /** create */
+  public AttributeMetricsTest() {
+    super();
+  }
+
+  /**
+   * Get the first run of a new experiment set
+   *
+   * @return the run
+   */
+  private static final IRun __run() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      return ExperimentSetContextTest._create(esc, //
+          new String[] { "1 9", "2 5" }, //$NON-NLS-1$//$NON-NLS-2$
+          new String[] { "1 8", "3 4" }) //$NON-NLS-1$//$NON-NLS-2$
+          .getData().get(0).getData().get(0).getData().get(0);
+    }
+  }
+
+  /**
+   * Run a test with a given metrics sink, an empty cache, and an empty
+   * attribute store
+   *
+   * @param sink
+   *          the sink
+   * @param test
+   *          the test
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  private static final void __withSink(final IAttributeMetricsSink sink,
+      final Runnable test) throws IOException {
+    final IAttributeMetricsSink old;
+
+    old = AttributeMetrics.getSink();
+    AttributeCache.getInstance().clear();
+    try {
+      AttributeMetrics.setSink(sink);
+      AttributeStoreTest._withStore(test);
+    } finally {
+      AttributeMetrics.setSink(old);
+      AttributeCache.getInstance().clear();
+    }
+  }
+
+  /**
+   * Get a stored attribute value three times: as miss, as hit, and as
+   * miss after eviction which is loaded from the store
+   *
+   * @param attribute
+   *          the attribute
+   */
+  private static final void __hitMissEvictLoad(
+      final __StoredAttribute attribute) {
+    final IRun run;
+    final Logger logger;
+
+    run = AttributeMetricsTest.__run();
+    logger = TestBase.getNullLogger();
+    Assert.assertEquals(run.m(), attribute.get(run, logger).longValue());
+    Assert.assertEquals(run.m(), attribute.get(run, logger).longValue());
+    AttributeCache.getInstance().clear();
+    Assert.assertEquals(run.m(), attribute.get(run, logger).longValue());
+    Assert.assertEquals(1L, attribute.m_count.get());
+  }
+
+  /**
+   * Hits, misses, re-computations of evicted values, loads, and
+   * computations must be reported to the sink.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testHitMissEvictionAndLoad() throws IOException {
+    final __RecordingSink sink;
+
+    sink = new __RecordingSink();
+    AttributeMetricsTest.__withSink(sink, new Runnable() {
+      @Override
+      public final void run() {
+        AttributeMetricsTest.__hitMissEvictLoad(new __StoredAttribute());
+      }
+    });
+
+    Assert.assertEquals(1L, sink.m_hits.get());
+    Assert.assertEquals(0L, sink.m_waits.get());
+    Assert.assertEquals(2L, sink.m_misses.get());
+    Assert.assertEquals(1L, sink.m_evicted.get());
+    Assert.assertEquals(1L, sink.m_loads.get());
+    Assert.assertTrue(sink.m_loadNanos.get() >= 0L);
+    Assert.assertEquals(1L, sink.m_computations.get());
+    Assert.assertTrue(sink.m_computeNanos.get() >= 0L);
+  }
+
+  /**
+   * A thread waiting for the computation of another thread must be
+   * counted as wait, not as hit or miss, and the waiting and computation
+   * times must be measured.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testWaitForOtherThread() throws IOException {
+    final __RecordingSink sink;
+
+    sink = new __RecordingSink();
+    AttributeMetricsTest.__withSink(sink, new Runnable() {
+      @Override
+      public final void run() {
+        final __BlockingAttribute attribute;
+        final IRun run;
+        final Thread computer, waiter;
+
+        attribute = new __BlockingAttribute();
+        run = AttributeMetricsTest.__run();
+        computer = new __Getter(attribute, run);
+        waiter = new __Getter(attribute, run);
+        try {
+          computer.start();
+          attribute.m_started.await();
+          waiter.start();
+          while (waiter.getState() != Thread.State.WAITING) {
+            Assert.assertTrue(waiter.isAlive());
+            Thread.sleep(1L);
+          }
+          Thread.sleep(AttributeMetricsTest.DELAY);
+          attribute.m_release.countDown();
+          computer.join();
+          waiter.join();
+        } catch (final InterruptedException error) {
+          throw new AssertionError(error);
+        }
+      }
+    });
+
+    Assert.assertEquals(0L, sink.m_hits.get());
+    Assert.assertEquals(1L, sink.m_waits.get());
+    Assert.assertTrue(sink.m_waitNanos.get() >= (AttributeMetricsTest.DELAY
+        * 1000000L));
+    Assert.assertEquals(1L, sink.m_misses.get());
+    Assert.assertEquals(0L, sink.m_evicted.get());
+    Assert.assertEquals(0L, sink.m_loads.get());
+    Assert.assertEquals(1L, sink.m_computations.get());
+    Assert.assertTrue(sink.m_computeNanos.get() >= (AttributeMetricsTest.DELAY
+        * 1000000L));
+  }
+
+  /**
+   * The registry must count the events per attribute class and write
+   * them to the logger.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testRegistryDump() throws IOException {
+    final AttributeMetrics registry;
+    final Logger logger;
+    final ArrayList<String> messages;
+
+    registry = AttributeMetrics.getRegistry();
+    registry.clear();
+    try {
+      AttributeMetricsTest.__withSink(registry, new Runnable() {
+        @Override
+        public final void run() {
+          AttributeMetricsTest
+              .__hitMissEvictLoad(new __StoredAttribute());
+        }
+      });
+
+      Assert.assertEquals(Long.valueOf(1L), registry
+          .getComputationCounts().get(__StoredAttribute.class));
+
+      messages = new ArrayList<>();
+      logger = Logger.getAnonymousLogger();
+      logger.setUseParentHandlers(false);
+      logger.setLevel(Level.INFO);
+      logger.addHandler(new Handler() {
+        @Override
+        public final void publish(final LogRecord record) {
+          messages.add(record.getMessage());
+        }
+
+        @Override
+        public final void flush() {
+          // nothing
+        }
+
+        @Override
+        public final void close() {
+          // nothing
+        }
+      });
+
+      registry.dump(logger);
+      Assert.assertEquals(1, messages.size());
+      // hits, waits, wait ms, misses, recomputations, loads
+      Assert.assertTrue(messages.get(0),
+          messages.get(0).contains(__StoredAttribute.class.getName()
+              + ": 1, 0, 0, 2, 1, 1, ")); //$NON-NLS-1$
+    } finally {
+      registry.clear();
+    }
+  }
+
+  /** a thread getting an attribute of a run */
+  private static final class __Getter extends Thread {
+
+    /** the attribute */
+    private final Attribute<IRun, Long> m_attribute;
+
+    /** the run */
+    private final IRun m_run;
+
+    /**
+     * create
+     *
+     * @param attribute
+     *          the attribute
+     * @param run
+     *          the run
+     */
+    __Getter(final Attribute<IRun, Long> attribute, final IRun run) {
+      super();
+      this.m_attribute = attribute;
+      this.m_run = run;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      this.m_attribute.get(this.m_run, TestBase.getNullLogger());
+    }
+  }
+
+  /** a sink recording all events */
+  private static final class __RecordingSink
+      implements IAttributeMetricsSink {
+
+    /** the hits */
+    final AtomicLong m_hits;
+    /** the waits */
+    final AtomicLong m_waits;
+    /** the waiting time */
+    final AtomicLong m_waitNanos;
+    /** the misses */
+    final AtomicLong m_misses;
+    /** the misses of evicted values */
+    final AtomicLong m_evicted;
+    /** the loads */
+    final AtomicLong m_loads;
+    /** the loading time */
+    final AtomicLong m_loadNanos;
+    /** the computations */
+    final AtomicLong m_computations;
+    /** the computation time */
+    final AtomicLong m_computeNanos;
+
+    /** create */
+    __RecordingSink() {
+      super();
+      this.m_hits = new AtomicLong();
+      this.m_waits = new AtomicLong();
+      this.m_waitNanos = new AtomicLong();
+      this.m_misses = new AtomicLong();
+      this.m_evicted = new AtomicLong();
+      this.m_loads = new AtomicLong();
+      this.m_loadNanos = new AtomicLong();
+      this.m_computations = new AtomicLong();
+      this.m_computeNanos = new AtomicLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void hit(final Attribute<?, ?> attribute) {
+      this.m_hits.incrementAndGet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void waited(final Attribute<?, ?> attribute,
+        final long nanos) {
+      this.m_waits.incrementAndGet();
+      this.m_waitNanos.addAndGet(nanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void miss(final Attribute<?, ?> attribute,
+        final boolean evicted) {
+      this.m_misses.incrementAndGet();
+      if (evicted) {
+        this.m_evicted.incrementAndGet();
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void loaded(final Attribute<?, ?> attribute,
+        final long nanos) {
+      this.m_loads.incrementAndGet();
+      this.m_loadNanos.addAndGet(nanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void computed(final Attribute<?, ?> attribute,
+        final long nanos) {
+      this.m_computations.incrementAndGet();
+      this.m_computeNanos.addAndGet(nanos);
+    }
+  }
+
+  /**
+   * a temporarily stored attribute which is kept in the attribute store
+   * and counts its computations
+   */
+  private static final class __StoredAttribute
+      extends Attribute<IRun, Long> {
+
+    /** the number of computations */
+    final AtomicLong m_count;
+
+    /** create */
+    __StoredAttribute() {
+      super(EAttributeType.TEMPORARILY_STORED);
+      this.m_count = new AtomicLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Long compute(final IRun data, final Logger logger) {
+      this.m_count.incrementAndGet();
+      return Long.valueOf(data.m());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final IAttributeSerializer<Long> getSerializer() {
+      return new IAttributeSerializer<Long>() {
+        @Override
+        public final int getVersion() {
+          return 1;
+        }
+
+        @Override
+        public final void write(final Long value, final DataOutput out)
+            throws IOException {
+          out.writeLong(value.longValue());
+        }
+
+        @Override
+        public final Long read(final DataInput in) throws IOException {
+          return Long.valueOf(in.readLong());
+        }
+      };
+    }
+  }
+
+  /**
+   * a permanently stored attribute whose computation blocks until it is
+   * released
+   */
+  private static final class __BlockingAttribute
+      extends Attribute<IRun, Long> {
+
+    /** counted down when the computation has started */
+    final CountDownLatch m_started;
+
+    /** counted down to release the computation */
+    final CountDownLatch m_release;
+
+    /** create */
+    __BlockingAttribute() {
+      super(EAttributeType.PERMANENTLY_STORED);
+      this.m_started = new CountDownLatch(1);
+      this.m_release = new CountDownLatch(1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Long compute(final IRun data, final Logger logger) {
+      this.m_started.countDown();
+      try {
+        this.m_release.await();
+      } catch (final InterruptedException error) {
+        throw new IllegalStateException(error);
+      }
+      return Long.valueOf(data.m());
+    }
+  }
+}
@@ -0,0 +1,327 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.Attribute;
+import org.optimizationBenchmarking.evaluator.data.spec.AttributeStore;
+import org.optimizationBenchmarking.evaluator.data.spec.CheckpointMatrix;
+import org.optimizationBenchmarking.evaluator.data.spec.CheckpointResampling;
+import org.optimizationBenchmarking.evaluator.data.spec.EAttributeType;
+import org.optimizationBenchmarking.evaluator.data.spec.IAttributeSerializer;
+import org.optimizationBenchmarking.evaluator.data.spec.IElementSet;
+import org.optimizationBenchmarking.evaluator.data.spec.IExperiment;
+import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the {@link AttributeStore} finds the values of attributes of
+ * equal data again and does not return them for changed data.
+ */
+public class AttributeStoreTest {
+
+  /** the rows of the runs */
+  private static final String[][] RUNS = { //
+      { "1 9", "5 7", "20 3", "100 1" }, //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
+      { "1 8", "3 6", "50 2" }, //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+  };
+
+  /** create */
+  public AttributeStoreTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with the same runs, but possibly different
+   * metadata
+   *
+   * @param upper
+   *          the upper bound of the quality dimension of the instance
+   * @param parameter
+   *          the value of the parameter of the experiment
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create(final int upper,
+      final int parameter) {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      ExperimentSetContextTest._prepare(esc, upper);
+      ExperimentSetContextTest._experiment(esc, "experiment", //$NON-NLS-1$
+          parameter, AttributeStoreTest.RUNS);
+      return esc.create();
+    }
+  }
+
+  /**
+   * Get the resampling of an experiment set
+   *
+   * @param set
+   *          the experiment set
+   * @return the resampling attribute
+   */
+  private static final CheckpointResampling __resampling(
+      final ExperimentSet set) {
+    return new CheckpointResampling(set.getDimensions().find("fes"), //$NON-NLS-1$
+        set.getDimensions().find("f"), //$NON-NLS-1$
+        new double[] { 1d, 4d, 10d, 60d, 100d });
+  }
+
+  /**
+   * Compute the resampling of an element and check whether it was loaded
+   * from the store
+   *
+   * @param set
+   *          the experiment set
+   * @param element
+   *          the element
+   * @param loaded
+   *          should the value be loaded from the store?
+   * @param expected
+   *          the expected result, or {@code null} if unknown
+   * @return the result
+   */
+  private static final CheckpointMatrix __check(final ExperimentSet set,
+      final IElementSet element, final boolean loaded,
+      final CheckpointMatrix expected) {
+    final AttributeStore store;
+    final long loads, writes;
+    final CheckpointMatrix result;
+    int run, checkpoint;
+
+    store = AttributeStore.getInstance();
+    loads = store.getLoadCount();
+    writes = store.getWriteCount();
+    result = AttributeStoreTest.__resampling(set).get(element,
+        TestBase.getNullLogger());
+
+    Assert.assertEquals((loaded ? 1L : 0L),
+        (store.getLoadCount() - loads));
+    Assert.assertEquals((loaded ? 0L : 1L),
+        (store.getWriteCount() - writes));
+
+    if (expected != null) {
+      Assert.assertEquals(expected.getRunCount(), result.getRunCount());
+      Assert.assertEquals(expected.getCheckpointCount(),
+          result.getCheckpointCount());
+      for (run = expected.getRunCount(); (--run) >= 0;) {
+        for (checkpoint = expected
+            .getCheckpointCount(); (--checkpoint) >= 0;) {
+          Assert.assertEquals(
+              Double.doubleToLongBits(expected.getValue(run, checkpoint)),
+              Double.doubleToLongBits(result.getValue(run, checkpoint)));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Run a test with a temporary store directory
+   *
+   * @param test
+   *          the test
+   * @throws IOException
+   *           if the directory cannot be created or deleted
+   */
+  static final void _withStore(final Runnable test)
+      throws IOException {
+    final AttributeStore store;
+    final Path old, directory;
+
+    store = AttributeStore.getInstance();
+    old = store.getDirectory();
+    directory = Files.createTempDirectory("attributes"); //$NON-NLS-1$
+    try {
+      store.setDirectory(directory);
+      test.run();
+    } finally {
+      store.setDirectory(old);
+      Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+        @Override
+        public final FileVisitResult visitFile(final Path file,
+            final BasicFileAttributes attrs) throws IOException {
+          Files.delete(file);
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public final FileVisitResult postVisitDirectory(final Path dir,
+            final IOException exc) throws IOException {
+          Files.delete(dir);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+  }
+
+  /**
+   * Values stored for one experiment set must be loaded for an equal,
+   * separately created set.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testRoundTrip() throws IOException {
+    AttributeStoreTest._withStore(new Runnable() {
+      @Override
+      public final void run() {
+        final ExperimentSet a, b;
+        final IExperiment ea, eb;
+        final CheckpointMatrix computed;
+
+        a = AttributeStoreTest.__create(10, 1);
+        ea = a.getData().get(0);
+        computed = AttributeStoreTest.__check(a, ea, false, null);
+
+        b = AttributeStoreTest.__create(10, 1);
+        eb = b.getData().get(0);
+        AttributeStoreTest.__check(b, eb, true, computed);
+        AttributeStoreTest.__check(b, eb.getData().get(0), false, null);
+        AttributeStoreTest.__check(a, ea.getData().get(0), true, null);
+      }
+    });
+  }
+
+  /**
+   * Values stored for one experiment set must not be loaded for a set with
+   * the same runs but different bounds or parameters.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testInvalidationOnMetadataChange() throws IOException {
+    AttributeStoreTest._withStore(new Runnable() {
+      @Override
+      public final void run() {
+        final ExperimentSet a, b, c;
+
+        a = AttributeStoreTest.__create(10, 1);
+        AttributeStoreTest.__check(a, a.getData().get(0), false, null);
+        AttributeStoreTest.__check(a, a.getData().get(0).getData().get(0),
+            false, null);
+
+        // a different bound of the instance changes the instance runs and
+        // the experiment
+        b = AttributeStoreTest.__create(20, 1);
+        AttributeStoreTest.__check(b, b.getData().get(0).getData().get(0),
+            false, null);
+        AttributeStoreTest.__check(b, b.getData().get(0), false, null);
+
+        // a different parameter value changes only the experiment
+        c = AttributeStoreTest.__create(10, 2);
+        AttributeStoreTest.__check(c, c.getData().get(0).getData().get(0),
+            true, null);
+        AttributeStoreTest.__check(c, c.getData().get(0), false, null);
+      }
+    });
+  }
+
+  /**
+   * Compute the upper bound attribute of the first run of a set and check
+   * whether it was loaded from the store
+   *
+   * @param set
+   *          the experiment set
+   * @param loaded
+   *          should the value be loaded from the store?
+   * @return the result
+   */
+  private static final double __checkRun(final ExperimentSet set,
+      final boolean loaded) {
+    final AttributeStore store;
+    final long loads;
+    final double result;
+
+    store = AttributeStore.getInstance();
+    loads = store.getLoadCount();
+    result = new __UpperBound().get(
+        set.getData().get(0).getData().get(0).getData().get(0),
+        TestBase.getNullLogger()).doubleValue();
+    Assert.assertEquals((loaded ? 1L : 0L),
+        (store.getLoadCount() - loads));
+    return result;
+  }
+
+  /**
+   * Values of run attributes depending on the instance of the run must not
+   * be loaded for a run with the same values but a different instance.
+   *
+   * @throws IOException
+   *           if the store directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testRunAttributeDependsOnInstance() throws IOException {
+    AttributeStoreTest._withStore(new Runnable() {
+      @Override
+      public final void run() {
+        Assert.assertEquals(10d, AttributeStoreTest
+            .__checkRun(AttributeStoreTest.__create(10, 1), false), 0d);
+        Assert.assertEquals(20d, AttributeStoreTest
+            .__checkRun(AttributeStoreTest.__create(20, 1), false), 0d);
+        Assert.assertEquals(10d, AttributeStoreTest
+            .__checkRun(AttributeStoreTest.__create(10, 1), true), 0d);
+      }
+    });
+  }
+
+  /**
+   * An attribute of runs returning the upper bound of the quality
+   * dimension of their instance
+   */
+  private static final class __UpperBound extends Attribute<IRun, Double> {
+
+    /** create */
+    __UpperBound() {
+      super(EAttributeType.TEMPORARILY_STORED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Double compute(final IRun data, final Logger logger) {
+      final IInstanceRuns runs;
+
+      runs = data.getOwner();
+      return Double.valueOf(runs.getInstance()
+          .getUpperBound(runs.getOwner().getOwner().getDimensions()
+              .find("f")) //$NON-NLS-1$
+          .doubleValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final IAttributeSerializer<Double> getSerializer() {
+      return new IAttributeSerializer<Double>() {
+        @Override
+        public final int getVersion() {
+          return 1;
+        }
+
+        @Override
+        public final void write(final Double value, final DataOutput out)
+            throws IOException {
+          out.writeDouble(value.doubleValue());
+        }
+
+        @Override
+        public final Double read(final DataInput in) throws IOException {
+          return Double.valueOf(in.readDouble());
+        }
+      };
+    }
+  }
+}
@@ -1,5 +1,12 @@
 package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
 
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ERunCompaction;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.io.impl.bbob.BBOBInput;
+import org.optimizationBenchmarking.utils.io.EArchiveType;
+
 import examples.org.optimizationBenchmarking.evaluator.dataAndIO.BBOBExample;
 import shared.junit.TestBase;
 import shared.junit.org.optimizationBenchmarking.evaluator.dataAndIO.ExperimentSetTest;
@@ -11,4 +18,25 @@ public class BBOBExampleTest extends ExperimentSetTest {
   public BBOBExampleTest() {
     super(new BBOBExample(TestBase.getNullLogger()));
   }
+
+  /**
+   * The non-improving points of the BBOB logs must be removed by the run
+   * compaction of the context and be counted there.
+   *
+   * @throws Exception
+   *           if loading fails
+   */
+  @Test(timeout = 3600000)
+  public void testCompaction() throws Exception {
+    try (final ExperimentSetContext ec = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      BBOBInput.getInstance().use().setDestination(ec)
+          .addArchiveResource(BBOBExample.class, BBOBExample.RESOURCE_NAME,
+              EArchiveType.ZIP)
+          .create().call();
+      Assert.assertSame(ERunCompaction.IMPROVEMENTS, ec.getCompaction());
+      Assert.assertNotNull(ec.create());
+      Assert.assertTrue(ec.getCompactedPointCount() > 0L);
+    }
+  }
 }
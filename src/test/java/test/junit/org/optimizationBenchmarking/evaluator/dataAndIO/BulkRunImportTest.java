@@ -0,0 +1,260 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the bulk methods of
+ * {@link org.optimizationBenchmarking.evaluator.data.spec.builders.IRunContext}
+ * add the same data points as adding them one by one and that they check
+ * the values in the same way.
+ */
+public class BulkRunImportTest {
+
+  /** the time values */
+  private static final long[] FES = { 1L, 2L, 4L, 8L, 16L, 33L };
+
+  /** the quality values */
+  private static final double[] F = { 9.5d, 7d, 7d, 4.25d, 1d, 0d };
+
+  /** create */
+  public BulkRunImportTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with one run filled by a given feeder
+   *
+   * @param feeder
+   *          the feeder
+   * @return the run
+   */
+  private static final IRun __run(final __Feeder feeder) {
+    final ExperimentSet set;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      ExperimentSetContextTest._prepare(esc);
+      try (final ExperimentContext ec = esc.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        ec.setParameterValue("p", Integer.valueOf(1)); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            feeder.feed(rc);
+          }
+        }
+      }
+      set = esc.create();
+    }
+    return ExperimentSetContextTest._run(set);
+  }
+
+  /**
+   * Get the rows stored in a {@code double} array
+   *
+   * @return the rows
+   */
+  private static final double[] __doubleRows() {
+    final double[] rows;
+    int index;
+
+    rows = new double[BulkRunImportTest.FES.length << 1];
+    for (index = BulkRunImportTest.FES.length; (--index) >= 0;) {
+      rows[index << 1] = BulkRunImportTest.FES[index];
+      rows[(index << 1) + 1] = BulkRunImportTest.F[index];
+    }
+    return rows;
+  }
+
+  /**
+   * Check that a run holds exactly the expected values
+   *
+   * @param run
+   *          the run
+   */
+  private static final void __check(final IRun run) {
+    int row;
+
+    Assert.assertEquals(BulkRunImportTest.FES.length, run.m());
+    for (row = run.m(); (--row) >= 0;) {
+      Assert.assertEquals(BulkRunImportTest.FES[row], run.getLong(row, 0));
+      Assert.assertEquals(
+          Double.doubleToLongBits(BulkRunImportTest.F[row]),
+          Double.doubleToLongBits(run.getDouble(row, 1)));
+    }
+  }
+
+  /** Adding the data points one by one is the reference. */
+  @Test(timeout = 3600000)
+  public void testSingleDataPoints() {
+    BulkRunImportTest.__check(BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        int index;
+        for (index = 0; index < BulkRunImportTest.FES.length; index++) {
+          rc.addDataPoint(Long.valueOf(BulkRunImportTest.FES[index]),
+              Double.valueOf(BulkRunImportTest.F[index]));
+        }
+      }
+    }));
+  }
+
+  /** Data points can be added column-wise. */
+  @Test(timeout = 3600000)
+  public void testColumns() {
+    BulkRunImportTest.__check(BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        rc.addDataPoints(BulkRunImportTest.FES.length,
+            BulkRunImportTest.FES, BulkRunImportTest.F);
+      }
+    }));
+  }
+
+  /** Columns of other primitive types must be converted. */
+  @Test(timeout = 3600000)
+  public void testColumnsOfOtherTypes() {
+    BulkRunImportTest.__check(BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        final int[] fes;
+        final float[] f;
+        int index;
+
+        fes = new int[BulkRunImportTest.FES.length + 3];
+        f = new float[fes.length];
+        for (index = BulkRunImportTest.FES.length; (--index) >= 0;) {
+          fes[index] = ((int) (BulkRunImportTest.FES[index]));
+          f[index] = ((float) (BulkRunImportTest.F[index]));
+        }
+        rc.addDataPoints(BulkRunImportTest.FES.length, fes, f);
+      }
+    }));
+  }
+
+  /** Data points can be added row-wise from a {@code double} array. */
+  @Test(timeout = 3600000)
+  public void testDoubleRows() {
+    BulkRunImportTest.__check(BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        rc.addDataPoints(BulkRunImportTest.__doubleRows(),
+            BulkRunImportTest.FES.length);
+      }
+    }));
+  }
+
+  /**
+   * Data points can be added row-wise from a {@code long} array and be
+   * mixed with other calls.
+   */
+  @Test(timeout = 3600000)
+  public void testLongRowsMixed() {
+    final IRun run;
+
+    run = BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        rc.addDataPoint("1 9"); //$NON-NLS-1$
+        rc.addDataPoints(new long[] { 2L, 8L, 3L, 7L, 99L, 99L }, 2);
+        rc.addDataPoints(1, new long[] { 5L }, new double[] { 6.5d });
+      }
+    });
+
+    Assert.assertEquals(4, run.m());
+    Assert.assertEquals(1L, run.getLong(0, 0));
+    Assert.assertEquals(2L, run.getLong(1, 0));
+    Assert.assertEquals(8d, run.getDouble(1, 1), 0d);
+    Assert.assertEquals(3L, run.getLong(2, 0));
+    Assert.assertEquals(7d, run.getDouble(2, 1), 0d);
+    Assert.assertEquals(5L, run.getLong(3, 0));
+    Assert.assertEquals(6.5d, run.getDouble(3, 1), 0d);
+  }
+
+  /**
+   * If any value of a bulk call is invalid, none of its data points may be
+   * added.
+   */
+  @Test(timeout = 3600000)
+  public void testInvalidValueAddsNothing() {
+    BulkRunImportTest.__check(BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        final double[] rows;
+
+        rows = BulkRunImportTest.__doubleRows();
+        rows[rows.length - 2] = 33.5d; // not a valid value of fes
+        try {
+          rc.addDataPoints(rows, BulkRunImportTest.FES.length);
+          Assert.fail("A non-integer time must be rejected."); //$NON-NLS-1$
+        } catch (final IllegalArgumentException expected) {
+          // expected
+        }
+        try {
+          rc.addDataPoints(BulkRunImportTest.__doubleRows(),
+              BulkRunImportTest.FES.length + 1);
+          Assert.fail("Too few values must be rejected."); //$NON-NLS-1$
+        } catch (final IllegalArgumentException expected) {
+          // expected
+        }
+        try {
+          rc.addDataPoints(BulkRunImportTest.FES.length,
+              BulkRunImportTest.FES);
+          Assert.fail("A missing column must be rejected."); //$NON-NLS-1$
+        } catch (final IllegalArgumentException expected) {
+          // expected
+        }
+        rc.addDataPoints(BulkRunImportTest.__doubleRows(),
+            BulkRunImportTest.FES.length);
+      }
+    }));
+  }
+
+  /** Bulk data must be checked against the bounds of the instance. */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testBulkInstanceBounds() {
+    BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        rc.addDataPoints(2, new long[] { 1L, 2L },
+            new double[] { 50d, 1d });
+      }
+    });
+  }
+
+  /** Bulk data must be checked for the order of the data points. */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testBulkOrder() {
+    BulkRunImportTest.__run(new __Feeder() {
+      @Override
+      final void feed(final RunContext rc) {
+        rc.addDataPoints(new long[] { 1L, 5L, 3L, 4L, 2L, 3L }, 3);
+      }
+    });
+  }
+
+  /** a feeder filling a run context */
+  private static abstract class __Feeder {
+    /** create */
+    __Feeder() {
+      super();
+    }
+
+    /**
+     * Add data to a run context
+     *
+     * @param rc
+     *          the run context
+     */
+    abstract void feed(final RunContext rc);
+  }
+}
@@ -0,0 +1,275 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnAggregation;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnStatistics;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnValues;
+import org.optimizationBenchmarking.evaluator.data.spec.IDataElement;
+import org.optimizationBenchmarking.evaluator.data.spec.IExperiment;
+import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the parallel {@link ColumnAggregation} gives the same results
+ * as aggregating the runs one after the other.
+ */
+public class ColumnAggregationTest {
+
+  /** the number of experiments */
+  private static final int EXPERIMENTS = 3;
+
+  /** the number of runs per experiment */
+  private static final int RUNS = 30;
+
+  /** the relative tolerance for sums, means, and variances */
+  private static final double TOLERANCE = 1e-12d;
+
+  /** create */
+  public ColumnAggregationTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with several experiments with many runs of
+   * different lengths
+   *
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create() {
+    String[][] runs;
+    int experiment, run, row;
+    double f;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      ExperimentSetContextTest._prepare(esc);
+      for (experiment = 1; experiment <= ColumnAggregationTest.EXPERIMENTS;
+          experiment++) {
+        runs = new String[ColumnAggregationTest.RUNS][];
+        for (run = 0; run < runs.length; run++) {
+          runs[run] = new String[1 + ((run * 7 + experiment) % 50)];
+          f = 10d;
+          for (row = 0; row < runs[run].length; row++) {
+            f *= (0.9d - (0.001d * ((row + run + experiment) % 17)));
+            runs[run][row] = ((1 + (row * (run + 1))) + " " + f); //$NON-NLS-1$
+          }
+        }
+        ExperimentSetContextTest._experiment(esc, ("e" + experiment), //$NON-NLS-1$
+            experiment, runs);
+      }
+      return esc.create();
+    }
+  }
+
+  /**
+   * Aggregate a column of all runs of a data element sequentially
+   *
+   * @param data
+   *          the data element
+   * @param column
+   *          the column
+   * @param statistics
+   *          the statistics to add to
+   * @param values
+   *          the values to add to
+   */
+  private static final void __sequential(final IDataElement data,
+      final int column, final ColumnStatistics statistics,
+      final ColumnValues values) {
+    if (data instanceof IRun) {
+      ((IRun) data).aggregateColumn(column, statistics);
+      ((IRun) data).aggregateColumn(column, values);
+      return;
+    }
+    if (data instanceof ExperimentSet) {
+      for (final IExperiment experiment : ((ExperimentSet) data)
+          .getData()) {
+        ColumnAggregationTest.__sequential(experiment, column, statistics,
+            values);
+      }
+      return;
+    }
+    if (data instanceof IExperiment) {
+      for (final IInstanceRuns runs : ((IExperiment) data).getData()) {
+        ColumnAggregationTest.__sequential(runs, column, statistics,
+            values);
+      }
+      return;
+    }
+    for (final IRun run : ((IInstanceRuns) data).getData()) {
+      ColumnAggregationTest.__sequential(run, column, statistics, values);
+    }
+  }
+
+  /**
+   * Compare a floating point result
+   *
+   * @param expected
+   *          the expected value
+   * @param actual
+   *          the actual value
+   */
+  private static final void __assertClose(final double expected,
+      final double actual) {
+    Assert.assertEquals(expected, actual, (ColumnAggregationTest.TOLERANCE
+        * Math.max(1d, Math.abs(expected))));
+  }
+
+  /**
+   * Compare two statistics
+   *
+   * @param expected
+   *          the expected statistics
+   * @param actual
+   *          the actual statistics
+   */
+  private static final void __assertEquals(
+      final ColumnStatistics expected, final ColumnStatistics actual) {
+    Assert.assertEquals(expected.getCount(), actual.getCount());
+    Assert.assertEquals(expected.getMinimum(), actual.getMinimum(), 0d);
+    Assert.assertEquals(expected.getMaximum(), actual.getMaximum(), 0d);
+    ColumnAggregationTest.__assertClose(expected.getSum(),
+        actual.getSum());
+    ColumnAggregationTest.__assertClose(expected.getMean(),
+        actual.getMean());
+    ColumnAggregationTest.__assertClose(expected.getVariance(),
+        actual.getVariance());
+  }
+
+  /**
+   * Compare the parallel and the sequential aggregation of both columns of
+   * a data element
+   *
+   * @param data
+   *          the data element
+   */
+  private static final void __check(final IDataElement data) {
+    ColumnStatistics expected, actual;
+    ColumnValues expectedValues;
+    int column;
+
+    for (column = 0; column < 2; column++) {
+      expected = new ColumnStatistics();
+      expectedValues = new ColumnValues();
+      ColumnAggregationTest.__sequential(data, column, expected,
+          expectedValues);
+
+      actual = ColumnAggregation.aggregate(data, column,
+          new ColumnStatistics());
+      ColumnAggregationTest.__assertEquals(expected, actual);
+
+      Assert.assertArrayEquals(expectedValues.toSortedArray(),
+          ColumnAggregation.aggregate(data, column, new ColumnValues())
+              .toSortedArray(),
+          0d);
+    }
+  }
+
+  /**
+   * The parallel aggregation of a whole set must be equal to the
+   * sequential one.
+   */
+  @Test(timeout = 3600000)
+  public void testExperimentSet() {
+    final ExperimentSet set;
+
+    set = ColumnAggregationTest.__create();
+    ColumnAggregationTest.__check(set);
+  }
+
+  /**
+   * The parallel aggregation of experiments, instance runs, and runs must
+   * be equal to the sequential one.
+   */
+  @Test(timeout = 3600000)
+  public void testParts() {
+    final ExperimentSet set;
+
+    set = ColumnAggregationTest.__create();
+    for (final IExperiment experiment : set.getData()) {
+      ColumnAggregationTest.__check(experiment);
+      for (final IInstanceRuns runs : experiment.getData()) {
+        ColumnAggregationTest.__check(runs);
+        ColumnAggregationTest.__check(runs.getData().get(0));
+      }
+    }
+  }
+
+  /**
+   * Values already in the destination aggregate must be kept and merged
+   * with the new ones.
+   */
+  @Test(timeout = 3600000)
+  public void testMergeIntoNonEmpty() {
+    final ExperimentSet set;
+    final ColumnStatistics expected, actual;
+    final ColumnValues values;
+
+    set = ColumnAggregationTest.__create();
+    expected = new ColumnStatistics();
+    actual = new ColumnStatistics();
+    expected.append(-5d);
+    expected.append(1e6d);
+    actual.append(-5d);
+    actual.append(1e6d);
+
+    ColumnAggregationTest.__sequential(set, 1, expected,
+        new ColumnValues());
+    Assert.assertSame(actual, ColumnAggregation.aggregate(set, 1, actual));
+    ColumnAggregationTest.__assertEquals(expected, actual);
+
+    values = new ColumnValues();
+    values.append(-5d);
+    ColumnAggregation.aggregate(set, 1, values);
+    Assert.assertEquals(expected.getCount() - 1L, values.size());
+    Assert.assertEquals(-5d, values.toSortedArray()[0], 0d);
+  }
+
+  /**
+   * The aggregation started from within another fork-join pool must give
+   * the same result.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testWithinForkJoinPool() throws Exception {
+    final ExperimentSet set;
+    final ColumnStatistics expected;
+    final ForkJoinPool pool;
+
+    set = ColumnAggregationTest.__create();
+    expected = new ColumnStatistics();
+    ColumnAggregationTest.__sequential(set, 1, expected,
+        new ColumnValues());
+
+    pool = new ForkJoinPool(3);
+    try {
+      ColumnAggregationTest.__assertEquals(expected,
+          pool.submit(new Callable<ColumnStatistics>() {
+            @Override
+            public final ColumnStatistics call() {
+              return ColumnAggregation.aggregate(set, 1,
+                  new ColumnStatistics());
+            }
+          }).get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** A {@code null} destination must be rejected. */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testNullAggregate() {
+    ColumnAggregation.aggregate(ColumnAggregationTest.__create(), 0,
+        ((ColumnStatistics) null));
+  }
+}
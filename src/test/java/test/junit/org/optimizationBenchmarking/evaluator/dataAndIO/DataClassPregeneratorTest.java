@@ -0,0 +1,103 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataClassPregenerator;
+
+/**
+ * Test that the {@link DataClassPregenerator} writes the sources and the
+ * index for a dimension set method.
+ */
+public class DataClassPregeneratorTest {
+
+  /** the dimension set method */
+  private static final String METHOD = "org.optimizationBenchmarking.evaluator.io.impl.bbob.BBOBInput#makeBBOBDimensionSet"; //$NON-NLS-1$
+
+  /** create */
+  public DataClassPregeneratorTest() {
+    super();
+  }
+
+  /**
+   * Delete a directory and its contents
+   *
+   * @param directory
+   *          the directory
+   * @throws IOException
+   *           if the directory cannot be deleted
+   */
+  private static final void __delete(final Path directory)
+      throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public final FileVisitResult visitFile(final Path file,
+          final BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public final FileVisitResult postVisitDirectory(final Path dir,
+          final IOException exc) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * The sources and one index entry must be generated for a dimension set
+   * method, even if it is given twice.
+   *
+   * @throws Throwable
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testGenerate() throws Throwable {
+    final Path directory, sources, resources;
+    final List<String> index;
+    final AtomicInteger count;
+
+    directory = Files.createTempDirectory("pregenerated"); //$NON-NLS-1$
+    try {
+      sources = directory.resolve("sources"); //$NON-NLS-1$
+      resources = directory.resolve("resources"); //$NON-NLS-1$
+
+      DataClassPregenerator.main(new String[] { sources.toString(),
+          resources.toString(), DataClassPregeneratorTest.METHOD,
+          DataClassPregeneratorTest.METHOD });
+
+      index = Files.readAllLines(resources.resolve("org") //$NON-NLS-1$
+          .resolve("optimizationBenchmarking").resolve("evaluator") //$NON-NLS-1$//$NON-NLS-2$
+          .resolve("data").resolve("impl").resolve("ref") //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+          .resolve("pregenerated.txt"), StandardCharsets.UTF_8); //$NON-NLS-1$
+      Assert.assertEquals(1, index.size());
+      Assert.assertTrue(index.get(0).indexOf('\t') > 0);
+
+      count = new AtomicInteger();
+      Files.walkFileTree(sources, new SimpleFileVisitor<Path>() {
+        @Override
+        public final FileVisitResult visitFile(final Path file,
+            final BasicFileAttributes attrs) {
+          if (file.getFileName().toString().endsWith(".java")) { //$NON-NLS-1$
+            count.incrementAndGet();
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      Assert.assertTrue(count.get() > 0);
+    } finally {
+      DataClassPregeneratorTest.__delete(directory);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataFactory;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
+import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
+import org.optimizationBenchmarking.utils.parsers.LooseByteParser;
+import org.optimizationBenchmarking.utils.parsers.LooseShortParser;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that dimension sets with the same signature share their generated
+ * classes and that compiled classes are found again in the on-disk class
+ * cache.
+ */
+public class DataFactoryCacheTest {
+
+  /** create */
+  public DataFactoryCacheTest() {
+    super();
+  }
+
+  /**
+   * Create a dimension set with a signature not used by any other test
+   *
+   * @return the dimension set
+   */
+  private static final DimensionSet __dimensions() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("a"); //$NON-NLS-1$
+        dc.setParser(LooseShortParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_SUB_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("b"); //$NON-NLS-1$
+        dc.setParser(LooseByteParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_INDEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING_STRICTLY);
+      }
+
+      esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+      try (final InstanceContext ic = esc.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = esc.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            rc.addDataPoint("1 5"); //$NON-NLS-1$
+            rc.addDataPoint("2 3"); //$NON-NLS-1$
+          }
+        }
+      }
+
+      return esc.create().getDimensions();
+    }
+  }
+
+  /**
+   * Drop all classes from the in-memory cache, so that the next dimension
+   * set has to load or generate its classes again
+   *
+   * @throws Exception
+   *           if the package-private cache cannot be accessed
+   */
+  private static final void __clearMemoryCache() throws Exception {
+    final Field field;
+    final Map<?, ?> cache;
+
+    field = Class.forName(
+        "org.optimizationBenchmarking.evaluator.data.impl.ref._DataFactoryCache") //$NON-NLS-1$
+        .getDeclaredField("CACHE"); //$NON-NLS-1$
+    field.setAccessible(true);
+    cache = ((Map<?, ?>) (field.get(null)));
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Delete a directory and its contents
+   *
+   * @param directory
+   *          the directory
+   * @throws IOException
+   *           if the directory cannot be deleted
+   */
+  private static final void __delete(final Path directory)
+      throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public final FileVisitResult visitFile(final Path file,
+          final BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public final FileVisitResult postVisitDirectory(final Path dir,
+          final IOException exc) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /** Dimension sets with the same signature must share their classes. */
+  @Test(timeout = 3600000)
+  public void testSameSignatureSharesClasses() {
+    final DataFactory a, b;
+
+    a = DataFactoryCacheTest.__dimensions().getDataFactory();
+    b = DataFactoryCacheTest.__dimensions().getDataFactory();
+    Assert.assertNotSame(a, b);
+    Assert.assertSame(a.getClass(), b.getClass());
+    Assert.assertSame(a.getOutputClass(), b.getOutputClass());
+  }
+
+  /**
+   * Compiled classes must be stored in the class cache directory and
+   * loaded from there instead of being compiled again.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testOnDiskReuse() throws Exception {
+    final Path old, directory;
+    final Class<?> compiled, loaded;
+    final ClassLoader loader;
+    final URL[] urls;
+    final String[] before;
+
+    Assume.assumeTrue(JavaCompilerTool.getInstance().canUse());
+
+    old = DimensionSet.getClassCacheDirectory();
+    directory = Files.createTempDirectory("classes") //$NON-NLS-1$
+        .toAbsolutePath().normalize();
+    try {
+      DimensionSet.setClassCacheDirectory(directory);
+
+      DataFactoryCacheTest.__clearMemoryCache();
+      compiled = DataFactoryCacheTest.__dimensions().getDataFactory()
+          .getClass();
+      before = directory.toFile().list();
+      Assert.assertEquals(1, before.length);
+      Assert.assertTrue(Files.isRegularFile(
+          directory.resolve(before[0]).resolve("factory.txt"))); //$NON-NLS-1$
+
+      DataFactoryCacheTest.__clearMemoryCache();
+      loaded = DataFactoryCacheTest.__dimensions().getDataFactory()
+          .getClass();
+      Assert.assertArrayEquals(before, directory.toFile().list());
+
+      Assert.assertNotSame(compiled, loaded);
+      Assert.assertEquals(compiled.getName(), loaded.getName());
+      loader = loaded.getClassLoader();
+      Assert.assertTrue(loader instanceof URLClassLoader);
+      urls = ((URLClassLoader) loader).getURLs();
+      Assert.assertEquals(1, urls.length);
+      Assert.assertEquals(directory.resolve(before[0]),
+          Paths.get(urls[0].toURI()).toAbsolutePath().normalize());
+    } finally {
+      DimensionSet.setClassCacheDirectory(old);
+      DataFactoryCacheTest.__clearMemoryCache();
+      DataFactoryCacheTest.__delete(directory);
+    }
+  }
+}
@@ -0,0 +1,306 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataFactory;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataPoint;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.parsers.LooseDoubleParser;
+import org.optimizationBenchmarking.utils.parsers.LooseFloatParser;
+import org.optimizationBenchmarking.utils.parsers.LooseIntParser;
+import org.optimizationBenchmarking.utils.parsers.LooseLongParser;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that the data point classes whose byte code is emitted directly,
+ * which are used if no Java compiler is available, behave exactly like
+ * the data point classes compiled from generated source code.
+ */
+public class EmittedDataPointTest {
+
+  /** the package of the data point implementation */
+  private static final String PACKAGE = "org.optimizationBenchmarking.evaluator.data.impl.ref."; //$NON-NLS-1$
+
+  /** the number of random data points */
+  private static final int POINTS = 60;
+
+  /** create */
+  public EmittedDataPointTest() {
+    super();
+  }
+
+  /**
+   * Declare a dimension
+   *
+   * @param esc
+   *          the experiment set context
+   * @param name
+   *          the name
+   * @param parser
+   *          the parser
+   * @param type
+   *          the dimension type
+   * @param direction
+   *          the direction
+   */
+  private static final void __dimension(final ExperimentSetContext esc,
+      final String name, final NumberParser<?> parser,
+      final EDimensionType type, final EDimensionDirection direction) {
+    try (final DimensionContext dc = esc.createDimension()) {
+      dc.setName(name);
+      dc.setParser(parser);
+      dc.setType(type);
+      dc.setDirection(direction);
+    }
+  }
+
+  /**
+   * Create a dimension set with dimensions of all the types {@code int},
+   * {@code long}, {@code float}, and {@code double} and with all
+   * directions
+   *
+   * @return the dimension set
+   */
+  private static final DimensionSet __dimensions() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      EmittedDataPointTest.__dimension(esc, "fes", //$NON-NLS-1$
+          LooseLongParser.INSTANCE, EDimensionType.ITERATION_FE,
+          EDimensionDirection.INCREASING_STRICTLY);
+      EmittedDataPointTest.__dimension(esc, "steps", //$NON-NLS-1$
+          LooseIntParser.INSTANCE, EDimensionType.ITERATION_ALGORITHM_STEP,
+          EDimensionDirection.INCREASING);
+      EmittedDataPointTest.__dimension(esc, "time", //$NON-NLS-1$
+          LooseFloatParser.INSTANCE, EDimensionType.RUNTIME_NORMALIZED,
+          EDimensionDirection.INCREASING);
+      EmittedDataPointTest.__dimension(esc, "f", //$NON-NLS-1$
+          LooseDoubleParser.INSTANCE,
+          EDimensionType.QUALITY_PROBLEM_DEPENDENT,
+          EDimensionDirection.DECREASING_STRICTLY);
+      EmittedDataPointTest.__dimension(esc, "g", //$NON-NLS-1$
+          LooseFloatParser.INSTANCE,
+          EDimensionType.QUALITY_PROBLEM_INDEPENDENT,
+          EDimensionDirection.DECREASING);
+
+      esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+      try (final InstanceContext ic = esc.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = esc.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            rc.addDataPoint("1 1 0.5 10 5"); //$NON-NLS-1$
+          }
+        }
+      }
+
+      return esc.create().getDimensions();
+    }
+  }
+
+  /**
+   * Create a data factory whose data point class is emitted as byte code
+   *
+   * @param dims
+   *          the dimensions
+   * @return the data factory
+   * @throws Exception
+   *           if the package-private emitter cannot be accessed
+   */
+  private static final DataFactory __emitted(final DimensionSet dims)
+      throws Exception {
+    final Method emit;
+    final Constructor<?> constructor;
+    final Class<?> clazz;
+
+    emit = Class.forName(EmittedDataPointTest.PACKAGE + "_DataPointEmitter") //$NON-NLS-1$
+        .getDeclaredMethod("_emit", ArraySetView.class); //$NON-NLS-1$
+    emit.setAccessible(true);
+    clazz = ((Class<?>) (emit.invoke(null, dims.getData())));
+
+    constructor = Class
+        .forName(EmittedDataPointTest.PACKAGE + "_EmittedDataFactory") //$NON-NLS-1$
+        .getDeclaredConstructor(ArraySetView.class, Class.class);
+    constructor.setAccessible(true);
+    return ((DataFactory) (constructor.newInstance(dims.getData(),
+        clazz)));
+  }
+
+  /**
+   * Create random rows, with many equal values so that the comparisons
+   * and validations see both equal and different values
+   *
+   * @return the rows
+   */
+  private static final String[] __rows() {
+    final Random random;
+    final String[] rows;
+    int index;
+
+    random = new Random(4711L);
+    rows = new String[EmittedDataPointTest.POINTS];
+    for (index = rows.length; (--index) >= 0;) {
+      rows[index] = ((((((((random.nextInt(6) + " ") + //$NON-NLS-1$
+          (random.nextInt(5) - 2)) + ' ') + //
+          Float.toString(random.nextInt(4) * 0.25f)) + ' ') + //
+          Double.toString((random.nextInt(5) - 2) * 1.1d)) + ' ') + //
+          Float.toString(random.nextInt(3) * 3.3f));
+    }
+    return rows;
+  }
+
+  /**
+   * Check two data points for equal values
+   *
+   * @param compiled
+   *          the compiled data point
+   * @param emitted
+   *          the emitted data point
+   */
+  private static final void __checkValues(final DataPoint compiled,
+      final DataPoint emitted) {
+    int column;
+
+    Assert.assertEquals(compiled.n(), emitted.n());
+    for (column = compiled.n(); (--column) >= 0;) {
+      Assert.assertEquals(compiled.get(column), emitted.get(column));
+      Assert.assertEquals(
+          Double.doubleToLongBits(compiled.getDouble(column)),
+          Double.doubleToLongBits(emitted.getDouble(column)));
+      Assert.assertEquals(Float.floatToIntBits(compiled.getFloat(column)),
+          Float.floatToIntBits(emitted.getFloat(column)));
+      Assert.assertEquals(compiled.getLong(column),
+          emitted.getLong(column));
+      Assert.assertEquals(compiled.getInt(column), emitted.getInt(column));
+      Assert.assertEquals(compiled.getShort(column),
+          emitted.getShort(column));
+      Assert.assertEquals(compiled.getByte(column),
+          emitted.getByte(column));
+    }
+  }
+
+  /**
+   * Check whether a point can follow another one
+   *
+   * @param after
+   *          the later point
+   * @param before
+   *          the earlier point
+   * @return {@code true} if it can, {@code false} otherwise
+   */
+  private static final boolean __follows(final DataPoint after,
+      final DataPoint before) {
+    try {
+      after.validateAfter(before);
+      return true;
+    } catch (final IllegalArgumentException error) {
+      return false;
+    }
+  }
+
+  /**
+   * Check whether a string can be parsed
+   *
+   * @param factory
+   *          the factory
+   * @param string
+   *          the string
+   * @return {@code true} if it can, {@code false} otherwise
+   */
+  private static final boolean __parses(final DataFactory factory,
+      final String string) {
+    try {
+      factory.parseString(string);
+      return true;
+    } catch (final RuntimeException error) {
+      return false;
+    }
+  }
+
+  /**
+   * Emitted and compiled data points must parse to the same values and
+   * agree on comparison, equality, and validation.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testEmittedLikeCompiled() throws Exception {
+    final DimensionSet dims;
+    final DataFactory compiled, emitted;
+    final String[] rows;
+    final DataPoint[] compiledPoints, emittedPoints;
+    int i, j;
+
+    dims = EmittedDataPointTest.__dimensions();
+    compiled = dims.getDataFactory();
+    emitted = EmittedDataPointTest.__emitted(dims);
+    Assert.assertNotSame(compiled.getOutputClass(),
+        emitted.getOutputClass());
+
+    rows = EmittedDataPointTest.__rows();
+    compiledPoints = new DataPoint[rows.length];
+    emittedPoints = new DataPoint[rows.length];
+    for (i = rows.length; (--i) >= 0;) {
+      compiledPoints[i] = compiled.parseString(rows[i]);
+      emittedPoints[i] = emitted.parseString(rows[i]);
+      EmittedDataPointTest.__checkValues(compiledPoints[i],
+          emittedPoints[i]);
+      EmittedDataPointTest.__checkValues(compiledPoints[i],
+          emitted.parseNumbers(compiledPoints[i].toArray(new Number[0])));
+      EmittedDataPointTest.__checkValues(compiledPoints[i],
+          emittedPoints[i].copy());
+    }
+
+    for (i = rows.length; (--i) >= 0;) {
+      for (j = rows.length; (--j) >= 0;) {
+        Assert.assertEquals(
+            Integer.signum(compiledPoints[i].compareTo(compiledPoints[j])),
+            Integer.signum(emittedPoints[i].compareTo(emittedPoints[j])));
+        Assert.assertEquals(compiledPoints[i].equals(compiledPoints[j]),
+            emittedPoints[i].equals(emittedPoints[j]));
+        if (emittedPoints[i].equals(emittedPoints[j])) {
+          Assert.assertEquals(emittedPoints[i].hashCode(),
+              emittedPoints[j].hashCode());
+        }
+        Assert.assertEquals(
+            EmittedDataPointTest.__follows(compiledPoints[i],
+                compiledPoints[j]),
+            EmittedDataPointTest.__follows(emittedPoints[i],
+                emittedPoints[j]));
+      }
+    }
+
+    for (final String row : new String[] { //
+        "1 2 0.5 1.5 1", //$NON-NLS-1$
+        "1.5 2 0.5 1.5 1", //$NON-NLS-1$
+        "1 2.5 0.5 1.5 1", //$NON-NLS-1$
+        "1 2 x 1.5 1", //$NON-NLS-1$
+        "1 2 0.5", //$NON-NLS-1$
+        "1 2 0.5 1.5 1 7", //$NON-NLS-1$
+        "1 3000000000 0.5 1.5 1", //$NON-NLS-1$
+    }) {
+      Assert.assertEquals(row,
+          Boolean.valueOf(EmittedDataPointTest.__parses(compiled, row)),
+          Boolean.valueOf(EmittedDataPointTest.__parses(emitted, row)));
+    }
+  }
+}
@@ -0,0 +1,433 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.EElementSetValidation;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ERunCompaction;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.EStoragePrecision;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.utils.parsers.LooseDoubleParser;
+import org.optimizationBenchmarking.utils.parsers.LooseLongParser;
+
+import shared.junit.TestBase;
+
+/**
+ * Test the settings of the {@link ExperimentSetContext} which change how
+ * the logged runs are stored.
+ */
+public class ExperimentSetContextTest {
+
+  /** create */
+  public ExperimentSetContextTest() {
+    super();
+  }
+
+  /**
+   * Declare a strictly increasing time dimension {@code fes}, a decreasing
+   * quality dimension {@code f}, a single instance which bounds the values
+   * of {@code f} to {@code [0, 10]} and has a feature {@code n}, and a
+   * parameter {@code p}.
+   *
+   * @param esc
+   *          the experiment set context
+   */
+  static final void _prepare(final ExperimentSetContext esc) {
+    ExperimentSetContextTest._prepare(esc, 10);
+  }
+
+  /**
+   * Declare a strictly increasing time dimension {@code fes}, a decreasing
+   * quality dimension {@code f}, a single instance which bounds the values
+   * of {@code f} to {@code [0, upper]} and has a feature {@code n}, and a
+   * parameter {@code p}.
+   *
+   * @param esc
+   *          the experiment set context
+   * @param upper
+   *          the upper bound of {@code f}
+   */
+  static final void _prepare(final ExperimentSetContext esc,
+      final int upper) {
+
+    try (final DimensionContext dc = esc.createDimension()) {
+      dc.setName("fes"); //$NON-NLS-1$
+      dc.setParser(LooseLongParser.INSTANCE);
+      dc.setType(EDimensionType.ITERATION_FE);
+      dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+    }
+    try (final DimensionContext dc = esc.createDimension()) {
+      dc.setName("f"); //$NON-NLS-1$
+      dc.setParser(LooseDoubleParser.INSTANCE);
+      dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+      dc.setDirection(EDimensionDirection.DECREASING);
+    }
+
+    esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+    try (final InstanceContext ic = esc.createInstance()) {
+      ic.setName("instance"); //$NON-NLS-1$
+      ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      ic.setLowerBound("f", "0"); //$NON-NLS-1$//$NON-NLS-2$
+      ic.setUpperBound("f", Integer.valueOf(upper)); //$NON-NLS-1$
+    }
+
+    esc.declareParameter("p", "A parameter."); //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /**
+   * Add an experiment with the given runs on the instance declared by
+   * {@link #_prepare(ExperimentSetContext)}
+   *
+   * @param esc
+   *          the experiment set context
+   * @param name
+   *          the name of the experiment
+   * @param parameter
+   *          the value of parameter {@code p}
+   * @param runs
+   *          the runs, each given as its rows in text form
+   */
+  static final void _experiment(final ExperimentSetContext esc,
+      final String name, final int parameter, final String[]... runs) {
+
+    try (final ExperimentContext ec = esc.createExperiment()) {
+      ec.setName(name);
+      ec.setParameterValue("p", Integer.valueOf(parameter)); //$NON-NLS-1$
+      try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+        irc.setInstance("instance"); //$NON-NLS-1$
+        for (final String[] run : runs) {
+          try (final RunContext rc = irc.createRun()) {
+            for (final String row : run) {
+              rc.addDataPoint(row);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Create a small experiment set with one experiment with the given runs,
+   * as declared by {@link #_prepare(ExperimentSetContext)}.
+   *
+   * @param esc
+   *          the experiment set context
+   * @param runs
+   *          the runs, each given as its rows in text form
+   * @return the experiment set
+   */
+  static final ExperimentSet _create(
+      final ExperimentSetContext esc, final String[]... runs) {
+    ExperimentSetContextTest._prepare(esc);
+    ExperimentSetContextTest._experiment(esc, "experiment", 1, runs); //$NON-NLS-1$
+    return esc.create();
+  }
+
+  /**
+   * Get the only run of the only experiment of a set created by
+   * {@link #_create(ExperimentSetContext, String[][])}
+   *
+   * @param set
+   *          the experiment set
+   * @return the run
+   */
+  static final IRun _run(final ExperimentSet set) {
+    return set.getData().get(0).getData().get(0).getData().get(0);
+  }
+
+  /** Compaction must remove the rows which do not improve the quality. */
+  @Test(timeout = 3600000)
+  public void testCompactionRemovesNonImprovingRows() {
+    final ExperimentSet set;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setCompaction(ERunCompaction.IMPROVEMENTS);
+      set = ExperimentSetContextTest._create(esc, new String[] {
+          "1 5", "2 5", "3 4", "4 4", "5 3" }); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$
+      Assert.assertEquals(2L, esc.getCompactedPointCount());
+    }
+
+    Assert.assertEquals(3, ExperimentSetContextTest._run(set).m());
+  }
+
+  /**
+   * A row which cannot follow its predecessor must make the log fail,
+   * even if compaction would remove it.
+   */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testCompactionKeepsOrderValidation() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setCompaction(ERunCompaction.IMPROVEMENTS);
+      ExperimentSetContextTest._create(esc, new String[] { "1 5", //$NON-NLS-1$
+          "3 4", "2 4.5", "4 3" }); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    }
+  }
+
+  /**
+   * A row outside of the bounds of the instance must make the log fail,
+   * even if compaction would remove it.
+   */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testCompactionKeepsBoundsValidation() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setCompaction(ERunCompaction.IMPROVEMENTS);
+      ExperimentSetContextTest._create(esc, new String[] { "1 5", //$NON-NLS-1$
+          "2 50", "3 4" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+  }
+
+  /**
+   * {@link EElementSetValidation#ADJACENT} must still find a data point
+   * which cannot follow its predecessor.
+   */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testAdjacentValidationChecksRuns() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setValidation(EElementSetValidation.ADJACENT);
+      ExperimentSetContextTest._create(esc, new String[] { "1 5", //$NON-NLS-1$
+          "3 4", "2 3" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+  }
+
+  /**
+   * {@link EElementSetValidation#ADJACENT} must find experiments with the
+   * same name even if they are not sorted next to each other.
+   */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testAdjacentValidationChecksAllExperimentNames() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setValidation(EElementSetValidation.ADJACENT);
+      ExperimentSetContextTest._prepare(esc);
+      // experiments are sorted by parameter, so "a" and "a" are not
+      // adjacent
+      ExperimentSetContextTest._experiment(esc, "a", 1, //$NON-NLS-1$
+          new String[] { "1 5" }); //$NON-NLS-1$
+      ExperimentSetContextTest._experiment(esc, "b", 2, //$NON-NLS-1$
+          new String[] { "1 5" }); //$NON-NLS-1$
+      ExperimentSetContextTest._experiment(esc, "a", 3, //$NON-NLS-1$
+          new String[] { "1 5" }); //$NON-NLS-1$
+      esc.create();
+    }
+  }
+
+  /**
+   * {@link EElementSetValidation#ADJACENT} must accept valid data and
+   * keep all experiments.
+   */
+  @Test(timeout = 3600000)
+  public void testAdjacentValidationAcceptsValidData() {
+    final ExperimentSet set;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setValidation(EElementSetValidation.ADJACENT);
+      ExperimentSetContextTest._prepare(esc);
+      ExperimentSetContextTest._experiment(esc, "a", 1, //$NON-NLS-1$
+          new String[] { "1 5", "2 4" }, new String[] { "1 6" }); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+      ExperimentSetContextTest._experiment(esc, "b", 2, //$NON-NLS-1$
+          new String[] { "1 5" }); //$NON-NLS-1$
+      set = esc.create();
+    }
+
+    Assert.assertEquals(2, set.getData().size());
+  }
+
+  /**
+   * {@link EElementSetValidation#NONE} does not check data points against
+   * each other, so trusted data is taken as it is.
+   */
+  @Test(timeout = 3600000)
+  public void testNoValidationSkipsPairChecks() {
+    final ExperimentSet set;
+    final IRun run;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setValidation(EElementSetValidation.NONE);
+      set = ExperimentSetContextTest._create(esc, new String[] { "1 5", //$NON-NLS-1$
+          "3 4", "2 3" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+
+    run = ExperimentSetContextTest._run(set);
+    Assert.assertEquals(3, run.m());
+    Assert.assertEquals(2L, run.getLong(2, 0));
+  }
+
+  /**
+   * A context which was closed after its instances were defined, but
+   * without creating an experiment set, is still an error.
+   */
+  @Test(timeout = 3600000, expected = IllegalStateException.class)
+  public void testCloseAfterInstancesFails() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      ExperimentSetContextTest._prepare(esc);
+      Assert.assertEquals(1, esc.getInstanceSet().getData().size());
+    }
+  }
+
+  /**
+   * {@link EStoragePrecision#SINGLE} must round the values of non-strict
+   * {@code double} quality dimensions to the nearest {@code float} and
+   * keep all other values exact.
+   */
+  @Test(timeout = 3600000)
+  public void testSinglePrecisionRounds() {
+    final String[] rows;
+    final double[] values;
+    final ExperimentSet exact, single;
+    IRun run;
+    int row;
+
+    values = new double[] { 9.123456789012345d, 7.7d, 0.1d, 0d };
+    rows = new String[values.length];
+    for (row = 0; row < rows.length; row++) {
+      rows[row] = ((((1L << 40) + row) + " ") + values[row]); //$NON-NLS-1$
+    }
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.EXACT);
+      exact = ExperimentSetContextTest._create(esc, rows);
+    }
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.SINGLE);
+      Assert.assertSame(EStoragePrecision.SINGLE,
+          esc.getStoragePrecision());
+      single = ExperimentSetContextTest._create(esc, rows);
+    }
+
+    run = ExperimentSetContextTest._run(exact);
+    Assert.assertEquals(values.length, run.m());
+    for (row = 0; row < values.length; row++) {
+      Assert.assertEquals(((1L << 40) + row), run.getLong(row, 0));
+      Assert.assertEquals(Double.doubleToLongBits(values[row]),
+          Double.doubleToLongBits(run.getDouble(row, 1)));
+    }
+
+    run = ExperimentSetContextTest._run(single);
+    Assert.assertEquals(values.length, run.m());
+    for (row = 0; row < values.length; row++) {
+      Assert.assertEquals(((1L << 40) + row), run.getLong(row, 0));
+      Assert.assertEquals(
+          Double.doubleToLongBits((float) (values[row])),
+          Double.doubleToLongBits(run.getDouble(row, 1)));
+    }
+  }
+
+  /**
+   * Two different values of a non-strict dimension may become equal by
+   * rounding, which must be accepted.
+   */
+  @Test(timeout = 3600000)
+  public void testSinglePrecisionMergesCloseValues() {
+    final ExperimentSet set;
+    final IRun run;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.SINGLE);
+      set = ExperimentSetContextTest._create(esc, new String[] {
+          "1 1.00000000002", "2 1.00000000001", "3 1" }); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+    }
+
+    run = ExperimentSetContextTest._run(set);
+    Assert.assertEquals(3, run.m());
+    Assert.assertEquals(1d, run.getDouble(0, 1), 0d);
+    Assert.assertEquals(1d, run.getDouble(1, 1), 0d);
+    Assert.assertEquals(1d, run.getDouble(2, 1), 0d);
+  }
+
+  /**
+   * Values must be checked against the bounds of the instance before they
+   * are rounded.
+   */
+  @Test(timeout = 3600000, expected = IllegalArgumentException.class)
+  public void testSinglePrecisionChecksBoundsBeforeRounding() {
+    Assert.assertEquals(10f, ((float) 10.0000000001d), 0f);
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.SINGLE);
+      ExperimentSetContextTest._create(esc, new String[] {
+          "1 10.0000000001", "2 5" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+  }
+
+  /**
+   * A column must stay exact if rounding would turn a non-zero value into
+   * zero.
+   */
+  @Test(timeout = 3600000)
+  public void testSinglePrecisionKeepsTinyValues() {
+    final ExperimentSet set;
+    final IRun run;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.SINGLE);
+      set = ExperimentSetContextTest._create(esc, new String[] {
+          "1 5.1", "2 1e-300" }); //$NON-NLS-1$//$NON-NLS-2$
+    }
+
+    run = ExperimentSetContextTest._run(set);
+    Assert.assertEquals(5.1d, run.getDouble(0, 1), 0d);
+    Assert.assertEquals(1e-300d, run.getDouble(1, 1), 0d);
+  }
+
+  /**
+   * Dimensions with a strict direction must always be stored exactly,
+   * because rounding could make two different values equal.
+   */
+  @Test(timeout = 3600000)
+  public void testSinglePrecisionExemptsStrictDimensions() {
+    final ExperimentSet set;
+    final IRun run;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setStoragePrecision(EStoragePrecision.SINGLE);
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("fes"); //$NON-NLS-1$
+        dc.setParser(LooseLongParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("f"); //$NON-NLS-1$
+        dc.setParser(LooseDoubleParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING_STRICTLY);
+      }
+      esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+      try (final InstanceContext ic = esc.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      }
+      esc.declareParameter("p", "A parameter."); //$NON-NLS-1$//$NON-NLS-2$
+      ExperimentSetContextTest._experiment(esc, "experiment", 1, //$NON-NLS-1$
+          new String[] { "1 1.00000000002", "2 1.00000000001", //$NON-NLS-1$//$NON-NLS-2$
+              "3 1" }); //$NON-NLS-1$
+      set = esc.create();
+    }
+
+    run = ExperimentSetContextTest._run(set);
+    Assert.assertEquals(3, run.m());
+    Assert.assertEquals(1.00000000002d, run.getDouble(0, 1), 0d);
+    Assert.assertEquals(1.00000000001d, run.getDouble(1, 1), 0d);
+    Assert.assertEquals(1d, run.getDouble(2, 1), 0d);
+  }
+}
@@ -0,0 +1,254 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.IExperiment;
+import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.ParallelExecution;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that experiment sets compiled in parallel keep the order in which
+ * their elements were added and report the same error as a sequential
+ * compilation, i.e., the error of the last failing element.
+ */
+public class ParallelCompilationTest {
+
+  /** the number of experiments */
+  private static final int EXPERIMENTS = 5;
+
+  /** the number of runs per experiment */
+  private static final int RUNS = 12;
+
+  /** create */
+  public ParallelCompilationTest() {
+    super();
+  }
+
+  /**
+   * Get the rows of a run
+   *
+   * @param experiment
+   *          the experiment index
+   * @param run
+   *          the run index
+   * @param valid
+   *          should the run be valid?
+   * @return the rows
+   */
+  private static final String[] __rows(final int experiment,
+      final int run, final boolean valid) {
+    final long start;
+
+    start = ((1000L * experiment) + (10L * run));
+    if (valid) {
+      return new String[] { (start + " 5"), //$NON-NLS-1$
+          ((start + 1L + (run % 3)) + " 4") }; //$NON-NLS-1$
+    }
+    // the time goes backwards: the run fails when it is compiled
+    return new String[] { (start + " 5"), //$NON-NLS-1$
+        ((start + 1L) + " 4"), (start + " 3") }; //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /**
+   * Create an experiment set
+   *
+   * @param invalid
+   *          the experiment and run indices of the invalid runs, as pairs
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create(final int... invalid) {
+    String[][] runs;
+    boolean valid;
+    int experiment, run, index;
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      ExperimentSetContextTest._prepare(esc);
+      for (experiment = 0; experiment < ParallelCompilationTest.EXPERIMENTS;
+          experiment++) {
+        runs = new String[ParallelCompilationTest.RUNS][];
+        for (run = 0; run < runs.length; run++) {
+          valid = true;
+          for (index = 0; index < invalid.length; index += 2) {
+            if ((invalid[index] == experiment)
+                && (invalid[index + 1] == run)) {
+              valid = false;
+            }
+          }
+          runs[run] = ParallelCompilationTest.__rows(experiment, run,
+              valid);
+        }
+        ExperimentSetContextTest._experiment(esc, ("e" + experiment), //$NON-NLS-1$
+            experiment, runs);
+      }
+      return esc.create();
+    }
+  }
+
+  /**
+   * Check that the experiments and runs of a set are in the order in
+   * which they were added
+   *
+   * @param set
+   *          the set
+   */
+  private static final void __checkOrder(final ExperimentSet set) {
+    IExperiment experiment;
+    IInstanceRuns runs;
+    IRun run;
+    int e, r;
+
+    Assert.assertEquals(ParallelCompilationTest.EXPERIMENTS,
+        set.getData().size());
+    for (e = 0; e < ParallelCompilationTest.EXPERIMENTS; e++) {
+      experiment = set.getData().get(e);
+      Assert.assertEquals(("e" + e), experiment.getName()); //$NON-NLS-1$
+      Assert.assertEquals(1, experiment.getData().size());
+      runs = experiment.getData().get(0);
+      Assert.assertEquals(ParallelCompilationTest.RUNS,
+          runs.getData().size());
+      for (r = 0; r < ParallelCompilationTest.RUNS; r++) {
+        run = runs.getData().get(r);
+        Assert.assertEquals(((1000L * e) + (10L * r)), run.getLong(0, 0));
+        Assert.assertEquals(((1000L * e) + (10L * r) + 1L + (r % 3)),
+            run.getLong(1, 0));
+      }
+    }
+  }
+
+  /**
+   * Get the message of the error thrown when creating an invalid set
+   *
+   * @param invalid
+   *          the experiment and run indices of the invalid runs, as pairs
+   * @return the message
+   */
+  private static final String __error(final int... invalid) {
+    try {
+      ParallelCompilationTest.__create(invalid);
+    } catch (final IllegalArgumentException error) {
+      return error.getMessage();
+    }
+    Assert.fail("The set should be invalid."); //$NON-NLS-1$
+    return null;
+  }
+
+  /**
+   * Run a computation from within another fork-join pool
+   *
+   * @param callable
+   *          the computation
+   * @return the result
+   * @throws Exception
+   *           if something goes wrong
+   * @param <T>
+   *          the result type
+   */
+  private static final <T> T __inPool(final Callable<T> callable)
+      throws Exception {
+    final ForkJoinPool pool;
+
+    pool = new ForkJoinPool(3);
+    try {
+      return pool.submit(callable).get();
+    } catch (final ExecutionException error) {
+      if (error.getCause() instanceof Exception) {
+        throw ((Exception) (error.getCause()));
+      }
+      throw error;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** The shared pool must be bounded by the number of processors. */
+  @Test(timeout = 3600000)
+  public void testSharedPoolIsBounded() {
+    Assert.assertSame(ParallelExecution.getPool(),
+        ParallelExecution.getPool());
+    Assert.assertTrue(ParallelExecution.getPool().getParallelism() <= Math
+        .max(1, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * A set compiled in parallel must keep the order in which its elements
+   * were added, every time.
+   */
+  @Test(timeout = 3600000)
+  public void testOrderIsDeterministic() {
+    int repetition;
+
+    for (repetition = 0; repetition < 5; repetition++) {
+      ParallelCompilationTest
+          .__checkOrder(ParallelCompilationTest.__create());
+    }
+  }
+
+  /**
+   * A set compiled from within another fork-join pool must keep the order
+   * in which its elements were added.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testOrderWithinForkJoinPool() throws Exception {
+    ParallelCompilationTest.__checkOrder(
+        ParallelCompilationTest.__inPool(new Callable<ExperimentSet>() {
+          @Override
+          public final ExperimentSet call() {
+            return ParallelCompilationTest.__create();
+          }
+        }));
+  }
+
+  /**
+   * The sequential compilation goes from the last child to the first one,
+   * so the error of the last failing run of the last failing experiment
+   * must be reported, every time.
+   */
+  @Test(timeout = 3600000)
+  public void testErrorOfLastFailingElement() {
+    String message;
+    int repetition;
+
+    for (repetition = 0; repetition < 5; repetition++) {
+      message = ParallelCompilationTest.__error(0, 1, 3, 2, 3, 9, 1, 11);
+      Assert.assertNotNull(message);
+      Assert.assertTrue(message, message.contains("3090")); //$NON-NLS-1$
+      Assert.assertFalse(message, message.contains("3020")); //$NON-NLS-1$
+      Assert.assertFalse(message, message.contains("1110")); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * A set compiled from within another fork-join pool must report the
+   * same error.
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testErrorWithinForkJoinPool() throws Exception {
+    final String expected;
+
+    expected = ParallelCompilationTest.__error(0, 1, 3, 2, 3, 9, 1, 11);
+    Assert.assertEquals(expected,
+        ParallelCompilationTest.__inPool(new Callable<String>() {
+          @Override
+          public final String call() {
+            return ParallelCompilationTest.__error(0, 1, 3, 2, 3, 9, 1,
+                11);
+          }
+        }));
+  }
+}
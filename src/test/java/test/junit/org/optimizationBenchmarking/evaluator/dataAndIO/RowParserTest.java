@@ -0,0 +1,311 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataFactory;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DataPoint;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.Dimension;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.EElementSetValidation;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunBuilder;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.utils.parsers.LooseDoubleParser;
+import org.optimizationBenchmarking.utils.parsers.LooseFloatParser;
+import org.optimizationBenchmarking.utils.parsers.LooseIntParser;
+import org.optimizationBenchmarking.utils.parsers.LooseLongParser;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that parsing rows directly into a {@link RunBuilder}, which
+ * converts plain decimal numbers without creating objects, gives the same
+ * values and rejects the same texts as the {@link NumberParser}s of the
+ * dimensions and the data factory's {@code parseString}.
+ */
+public class RowParserTest {
+
+  /** the tokens to parse */
+  private static final String[] TOKENS = { "0", "-0", "7", "-7", "+7", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$
+      "007", "123456789012345678", "1234567890123456789", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+      "9223372036854775807", "-9223372036854775808", //$NON-NLS-1$//$NON-NLS-2$
+      "9223372036854775808", "2147483647", "2147483648", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+      "-2147483649", "0x1F", "1e3", "1E3", "1.0", "1.5", "-1.5", ".5", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$//$NON-NLS-6$//$NON-NLS-7$//$NON-NLS-8$
+      "5.", "0.1", "0.3", "-0.0", "1.7976931348623157e308", "4.9e-324", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$//$NON-NLS-6$
+      "1e-400", "1e400", "3.4028235e38", "3.5e38", "1.4e-45", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$
+      "123456789012345.6", "1234567890123456.7", "0.000001234567", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+      "12345678.9", "16777217", "9007199254740993", "2.5e-3", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
+      "Infinity", "-Infinity", "NaN", "abc", "1.2.3", "--1", "1e", "e5", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$//$NON-NLS-6$//$NON-NLS-7$//$NON-NLS-8$
+      "1-", "+", "-" }; //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+
+  /** create */
+  public RowParserTest() {
+    super();
+  }
+
+  /**
+   * Declare a dimension
+   *
+   * @param esc
+   *          the experiment set context
+   * @param name
+   *          the name
+   * @param parser
+   *          the parser
+   * @param type
+   *          the dimension type
+   */
+  private static final void __dimension(final ExperimentSetContext esc,
+      final String name, final NumberParser<?> parser,
+      final EDimensionType type) {
+    try (final DimensionContext dc = esc.createDimension()) {
+      dc.setName(name);
+      dc.setParser(parser);
+      dc.setType(type);
+      dc.setDirection(EDimensionDirection.INCREASING);
+    }
+  }
+
+  /**
+   * Create a dimension set with a {@code long}, an {@code int}, a
+   * {@code float}, and a {@code double} dimension
+   *
+   * @return the dimension set
+   */
+  private static final DimensionSet __dimensions() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      RowParserTest.__dimension(esc, "fes", LooseLongParser.INSTANCE, //$NON-NLS-1$
+          EDimensionType.ITERATION_FE);
+      RowParserTest.__dimension(esc, "steps", LooseIntParser.INSTANCE, //$NON-NLS-1$
+          EDimensionType.ITERATION_ALGORITHM_STEP);
+      RowParserTest.__dimension(esc, "f", LooseFloatParser.INSTANCE, //$NON-NLS-1$
+          EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+      RowParserTest.__dimension(esc, "g", LooseDoubleParser.INSTANCE, //$NON-NLS-1$
+          EDimensionType.QUALITY_PROBLEM_INDEPENDENT);
+
+      esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+      try (final InstanceContext ic = esc.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = esc.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            rc.addDataPoint("1 1 1 1"); //$NON-NLS-1$
+          }
+        }
+      }
+
+      return esc.create().getDimensions();
+    }
+  }
+
+  /**
+   * Parse a token with the parser of a dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param token
+   *          the token
+   * @return the value encoded as in a run's {@code getLong} for integer
+   *         dimensions and as bits of the {@code double} value otherwise,
+   *         or {@code null} if the token is invalid
+   */
+  private static final Long __reference(final Dimension dim,
+      final String token) {
+    final NumberParser<Number> parser;
+
+    parser = dim.getParser();
+    try {
+      switch (dim.getDataType()) {
+        case INT: {
+          return Long.valueOf(parser.parseInt(token));
+        }
+        case LONG: {
+          return Long.valueOf(parser.parseLong(token));
+        }
+        case FLOAT: {
+          return Long.valueOf(
+              Double.doubleToLongBits(parser.parseFloat(token)));
+        }
+        default: {
+          return Long.valueOf(
+              Double.doubleToLongBits(parser.parseDouble(token)));
+        }
+      }
+    } catch (final RuntimeException error) {
+      return null;
+    }
+  }
+
+  /**
+   * Get the value of a column of the only row of a run builder, encoded
+   * as by {@link #__reference(Dimension, String)}
+   *
+   * @param dim
+   *          the dimension
+   * @param builder
+   *          the builder
+   * @return the value
+   */
+  private static final Long __value(final Dimension dim,
+      final RunBuilder builder) {
+    final IRun run;
+
+    run = builder.createRun(null, EElementSetValidation.NONE);
+    Assert.assertEquals(1, run.m());
+    return Long.valueOf(dim.getDataType().isInteger()
+        ? run.getLong(0, dim.getIndex())
+        : Double.doubleToLongBits(run.getDouble(0, dim.getIndex())));
+  }
+
+  /**
+   * Parse a row via the run builder
+   *
+   * @param factory
+   *          the factory
+   * @param dim
+   *          the dimension whose value is checked
+   * @param row
+   *          the row
+   * @param mode
+   *          {@code 0} for a {@link CharSequence}, {@code 1} for a
+   *          {@code char[]}, and {@code 2} for a {@link ByteBuffer}
+   * @return the value, or {@code null} if the row was rejected
+   */
+  private static final Long __parse(final DataFactory factory,
+      final Dimension dim, final String row, final int mode) {
+    final RunBuilder builder;
+    final String text;
+    final int start, end;
+
+    // embed the row into other text to check the use of the range
+    text = ("9 9 9 9\n" + row + "\n8 8 8 8"); //$NON-NLS-1$ //$NON-NLS-2$
+    start = text.indexOf('\n') + 1;
+    end = text.lastIndexOf('\n');
+
+    builder = factory.createRunBuilder();
+    try {
+      switch (mode) {
+        case 0: {
+          factory.parse(text, start, end, builder);
+          break;
+        }
+        case 1: {
+          factory.parse(text.toCharArray(), start, end, builder);
+          break;
+        }
+        default: {
+          factory.parse(ByteBuffer.wrap(//
+              text.getBytes(StandardCharsets.ISO_8859_1)), start, end,
+              builder);
+        }
+      }
+    } catch (final IllegalArgumentException error) {
+      Assert.assertEquals(0, builder.size());
+      return null;
+    }
+    return RowParserTest.__value(dim, builder);
+  }
+
+  /**
+   * Parse a row via the data factory's {@code parseString}
+   *
+   * @param factory
+   *          the factory
+   * @param dim
+   *          the dimension whose value is checked
+   * @param row
+   *          the row
+   * @return the value, or {@code null} if the row was rejected
+   */
+  private static final Long __parseString(final DataFactory factory,
+      final Dimension dim, final String row) {
+    final DataPoint point;
+
+    try {
+      point = factory.parseString(row);
+    } catch (final RuntimeException error) {
+      return null;
+    }
+    return Long.valueOf(dim.getDataType().isInteger()
+        ? point.getLong(dim.getIndex())
+        : Double.doubleToLongBits(point.getDouble(dim.getIndex())));
+  }
+
+  /**
+   * Every token must be parsed to the same value or be rejected by all
+   * ways of parsing.
+   */
+  @Test(timeout = 3600000)
+  public void testSameAsNumberParser() {
+    final DimensionSet dims;
+    final DataFactory factory;
+    final String[] values;
+    final StringBuilder builder;
+    String row;
+    Long expected;
+    int mode;
+
+    dims = RowParserTest.__dimensions();
+    factory = dims.getDataFactory();
+    values = new String[dims.getData().size()];
+    builder = new StringBuilder();
+
+    for (final Dimension dim : dims.getData()) {
+      for (final String token : RowParserTest.TOKENS) {
+        Arrays.fill(values, "1"); //$NON-NLS-1$
+        values[dim.getIndex()] = token;
+        builder.setLength(0);
+        for (final String value : values) {
+          if (builder.length() > 0) {
+            builder.append(' ');
+          }
+          builder.append(value);
+        }
+        row = builder.toString();
+
+        expected = RowParserTest.__reference(dim, token);
+        for (mode = 0; mode < 3; mode++) {
+          Assert.assertEquals((dim.getName() + ": " + token), //$NON-NLS-1$
+              expected, RowParserTest.__parse(factory, dim, row, mode));
+        }
+        Assert.assertEquals((dim.getName() + ": " + token), //$NON-NLS-1$
+            expected, RowParserTest.__parseString(factory, dim, row));
+      }
+    }
+  }
+
+  /** Separators and brackets must be handled like by parseString. */
+  @Test(timeout = 3600000)
+  public void testSeparators() {
+    final DimensionSet dims;
+    final DataFactory factory;
+    final Dimension dim;
+
+    dims = RowParserTest.__dimensions();
+    factory = dims.getDataFactory();
+    dim = dims.getData().get(3);
+    for (final String row : new String[] { "1 2 3 4.5", //$NON-NLS-1$
+        "1,2,3,4.5", "[1, 2, 3, 4.5]", "  1\t2 ,3  4.5  ", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+        "1 2 3", "1 2 3 ," }) { //$NON-NLS-1$//$NON-NLS-2$
+      Assert.assertEquals(row, RowParserTest.__parseString(factory, dim, row),
+          RowParserTest.__parse(factory, dim, row, 0));
+    }
+  }
+}
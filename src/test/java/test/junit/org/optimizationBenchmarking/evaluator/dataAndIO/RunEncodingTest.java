@@ -0,0 +1,365 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.DimensionSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.EElementSetValidation;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ERunEncoding;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.EStoragePrecision;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunBuilder;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.evaluator.data.spec.EDimensionType;
+import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+import org.optimizationBenchmarking.evaluator.data.spec.IRunCursor;
+import org.optimizationBenchmarking.utils.parsers.LooseIntParser;
+import org.optimizationBenchmarking.utils.parsers.LooseLongParser;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that runs stored with {@link ERunEncoding#DELTA} return exactly
+ * the same values and search results as runs stored plainly.
+ */
+public class RunEncodingTest {
+
+  /** the number of dimensions */
+  private static final int N = 3;
+
+  /** create */
+  public RunEncodingTest() {
+    super();
+  }
+
+  /**
+   * Create the dimensions: a strictly increasing {@code long} time
+   * dimension {@code t}, an increasing {@code int} time dimension
+   * {@code s}, and a decreasing {@code long} quality dimension {@code q}.
+   *
+   * @return the dimension set
+   */
+  private static final DimensionSet __dimensions() {
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("t"); //$NON-NLS-1$
+        dc.setParser(LooseLongParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("s"); //$NON-NLS-1$
+        dc.setParser(LooseIntParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_ALGORITHM_STEP);
+        dc.setDirection(EDimensionDirection.INCREASING);
+      }
+      try (final DimensionContext dc = esc.createDimension()) {
+        dc.setName("q"); //$NON-NLS-1$
+        dc.setParser(LooseLongParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING);
+      }
+
+      esc.declareFeature("n", "A feature."); //$NON-NLS-1$//$NON-NLS-2$
+      try (final InstanceContext ic = esc.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("n", Integer.valueOf(10)); //$NON-NLS-1$
+      }
+
+      try (final ExperimentContext ec = esc.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            rc.addDataPoint("1 1 1"); //$NON-NLS-1$
+          }
+        }
+      }
+
+      return esc.create().getDimensions();
+    }
+  }
+
+  /**
+   * Create rows which grow in small, irregular steps, including
+   * repetitions in the {@code int} and the quality dimension
+   *
+   * @param m
+   *          the number of rows
+   * @return the row-major values
+   */
+  private static final long[] __smallSteps(final int m) {
+    final long[] rows;
+    long t, s, q;
+    int row, index;
+
+    rows = new long[m * RunEncodingTest.N];
+    t = 1000L;
+    s = 0L;
+    q = 1000000L;
+    index = 0;
+    for (row = 0; row < m; row++) {
+      rows[index++] = t;
+      rows[index++] = s;
+      rows[index++] = q;
+      t += (1 + ((row * 7) % 5));
+      s += (row & 1);
+      q -= ((row % 3) * ((row % 4) + 1));
+    }
+    return rows;
+  }
+
+  /**
+   * Compare the plain and the delta encoded run of the given rows
+   *
+   * @param rows
+   *          the row-major values
+   */
+  private static final void __check(final long[] rows) {
+    final RunBuilder builder;
+    final IRun plain, delta;
+    final int m;
+    final long[] values;
+    int column, row, index;
+    long value;
+
+    builder = RunEncodingTest.__dimensions().getDataFactory()
+        .createRunBuilder();
+    m = (rows.length / RunEncodingTest.N);
+    builder.addRows(rows, m);
+    plain = builder.createRun(null, EElementSetValidation.FULL,
+        EStoragePrecision.EXACT, ERunEncoding.PLAIN);
+    delta = builder.createRun(null, EElementSetValidation.FULL,
+        EStoragePrecision.EXACT, ERunEncoding.DELTA);
+
+    Assert.assertEquals(m, plain.m());
+    Assert.assertEquals(m, delta.m());
+
+    for (row = 0; row < m; row++) {
+      for (column = 0; column < RunEncodingTest.N; column++) {
+        Assert.assertEquals(rows[(row * RunEncodingTest.N) + column],
+            delta.getLong(row, column));
+        Assert.assertEquals(plain.getLong(row, column),
+            delta.getLong(row, column));
+        Assert.assertEquals(
+            Double.doubleToLongBits(plain.getDouble(row, column)),
+            Double.doubleToLongBits(delta.getDouble(row, column)));
+      }
+    }
+
+    RunEncodingTest.__checkCursors(plain.cursor(), delta.cursor(), m);
+
+    for (column = 0; column < RunEncodingTest.N; column++) {
+      values = new long[(3 * m) + 2];
+      index = 0;
+      for (row = 0; row < m; row++) {
+        value = plain.getLong(row, column);
+        values[index++] = value;
+        values[index++] = ((value > Long.MIN_VALUE) ? (value - 1L)
+            : value);
+        values[index++] = ((value < Long.MAX_VALUE) ? (value + 1L)
+            : value);
+      }
+      values[index++] = Long.MIN_VALUE;
+      values[index++] = Long.MAX_VALUE;
+
+      RunEncodingTest.__checkSearch(plain, delta, column, values);
+    }
+  }
+
+  /**
+   * Compare two cursors
+   *
+   * @param plain
+   *          the cursor over the plain run
+   * @param delta
+   *          the cursor over the delta encoded run
+   * @param m
+   *          the number of rows
+   */
+  private static final void __checkCursors(final IRunCursor plain,
+      final IRunCursor delta, final int m) {
+    int row, column;
+
+    for (row = 0; row < m; row++) {
+      Assert.assertTrue(plain.next());
+      Assert.assertTrue(delta.next());
+      Assert.assertEquals(row, delta.getRow());
+      for (column = 0; column < RunEncodingTest.N; column++) {
+        Assert.assertEquals(plain.getLong(column), delta.getLong(column));
+      }
+    }
+    Assert.assertFalse(plain.next());
+    Assert.assertFalse(delta.next());
+
+    // jump backwards into the middle of a block and continue from there
+    for (row = m; (--row) >= 0; row -= 13) {
+      plain.setRow(row);
+      delta.setRow(row);
+      for (column = 0; column < RunEncodingTest.N; column++) {
+        Assert.assertEquals(plain.getLong(column), delta.getLong(column));
+      }
+      if (plain.next()) {
+        Assert.assertTrue(delta.next());
+        for (column = 0; column < RunEncodingTest.N; column++) {
+          Assert.assertEquals(plain.getLong(column),
+              delta.getLong(column));
+        }
+      } else {
+        Assert.assertFalse(delta.next());
+      }
+    }
+  }
+
+  /**
+   * Compare two points found in the plain and the delta encoded run
+   *
+   * @param plain
+   *          the point from the plain run
+   * @param delta
+   *          the point from the delta encoded run
+   */
+  private static final void __checkPoints(final IDataPoint plain,
+      final IDataPoint delta) {
+    int column;
+
+    if (plain == null) {
+      Assert.assertNull(delta);
+      return;
+    }
+    Assert.assertNotNull(delta);
+    for (column = 0; column < RunEncodingTest.N; column++) {
+      Assert.assertEquals(plain.getLong(column), delta.getLong(column));
+    }
+  }
+
+  /**
+   * Compare two runs, which may be {@code null}
+   *
+   * @param plain
+   *          the plain run
+   * @param delta
+   *          the delta encoded run
+   */
+  private static final void __checkRuns(final IRun plain,
+      final IRun delta) {
+    if (plain == null) {
+      Assert.assertNull(delta);
+      return;
+    }
+    Assert.assertNotNull(delta);
+    Assert.assertEquals(plain.m(), delta.m());
+    RunEncodingTest.__checkPoints(plain.getData().get(0),
+        delta.getData().get(0));
+    RunEncodingTest.__checkPoints(plain.getData().get(plain.m() - 1),
+        delta.getData().get(delta.m() - 1));
+  }
+
+  /**
+   * Compare the searches in the plain and the delta encoded run
+   *
+   * @param plain
+   *          the plain run
+   * @param delta
+   *          the delta encoded run
+   * @param column
+   *          the column
+   * @param values
+   *          the values to search for
+   */
+  private static final void __checkSearch(final IRun plain,
+      final IRun delta, final int column, final long[] values) {
+    final int[] plainRows, deltaRows;
+    final double[] doubles;
+    int index;
+
+    for (final long value : values) {
+      RunEncodingTest.__checkPoints(plain.find(column, value),
+          delta.find(column, value));
+      RunEncodingTest.__checkPoints(plain.find(column, value + 0.5d),
+          delta.find(column, value + 0.5d));
+      RunEncodingTest.__checkPoints(plain.find(column, value - 0.5d),
+          delta.find(column, value - 0.5d));
+      RunEncodingTest.__checkRuns(plain.truncate(column, value),
+          delta.truncate(column, value));
+      RunEncodingTest.__checkRuns(plain.truncate(column, value + 0.5d),
+          delta.truncate(column, value + 0.5d));
+      RunEncodingTest.__checkRuns(plain.subRun(column, value, values[0]),
+          delta.subRun(column, value, values[0]));
+    }
+
+    plainRows = new int[values.length];
+    deltaRows = new int[values.length];
+    plain.findRows(column, values, plainRows);
+    delta.findRows(column, values, deltaRows);
+    Assert.assertArrayEquals(plainRows, deltaRows);
+
+    doubles = new double[values.length];
+    for (index = values.length; (--index) >= 0;) {
+      doubles[index] = (values[index] + 0.5d);
+    }
+    plain.findRows(column, doubles, plainRows);
+    delta.findRows(column, doubles, deltaRows);
+    Assert.assertArrayEquals(plainRows, deltaRows);
+  }
+
+  /** A run shorter than one block must be encoded correctly. */
+  @Test(timeout = 3600000)
+  public void testOneRowLessThanBlock() {
+    RunEncodingTest.__check(RunEncodingTest.__smallSteps(31));
+  }
+
+  /** A run of exactly one block must be encoded correctly. */
+  @Test(timeout = 3600000)
+  public void testExactlyOneBlock() {
+    RunEncodingTest.__check(RunEncodingTest.__smallSteps(32));
+  }
+
+  /**
+   * A run with a single row in its second block must be encoded
+   * correctly.
+   */
+  @Test(timeout = 3600000)
+  public void testOneRowMoreThanBlock() {
+    RunEncodingTest.__check(RunEncodingTest.__smallSteps(33));
+  }
+
+  /** A run spanning several blocks must be encoded correctly. */
+  @Test(timeout = 3600000)
+  public void testSeveralBlocks() {
+    RunEncodingTest.__check(RunEncodingTest.__smallSteps(1000));
+  }
+
+  /**
+   * Differences which do not fit into a {@code long}, i.e., jumps over
+   * more than half of the range of {@code long}, must wrap around and be
+   * decoded to the original values, both for the first row of a block
+   * and within a block.
+   */
+  @Test(timeout = 3600000)
+  public void testLongValuesNearOverflow() {
+    final long[] rows;
+    int row, index;
+
+    rows = new long[70 * RunEncodingTest.N];
+    index = 0;
+    for (row = 0; row < 70; row++) {
+      if (row < 5) {
+        rows[index++] = (Long.MIN_VALUE + 1L + row);
+        rows[index++] = row;
+        rows[index++] = (Long.MAX_VALUE - row);
+      } else {
+        rows[index++] = (Long.MAX_VALUE - 70L + row);
+        rows[index++] = (Integer.MAX_VALUE - 70 + row);
+        rows[index++] = (Long.MIN_VALUE + 70L - row);
+      }
+    }
+    RunEncodingTest.__check(rows);
+  }
+}
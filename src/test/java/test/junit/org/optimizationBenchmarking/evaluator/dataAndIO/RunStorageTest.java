@@ -0,0 +1,239 @@
+package test.junit.org.optimizationBenchmarking.evaluator.dataAndIO;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ERunStorage;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.evaluator.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnAggregation;
+import org.optimizationBenchmarking.evaluator.data.spec.ColumnValues;
+import org.optimizationBenchmarking.evaluator.data.spec.IDataPoint;
+import org.optimizationBenchmarking.evaluator.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.evaluator.data.spec.IRun;
+
+import shared.junit.TestBase;
+
+/**
+ * Test that runs kept outside of the Java heap behave like runs on the
+ * heap until their experiment set is released.
+ */
+public class RunStorageTest {
+
+  /** the number of runs */
+  private static final int RUNS = 3;
+
+  /** the number of rows per run */
+  private static final int ROWS = 200;
+
+  /** create */
+  public RunStorageTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set
+   *
+   * @param storage
+   *          the run storage
+   * @param directory
+   *          the scratch directory, or {@code null} for the default
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create(final ERunStorage storage,
+      final Path directory) {
+    final String[][] runs;
+    int run, row;
+
+    runs = new String[RunStorageTest.RUNS][RunStorageTest.ROWS];
+    for (run = 0; run < RunStorageTest.RUNS; run++) {
+      for (row = 0; row < RunStorageTest.ROWS; row++) {
+        runs[run][row] = ((1 + (row * (run + 1))) + " " + //$NON-NLS-1$
+            (10d / (1 + row + run)));
+      }
+    }
+
+    try (final ExperimentSetContext esc = new ExperimentSetContext(
+        TestBase.getNullLogger())) {
+      esc.setRunStorage(storage);
+      esc.setScratchDirectory(directory);
+      return ExperimentSetContextTest._create(esc, runs);
+    }
+  }
+
+  /**
+   * Get the runs of an experiment set created by
+   * {@link #__create(ERunStorage, Path)}
+   *
+   * @param set
+   *          the set
+   * @return the runs
+   */
+  private static final IInstanceRuns __runs(final ExperimentSet set) {
+    return set.getData().get(0).getData().get(0);
+  }
+
+  /**
+   * Compare two found data points
+   *
+   * @param expected
+   *          the point found on the heap
+   * @param actual
+   *          the point found outside of the heap
+   */
+  private static final void __checkPoints(final IDataPoint expected,
+      final IDataPoint actual) {
+    if (expected == null) {
+      Assert.assertNull(actual);
+      return;
+    }
+    Assert.assertNotNull(actual);
+    Assert.assertEquals(expected.getLong(0), actual.getLong(0));
+    Assert.assertEquals(
+        Double.doubleToLongBits(expected.getDouble(1)),
+        Double.doubleToLongBits(actual.getDouble(1)));
+  }
+
+  /**
+   * Compare an experiment set kept outside of the heap to the same set
+   * kept on the heap
+   *
+   * @param storage
+   *          the storage to check
+   */
+  private static final void __check(final ERunStorage storage) {
+    final ExperimentSet heap, other;
+    final IInstanceRuns heapRuns, otherRuns;
+    IRun expected, actual;
+    int run, row, column;
+
+    heap = RunStorageTest.__create(ERunStorage.HEAP, null);
+    other = RunStorageTest.__create(storage, null);
+    try {
+      heapRuns = RunStorageTest.__runs(heap);
+      otherRuns = RunStorageTest.__runs(other);
+      Assert.assertEquals(heapRuns.getData().size(),
+          otherRuns.getData().size());
+
+      for (run = heapRuns.getData().size(); (--run) >= 0;) {
+        expected = heapRuns.getData().get(run);
+        actual = otherRuns.getData().get(run);
+        Assert.assertEquals(expected.m(), actual.m());
+
+        for (row = expected.m(); (--row) >= 0;) {
+          for (column = 0; column < 2; column++) {
+            Assert.assertEquals(
+                Double.doubleToLongBits(expected.getDouble(row, column)),
+                Double.doubleToLongBits(actual.getDouble(row, column)));
+          }
+          RunStorageTest.__checkPoints(
+              expected.find(0, expected.getLong(row, 0) + 1L),
+              actual.find(0, expected.getLong(row, 0) + 1L));
+          RunStorageTest.__checkPoints(
+              expected.find(1, expected.getDouble(row, 1)),
+              actual.find(1, expected.getDouble(row, 1)));
+          RunStorageTest.__checkPoints(
+              expected.find(1, expected.getDouble(row, 1) * 0.99d),
+              actual.find(1, expected.getDouble(row, 1) * 0.99d));
+        }
+      }
+
+      for (column = 0; column < 2; column++) {
+        Assert.assertArrayEquals(
+            ColumnAggregation.aggregate(heap, column, new ColumnValues())
+                .toSortedArray(),
+            ColumnAggregation.aggregate(other, column, new ColumnValues())
+                .toSortedArray(),
+            0d);
+      }
+    } finally {
+      other.release();
+    }
+  }
+
+  /** Runs in direct buffers must behave like runs on the heap. */
+  @Test(timeout = 3600000)
+  public void testDirectLikeHeap() {
+    RunStorageTest.__check(ERunStorage.DIRECT);
+  }
+
+  /** Runs in a mapped scratch file must behave like runs on the heap. */
+  @Test(timeout = 3600000)
+  public void testMappedLikeHeap() {
+    RunStorageTest.__check(ERunStorage.MAPPED);
+  }
+
+  /** The data of a released direct set must no longer be accessible. */
+  @Test(timeout = 3600000, expected = IllegalStateException.class)
+  public void testDirectAccessAfterRelease() {
+    final ExperimentSet set;
+
+    set = RunStorageTest.__create(ERunStorage.DIRECT, null);
+    set.release();
+    RunStorageTest.__runs(set).getData().get(0).getDouble(0, 1);
+  }
+
+  /** The data of a released mapped set must no longer be accessible. */
+  @Test(timeout = 3600000, expected = IllegalStateException.class)
+  public void testMappedAccessAfterRelease() {
+    final ExperimentSet set;
+
+    set = RunStorageTest.__create(ERunStorage.MAPPED, null);
+    set.release();
+    RunStorageTest.__runs(set).getData().get(0).getDouble(0, 1);
+  }
+
+  /**
+   * Count the files in a directory
+   *
+   * @param directory
+   *          the directory
+   * @return the number of files
+   * @throws IOException
+   *           if the directory cannot be read
+   */
+  private static final int __count(final Path directory)
+      throws IOException {
+    int count;
+
+    count = 0;
+    try (final DirectoryStream<Path> stream = Files
+        .newDirectoryStream(directory)) {
+      for (final Path path : stream) {
+        if (path != null) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * The scratch file of a mapped set must be deleted when the set is
+   * released.
+   *
+   * @throws IOException
+   *           if the scratch directory cannot be created or deleted
+   */
+  @Test(timeout = 3600000)
+  public void testScratchFileDeleted() throws IOException {
+    final Path directory;
+    final ExperimentSet set;
+
+    directory = Files.createTempDirectory("scratch"); //$NON-NLS-1$
+    try {
+      set = RunStorageTest.__create(ERunStorage.MAPPED, directory);
+      // some platforms unlink the file right after opening it
+      Assert.assertTrue(RunStorageTest.__count(directory) <= 1);
+      RunStorageTest.__runs(set).getData().get(0).getDouble(0, 1);
+      set.release();
+      Assert.assertEquals(0, RunStorageTest.__count(directory));
+    } finally {
+      Files.delete(directory);
+    }
+  }
+}